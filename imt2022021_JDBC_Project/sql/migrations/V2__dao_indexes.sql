@@ -0,0 +1,16 @@
+-- Secondary indexes for the DAO access paths. roll_number, emp_id, book_id and course_code are
+-- already covered by their UNIQUE constraints, and books.library_id by its foreign key.
+-- MigrationRunner skips an index that already exists and, with school.db.migrate.onlineIndexes,
+-- builds it in place without blocking writes (ALGORITHM=INPLACE, LOCK=NONE).
+
+-- StudentDAO.getTopper: ORDER BY cgpa DESC LIMIT 1
+CREATE INDEX idx_students_cgpa ON students (cgpa);
+
+-- TeacherDAO.getHighestPaidTeacher: ORDER BY salary DESC LIMIT 1
+CREATE INDEX idx_teachers_salary ON teachers (salary);
+
+-- The primary keys lead with student_id / course_id; these serve the reverse direction
+-- (students of a course, courses using a book, courses taught by a teacher)
+CREATE INDEX idx_enrollments_course_student ON enrollments (course_id, student_id);
+CREATE INDEX idx_course_books_book_course ON course_books (book_id, course_id);
+CREATE INDEX idx_course_teacher_teacher_course ON course_teacher (teacher_id, course_id);
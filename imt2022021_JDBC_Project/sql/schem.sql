@@ -9,7 +9,8 @@ CREATE TABLE IF NOT EXISTS students (
     name VARCHAR(100) NOT NULL,
     dob DATE NOT NULL,
     address VARCHAR(255),
-    cgpa FLOAT NOT NULL
+    cgpa FLOAT NOT NULL,
+    INDEX idx_students_name (name)
 );
 
 -- Table for Teachers
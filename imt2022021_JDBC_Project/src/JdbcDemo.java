@@ -1,60 +1,27 @@
 //STEP 1. Import required packages
 
 import java.sql.*;
-import java.io.BufferedReader;
-import java.io.FileReader;
-import java.util.*;
-import java.io.IOException;
+import java.nio.file.Paths;
+
+import com.schoolmanagement.database.SqlScriptRunner;
 
 public class JdbcDemo {
 
    // Set JDBC driver name and database URL
    static final String JDBC_DRIVER = "com.mysql.cj.jdbc.Driver";
-   static final String DB_URL = "jdbc:mysql://localhost:3306/School";
+   static final String DB_URL = setting("school.legacy.db.url", "jdbc:mysql://localhost:3306/School");
 
    // Database credentials
-   static final String USER = "root";// add your user
-   static final String PASSWORD = "admin";// add password
+   static final String USER = setting("school.db.user", "root");
+   static final String PASSWORD = setting("school.db.password", "admin");
 
-   public static void main(String[] args) {
+   // -Dschool.db.user=... wins over SCHOOL_DB_USER, which wins over the default
+   static String setting(String key, String fallback) {
+      String env = System.getenv(key.toUpperCase().replace('.', '_'));
+      return System.getProperty(key, env != null ? env : fallback);
+   }
 
-      String fileName="sql/schema.sql";
-      String fileName2="sql/alter.sql";
-      ArrayList<String> Schema = new ArrayList<>();
-
-      try (BufferedReader br = new BufferedReader(new FileReader(fileName))) {
-               String line;
-               String temp="";
-               while ((line = br.readLine()) != null) {
-                   {
-                    temp+=line;
-                    if(line.contains(";"))
-                    {
-                        Schema.add(temp);
-                        temp="";
-                    }
-                   }// Print each line of the file
-               }
-           } catch (IOException e) {
-               System.err.println("Error reading the file: " + e.getMessage());
-           } 
-
-        try (BufferedReader br = new BufferedReader(new FileReader(fileName2))) {
-        String line;
-        String temp="";
-        while ((line = br.readLine()) != null) {
-            {
-                temp+=line;
-                if(line.contains(";"))
-                {
-                    Schema.add(temp);
-                    temp="";
-                }
-            }
-        }
-    } catch (IOException e) {
-        System.err.println("Error reading the file: " + e.getMessage());
-    } 
+   public static void main(String[] args) {
 
       Connection conn = null;
       Statement stmt = null;
@@ -65,14 +32,15 @@ public class JdbcDemo {
          Class.forName(JDBC_DRIVER);
          // STEP 2b: Open a connection
          System.out.println("Connecting to database...");
-         conn = DriverManager.getConnection(DB_URL, USER, PASSWORD);
+         conn = DriverManager.getConnection(DB_URL, SqlScriptRunner.bulkProperties(USER, PASSWORD));
          // STEP 2c: Execute a query
          System.out.println("Creating statement...");
          stmt = conn.createStatement();
 
-         // INSERT, UPDATE, DELETE
-         for(String str: Schema)
-         stmt.executeUpdate(str);
+         // Run the schema scripts: streamed statement by statement, inserts batched in one transaction
+         SqlScriptRunner runner = new SqlScriptRunner(conn);
+         for (String fileName : new String[] {"sql/schema.sql", "sql/alter.sql"})
+            System.out.print(runner.run(Paths.get(fileName)));
 
          // STEP 3: Query to database
         //  String query = "SELECT fname, lname, dno, bdate from employee";
@@ -122,4 +90,4 @@ public class JdbcDemo {
 } // end class
 
 // Note : By default autocommit is on. you can set to false using
-// con.setAutoCommit(false)
\ No newline at end of file
+// con.setAutoCommit(false)
\ No newline at end of file
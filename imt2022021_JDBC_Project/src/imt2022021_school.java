@@ -1,60 +1,89 @@
 import java.sql.*;
-import java.io.BufferedReader;
-import java.io.FileReader;
+import java.nio.file.Paths;
 import java.util.*;
-import java.io.IOException;
+
+import com.schoolmanagement.database.SqlScriptRunner;
 
 public class imt2022021_school {
     
     static final String JDBC_DRIVER = "com.mysql.cj.jdbc.Driver";
-    static final String DB_URL = "jdbc:mysql://localhost:3306/Schooldb";
+    static final String DB_URL = setting("school.legacy.db.url", "jdbc:mysql://localhost:3306/Schooldb");
  
     // Database credentials
-    static final String USER = "root";// add your user
-    static final String PASSWORD = "admin";// add password
-
+    static final String USER = setting("school.db.user", "root");
+    static final String PASSWORD = setting("school.db.password", "admin");
 
-    public static void FileReading(String fileName, ArrayList<String> Schema)
-    {
-        try (BufferedReader br = new BufferedReader(new FileReader(fileName))) {
-            String line;
-            String temp="";
-            while ((line = br.readLine()) != null) {
-                {
-                    temp+=line;
-                    if(line.contains(";"))
-                    {
-                        Schema.add(temp);
-                        temp="";
-                    }
-                }// Print each line of the file
-            }
-        } catch (IOException e) {
-            System.err.println("Error reading the file: " + e.getMessage());
-        } 
+    // -Dschool.db.user=... wins over SCHOOL_DB_USER, which wins over the default
+    static String setting(String key, String fallback) {
+        String env = System.getenv(key.toUpperCase().replace('.', '_'));
+        return System.getProperty(key, env != null ? env : fallback);
     }
 
-    public static void main(String args[])
-    {
-        String[] inp= {"sql/schema.sql","sql/alter.sql","sql/insert.sql"};
 
-        ArrayList<String> Schema = new ArrayList<>();
+    // Every statement the menu runs. They are all prepared once right after connecting and reused
+    // for the whole session, so the server parses each one once and user input is never spliced
+    // into SQL text.
+    enum Query {
+        ADD_STUDENT("INSERT INTO Student (admno, name, batch, stream, rollno, email, cgpa) VALUES (?, ?, ?, ?, ?, ?, ?)"),
+        ADD_TEACHER("INSERT INTO Professor (id, name, email, salary) VALUES (?, ?, ?, ?)"),
+        ADD_COURSE("INSERT INTO Course (course_code, name, instructor) VALUES (?, ?, ?)"),
+        ENROLL_STUDENT("INSERT INTO Studies (studAdmo, course_code) VALUES (?, ?)"),
+        REMOVE_STUDENT("DELETE FROM Student WHERE admno = ?"),
+        REMOVE_TEACHER("DELETE FROM Professor WHERE id = ?"),
+        REMOVE_COURSE("DELETE FROM Course WHERE course_code = ?"),
+        UNENROLL_STUDENT("DELETE FROM Studies WHERE studAdmo = ? AND course_code = ?"),
+        UPDATE_CGPA("UPDATE Student SET cgpa = ? WHERE admno = ?"),
+        INCREMENT_SALARY("UPDATE Professor SET salary = salary + ? WHERE id = ?"),
+        STUDENT_DETAILS("SELECT * FROM Student WHERE admno = ?"),
+        TEACHER_DETAILS("SELECT * FROM Professor WHERE id = ?"),
+        COURSE_DETAILS("SELECT * FROM Course WHERE course_code = ?"),
+        BATCH_TOPPER("SELECT * FROM Student WHERE batch = ? ORDER BY cgpa DESC LIMIT 1"),
+        HIGHEST_PAID_TEACHER("SELECT * FROM Professor ORDER BY salary DESC LIMIT 1"),
+        COURSES_OF_STUDENT("SELECT c.name FROM Student s INNER JOIN Studies st ON s.admno = st.studAdmo"
+                + " INNER JOIN Course c ON st.course_code = c.course_code WHERE s.admno = ?"),
+        COURSES_OF_TEACHER("SELECT c.name FROM Professor p INNER JOIN Course c ON p.id = c.instructor WHERE p.id = ?"),
+        ALL_STUDENTS("SELECT * FROM Student"),
+        ALL_TEACHERS("SELECT * FROM Professor"),
+        ALL_COURSES("SELECT * FROM Course"),
+        ADD_BOOK("INSERT INTO Book (id, name, author, price) VALUES (?, ?, ?, ?)"),
+        MARK_BOOK("INSERT INTO CourseWork (course_code, book_id) VALUES (?, ?)"),
+        BOOKS_OF_STUDENT("SELECT b.name FROM Student s INNER JOIN Studies ss ON s.admno = ss.studAdmo"
+                + " INNER JOIN Course c ON ss.course_code = c.course_code"
+                + " INNER JOIN CourseWork cw ON c.course_code = cw.course_code"
+                + " INNER JOIN Book b ON cw.book_id = b.id WHERE s.admno = ?"),
+        REMOVE_BOOK("DELETE FROM Book WHERE id = ?");
+
+        final String sql;
 
-        for(int i=0;i<3;i++)
-        {
-            String fileName=inp[i];
-            FileReading(fileName, Schema);
+        Query(String sql) {
+            this.sql = sql;
         }
+    }
+
+    static Map<Query, PreparedStatement> prepareAll(Connection conn) throws SQLException
+    {
+        Map<Query, PreparedStatement> statements = new EnumMap<>(Query.class);
+        for (Query query : Query.values())
+            statements.put(query, conn.prepareStatement(query.sql));
+        return statements;
+    }
 
+    public static void main(String args[])
+    {
         Connection conn = null;
         Statement stmt = null;
         ResultSet rs = null;
+        Map<Query, PreparedStatement> statements = new EnumMap<>(Query.class);
 
         Scanner sc = new Scanner(System.in);
         try{
             Class.forName(JDBC_DRIVER);
             System.out.println("Connecting to database...");
-            conn = DriverManager.getConnection(DB_URL, USER, PASSWORD);
+            // Server-side prepared statements, cached by the driver, so each query is parsed once
+            Properties props = SqlScriptRunner.bulkProperties(USER, PASSWORD);
+            props.setProperty("useServerPrepStmts", "true");
+            props.setProperty("cachePrepStmts", "true");
+            conn = DriverManager.getConnection(DB_URL, props);
             System.out.println("Creating statement...");
             stmt = conn.createStatement();
 
@@ -63,9 +92,12 @@ public class imt2022021_school {
 
             if(!rs.next())
             {
-                for(String str: Schema)
-                    stmt.executeUpdate(str);
+                // Streamed statement by statement; the seed inserts go in batches inside one transaction
+                SqlScriptRunner runner = new SqlScriptRunner(conn);
+                for(String fileName: new String[] {"sql/schema.sql", "sql/alter.sql", "sql/insert.sql"})
+                    System.out.print(runner.run(Paths.get(fileName)));
             }
+            statements = prepareAll(conn);
             
             System.out.println("""
                     
@@ -122,8 +154,15 @@ public class imt2022021_school {
                         String email = sc.next();
                         System.out.println("Enter the CGPA of the student");
                         float cgpa = sc.nextFloat();
-                        String query = "INSERT INTO Student (admno, name, batch, stream, rollno, email, cgpa) VALUES ("+admno+",'"+name+"','"+batch+"','"+stream+"',"+roll+",'"+email+"',"+cgpa+");";
-                        int output=stmt.executeUpdate(query);
+                        PreparedStatement ps = statements.get(Query.ADD_STUDENT);
+                        ps.setString(1, admno);
+                        ps.setString(2, name);
+                        ps.setString(3, batch);
+                        ps.setString(4, stream);
+                        ps.setInt(5, roll);
+                        ps.setString(6, email);
+                        ps.setFloat(7, cgpa);
+                        int output=ps.executeUpdate();
 
                         if(output==1)
                         {
@@ -144,8 +183,12 @@ public class imt2022021_school {
                         email = sc.next();
                         System.out.println("Enter the salary of the teacher");
                         float salary = sc.nextFloat();
-                        query = "INSERT INTO Professor (id, name, email, salary) VALUES ("+tid+",'"+tname+"','"+email+"',"+salary+");";
-                        output=stmt.executeUpdate(query);
+                        ps = statements.get(Query.ADD_TEACHER);
+                        ps.setInt(1, tid);
+                        ps.setString(2, tname);
+                        ps.setString(3, email);
+                        ps.setFloat(4, salary);
+                        output=ps.executeUpdate();
                         if(output==1)
                         {
                             System.out.println("Teacher Added Successfully");
@@ -163,8 +206,11 @@ public class imt2022021_school {
                         String cname = sc.next();
                         System.out.println("Enter the teacher id");
                         int teacher_id = sc.nextInt();
-                        query = "INSERT INTO Course (course_code, name, instructor) VALUES ('"+code+"','"+cname+"',"+teacher_id+");";
-                        output=stmt.executeUpdate(query);
+                        ps = statements.get(Query.ADD_COURSE);
+                        ps.setString(1, code);
+                        ps.setString(2, cname);
+                        ps.setInt(3, teacher_id);
+                        output=ps.executeUpdate();
                         if(output==1)
                         {
                             System.out.println("Course Added Successfully");
@@ -180,8 +226,10 @@ public class imt2022021_school {
                         admno = sc.next();
                         System.out.println("Enter the course code");
                         code = sc.next();
-                        query = "INSERT INTO Studies (studAdmo, course_code) VALUES ('"+admno+"','"+code+"');";
-                        output=stmt.executeUpdate(query);
+                        ps = statements.get(Query.ENROLL_STUDENT);
+                        ps.setString(1, admno);
+                        ps.setString(2, code);
+                        output=ps.executeUpdate();
                         if(output==1)
                         {
                             System.out.println("Student Enrolled Successfully");
@@ -195,8 +243,9 @@ public class imt2022021_school {
                         System.out.println("Enter details of student to be removed from School");
                         System.out.println("Enter the student admission number");
                         admno = sc.next();
-                        query = "DELETE FROM Student WHERE admno='"+admno+"';";
-                        output=stmt.executeUpdate(query);
+                        ps = statements.get(Query.REMOVE_STUDENT);
+                        ps.setString(1, admno);
+                        output=ps.executeUpdate();
                         if(output==1)
                         {
                             System.out.println("Student Removed Successfully");
@@ -210,8 +259,9 @@ public class imt2022021_school {
                         System.out.println("Enter details of teacher to be removed from School");
                         System.out.println("Enter the teacher id");
                         tid = sc.nextInt();
-                        query = "DELETE FROM Professor WHERE id="+tid+";";
-                        output=stmt.executeUpdate(query);
+                        ps = statements.get(Query.REMOVE_TEACHER);
+                        ps.setInt(1, tid);
+                        output=ps.executeUpdate();
                         if(output==1)
                         {
                             System.out.println("Teacher Removed Successfully");
@@ -225,8 +275,9 @@ public class imt2022021_school {
                         System.out.println("Enter details of course to be removed from School");
                         System.out.println("Enter the course code");
                         code = sc.next();
-                        query = "DELETE FROM Course WHERE course_code='"+code+"';";
-                        output=stmt.executeUpdate(query);
+                        ps = statements.get(Query.REMOVE_COURSE);
+                        ps.setString(1, code);
+                        output=ps.executeUpdate();
                         if(output==1)
                         {
                             System.out.println("Course Removed Successfully");
@@ -242,8 +293,10 @@ public class imt2022021_school {
                         admno = sc.next();
                         System.out.println("Enter the course code");
                         code = sc.next();
-                        query = "DELETE FROM Studies WHERE studAdmo='"+admno+"' AND course_code='"+code+"';";
-                        output=stmt.executeUpdate(query);
+                        ps = statements.get(Query.UNENROLL_STUDENT);
+                        ps.setString(1, admno);
+                        ps.setString(2, code);
+                        output=ps.executeUpdate();
                         if(output==1)
                         {
                             System.out.println("Student Removed Successfully");
@@ -259,8 +312,10 @@ public class imt2022021_school {
                         admno = sc.next();
                         System.out.println("Enter the new CGPA of the student");
                         cgpa = sc.nextFloat();
-                        query = "UPDATE Student SET cgpa="+cgpa+" WHERE admno='"+admno+"';";
-                        output=stmt.executeUpdate(query);
+                        ps = statements.get(Query.UPDATE_CGPA);
+                        ps.setFloat(1, cgpa);
+                        ps.setString(2, admno);
+                        output=ps.executeUpdate();
                         if(output==1)
                         {
                             System.out.println("CGPA Updated Successfully");
@@ -275,8 +330,10 @@ public class imt2022021_school {
                         tid = sc.nextInt();
                         System.out.println("Enter the increment in salary");
                         float increment = sc.nextFloat();
-                        query = "UPDATE Professor SET salary=salary+"+increment+" WHERE id="+tid+";";
-                        output=stmt.executeUpdate(query);
+                        ps = statements.get(Query.INCREMENT_SALARY);
+                        ps.setFloat(1, increment);
+                        ps.setInt(2, tid);
+                        output=ps.executeUpdate();
                         if(output==1)
                         {
                             System.out.println("Salary Updated Successfully");
@@ -289,8 +346,9 @@ public class imt2022021_school {
                     case 11:
                         System.out.println("Enter the student admission number");
                         admno = sc.next();
-                        query = "SELECT * FROM Student WHERE admno='"+admno+"';";
-                        rs = stmt.executeQuery(query);
+                        ps = statements.get(Query.STUDENT_DETAILS);
+                        ps.setString(1, admno);
+                        rs = ps.executeQuery();
                         if(rs.next())
                         {
                             System.out.println("Admission Number: "+rs.getString("admno"));
@@ -309,8 +367,9 @@ public class imt2022021_school {
                     case 12:
                         System.out.println("Enter the teacher id");
                         tid = sc.nextInt();
-                        query = "SELECT * FROM Professor WHERE id="+tid+";";
-                        rs = stmt.executeQuery(query);
+                        ps = statements.get(Query.TEACHER_DETAILS);
+                        ps.setInt(1, tid);
+                        rs = ps.executeQuery();
                         if(rs.next())
                         {
                             System.out.println("Teacher ID: "+rs.getInt("id"));
@@ -326,8 +385,9 @@ public class imt2022021_school {
                     case 13:
                         System.out.println("Enter the course code");
                         code = sc.next();
-                        query = "SELECT * FROM Course WHERE course_code='"+code+"';";
-                        rs = stmt.executeQuery(query);
+                        ps = statements.get(Query.COURSE_DETAILS);
+                        ps.setString(1, code);
+                        rs = ps.executeQuery();
                         if(rs.next())
                         {
                             System.out.println("Course Code: "+rs.getString("course_code"));
@@ -342,8 +402,9 @@ public class imt2022021_school {
                     case 14:
                         System.out.println("Enter the batch");
                         batch = sc.next();
-                        query = "SELECT * FROM Student WHERE batch='"+batch+"' ORDER BY cgpa DESC LIMIT 1;";
-                        rs = stmt.executeQuery(query);
+                        ps = statements.get(Query.BATCH_TOPPER);
+                        ps.setString(1, batch);
+                        rs = ps.executeQuery();
                         if(rs.next())
                         {
                             System.out.println("Topper of the batch "+batch+" is "+rs.getString("name")+" with CGPA "+rs.getFloat("cgpa"));
@@ -354,8 +415,7 @@ public class imt2022021_school {
                         }
                         break;
                     case 15:
-                        query = "SELECT * FROM Professor ORDER BY salary DESC LIMIT 1;";
-                        rs = stmt.executeQuery(query);
+                        rs = statements.get(Query.HIGHEST_PAID_TEACHER).executeQuery();
                         if(rs.next())
                         {
                             System.out.println("Highest paid teacher is "+rs.getString("name")+" with salary "+rs.getFloat("salary"));
@@ -368,8 +428,9 @@ public class imt2022021_school {
                     case 16:
                         System.out.println("Enter the student admission number");
                         admno = sc.next();
-                        query = "select c.name from Student s INNER JOIN Studies st on s.admno=st.studAdmo INNER JOIN Course c on st.course_code=c.course_code WHERE s.admno='"+admno+"';";
-                        rs = stmt.executeQuery(query);
+                        ps = statements.get(Query.COURSES_OF_STUDENT);
+                        ps.setString(1, admno);
+                        rs = ps.executeQuery();
                         if(rs.next())
                         {
                             System.out.println("Courses taken by student with admission number "+admno+" are:");
@@ -386,8 +447,9 @@ public class imt2022021_school {
                     case 17:
                         System.out.println("Enter the teacher id");
                         tid = sc.nextInt();
-                        query = "select c.name from Professor p INNER JOIN Course c on p.id=c.instructor WHERE p.id="+tid+";";
-                        rs = stmt.executeQuery(query);
+                        ps = statements.get(Query.COURSES_OF_TEACHER);
+                        ps.setInt(1, tid);
+                        rs = ps.executeQuery();
                         if(rs.next())
                         {
                             System.out.println("Courses taught by teacher with id "+tid+" are:");
@@ -402,8 +464,7 @@ public class imt2022021_school {
                         }
                         break;
                     case 18:
-                        query = "SELECT * FROM Student;";
-                        rs = stmt.executeQuery(query);
+                        rs = statements.get(Query.ALL_STUDENTS).executeQuery();
                         if(rs.next())
                         {
                             System.out.println("List of students in the school:");
@@ -425,8 +486,7 @@ public class imt2022021_school {
                         }
                         break;
                     case 19:
-                        query = "SELECT * FROM Professor;";
-                        rs = stmt.executeQuery(query);
+                        rs = statements.get(Query.ALL_TEACHERS).executeQuery();
                         if(rs.next())
                         {
                             System.out.println("List of teachers in the school:");
@@ -445,8 +505,7 @@ public class imt2022021_school {
                         }
                         break;
                     case 20:
-                        query = "SELECT * FROM Course;";
-                        rs = stmt.executeQuery(query);
+                        rs = statements.get(Query.ALL_COURSES).executeQuery();
                         if(rs.next())
                         {
                             System.out.println("List of courses in the school:");
@@ -473,8 +532,12 @@ public class imt2022021_school {
                         String author = sc.next();
                         System.out.println("Enter price of the book");
                         float price = sc.nextFloat();
-                        query="INSERT INTO Book (id, name, author, price) VALUES ('"+book_id+"','"+bname+"','"+author+"',"+price+");";
-                        output=stmt.executeUpdate(query);
+                        ps = statements.get(Query.ADD_BOOK);
+                        ps.setString(1, book_id);
+                        ps.setString(2, bname);
+                        ps.setString(3, author);
+                        ps.setFloat(4, price);
+                        output=ps.executeUpdate();
                         if(output==1)
                         {
                             System.out.println("Book Added Successfully");
@@ -490,8 +553,10 @@ public class imt2022021_school {
                         code = sc.next();
                         System.out.println("Enter the book id");
                         book_id = sc.next();
-                        query="INSERT INTO CourseWork (course_code,book_id) VALUES ('"+code+"','"+book_id+"');";
-                        output=stmt.executeUpdate(query);
+                        ps = statements.get(Query.MARK_BOOK);
+                        ps.setString(1, code);
+                        ps.setString(2, book_id);
+                        output=ps.executeUpdate();
                         if(output==1)
                         {
                             System.out.println("Book Marked Successfully");
@@ -504,8 +569,9 @@ public class imt2022021_school {
                     case 23:
                         System.out.println("Enter the student admission number");
                         admno = sc.next();
-                        query = "select b.name from Student s INNER JOIN Studies ss on s.admno = ss.studAdmo INNER JOIN Course c on ss.course_code = c.course_code INNER JOIN CourseWork cw on c.course_code = cw.course_code INNER JOIN Book b on cw.book_id=b.id WHERE s.admno='"+admno+"';";
-                        rs = stmt.executeQuery(query);
+                        ps = statements.get(Query.BOOKS_OF_STUDENT);
+                        ps.setString(1, admno);
+                        rs = ps.executeQuery();
                         if(rs.next())
                         {
                             System.out.println("Books in course work of student with admission number "+admno+" are:");
@@ -522,8 +588,9 @@ public class imt2022021_school {
                     case 24:
                         System.out.println("Enter the book id");
                         book_id = sc.next();
-                        query = "DELETE FROM Book WHERE id='"+book_id+"';";
-                        output=stmt.executeUpdate(query);
+                        ps = statements.get(Query.REMOVE_BOOK);
+                        ps.setString(1, book_id);
+                        output=ps.executeUpdate();
                         if(output==1)
                         {
                             System.out.println("Book Removed Successfully");
@@ -552,6 +619,12 @@ public class imt2022021_school {
         } catch( Exception e){
             e.printStackTrace();
         } finally { 
+            for (PreparedStatement ps : statements.values()) {
+                try {
+                    ps.close();
+                } catch (SQLException se2) {
+                }
+            }
             try {
                 if (stmt != null)
                     stmt.close();
@@ -1,16 +1,93 @@
 package com.schoolmanagement.dao;
 
+import com.schoolmanagement.dao.mapping.EntityMapper;
+import com.schoolmanagement.dao.mapping.RowMapper;
+import com.schoolmanagement.database.ReplicaRouter;
+import com.schoolmanagement.events.ChangeFeed;
+import com.schoolmanagement.events.ChangeType;
+import com.schoolmanagement.util.IntObjectMap;
+
 import java.sql.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+public abstract class BaseDAO<T> implements EntityStore<T>, AutoCloseable {
+    // Rows per multi-row upsert statement; keeps packets well below max_allowed_packet
+    protected static final int UPSERT_CHUNK_SIZE = 500;
+    // Keys per IN (...) list for relationship batch fetches
+    protected static final int IN_LIST_CHUNK_SIZE = 500;
+
+    // Callback for helpers that stream rows instead of building entities
+    @FunctionalInterface
+    protected interface RowHandler {
+        void handle(ResultSet rs) throws SQLException;
+    }
+
+    // IN-list sizes readAll prepares statements for; shorter tails are padded with a repeated id
+    // so each DAO holds at most this many distinct statements
+    private static final int[] READ_ALL_SIZES = {1, 4, 16, 64, 256};
 
-public abstract class BaseDAO<T> {
     protected Connection connection;
 
+    // Per connection, one statement per READ_ALL_SIZES entry, prepared on first use and kept
+    // until close() or until that connection is closed
+    private final Map<Connection, PreparedStatement[]> readAllStatements = new ConcurrentHashMap<>();
+
+    // Optional change stream; mutating methods publish to it once their statement has succeeded
+    protected ChangeFeed changeFeed;
+
+    // Optional read/write split; without it reads and writes share connection
+    protected ReplicaRouter replicaRouter;
+
+    // mapper() bound to positions 1..n, built on first use
+    private RowMapper<T> rowMapper;
+
     // Constructor to initialize the database connection
     public BaseDAO(Connection connection) {
         this.connection = connection;
     }
 
+    public void setChangeFeed(ChangeFeed changeFeed) {
+        this.changeFeed = changeFeed;
+    }
+
+    public void setReplicaRouter(ReplicaRouter replicaRouter) {
+        this.replicaRouter = replicaRouter;
+    }
+
+    // Called by every mutating method once its statement has succeeded: publishes the change
+    // and keeps this thread's following reads on the primary so it sees its own write
+    protected void afterWrite(String table, ChangeType type, Object key, Object payload) {
+        markWrite();
+        publish(table, type, key, payload);
+    }
+
+    // Pins this thread's reads to the primary; must run on the thread that issued the write
+    protected void markWrite() {
+        if (replicaRouter != null) replicaRouter.markWrite();
+    }
+
+    protected void publish(String table, ChangeType type, Object key, Object payload) {
+        if (changeFeed != null) changeFeed.publish(table, type, String.valueOf(key), payload);
+    }
+
+    // Connection for read-only statements: a replica when routing is enabled, else the primary
+    protected Connection readConnection() {
+        return replicaRouter == null ? connection : replicaRouter.forRead();
+    }
+
     // Abstract methods for CRUD operations
     public abstract void create(T obj) throws SQLException;
 
@@ -18,6 +95,79 @@ public abstract class BaseDAO<T> {
 
     public abstract void delete(int id) throws SQLException;
 
+    // Table name, primary-key column and key accessor used by the generic readAll
+    protected abstract String tableName();
+
+    protected abstract String idColumn();
+
+    protected abstract int idOf(T entity);
+
+    // Fetches many rows by primary key with chunked "WHERE id IN (...)" queries instead of one
+    // read() per id. Missing ids are simply absent from the returned map.
+    public IntObjectMap<T> readAll(int... ids) throws SQLException {
+        int[] unique = Arrays.stream(ids).distinct().toArray();
+        IntObjectMap<T> result = new IntObjectMap<>(unique.length);
+        int from = 0;
+        while (from < unique.length) {
+            int remaining = unique.length - from;
+            int sizeIndex = 0;
+            while (sizeIndex < READ_ALL_SIZES.length - 1 && READ_ALL_SIZES[sizeIndex] < remaining) sizeIndex++;
+            int size = READ_ALL_SIZES[sizeIndex];
+            int count = Math.min(size, remaining);
+
+            PreparedStatement ps = readAllStatement(readConnection(), sizeIndex);
+            synchronized (ps) {
+                for (int i = 0; i < size; i++) ps.setInt(i + 1, unique[from + Math.min(i, count - 1)]);
+                try (ResultSet rs = ps.executeQuery()) {
+                    RowMapper<T> rows = rowMapper();
+                    while (rs.next()) {
+                        T entity = rows.map(rs);
+                        result.put(idOf(entity), entity);
+                    }
+                }
+            }
+            from += count;
+        }
+        return result;
+    }
+
+    private synchronized PreparedStatement readAllStatement(Connection conn, int sizeIndex) throws SQLException {
+        PreparedStatement[] statements = readAllStatements.get(conn);
+        if (statements == null) {
+            // A new read connection: forget the ones closed since, their statements went with them
+            for (Connection known : List.copyOf(readAllStatements.keySet())) {
+                if (known.isClosed()) readAllStatements.remove(known);
+            }
+            statements = new PreparedStatement[READ_ALL_SIZES.length];
+            readAllStatements.put(conn, statements);
+        }
+        if (statements[sizeIndex] == null || statements[sizeIndex].isClosed()) {
+            String query = selectFrom() + " WHERE " + idColumn()
+                    + " IN (" + placeholders(READ_ALL_SIZES[sizeIndex]) + ")";
+            statements[sizeIndex] = conn.prepareStatement(query);
+        }
+        return statements[sizeIndex];
+    }
+
+    // Closes the statements readAll cached; the connections stay open, they belong to the caller
+    @Override
+    public synchronized void close() throws SQLException {
+        SQLException failure = null;
+        for (PreparedStatement[] statements : readAllStatements.values()) {
+            for (PreparedStatement ps : statements) {
+                if (ps == null) continue;
+                try {
+                    ps.close();
+                } catch (SQLException e) {
+                    if (failure == null) failure = e;
+                    else failure.addSuppressed(e);
+                }
+            }
+        }
+        readAllStatements.clear();
+        if (failure != null) throw failure;
+    }
+
     // Helper method to close PreparedStatement and ResultSet resources
     // protected void closeResources(PreparedStatement ps, ResultSet rs) {
     //     try {
@@ -41,19 +191,234 @@ public abstract class BaseDAO<T> {
         return ps;
     }
 
-    // A method to map the ResultSet to a specific entity
-    // Subclasses must override this method to map the ResultSet to their entity type
-    protected abstract T mapResultSetToEntity(ResultSet rs) throws SQLException;
+    // Runs an INSERT on the primary and returns the auto-increment id it generated (0 if none)
+    protected int insertReturningId(String query, Object... params) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement(query, Statement.RETURN_GENERATED_KEYS)) {
+            for (int i = 0; i < params.length; i++) {
+                ps.setObject(i + 1, params[i]);
+            }
+            ps.executeUpdate();
+            try (ResultSet keys = ps.getGeneratedKeys()) {
+                return keys.next() ? keys.getInt(1) : 0;
+            }
+        }
+    }
 
-    // A method to map the ResultSet to a list of entities (useful for fetching lists of records)
-    // Subclasses must override this method to return a list of entities
-    public abstract List<T> mapResultSetToList(ResultSet rs) throws SQLException;
+    // Same as createPreparedStatement, but on the read connection
+    protected PreparedStatement createReadStatement(String query, Object... params) throws SQLException {
+        PreparedStatement ps = readConnection().prepareStatement(query);
+        for (int i = 0; i < params.length; i++) {
+            ps.setObject(i + 1, params[i]);
+        }
+        return ps;
+    }
+
+    // Column list and positional row mapping for T; DAO queries select its columns explicitly
+    protected abstract EntityMapper<T> mapper();
+
+    // Per-entity work after a row is mapped (lazy loaders, key caches); nothing by default
+    protected T attach(T entity) {
+        return entity;
+    }
+
+    // "SELECT <mapper columns> FROM table", for queries whose rows map with rowMapper()
+    protected String selectFrom() {
+        return "SELECT " + mapper().selectList(null) + " FROM " + tableName();
+    }
 
-    // A utility method to execute a query and return a list of entities (e.g., fetching all rows of a table)
+    // Maps rows whose first columns are exactly mapper().columns(), without touching the metadata
+    protected RowMapper<T> rowMapper() {
+        if (rowMapper == null) rowMapper = rowMapperAt(1);
+        return rowMapper;
+    }
+
+    // Same, for a select list where the mapper columns start at firstColumn (e.g. after a join key)
+    protected RowMapper<T> rowMapperAt(int firstColumn) {
+        RowMapper<T> rows = mapper().bindAt(firstColumn);
+        return rs -> attach(rows.map(rs));
+    }
+
+    // For a ResultSet of unknown shape: columns are looked up by label once, then read by index
+    protected RowMapper<T> rowMapper(ResultSet rs) throws SQLException {
+        RowMapper<T> rows = mapper().bind(rs.getMetaData());
+        return r -> attach(rows.map(r));
+    }
+
+    // Maps the current row of any ResultSet holding T's columns. Resolves the columns on every
+    // call, so loops should bind once with rowMapper(rs) instead.
+    protected T mapResultSetToEntity(ResultSet rs) throws SQLException {
+        return rowMapper(rs).map(rs);
+    }
+
+    // Maps every remaining row of any ResultSet holding T's columns
+    public List<T> mapResultSetToList(ResultSet rs) throws SQLException {
+        return rowMapper(rs).mapAll(rs);
+    }
+
+    // Runs a query built on selectFrom() and maps every row
     protected List<T> executeQueryForList(String query, Object... params) throws SQLException {
-        try (PreparedStatement ps = createPreparedStatement(query, params);
+        try (PreparedStatement ps = createReadStatement(query, params);
+             ResultSet rs = ps.executeQuery()) {
+            return rowMapper().mapAll(rs);
+        }
+    }
+
+    protected static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
+    // Runs query on the read connection and hands every row to handler, without building entities
+    protected void forEachRow(String query, RowHandler handler, Object... params) throws SQLException {
+        try (PreparedStatement ps = createReadStatement(query, params);
+             ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) handler.handle(rs);
+        }
+    }
+
+    // Runs query once per chunk of keys, with "(?, ?, ...)" for the chunk substituted for {keys}
+    protected void forEachRowWithKeyIn(String query, List<Integer> keys, RowHandler handler) throws SQLException {
+        for (int from = 0; from < keys.size(); from += IN_LIST_CHUNK_SIZE) {
+            List<Integer> chunk = keys.subList(from, Math.min(keys.size(), from + IN_LIST_CHUNK_SIZE));
+            String sql = query.replace("{keys}", "(" + placeholders(chunk.size()) + ")");
+            try (PreparedStatement ps = createReadStatement(sql, chunk.toArray());
+                 ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) handler.handle(rs);
+            }
+        }
+    }
+
+    // Upserts items by the unique key columns[0] and calls changed for every item that was
+    // inserted or actually changed. Counts are exact on any engine (MySQL's affected-row sums
+    // can't tell inserts, changes and unchanged rows apart), so each chunk is classified against
+    // the stored rows:
+    //  - after a chunk that was all new, the next is first sent as a plain multi-row INSERT; if
+    //    no key exists yet that one round trip is the whole chunk (a bulk load stays at one);
+    //  - otherwise, or when that INSERT hits a duplicate key, the stored rows for the chunk's keys
+    //    are read and only new and changed rows go out in one INSERT ... ON DUPLICATE KEY UPDATE,
+    //    so a chunk with nothing to change also costs a single round trip.
+    // A concurrent writer between the read and the write can make an insert land as an update;
+    // counts are meant for sync reports, not for coordination.
+    protected UpsertResult executeUpsert(String table, String[] columns, List<T> items,
+                                         Function<T, Object[]> values, Consumer<T> changed) throws SQLException {
+        String columnList = String.join(", ", columns);
+        String row = "(" + placeholders(columns.length) + ")";
+        StringJoiner updates = new StringJoiner(", ");
+        for (int c = 1; c < columns.length; c++) updates.add(columns[c] + " = VALUES(" + columns[c] + ")");
+
+        UpsertResult result = UpsertResult.EMPTY;
+        boolean tryInsert = false;
+        for (int from = 0; from < items.size(); from += UPSERT_CHUNK_SIZE) {
+            List<T> chunk = items.subList(from, Math.min(items.size(), from + UPSERT_CHUNK_SIZE));
+            List<Object[]> rows = new ArrayList<>(chunk.size());
+            for (T item : chunk) rows.add(values.apply(item));
+
+            if (tryInsert && distinctKeys(rows) && insertAll(table, columnList, row, rows)) {
+                result = result.plus(new UpsertResult(rows.size(), 0, 0));
+                chunk.forEach(changed);
+                continue;
+            }
+
+            Map<Object, Object[]> stored = storedRows(table, columns, rows);
+            List<Object[]> changedRows = new ArrayList<>();
+            List<T> changedItems = new ArrayList<>();
+            int inserted = 0, updated = 0;
+            for (int i = 0; i < rows.size(); i++) {
+                Object[] r = rows.get(i);
+                Object[] current = stored.put(keyOf(r[0]), r);
+                if (current == null) inserted++;
+                else if (!sameValues(current, r)) updated++;
+                else continue;
+                changedRows.add(r);
+                changedItems.add(chunk.get(i));
+            }
+            result = result.plus(new UpsertResult(inserted, updated, rows.size() - changedRows.size()));
+            tryInsert = inserted == rows.size();
+            if (changedRows.isEmpty()) continue;
+
+            String query = "INSERT INTO " + table + " (" + columnList + ") VALUES "
+                    + String.join(", ", Collections.nCopies(changedRows.size(), row))
+                    + " ON DUPLICATE KEY UPDATE " + updates;
+            try (PreparedStatement ps = connection.prepareStatement(query)) {
+                setRows(ps, changedRows);
+                ps.executeUpdate();
+            }
+            changedItems.forEach(changed);
+        }
+        return result;
+    }
+
+    // Plain multi-row INSERT; false when a key already exists, in which case nothing was written
+    private boolean insertAll(String table, String columnList, String row, List<Object[]> rows) throws SQLException {
+        String query = "INSERT INTO " + table + " (" + columnList + ") VALUES "
+                + String.join(", ", Collections.nCopies(rows.size(), row));
+        try (PreparedStatement ps = connection.prepareStatement(query)) {
+            setRows(ps, rows);
+            ps.executeUpdate();
+            return true;
+        } catch (SQLIntegrityConstraintViolationException e) {
+            return false;
+        } catch (SQLException e) {
+            // Duplicate key as reported by drivers that don't use the subclass
+            if ("23000".equals(e.getSQLState()) || "23505".equals(e.getSQLState())) return false;
+            throw e;
+        }
+    }
+
+    private static void setRows(PreparedStatement ps, List<Object[]> rows) throws SQLException {
+        int index = 1;
+        for (Object[] r : rows) {
+            for (Object value : r) ps.setObject(index++, value);
+        }
+    }
+
+    // A key repeated within the chunk would make the plain INSERT fail on its own rows
+    private static boolean distinctKeys(List<Object[]> rows) {
+        Set<Object> keys = new HashSet<>();
+        for (Object[] r : rows) {
+            if (!keys.add(keyOf(r[0]))) return false;
+        }
+        return true;
+    }
+
+    // Natural keys compare the way MySQL's default case-insensitive collations do, so "r420" and
+    // "R420" are the same row
+    private static Object keyOf(Object key) {
+        return key instanceof String ? ((String) key).toLowerCase(Locale.ROOT) : key;
+    }
+
+    // The key column is never updated, so only the other columns decide whether a row changes
+    private static boolean sameValues(Object[] stored, Object[] sent) {
+        for (int c = 1; c < sent.length; c++) {
+            if (!Objects.equals(stored[c], sent[c])) return false;
+        }
+        return true;
+    }
+
+    // Stored values of the rows whose key (column 0) appears in rows, read from the primary and
+    // converted to the Java types the DAO sends so they compare with equals; mapped by keyOf
+    private Map<Object, Object[]> storedRows(String table, String[] columns, List<Object[]> rows) throws SQLException {
+        Object[] keys = new Object[rows.size()];
+        for (int i = 0; i < keys.length; i++) keys[i] = rows.get(i)[0];
+        String query = "SELECT " + String.join(", ", columns) + " FROM " + table
+                + " WHERE " + columns[0] + " IN (" + placeholders(keys.length) + ")";
+        Object[] sample = rows.get(0);
+        Map<Object, Object[]> stored = new HashMap<>();
+        try (PreparedStatement ps = createPreparedStatement(query, keys);
              ResultSet rs = ps.executeQuery()) {
-            return mapResultSetToList(rs);  // Override this in subclasses
+            while (rs.next()) {
+                Object[] current = new Object[columns.length];
+                for (int c = 0; c < columns.length; c++) current[c] = storedValue(rs, c + 1, sample[c]);
+                stored.put(keyOf(current[0]), current);
+            }
         }
+        return stored;
+    }
+
+    private static Object storedValue(ResultSet rs, int column, Object like) throws SQLException {
+        Object value;
+        if (like instanceof Float) value = rs.getFloat(column);
+        else if (like instanceof Integer) value = rs.getInt(column);
+        else value = rs.getString(column);
+        return rs.wasNull() ? null : value;
     }
 }
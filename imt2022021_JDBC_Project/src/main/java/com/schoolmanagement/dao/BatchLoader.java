@@ -0,0 +1,165 @@
+package com.schoolmanagement.dao;
+
+import com.schoolmanagement.util.IntObjectMap;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+// DataLoader-style read coalescer in front of a DAO. read calls arriving within windowMillis
+// (or before the next scheduler tick when the window is 0) are deduplicated and served by a
+// single readAll; an id already queued or being fetched shares that fetch (single flight).
+// Batches run on the loader's own thread, so they read through a DAO built on a connection the
+// loader owns: a batch can never land inside a transaction a caller has open on its connection.
+// That connection is autocommit on the primary, so rows committed before load() are always seen.
+public class BatchLoader<T> implements AutoCloseable {
+    private final Connection connection;
+    private final BaseDAO<T> dao;
+    private final long windowMillis;
+    private final int maxBatchSize;
+
+    // Every id that is queued or being fetched, with the future its callers wait on
+    private final Map<Integer, CompletableFuture<T>> inFlight = new ConcurrentHashMap<>();
+    private final Object queueLock = new Object();
+    private List<Integer> queued = new ArrayList<>();
+    private boolean dispatchScheduled;
+    private volatile boolean closed;
+
+    // Dispatches run on one thread, so the DAO's connection is never used by two batches at once
+    private final ScheduledThreadPoolExecutor scheduler;
+
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+
+    // connection is used by nothing else and closed with the loader; daoFactory builds the DAO on it
+    public BatchLoader(Function<Connection, ? extends BaseDAO<T>> daoFactory, Connection connection,
+                       long windowMillis, int maxBatchSize) throws SQLException {
+        if (windowMillis < 0) throw new IllegalArgumentException("windowMillis must not be negative: " + windowMillis);
+        if (maxBatchSize <= 0) throw new IllegalArgumentException("maxBatchSize must be positive: " + maxBatchSize);
+        if (connection != null) connection.setAutoCommit(true);
+        this.connection = connection;
+        this.dao = daoFactory.apply(connection);
+        this.windowMillis = windowMillis;
+        this.maxBatchSize = maxBatchSize;
+        this.scheduler = new ScheduledThreadPoolExecutor(1, r -> {
+            Thread t = new Thread(r, "batch-loader-" + dao.tableName());
+            t.setDaemon(true);
+            return t;
+        });
+        // close() dispatches whatever is queued itself, so pending window timers can be dropped
+        scheduler.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+    }
+
+    public CompletableFuture<T> load(int id) {
+        if (closed) return CompletableFuture.failedFuture(new SQLException("Batch loader for " + dao.tableName() + " is closed"));
+        requests.incrementAndGet();
+        CompletableFuture<T> created = new CompletableFuture<>();
+        CompletableFuture<T> existing = inFlight.putIfAbsent(id, created);
+        if (existing != null) {
+            coalesced.incrementAndGet();
+            return existing;
+        }
+        synchronized (queueLock) {
+            try {
+                queued.add(id);
+                if (queued.size() >= maxBatchSize) {
+                    scheduler.execute(this::dispatch);
+                } else if (!dispatchScheduled) {
+                    if (windowMillis > 0) scheduler.schedule(this::dispatch, windowMillis, TimeUnit.MILLISECONDS);
+                    else scheduler.execute(this::dispatch);
+                    dispatchScheduled = true;
+                }
+            } catch (RejectedExecutionException e) {
+                // Closed between the check above and here: nothing will dispatch this id
+                queued.remove(Integer.valueOf(id));
+                inFlight.remove(id, created);
+                created.completeExceptionally(new SQLException("Batch loader for " + dao.tableName() + " is closed", e));
+            }
+        }
+        return created;
+    }
+
+    // Blocking form of load with the same contract as BaseDAO.read
+    public T read(int id) throws SQLException {
+        try {
+            return load(id).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for batched read of id " + id, e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof SQLException) throw (SQLException) e.getCause();
+            throw new SQLException("Batched read of id " + id + " failed", e.getCause());
+        }
+    }
+
+    private void dispatch() {
+        List<Integer> batch;
+        synchronized (queueLock) {
+            batch = queued;
+            queued = new ArrayList<>();
+            dispatchScheduled = false;
+        }
+        if (batch.isEmpty()) return;
+        batches.incrementAndGet();
+
+        int[] ids = batch.stream().mapToInt(Integer::intValue).toArray();
+        try {
+            IntObjectMap<T> rows = dao.readAll(ids);
+            for (int id : ids) {
+                // Remove before completing so a load after this point starts a fresh fetch
+                CompletableFuture<T> future = inFlight.remove(id);
+                if (future != null) future.complete(rows.get(id));
+            }
+        } catch (SQLException | RuntimeException e) {
+            for (int id : ids) {
+                CompletableFuture<T> future = inFlight.remove(id);
+                if (future != null) future.completeExceptionally(e);
+            }
+        }
+    }
+
+    public long getRequestCount() {
+        return requests.get();
+    }
+
+    // Requests that joined an existing fetch instead of adding an id to a batch
+    public long getCoalescedCount() {
+        return coalesced.get();
+    }
+
+    public long getBatchCount() {
+        return batches.get();
+    }
+
+    // Serves what is already queued, then closes the DAO and the loader's connection
+    @Override
+    public void close() throws SQLException {
+        if (closed) return;
+        closed = true;
+        synchronized (queueLock) {
+            scheduler.execute(this::dispatch);
+            scheduler.shutdown();
+        }
+        try {
+            scheduler.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            dao.close();
+        } finally {
+            if (connection != null) connection.close();
+        }
+    }
+}
@@ -1,12 +1,17 @@
 package com.schoolmanagement.dao;
 
+import com.schoolmanagement.dao.mapping.BookMapper;
+import com.schoolmanagement.dao.mapping.EntityMapper;
+import com.schoolmanagement.events.ChangeType;
 import com.schoolmanagement.models.Book;
+import com.schoolmanagement.models.compact.CompactBook;
+import com.schoolmanagement.models.compact.StringPool;
 
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
 
-public class BookDAO extends BaseDAO<Book> {
+public class BookDAO extends BaseDAO<Book> implements BookStore {
 
     public BookDAO(Connection connection) {
         super(connection);
@@ -15,21 +20,32 @@ public class BookDAO extends BaseDAO<Book> {
     @Override
     public void create(Book book) throws SQLException {
         String q = "INSERT INTO books (book_id, title, author, library_id) VALUES (?, ?, ?, ?)";
-        try (PreparedStatement ps = createPreparedStatement(q,
+        book.setId(insertReturningId(q,
                 book.getBookId(),
                 book.getTitle(),
                 book.getAuthor(),
-                book.getLibraryId())) {
-            ps.executeUpdate();
-        }
+                book.getLibraryId()));
+        afterWrite("books", ChangeType.CREATED, book.getBookId(), book);
+    }
+
+    // Inserts or updates by book_id
+    public UpsertResult upsert(Book book) throws SQLException {
+        return upsertAll(List.of(book));
+    }
+
+    public UpsertResult upsertAll(List<Book> books) throws SQLException {
+        return executeUpsert(
+                "books", new String[] { "book_id", "title", "author", "library_id" }, books,
+                b -> new Object[] { b.getBookId(), b.getTitle(), b.getAuthor(), b.getLibraryId() },
+                b -> afterWrite("books", ChangeType.UPSERTED, b.getBookId(), b));
     }
 
     @Override
     public Book read(int id) throws SQLException {
-        String q = "SELECT * FROM books WHERE id = ?";
-        try (PreparedStatement ps = createPreparedStatement(q, id);
+        String q = selectFrom() + " WHERE id = ?";
+        try (PreparedStatement ps = createReadStatement(q, id);
              ResultSet rs = ps.executeQuery()) {
-            if (rs.next()) return mapResultSetToEntity(rs);
+            if (rs.next()) return rowMapper().map(rs);
         }
         return null;
     }
@@ -38,36 +54,49 @@ public class BookDAO extends BaseDAO<Book> {
     public void delete(int id) throws SQLException {
         String q = "DELETE FROM books WHERE id = ?";
         try (PreparedStatement ps = createPreparedStatement(q, id)) {
-            ps.executeUpdate();
+            if (ps.executeUpdate() > 0) afterWrite("books", ChangeType.DELETED, id, null);
         }
     }
 
     @Override
-    protected Book mapResultSetToEntity(ResultSet rs) throws SQLException {
-        return new Book(
-                rs.getInt("id"),
-                rs.getString("book_id"),
-                rs.getString("title"),
-                rs.getString("author"),
-                rs.getInt("library_id")
-        );
+    protected String tableName() {
+        return "books";
     }
 
     @Override
-    public List<Book> mapResultSetToList(ResultSet rs) throws SQLException {
-        List<Book> books = new ArrayList<>();
-        while (rs.next()) books.add(mapResultSetToEntity(rs));
-        return books;
+    protected String idColumn() {
+        return "id";
+    }
+
+    @Override
+    protected int idOf(Book entity) {
+        return entity.getId();
+    }
+
+    @Override
+    protected EntityMapper<Book> mapper() {
+        return BookMapper.INSTANCE;
     }
 
     public List<Book> getAllBooks() throws SQLException {
-        return executeQueryForList("SELECT * FROM books");
+        return executeQueryForList(selectFrom());
+    }
+
+    // Compact, immutable copies of every book for large caches; titles and authors go through pool
+    public List<CompactBook> getAllCompact(StringPool pool) throws SQLException {
+        List<CompactBook> books = new ArrayList<>();
+        forEachRow("SELECT id, book_id, title, author, library_id FROM books ORDER BY id",
+                rs -> books.add(CompactBook.of(rs.getInt(1), rs.getString(2), rs.getString(3), rs.getString(4),
+                        rs.getInt(5), pool)));
+        return books;
     }
 
     public int update(String bookId, String title, String author) throws SQLException {
         String q = "UPDATE books SET title = ?, author = ? WHERE book_id = ?";
         try (PreparedStatement ps = createPreparedStatement(q, title, author, bookId)) {
-            return ps.executeUpdate();
+            int rows = ps.executeUpdate();
+            if (rows > 0) afterWrite("books", ChangeType.UPDATED, bookId, title);
+            return rows;
         }
     }
 
@@ -77,6 +106,7 @@ public class BookDAO extends BaseDAO<Book> {
             ps.setInt(1, courseId);
             ps.setInt(2, bookId);
             ps.executeUpdate();
+            afterWrite("course_books", ChangeType.LINKED, courseId + ":" + bookId, null);
         } catch (SQLException e) { e.printStackTrace(); }
     }
 
@@ -85,20 +115,21 @@ public class BookDAO extends BaseDAO<Book> {
         try (PreparedStatement ps = connection.prepareStatement(q)) {
             ps.setInt(1, courseId);
             ps.setInt(2, bookId);
-            ps.executeUpdate();
+            if (ps.executeUpdate() > 0) afterWrite("course_books", ChangeType.UNLINKED, courseId + ":" + bookId, null);
         } catch (SQLException e) { e.printStackTrace(); }
     }
 
-    public List<Book> getBooksForCourse(int courseId) {
-        String q = "SELECT * FROM books WHERE id IN (SELECT book_id FROM course_books WHERE course_id = ?)";
-        try (PreparedStatement ps = connection.prepareStatement(q)) {
-            ps.setInt(1, courseId);
-            ResultSet rs = ps.executeQuery();
-
-            List<Book> books = new ArrayList<>();
-            while (rs.next()) books.add(mapResultSetToEntity(rs));
-            return books;
+    public List<Book> getBooksForLibrary(int libraryId) {
+        try {
+            return executeQueryForList(selectFrom() + " WHERE library_id = ?", libraryId);
+        } catch (SQLException e) { e.printStackTrace(); }
+        return null;
+    }
 
+    public List<Book> getBooksForCourse(int courseId) {
+        try {
+            return executeQueryForList(
+                    selectFrom() + " WHERE id IN (SELECT book_id FROM course_books WHERE course_id = ?)", courseId);
         } catch (SQLException e) { e.printStackTrace(); }
         return null;
     }
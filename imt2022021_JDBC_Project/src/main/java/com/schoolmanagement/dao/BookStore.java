@@ -0,0 +1,20 @@
+package com.schoolmanagement.dao;
+
+import com.schoolmanagement.models.Book;
+
+import java.sql.SQLException;
+import java.util.List;
+
+public interface BookStore extends EntityStore<Book> {
+    List<Book> getAllBooks() throws SQLException;
+
+    int update(String bookId, String title, String author) throws SQLException;
+
+    void markBookWithCourse(int bookId, int courseId);
+
+    void unmarkBookWithCourse(int bookId, int courseId);
+
+    List<Book> getBooksForLibrary(int libraryId);
+
+    List<Book> getBooksForCourse(int courseId);
+}
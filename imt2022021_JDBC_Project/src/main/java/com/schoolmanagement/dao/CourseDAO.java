@@ -1,12 +1,25 @@
 package com.schoolmanagement.dao;
 
+import com.schoolmanagement.dao.mapping.CourseMapper;
+import com.schoolmanagement.dao.mapping.EntityMapper;
+import com.schoolmanagement.dao.mapping.RowMapper;
+import com.schoolmanagement.dao.mapping.StudentMapper;
+import com.schoolmanagement.events.ChangeType;
 import com.schoolmanagement.models.Course;
+import com.schoolmanagement.models.compact.CompactCourse;
+import com.schoolmanagement.models.compact.StringPool;
+import com.schoolmanagement.models.Student;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
-public class CourseDAO extends BaseDAO<Course> {
+public class CourseDAO extends BaseDAO<Course> implements CourseStore {
+
+    // Maps student rows for relationship loads; created on first use
+    private StudentDAO studentDAO;
 
     public CourseDAO(Connection connection) {
         super(connection);
@@ -15,20 +28,31 @@ public class CourseDAO extends BaseDAO<Course> {
     @Override
     public void create(Course course) throws SQLException {
         String q = "INSERT INTO courses (course_code, course_name, course_description) VALUES (?, ?, ?)";
-        try (PreparedStatement ps = createPreparedStatement(q,
+        course.setCourseId(insertReturningId(q,
                 course.getCourseCode(),
                 course.getCourseName(),
-                course.getCourseDescription())) {
-            ps.executeUpdate();
-        }
+                course.getCourseDescription()));
+        afterWrite("courses", ChangeType.CREATED, course.getCourseCode(), course);
+    }
+
+    // Inserts or updates by course_code
+    public UpsertResult upsert(Course course) throws SQLException {
+        return upsertAll(List.of(course));
+    }
+
+    public UpsertResult upsertAll(List<Course> courses) throws SQLException {
+        return executeUpsert(
+                "courses", new String[] { "course_code", "course_name", "course_description" }, courses,
+                c -> new Object[] { c.getCourseCode(), c.getCourseName(), c.getCourseDescription() },
+                c -> afterWrite("courses", ChangeType.UPSERTED, c.getCourseCode(), c));
     }
 
     @Override
     public Course read(int id) throws SQLException {
-        String q = "SELECT * FROM courses WHERE course_id = ?";
-        try (PreparedStatement ps = createPreparedStatement(q, id);
+        String q = selectFrom() + " WHERE course_id = ?";
+        try (PreparedStatement ps = createReadStatement(q, id);
              ResultSet rs = ps.executeQuery()) {
-            if (rs.next()) return mapResultSetToEntity(rs);
+            if (rs.next()) return rowMapper().map(rs);
         }
         return null;
     }
@@ -37,35 +61,104 @@ public class CourseDAO extends BaseDAO<Course> {
     public void delete(int id) throws SQLException {
         String q = "DELETE FROM courses WHERE course_id = ?";
         try (PreparedStatement ps = createPreparedStatement(q, id)) {
-            ps.executeUpdate();
+            if (ps.executeUpdate() > 0) afterWrite("courses", ChangeType.DELETED, id, null);
         }
     }
 
     @Override
-    protected Course mapResultSetToEntity(ResultSet rs) throws SQLException {
-        return new Course(
-                rs.getInt("course_id"),
-                rs.getString("course_code"),
-                rs.getString("course_name"),
-                rs.getString("course_description")
-        );
+    protected String tableName() {
+        return "courses";
     }
 
     @Override
-    public List<Course> mapResultSetToList(ResultSet rs) throws SQLException {
-        List<Course> courses = new ArrayList<>();
-        while (rs.next()) courses.add(mapResultSetToEntity(rs));
-        return courses;
+    protected String idColumn() {
+        return "course_id";
+    }
+
+    @Override
+    protected int idOf(Course entity) {
+        return entity.getCourseId();
+    }
+
+    @Override
+    protected EntityMapper<Course> mapper() {
+        return CourseMapper.INSTANCE;
+    }
+
+    @Override
+    protected Course attach(Course course) {
+        int courseId = course.getCourseId();
+        course.setStudentsLoader(() -> getStudentsForCourse(courseId));
+        return course;
     }
 
     public List<Course> getAllCourses() throws SQLException {
-        return executeQueryForList("SELECT * FROM courses");
+        return executeQueryForList(selectFrom());
+    }
+
+    // Compact, immutable copies of every course for large caches; repeated strings go through pool
+    public List<CompactCourse> getAllCompact(StringPool pool) throws SQLException {
+        List<CompactCourse> courses = new ArrayList<>();
+        forEachRow("SELECT course_id, course_code, course_name, course_description FROM courses ORDER BY course_id",
+                rs -> courses.add(CompactCourse.of(rs.getInt(1), rs.getString(2), rs.getString(3), rs.getString(4), pool)));
+        return courses;
+    }
+
+    public Course findByCourseCode(String courseCode) throws SQLException {
+        List<Course> found = executeQueryForList(selectFrom() + " WHERE course_code = ?", courseCode);
+        return found.isEmpty() ? null : found.get(0);
+    }
+
+    // Writes a course under its existing course_id, so a copy on another shard keeps the same key
+    public void replicate(Course course) throws SQLException {
+        String q = "INSERT INTO courses (course_id, course_code, course_name, course_description) VALUES (?, ?, ?, ?)"
+                + " ON DUPLICATE KEY UPDATE course_code = VALUES(course_code), course_name = VALUES(course_name),"
+                + " course_description = VALUES(course_description)";
+        try (PreparedStatement ps = createPreparedStatement(q,
+                course.getCourseId(),
+                course.getCourseCode(),
+                course.getCourseName(),
+                course.getCourseDescription())) {
+            ps.executeUpdate();
+        }
+        afterWrite("courses", ChangeType.UPSERTED, course.getCourseCode(), course);
+    }
+
+    public List<Student> getStudentsForCourse(int courseId) {
+        String q = "SELECT " + StudentMapper.INSTANCE.selectList("s")
+                + " FROM students s JOIN enrollments e ON e.student_id = s.id WHERE e.course_id = ?";
+        try (PreparedStatement ps = createReadStatement(q, courseId);
+             ResultSet rs = ps.executeQuery()) {
+            return studentDAO().rowMapper().mapAll(rs);
+        } catch (SQLException e) { e.printStackTrace(); }
+        return null;
+    }
+
+    // Batch fetch: fills getStudents() of every given course with one IN (...) query per chunk,
+    // instead of one query per course when each is first accessed
+    public void loadStudents(List<Course> courses) throws SQLException {
+        Map<Integer, List<Student>> byCourse = new HashMap<>();
+        for (Course c : courses) byCourse.put(c.getCourseId(), new ArrayList<>());
+        String q = "SELECT e.course_id, " + StudentMapper.INSTANCE.selectList("s") + " FROM enrollments e "
+                + "JOIN students s ON s.id = e.student_id WHERE e.course_id IN {keys}";
+        RowMapper<Student> students = studentDAO().rowMapperAt(2);
+        forEachRowWithKeyIn(q, new ArrayList<>(byCourse.keySet()),
+                rs -> byCourse.get(rs.getInt(1)).add(students.map(rs)));
+        for (Course c : courses) c.setStudents(byCourse.get(c.getCourseId()));
+    }
+
+    private StudentDAO studentDAO() {
+        if (studentDAO == null) studentDAO = new StudentDAO(connection);
+        studentDAO.setReplicaRouter(replicaRouter);
+        return studentDAO;
     }
 
     public int update(String code, String name, String desc) throws SQLException {
         String q = "UPDATE courses SET course_name = ?, course_description = ? WHERE course_code = ?";
         try (PreparedStatement ps = createPreparedStatement(q, name, desc, code)) {
-            return ps.executeUpdate();
+            int rows = ps.executeUpdate();
+            if (rows > 0) afterWrite("courses", ChangeType.UPDATED, code, name);
+            return rows;
         }
     }
 }
@@ -0,0 +1,17 @@
+package com.schoolmanagement.dao;
+
+import com.schoolmanagement.models.Course;
+import com.schoolmanagement.models.Student;
+
+import java.sql.SQLException;
+import java.util.List;
+
+public interface CourseStore extends EntityStore<Course> {
+    List<Course> getAllCourses() throws SQLException;
+
+    Course findByCourseCode(String courseCode) throws SQLException;
+
+    int update(String code, String name, String desc) throws SQLException;
+
+    List<Student> getStudentsForCourse(int courseId);
+}
@@ -0,0 +1,14 @@
+package com.schoolmanagement.dao;
+
+import java.sql.SQLException;
+
+// CRUD contract shared by the JDBC DAOs and the in-memory implementations in dao.memory
+public interface EntityStore<T> {
+    // Sets the generated id on entity once the row is stored
+    void create(T entity) throws SQLException;
+
+    // null when no row has this id
+    T read(int id) throws SQLException;
+
+    void delete(int id) throws SQLException;
+}
@@ -1,12 +1,24 @@
 package com.schoolmanagement.dao;
 
+import com.schoolmanagement.dao.mapping.EntityMapper;
+import com.schoolmanagement.dao.mapping.LibraryMapper;
+import com.schoolmanagement.dao.mapping.RowMapper;
+import com.schoolmanagement.events.ChangeType;
+import com.schoolmanagement.models.Book;
 import com.schoolmanagement.models.Library;
+import com.schoolmanagement.models.compact.CompactLibrary;
+import com.schoolmanagement.models.compact.StringPool;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
-public class LibraryDAO extends BaseDAO<Library> {
+public class LibraryDAO extends BaseDAO<Library> implements LibraryStore {
+
+    // Maps book rows for relationship loads; created on first use
+    private BookDAO bookDAO;
 
     public LibraryDAO(Connection connection) {
         super(connection);
@@ -15,17 +27,16 @@ public class LibraryDAO extends BaseDAO<Library> {
     @Override
     public void create(Library library) throws SQLException {
         String q = "INSERT INTO libraries (name) VALUES (?)";
-        try (PreparedStatement ps = createPreparedStatement(q, library.getName())) {
-            ps.executeUpdate();
-        }
+        library.setId(insertReturningId(q, library.getName()));
+        afterWrite("libraries", ChangeType.CREATED, library.getName(), library);
     }
 
     @Override
     public Library read(int id) throws SQLException {
-        String q = "SELECT * FROM libraries WHERE id = ?";
-        try (PreparedStatement ps = createPreparedStatement(q, id);
+        String q = selectFrom() + " WHERE id = ?";
+        try (PreparedStatement ps = createReadStatement(q, id);
              ResultSet rs = ps.executeQuery()) {
-            if (rs.next()) return mapResultSetToEntity(rs);
+            if (rs.next()) return rowMapper().map(rs);
         }
         return null;
     }
@@ -34,33 +45,72 @@ public class LibraryDAO extends BaseDAO<Library> {
     public void delete(int id) throws SQLException {
         String q = "DELETE FROM libraries WHERE id = ?";
         try (PreparedStatement ps = createPreparedStatement(q, id)) {
-            ps.executeUpdate();
+            if (ps.executeUpdate() > 0) afterWrite("libraries", ChangeType.DELETED, id, null);
         }
     }
 
     @Override
-    protected Library mapResultSetToEntity(ResultSet rs) throws SQLException {
-        return new Library(
-                rs.getInt("id"),
-                rs.getString("name")
-        );
+    protected String tableName() {
+        return "libraries";
     }
 
     @Override
-    public List<Library> mapResultSetToList(ResultSet rs) throws SQLException {
-        List<Library> libraries = new ArrayList<>();
-        while (rs.next()) libraries.add(mapResultSetToEntity(rs));
-        return libraries;
+    protected String idColumn() {
+        return "id";
+    }
+
+    @Override
+    protected int idOf(Library entity) {
+        return entity.getId();
+    }
+
+    @Override
+    protected EntityMapper<Library> mapper() {
+        return LibraryMapper.INSTANCE;
+    }
+
+    @Override
+    protected Library attach(Library library) {
+        int libraryId = library.getId();
+        library.setBooksLoader(() -> bookDAO().getBooksForLibrary(libraryId));
+        return library;
     }
 
     public List<Library> getAllLibraries() throws SQLException {
-        return executeQueryForList("SELECT * FROM libraries");
+        return executeQueryForList(selectFrom());
+    }
+
+    // Compact, immutable copies of every library for large caches
+    public List<CompactLibrary> getAllCompact(StringPool pool) throws SQLException {
+        List<CompactLibrary> libraries = new ArrayList<>();
+        forEachRow("SELECT id, name FROM libraries ORDER BY id",
+                rs -> libraries.add(new CompactLibrary(rs.getInt(1), pool.intern(rs.getString(2)))));
+        return libraries;
+    }
+
+    // Batch fetch: fills getBooks() of every given library with one IN (...) query per chunk
+    public void loadBooks(List<Library> libraries) throws SQLException {
+        Map<Integer, List<Book>> byLibrary = new HashMap<>();
+        for (Library l : libraries) byLibrary.put(l.getId(), new ArrayList<>());
+        RowMapper<Book> books = bookDAO().rowMapper();
+        forEachRowWithKeyIn(bookDAO().selectFrom() + " WHERE library_id IN {keys}", new ArrayList<>(byLibrary.keySet()),
+                rs -> {
+                    Book book = books.map(rs);
+                    byLibrary.get(book.getLibraryId()).add(book);
+                });
+        for (Library l : libraries) l.setBooks(byLibrary.get(l.getId()));
+    }
+
+    private BookDAO bookDAO() {
+        if (bookDAO == null) bookDAO = new BookDAO(connection);
+        bookDAO.setReplicaRouter(replicaRouter);
+        return bookDAO;
     }
 
     public void update(int id, String name) throws SQLException {
         String q = "UPDATE libraries SET name = ? WHERE id = ?";
         try (PreparedStatement ps = createPreparedStatement(q, name, id)) {
-            ps.executeUpdate();
+            if (ps.executeUpdate() > 0) afterWrite("libraries", ChangeType.UPDATED, id, name);
         }
     }
 }
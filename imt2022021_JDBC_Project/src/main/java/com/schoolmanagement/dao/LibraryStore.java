@@ -0,0 +1,12 @@
+package com.schoolmanagement.dao;
+
+import com.schoolmanagement.models.Library;
+
+import java.sql.SQLException;
+import java.util.List;
+
+public interface LibraryStore extends EntityStore<Library> {
+    List<Library> getAllLibraries() throws SQLException;
+
+    void update(int id, String name) throws SQLException;
+}
@@ -0,0 +1,106 @@
+package com.schoolmanagement.dao;
+
+import com.schoolmanagement.database.FanOutExecutor;
+import com.schoolmanagement.database.ShardRouter;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.ToIntFunction;
+
+// One DAO per shard plus the routing and scatter-gather helpers shared by every entity.
+// Point operations go to the shard the router picks; whole-table queries run on all shards
+// in parallel and are merged.
+public class ShardedDAO<T, D extends BaseDAO<T>> {
+    private final List<D> shards;
+    private final ShardRouter router;
+    private final FanOutExecutor executor;
+
+    public ShardedDAO(List<D> shards, ShardRouter router, FanOutExecutor executor) {
+        this.shards = shards;
+        this.router = router;
+        this.executor = executor;
+    }
+
+    public D forShard(int shard) {
+        return shards.get(shard);
+    }
+
+    public D forId(int id) {
+        return shards.get(router.shardForId(id));
+    }
+
+    public List<D> all() {
+        return shards;
+    }
+
+    // Closes every shard's DAO; the shard connections belong to the router
+    public void close() throws SQLException {
+        for (D dao : shards) dao.close();
+    }
+
+    // Inserts on the given shard and checks that the generated id routes back to it. A shard whose
+    // auto_increment_increment/offset is not set up would hand out ids that reads by id look for
+    // elsewhere, so the row is removed again and the insert fails.
+    public void create(int shard, T entity, ToIntFunction<T> idOf) throws SQLException {
+        D dao = forShard(shard);
+        dao.create(entity);
+        int id = idOf.applyAsInt(entity);
+        int routed = router.shardForId(id);
+        if (routed != shard) {
+            dao.delete(id);
+            throw new SQLException("Shard " + shard + " generated id " + id + ", which routes to shard " + routed
+                    + "; check its auto_increment_increment and auto_increment_offset");
+        }
+    }
+
+    public T read(int id) throws SQLException {
+        return forId(id).read(id);
+    }
+
+    public void delete(int id) throws SQLException {
+        forId(id).delete(id);
+    }
+
+    public <R> List<R> fanOut(FanOutExecutor.ShardTask<D, R> task) throws SQLException {
+        return executor.fanOut(shards, task);
+    }
+
+    // Scatter-gather for list queries: each shard's rows are sorted by order and k-way merged
+    public List<T> gatherSorted(FanOutExecutor.ShardTask<D, List<T>> task, Comparator<T> order) throws SQLException {
+        List<List<T>> perShard = fanOut(task);
+        for (List<T> rows : perShard) rows.sort(order);
+        return mergeSorted(perShard, order);
+    }
+
+    // Scatter-gather for "top 1" queries: each shard's best row, then the best of those
+    public T gatherMax(FanOutExecutor.ShardTask<D, T> task, Comparator<T> order) throws SQLException {
+        T best = null;
+        for (T candidate : fanOut(task)) {
+            if (candidate != null && (best == null || order.compare(candidate, best) > 0)) best = candidate;
+        }
+        return best;
+    }
+
+    public static <T> List<T> mergeSorted(List<List<T>> sortedLists, Comparator<T> order) {
+        int total = 0;
+        for (List<T> list : sortedLists) total += list.size();
+        List<T> merged = new ArrayList<>(total);
+
+        // Heap entries are {list index, position in that list}
+        PriorityQueue<int[]> heads = new PriorityQueue<>(Math.max(1, sortedLists.size()),
+                (a, b) -> order.compare(sortedLists.get(a[0]).get(a[1]), sortedLists.get(b[0]).get(b[1])));
+        for (int i = 0; i < sortedLists.size(); i++) {
+            if (!sortedLists.get(i).isEmpty()) heads.add(new int[] { i, 0 });
+        }
+        while (!heads.isEmpty()) {
+            int[] head = heads.poll();
+            List<T> list = sortedLists.get(head[0]);
+            merged.add(list.get(head[1]));
+            if (++head[1] < list.size()) heads.add(head);
+        }
+        return merged;
+    }
+}
@@ -0,0 +1,250 @@
+package com.schoolmanagement.dao;
+
+import com.schoolmanagement.database.FanOutExecutor;
+import com.schoolmanagement.database.ShardRouter;
+import com.schoolmanagement.models.Book;
+import com.schoolmanagement.models.Course;
+import com.schoolmanagement.models.Library;
+import com.schoolmanagement.models.Student;
+import com.schoolmanagement.models.Teacher;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+
+// Entry point for a sharded deployment. Students and teachers live on their campus shard,
+// libraries on a shard picked by name and books with their library, so foreign keys never cross
+// databases. Courses are reference data: created on shard 0 and copied to every shard under the
+// same course_id, which keeps enrollments, course_teacher and course_books rows local to the
+// student's, teacher's or book's shard.
+// This is a facade next to SchoolService rather than an implementation of the *Store interfaces:
+// those describe a single database, while course replication and the scatter-gather queries need
+// every shard at once. A sharded deployment uses this class in place of SchoolService.
+public class ShardedStore implements AutoCloseable {
+    private static final int HOME_SHARD = 0;
+
+    private final ShardRouter router;
+    private final FanOutExecutor executor;
+    private final ShardedDAO<Student, StudentDAO> students;
+    private final ShardedDAO<Teacher, TeacherDAO> teachers;
+    private final ShardedDAO<Course, CourseDAO> courses;
+    private final ShardedDAO<Library, LibraryDAO> libraries;
+    private final ShardedDAO<Book, BookDAO> books;
+
+    public ShardedStore(ShardRouter router) {
+        this.router = router;
+        this.executor = new FanOutExecutor(router.shardCount());
+        this.students = shardedDAO(StudentDAO::new);
+        this.teachers = shardedDAO(TeacherDAO::new);
+        this.courses = shardedDAO(CourseDAO::new);
+        this.libraries = shardedDAO(LibraryDAO::new);
+        this.books = shardedDAO(BookDAO::new);
+    }
+
+    private <T, D extends BaseDAO<T>> ShardedDAO<T, D> shardedDAO(Function<Connection, D> constructor) {
+        List<D> daos = new ArrayList<>();
+        for (Connection shard : router.getShards()) daos.add(constructor.apply(shard));
+        return new ShardedDAO<>(daos, router, executor);
+    }
+
+    public ShardRouter getRouter() {
+        return router;
+    }
+
+    // ---- students ----
+
+    public void addStudent(Student student) throws SQLException {
+        students.create(router.shardForCampusKey(student.getRollNumber()), student, Student::getId);
+    }
+
+    public Student getStudent(int id) throws SQLException {
+        return students.read(id);
+    }
+
+    public Student findStudentByRollNumber(String rollNumber) throws SQLException {
+        return students.forShard(router.shardForCampusKey(rollNumber)).findByRollNumber(rollNumber);
+    }
+
+    public void deleteStudent(int id) throws SQLException {
+        students.delete(id);
+    }
+
+    public void updateCGPA(int studentId, float cgpa) {
+        students.forId(studentId).updateCGPA(studentId, cgpa);
+    }
+
+    public List<Student> getAllStudents() throws SQLException {
+        return students.gatherSorted(StudentDAO::getAllStudents, Comparator.comparingInt(Student::getId));
+    }
+
+    public Student getTopper() throws SQLException {
+        return students.gatherMax(StudentDAO::getTopper, Comparator.comparingDouble(Student::getCgpa));
+    }
+
+    public void addStudentToCourse(int studentId, int courseId) throws SQLException {
+        students.forId(studentId).addStudentToCourse(studentId, courseId);
+    }
+
+    public void removeStudentFromCourse(int studentId, int courseId) {
+        students.forId(studentId).removeStudentFromCourse(studentId, courseId);
+    }
+
+    // ---- teachers ----
+
+    public void addTeacher(Teacher teacher) throws SQLException {
+        teachers.create(router.shardForCampusKey(teacher.getEmpId()), teacher, Teacher::getId);
+    }
+
+    public Teacher getTeacher(int id) throws SQLException {
+        return teachers.read(id);
+    }
+
+    public void deleteTeacher(int id) throws SQLException {
+        teachers.delete(id);
+    }
+
+    public void incrementSalary(int teacherId, float increment) {
+        teachers.forId(teacherId).incrementSalary(teacherId, increment);
+    }
+
+    public List<Teacher> getAllTeachers() throws SQLException {
+        return teachers.gatherSorted(TeacherDAO::getAllTeachers, Comparator.comparingInt(Teacher::getId));
+    }
+
+    public Teacher getHighestPaidTeacher() throws SQLException {
+        return teachers.gatherMax(TeacherDAO::getHighestPaidTeacher, Comparator.comparingDouble(Teacher::getSalary));
+    }
+
+    // ---- courses (replicated) ----
+
+    // Creates the course on the home shard and copies it to the others. If any copy fails the
+    // course is removed again from every shard that has it, and the failure names the shards.
+    public Course addCourse(Course course) throws SQLException {
+        CourseDAO home = courses.forShard(HOME_SHARD);
+        home.create(course);
+        int courseId = course.getCourseId();
+        List<SQLException> failures = courses.fanOut(dao -> dao == home ? null : attempt(() -> dao.replicate(course)));
+        if (failed(failures).isEmpty()) return course;
+
+        List<SQLException> undo = new ArrayList<>();
+        for (int shard = 0; shard < failures.size(); shard++) {
+            CourseDAO dao = courses.forShard(shard);
+            undo.add(failures.get(shard) == null ? attempt(() -> dao.delete(courseId)) : null);
+        }
+        List<Integer> stranded = failed(undo);
+        String message = "Course " + courseId + " could not be copied to shards " + failed(failures)
+                + (stranded.isEmpty() ? "; removed it again" : " and is still present on shards " + stranded);
+        List<SQLException> causes = new ArrayList<>(failures);
+        causes.addAll(undo);
+        throw divergence(message, causes);
+    }
+
+    public Course getCourse(int courseId) throws SQLException {
+        return courses.forShard(HOME_SHARD).read(courseId);
+    }
+
+    public List<Course> getAllCourses() throws SQLException {
+        return courses.forShard(HOME_SHARD).getAllCourses();
+    }
+
+    // A delete cannot be compensated once a shard has committed it, so a partial failure reports
+    // the shards that still hold the course; deleting again is safe and finishes the job
+    public void deleteCourse(int courseId) throws SQLException {
+        List<SQLException> failures = courses.fanOut(dao -> attempt(() -> dao.delete(courseId)));
+        if (!failed(failures).isEmpty()) {
+            throw divergence("Course " + courseId + " is still present on shards " + failed(failures)
+                    + " after deleting it from the others", failures);
+        }
+    }
+
+    // Enrollments sit on each student's shard, so the roster is gathered from all of them
+    public List<Student> getStudentsForCourse(int courseId) throws SQLException {
+        Comparator<Student> byId = Comparator.comparingInt(Student::getId);
+        List<List<Student>> perShard = courses.fanOut(dao -> {
+            List<Student> rows = dao.getStudentsForCourse(courseId);
+            if (rows == null) throw new SQLException("Could not load students of course " + courseId);
+            rows.sort(byId);
+            return rows;
+        });
+        return ShardedDAO.mergeSorted(perShard, byId);
+    }
+
+    // ---- libraries and books ----
+
+    public void addLibrary(Library library) throws SQLException {
+        libraries.create(router.shardForKey(library.getName()), library, Library::getId);
+    }
+
+    public Library getLibrary(int id) throws SQLException {
+        return libraries.read(id);
+    }
+
+    public List<Library> getAllLibraries() throws SQLException {
+        return libraries.gatherSorted(LibraryDAO::getAllLibraries, Comparator.comparingInt(Library::getId));
+    }
+
+    public void addBook(Book book) throws SQLException {
+        books.create(router.shardForId(book.getLibraryId()), book, Book::getId);
+    }
+
+    public Book getBook(int id) throws SQLException {
+        return books.read(id);
+    }
+
+    public void deleteBook(int id) throws SQLException {
+        books.delete(id);
+    }
+
+    public List<Book> getBooksForLibrary(int libraryId) {
+        return books.forId(libraryId).getBooksForLibrary(libraryId);
+    }
+
+    public List<Book> getAllBooks() throws SQLException {
+        return books.gatherSorted(BookDAO::getAllBooks, Comparator.comparingInt(Book::getId));
+    }
+
+    public void markBookWithCourse(int bookId, int courseId) {
+        books.forId(bookId).markBookWithCourse(bookId, courseId);
+    }
+
+    private interface ShardWrite {
+        void run() throws SQLException;
+    }
+
+    // Runs one shard's write, returning its failure instead of throwing so the others still run
+    private static SQLException attempt(ShardWrite write) {
+        try {
+            write.run();
+            return null;
+        } catch (SQLException e) {
+            return e;
+        }
+    }
+
+    private static List<Integer> failed(List<SQLException> perShard) {
+        List<Integer> shards = new ArrayList<>();
+        for (int i = 0; i < perShard.size(); i++) {
+            if (perShard.get(i) != null) shards.add(i);
+        }
+        return shards;
+    }
+
+    private static SQLException divergence(String message, List<SQLException> perShard) {
+        SQLException e = new SQLException(message);
+        for (SQLException cause : perShard) if (cause != null) e.addSuppressed(cause);
+        return e;
+    }
+
+    @Override
+    public void close() throws SQLException {
+        executor.close();
+        try {
+            for (ShardedDAO<?, ?> dao : List.of(students, teachers, courses, libraries, books)) dao.close();
+        } finally {
+            router.close();
+        }
+    }
+}
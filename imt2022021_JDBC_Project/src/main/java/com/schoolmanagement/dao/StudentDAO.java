@@ -1,13 +1,38 @@
 package com.schoolmanagement.dao;
 
+import com.schoolmanagement.dao.mapping.BookMapper;
+import com.schoolmanagement.dao.mapping.CourseMapper;
+import com.schoolmanagement.dao.mapping.EntityMapper;
+import com.schoolmanagement.dao.mapping.RowMapper;
+import com.schoolmanagement.dao.mapping.StudentMapper;
+import com.schoolmanagement.events.ChangeType;
 import com.schoolmanagement.models.Book;
+import com.schoolmanagement.models.Course;
 import com.schoolmanagement.models.Student;
+import com.schoolmanagement.models.compact.CompactStudent;
+import com.schoolmanagement.models.compact.StringPool;
+import com.schoolmanagement.util.IntObjectMap;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
-public class StudentDAO extends BaseDAO<Student> {
+public class StudentDAO extends BaseDAO<Student> implements StudentStore {
+
+    private static final int ROLL_NUMBER_CACHE_SIZE = 10_000;
+
+    // Secondary-key cache (roll_number -> id), filled by getIdByRollNumber and findByRollNumber only
+    private final RollNumberCache rollNumberCache = new RollNumberCache(ROLL_NUMBER_CACHE_SIZE);
+
+    // Set by enableWriteBehind; when present updateCGPA queues instead of writing immediately
+    private WriteBehindBuffer cgpaBuffer;
+
+    // Maps course rows for relationship loads; created on first use
+    private CourseDAO courseDAO;
 
     public StudentDAO(Connection connection) {
         super(connection);
@@ -16,77 +41,180 @@ public class StudentDAO extends BaseDAO<Student> {
     @Override
     public void create(Student student) throws SQLException {
         String query = "INSERT INTO students (roll_number, name, dob, address, cgpa) VALUES (?, ?, ?, ?, ?)";
-        try (PreparedStatement ps = createPreparedStatement(query,
+        student.setId(insertReturningId(query,
                 student.getRollNumber(),
                 student.getName(),
                 student.getDob(),
                 student.getAddress(),
-                student.getCgpa())) {
-            ps.executeUpdate();
-        }
+                student.getCgpa()));
+        afterWrite("students", ChangeType.CREATED, student.getRollNumber(), student);
+    }
+
+    // Inserts or updates by roll_number
+    public UpsertResult upsert(Student student) throws SQLException {
+        return upsertAll(List.of(student));
+    }
+
+    public UpsertResult upsertAll(List<Student> students) throws SQLException {
+        return executeUpsert(
+                "students", new String[] { "roll_number", "name", "dob", "address", "cgpa" }, students,
+                s -> new Object[] { s.getRollNumber(), s.getName(), s.getDob(), s.getAddress(), s.getCgpa() },
+                s -> afterWrite("students", ChangeType.UPSERTED, s.getRollNumber(), s));
+    }
+
+    // Coalesces updateCGPA calls per student and flushes them as one batched UPDATE once
+    // maxPending students are queued or the oldest is flushIntervalMillis old. Reads flush first.
+    // Flushes run on flushConnection, which the buffer takes over and closes; it must be a
+    // separate connection from this DAO's. Enabling again flushes and replaces the previous buffer.
+    public WriteBehindBuffer enableWriteBehind(Connection flushConnection, int maxPending, long flushIntervalMillis)
+            throws SQLException {
+        if (cgpaBuffer != null) cgpaBuffer.close();
+        cgpaBuffer = new WriteBehindBuffer(flushConnection, "students", "cgpa", WriteBehindBuffer.Mode.REPLACE,
+                maxPending, flushIntervalMillis,
+                (id, cgpa) -> publish("students", ChangeType.CGPA_UPDATED, id, cgpa));
+        return cgpaBuffer;
     }
 
     @Override
     public Student read(int id) throws SQLException {
-        String query = "SELECT * FROM students WHERE id = ?";
-        try (PreparedStatement ps = createPreparedStatement(query, id);
+        if (cgpaBuffer != null) cgpaBuffer.flushIfPending(id);
+        String query = selectFrom() + " WHERE id = ?";
+        try (PreparedStatement ps = createReadStatement(query, id);
              ResultSet rs = ps.executeQuery()) {
-            if (rs.next()) return mapResultSetToEntity(rs);
+            if (rs.next()) return rowMapper().map(rs);
         }
         return null;
     }
 
+    @Override
+    public IntObjectMap<Student> readAll(int... ids) throws SQLException {
+        if (cgpaBuffer != null) cgpaBuffer.flush();
+        return super.readAll(ids);
+    }
+
     @Override
     public void delete(int id) throws SQLException {
         String query = "DELETE FROM students WHERE id = ?";
         try (PreparedStatement ps = createPreparedStatement(query, id)) {
-            ps.executeUpdate();
+            if (ps.executeUpdate() > 0) afterWrite("students", ChangeType.DELETED, id, null);
         }
+        rollNumberCache.removeId(id);
     }
 
     @Override
-    protected Student mapResultSetToEntity(ResultSet rs) throws SQLException {
-        return new Student(
-            rs.getInt("id"),
-            rs.getString("roll_number"),
-            rs.getString("name"),
-            rs.getString("dob"),
-            rs.getString("address"),
-            rs.getFloat("cgpa")
-        );
+    protected String tableName() {
+        return "students";
     }
 
     @Override
-    public List<Student> mapResultSetToList(ResultSet rs) throws SQLException {
-        List<Student> students = new ArrayList<>();
-        while (rs.next()) students.add(mapResultSetToEntity(rs));
-        return students;
+    protected String idColumn() {
+        return "id";
+    }
+
+    @Override
+    protected int idOf(Student entity) {
+        return entity.getId();
+    }
+
+    @Override
+    protected EntityMapper<Student> mapper() {
+        return StudentMapper.INSTANCE;
+    }
+
+    @Override
+    protected Student attach(Student student) {
+        int studentId = student.getId();
+        student.setCoursesLoader(() -> getCoursesForStudent(studentId));
+        return student;
     }
 
     public List<Student> getAllStudents() throws SQLException {
-        return executeQueryForList("SELECT * FROM students");
+        if (cgpaBuffer != null) cgpaBuffer.flush();
+        return executeQueryForList(selectFrom());
+    }
+
+    // Compact, immutable copies of every student for large caches; repeated strings go through pool
+    public List<CompactStudent> getAllCompact(StringPool pool) throws SQLException {
+        if (cgpaBuffer != null) cgpaBuffer.flush();
+        List<CompactStudent> students = new ArrayList<>();
+        forEachRow("SELECT id, roll_number, name, dob, address, cgpa FROM students ORDER BY id",
+                rs -> students.add(CompactStudent.of(rs.getInt(1), rs.getString(2), rs.getString(3), rs.getString(4),
+                        rs.getString(5), rs.getFloat(6), pool)));
+        return students;
+    }
+
+    // Exact lookup on the unique roll_number index, one round trip
+    public Student findByRollNumber(String rollNumber) throws SQLException {
+        if (cgpaBuffer != null) cgpaBuffer.flush();
+        String query = selectFrom() + " WHERE roll_number = ?";
+        try (PreparedStatement ps = createReadStatement(query, rollNumber);
+             ResultSet rs = ps.executeQuery()) {
+            if (rs.next()) {
+                Student student = rowMapper().map(rs);
+                rollNumberCache.put(student.getRollNumber(), student.getId());
+                return student;
+            }
+        }
+        return null;
+    }
+
+    // Resolves roll_number -> id from the cache, falling back to an index-only query; -1 if absent
+    public int getIdByRollNumber(String rollNumber) throws SQLException {
+        Integer cached = rollNumberCache.get(rollNumber);
+        if (cached != null) return cached;
+
+        String query = "SELECT id FROM students WHERE roll_number = ?";
+        try (PreparedStatement ps = createReadStatement(query, rollNumber);
+             ResultSet rs = ps.executeQuery()) {
+            if (rs.next()) {
+                int id = rs.getInt("id");
+                rollNumberCache.put(rollNumber, id);
+                return id;
+            }
+        }
+        return -1;
+    }
+
+    // Range scan on idx_students_name; LIKE wildcards in the prefix are matched literally
+    public List<Student> findByNamePrefix(String prefix) throws SQLException {
+        String pattern = prefix.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_") + "%";
+        return executeQueryForList(selectFrom() + " WHERE name LIKE ? ORDER BY name", pattern);
     }
 
     public int updateAddress(String rollNumber, String address) throws SQLException {
         String query = "UPDATE students SET address = ? WHERE roll_number = ?";
         try (PreparedStatement ps = createPreparedStatement(query, address, rollNumber)) {
-            return ps.executeUpdate();
+            int rows = ps.executeUpdate();
+            if (rows > 0) afterWrite("students", ChangeType.ADDRESS_UPDATED, rollNumber, address);
+            return rows;
         }
     }
 
     public void updateCGPA(int studentId, float newCGPA) {
+        if (cgpaBuffer != null) {
+            markWrite();
+            try {
+                cgpaBuffer.submit(studentId, newCGPA);
+            } catch (SQLException e) { e.printStackTrace(); }
+            return;
+        }
         String query = "UPDATE students SET cgpa = ? WHERE id = ?";
         try (PreparedStatement ps = connection.prepareStatement(query)) {
             ps.setFloat(1, newCGPA);
             ps.setInt(2, studentId);
-            ps.executeUpdate();
+            if (ps.executeUpdate() > 0) afterWrite("students", ChangeType.CGPA_UPDATED, studentId, newCGPA);
         } catch (SQLException e) { e.printStackTrace(); }
     }
 
     public Student getTopper() {
-        try (Statement stmt = connection.createStatement();
-             ResultSet rs = stmt.executeQuery("SELECT * FROM students ORDER BY cgpa DESC LIMIT 1")) {
-            if (rs.next()) return mapResultSetToEntity(rs);
+        try {
+            if (cgpaBuffer != null) cgpaBuffer.flush();
+        } catch (SQLException e) { e.printStackTrace(); }
+        try (Statement stmt = readConnection().createStatement();
+             ResultSet rs = stmt.executeQuery(selectFrom() + " ORDER BY cgpa DESC LIMIT 1")) {
+            if (rs.next()) return rowMapper().map(rs);
         } catch (SQLException e) { e.printStackTrace(); }
         return null;
     }
@@ -98,6 +226,7 @@ public class StudentDAO extends BaseDAO<Student> {
             pstmt.setInt(2, studentId);
             pstmt.executeUpdate();
         }
+        afterWrite("enrollments", ChangeType.LINKED, courseId + ":" + studentId, null);
     }
     
 
@@ -106,13 +235,41 @@ public class StudentDAO extends BaseDAO<Student> {
         try (PreparedStatement ps = connection.prepareStatement(q)) {
             ps.setInt(1, courseId);
             ps.setInt(2, studentId);
-            ps.executeUpdate();
+            if (ps.executeUpdate() > 0) afterWrite("enrollments", ChangeType.UNLINKED, courseId + ":" + studentId, null);
+        } catch (SQLException e) { e.printStackTrace(); }
+    }
+
+    public List<Course> getCoursesForStudent(int studentId) {
+        String q = "SELECT " + CourseMapper.INSTANCE.selectList("c")
+                + " FROM courses c JOIN enrollments e ON e.course_id = c.course_id WHERE e.student_id = ?";
+        try (PreparedStatement ps = createReadStatement(q, studentId);
+             ResultSet rs = ps.executeQuery()) {
+            return courseDAO().rowMapper().mapAll(rs);
         } catch (SQLException e) { e.printStackTrace(); }
+        return null;
+    }
+
+    // Batch fetch: fills getCourses() of every given student with one IN (...) query per chunk
+    public void loadCourses(List<Student> students) throws SQLException {
+        Map<Integer, List<Course>> byStudent = new HashMap<>();
+        for (Student s : students) byStudent.put(s.getId(), new ArrayList<>());
+        String q = "SELECT e.student_id, " + CourseMapper.INSTANCE.selectList("c") + " FROM enrollments e "
+                + "JOIN courses c ON c.course_id = e.course_id WHERE e.student_id IN {keys}";
+        RowMapper<Course> courses = courseDAO().rowMapperAt(2);
+        forEachRowWithKeyIn(q, new ArrayList<>(byStudent.keySet()),
+                rs -> byStudent.get(rs.getInt(1)).add(courses.map(rs)));
+        for (Student s : students) s.setCourses(byStudent.get(s.getId()));
+    }
+
+    private CourseDAO courseDAO() {
+        if (courseDAO == null) courseDAO = new CourseDAO(connection);
+        courseDAO.setReplicaRouter(replicaRouter);
+        return courseDAO;
     }
 
     public List<Book> getBooksForStudent(int studentId) {
-        String q = """
-            SELECT * FROM books 
+        String q = "SELECT " + BookMapper.INSTANCE.selectList(null) + """
+             FROM books
             WHERE id IN (
                 SELECT book_id FROM course_books 
                 WHERE course_id IN (
@@ -120,22 +277,44 @@ public class StudentDAO extends BaseDAO<Student> {
                 )
             )
         """;
-        try (PreparedStatement ps = connection.prepareStatement(q)) {
-            ps.setInt(1, studentId);
-            ResultSet rs = ps.executeQuery();
-
-            List<Book> books = new ArrayList<>();
-            while (rs.next()) {
-                books.add(new Book(
-                    rs.getInt("id"),
-                    rs.getString("book_id"),
-                    rs.getString("title"),
-                    rs.getString("author"),
-                    rs.getInt("library_id")
-                ));
-            }
-            return books;
+        try (PreparedStatement ps = createReadStatement(q, studentId);
+             ResultSet rs = ps.executeQuery()) {
+            return BookMapper.INSTANCE.bindAt(1).mapAll(rs);
         } catch (SQLException e) { e.printStackTrace(); }
         return null;
     }
+
+    // Least recently used roll_number -> id entries up to maxSize, plus the reverse index so a
+    // delete by id evicts its roll number directly instead of scanning the values
+    private static final class RollNumberCache {
+        private final int maxSize;
+        // Access order: the first entry is the least recently used
+        private final LinkedHashMap<String, Integer> ids = new LinkedHashMap<>(16, 0.75f, true);
+        private final Map<Integer, String> rollNumbers = new HashMap<>();
+
+        RollNumberCache(int maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        synchronized Integer get(String rollNumber) {
+            return ids.get(rollNumber);
+        }
+
+        synchronized void put(String rollNumber, int id) {
+            Integer previousId = ids.put(rollNumber, id);
+            if (previousId != null && previousId != id) rollNumbers.remove(previousId);
+            String previousRoll = rollNumbers.put(id, rollNumber);
+            if (previousRoll != null && !previousRoll.equals(rollNumber)) ids.remove(previousRoll);
+            if (ids.size() > maxSize) {
+                Iterator<Map.Entry<String, Integer>> eldest = ids.entrySet().iterator();
+                rollNumbers.remove(eldest.next().getValue());
+                eldest.remove();
+            }
+        }
+
+        synchronized void removeId(int id) {
+            String rollNumber = rollNumbers.remove(id);
+            if (rollNumber != null) ids.remove(rollNumber);
+        }
+    }
 }
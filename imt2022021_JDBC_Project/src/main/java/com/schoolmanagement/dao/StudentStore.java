@@ -0,0 +1,31 @@
+package com.schoolmanagement.dao;
+
+import com.schoolmanagement.models.Book;
+import com.schoolmanagement.models.Course;
+import com.schoolmanagement.models.Student;
+
+import java.sql.SQLException;
+import java.util.List;
+
+public interface StudentStore extends EntityStore<Student> {
+    List<Student> getAllStudents() throws SQLException;
+
+    Student findByRollNumber(String rollNumber) throws SQLException;
+
+    // -1 if no student has this roll number
+    int getIdByRollNumber(String rollNumber) throws SQLException;
+
+    int updateAddress(String rollNumber, String address) throws SQLException;
+
+    void updateCGPA(int studentId, float newCGPA);
+
+    Student getTopper();
+
+    void addStudentToCourse(int studentId, int courseId) throws SQLException;
+
+    void removeStudentFromCourse(int studentId, int courseId);
+
+    List<Course> getCoursesForStudent(int studentId);
+
+    List<Book> getBooksForStudent(int studentId);
+}
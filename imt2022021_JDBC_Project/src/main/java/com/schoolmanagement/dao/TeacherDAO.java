@@ -1,12 +1,21 @@
 package com.schoolmanagement.dao;
 
+import com.schoolmanagement.dao.mapping.EntityMapper;
+import com.schoolmanagement.dao.mapping.TeacherMapper;
+import com.schoolmanagement.events.ChangeType;
 import com.schoolmanagement.models.Teacher;
+import com.schoolmanagement.models.compact.CompactTeacher;
+import com.schoolmanagement.models.compact.StringPool;
+import com.schoolmanagement.util.IntObjectMap;
 
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
 
-public class TeacherDAO extends BaseDAO<Teacher> {
+public class TeacherDAO extends BaseDAO<Teacher> implements TeacherStore {
+
+    // Set by enableWriteBehind; when present incrementSalary queues instead of writing immediately
+    private WriteBehindBuffer salaryBuffer;
 
     public TeacherDAO(Connection connection) {
         super(connection);
@@ -15,82 +24,137 @@ public class TeacherDAO extends BaseDAO<Teacher> {
     @Override
     public void create(Teacher teacher) throws SQLException {
         String query = "INSERT INTO teachers (emp_id, name, dob, address, salary) VALUES (?, ?, ?, ?, ?)";
-        try (PreparedStatement ps = createPreparedStatement(query,
+        teacher.setId(insertReturningId(query,
                 teacher.getEmpId(),
                 teacher.getName(),
                 teacher.getDob(),
                 teacher.getAddress(),
-                teacher.getSalary())) {
-            ps.executeUpdate();
-        }
+                teacher.getSalary()));
+        afterWrite("teachers", ChangeType.CREATED, teacher.getEmpId(), teacher);
+    }
+
+    // Inserts or updates by emp_id
+    public UpsertResult upsert(Teacher teacher) throws SQLException {
+        return upsertAll(List.of(teacher));
+    }
+
+    public UpsertResult upsertAll(List<Teacher> teachers) throws SQLException {
+        return executeUpsert(
+                "teachers", new String[] { "emp_id", "name", "dob", "address", "salary" }, teachers,
+                t -> new Object[] { t.getEmpId(), t.getName(), t.getDob(), t.getAddress(), t.getSalary() },
+                t -> afterWrite("teachers", ChangeType.UPSERTED, t.getEmpId(), t));
+    }
+
+    // Sums incrementSalary deltas per teacher and flushes them as one batched UPDATE once
+    // maxPending teachers are queued or the oldest is flushIntervalMillis old. Reads flush first.
+    // Flushes run on flushConnection, which the buffer takes over and closes; it must be a
+    // separate connection from this DAO's. Enabling again flushes and replaces the previous buffer.
+    public WriteBehindBuffer enableWriteBehind(Connection flushConnection, int maxPending, long flushIntervalMillis)
+            throws SQLException {
+        if (salaryBuffer != null) salaryBuffer.close();
+        salaryBuffer = new WriteBehindBuffer(flushConnection, "teachers", "salary", WriteBehindBuffer.Mode.ACCUMULATE,
+                maxPending, flushIntervalMillis,
+                (id, inc) -> publish("teachers", ChangeType.SALARY_INCREMENTED, id, inc));
+        return salaryBuffer;
     }
 
     @Override
     public Teacher read(int id) throws SQLException {
-        String query = "SELECT * FROM teachers WHERE id = ?";
-        try (PreparedStatement ps = createPreparedStatement(query, id);
+        if (salaryBuffer != null) salaryBuffer.flushIfPending(id);
+        String query = selectFrom() + " WHERE id = ?";
+        try (PreparedStatement ps = createReadStatement(query, id);
              ResultSet rs = ps.executeQuery()) {
-            if (rs.next()) return mapResultSetToEntity(rs);
+            if (rs.next()) return rowMapper().map(rs);
         }
         return null;
     }
 
     
 
+    @Override
+    public IntObjectMap<Teacher> readAll(int... ids) throws SQLException {
+        if (salaryBuffer != null) salaryBuffer.flush();
+        return super.readAll(ids);
+    }
+
     @Override
     public void delete(int id) throws SQLException {
         String query = "DELETE FROM teachers WHERE id = ?";
         try (PreparedStatement ps = createPreparedStatement(query, id)) {
-            ps.executeUpdate();
+            if (ps.executeUpdate() > 0) afterWrite("teachers", ChangeType.DELETED, id, null);
         }
     }
 
     @Override
-    protected Teacher mapResultSetToEntity(ResultSet rs) throws SQLException {
-        return new Teacher(
-                rs.getInt("id"),
-                rs.getString("emp_id"),
-                rs.getString("name"),
-                rs.getString("dob"),
-                rs.getString("address"),
-                rs.getFloat("salary")
-        );
+    protected String tableName() {
+        return "teachers";
     }
 
     @Override
-    public List<Teacher> mapResultSetToList(ResultSet rs) throws SQLException {
-        List<Teacher> teachers = new ArrayList<>();
-        while (rs.next()) teachers.add(mapResultSetToEntity(rs));
-        return teachers;
+    protected String idColumn() {
+        return "id";
+    }
+
+    @Override
+    protected int idOf(Teacher entity) {
+        return entity.getId();
+    }
+
+    @Override
+    protected EntityMapper<Teacher> mapper() {
+        return TeacherMapper.INSTANCE;
     }
 
     
 
     public List<Teacher> getAllTeachers() throws SQLException {
-        return executeQueryForList("SELECT * FROM teachers");
+        if (salaryBuffer != null) salaryBuffer.flush();
+        return executeQueryForList(selectFrom());
+    }
+
+    // Compact, immutable copies of every teacher for large caches; repeated strings go through pool
+    public List<CompactTeacher> getAllCompact(StringPool pool) throws SQLException {
+        if (salaryBuffer != null) salaryBuffer.flush();
+        List<CompactTeacher> teachers = new ArrayList<>();
+        forEachRow("SELECT id, emp_id, name, dob, address, salary FROM teachers ORDER BY id",
+                rs -> teachers.add(CompactTeacher.of(rs.getInt(1), rs.getString(2), rs.getString(3), rs.getString(4),
+                        rs.getString(5), rs.getFloat(6), pool)));
+        return teachers;
     }
 
     public int updateAddress(String newAddress, String empId) throws SQLException {
         String query = "UPDATE teachers SET address = ? WHERE emp_id = ?";
         try (PreparedStatement ps = createPreparedStatement(query, newAddress, empId)) {
-            return ps.executeUpdate();
+            int rows = ps.executeUpdate();
+            if (rows > 0) afterWrite("teachers", ChangeType.ADDRESS_UPDATED, empId, newAddress);
+            return rows;
         }
     }
     
 
     public void incrementSalary(int id, float inc) {
+        if (salaryBuffer != null) {
+            markWrite();
+            try {
+                salaryBuffer.submit(id, inc);
+            } catch (SQLException e) { e.printStackTrace(); }
+            return;
+        }
         try (PreparedStatement ps =
                      connection.prepareStatement("UPDATE teachers SET salary = salary + ? WHERE id = ?")) {
             ps.setFloat(1, inc);
             ps.setInt(2, id);
-            ps.executeUpdate();
+            if (ps.executeUpdate() > 0) afterWrite("teachers", ChangeType.SALARY_INCREMENTED, id, inc);
         } catch (SQLException e) { e.printStackTrace(); }
     }
 
     public Teacher getHighestPaidTeacher() {
-        try (Statement stmt = connection.createStatement();
-             ResultSet rs = stmt.executeQuery("SELECT * FROM teachers ORDER BY salary DESC LIMIT 1")) {
-            if (rs.next()) return mapResultSetToEntity(rs);
+        try {
+            if (salaryBuffer != null) salaryBuffer.flush();
+        } catch (SQLException e) { e.printStackTrace(); }
+        try (Statement stmt = readConnection().createStatement();
+             ResultSet rs = stmt.executeQuery(selectFrom() + " ORDER BY salary DESC LIMIT 1")) {
+            if (rs.next()) return rowMapper().map(rs);
         } catch (SQLException e) { e.printStackTrace(); }
         return null;
     }
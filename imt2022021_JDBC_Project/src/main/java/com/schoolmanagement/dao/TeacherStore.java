@@ -0,0 +1,16 @@
+package com.schoolmanagement.dao;
+
+import com.schoolmanagement.models.Teacher;
+
+import java.sql.SQLException;
+import java.util.List;
+
+public interface TeacherStore extends EntityStore<Teacher> {
+    List<Teacher> getAllTeachers() throws SQLException;
+
+    int updateAddress(String newAddress, String empId) throws SQLException;
+
+    void incrementSalary(int id, float inc);
+
+    Teacher getHighestPaidTeacher();
+}
@@ -0,0 +1,44 @@
+package com.schoolmanagement.dao;
+
+// Outcome of an upsert call: how many rows were sent and how they landed. inserted counts new
+// keys, updated counts existing rows whose stored values changed, unchanged counts rows that
+// already held exactly the values sent.
+public class UpsertResult {
+    public static final UpsertResult EMPTY = new UpsertResult(0, 0, 0);
+
+    private final int inserted;
+    private final int updated;
+    private final int unchanged;
+
+    public UpsertResult(int inserted, int updated, int unchanged) {
+        this.inserted = inserted;
+        this.updated = updated;
+        this.unchanged = unchanged;
+    }
+
+    public UpsertResult plus(UpsertResult other) {
+        return new UpsertResult(inserted + other.inserted, updated + other.updated, unchanged + other.unchanged);
+    }
+
+    public int getRows() {
+        return inserted + updated + unchanged;
+    }
+
+    public int getInserted() {
+        return inserted;
+    }
+
+    public int getUpdated() {
+        return updated;
+    }
+
+    public int getUnchanged() {
+        return unchanged;
+    }
+
+    @Override
+    public String toString() {
+        return "UpsertResult [rows=" + getRows() + ", inserted=" + inserted + ", updated=" + updated
+                + ", unchanged=" + unchanged + "]";
+    }
+}
@@ -0,0 +1,213 @@
+package com.schoolmanagement.dao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+
+// Coalesces high-frequency single-column updates per row id and writes them out as one
+// "UPDATE table SET column = CASE id WHEN ? THEN ? ... END WHERE id IN (...)" statement,
+// as soon as maxPending distinct ids are queued or the oldest queued value is flushIntervalMillis old.
+// Flushes go through a dedicated autocommit connection that the buffer owns and closes, so the
+// timer thread never writes inside a transaction the DAO's callers have open. Buffered values
+// are committed on their own and are not part of any caller transaction.
+public class WriteBehindBuffer implements AutoCloseable {
+    private static final int FLUSH_CHUNK_SIZE = 500;
+
+    // REPLACE keeps the latest value per id (CGPA); ACCUMULATE sums deltas (salary increments)
+    public enum Mode {
+        REPLACE,
+        ACCUMULATE
+    }
+
+    private final Connection connection;
+    private final String table;
+    private final String column;
+    private final Mode mode;
+    private final int maxPending;
+    private final long flushIntervalNanos;
+    private final BiConsumer<Integer, Float> onFlushed;
+
+    private final Map<Integer, Float> pending = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService timer;
+    private final Thread shutdownHook;
+    private volatile boolean closed;
+    private volatile boolean flushing;
+    // System.nanoTime() at which the oldest queued value arrived; only meaningful while pending is non-empty
+    private volatile long oldestPendingNanos;
+
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicLong flushedRows = new AtomicLong();
+    private final AtomicLong flushes = new AtomicLong();
+
+    // connection must not be shared with anything else; it is switched to autocommit
+    public WriteBehindBuffer(Connection connection, String table, String column, Mode mode,
+                             int maxPending, long flushIntervalMillis, BiConsumer<Integer, Float> onFlushed) throws SQLException {
+        if (maxPending <= 0) throw new IllegalArgumentException("maxPending must be positive: " + maxPending);
+        if (flushIntervalMillis <= 0) throw new IllegalArgumentException("flushIntervalMillis must be positive: " + flushIntervalMillis);
+        connection.setAutoCommit(true);
+        this.connection = connection;
+        this.table = table;
+        this.column = column;
+        this.mode = mode;
+        this.maxPending = maxPending;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+        this.onFlushed = onFlushed;
+
+        // Checks a few times per interval so a lone update is written about flushIntervalMillis after it arrived
+        this.timer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "write-behind-" + table + "-" + column);
+            t.setDaemon(true);
+            return t;
+        });
+        long tick = Math.max(1, flushIntervalMillis / 4);
+        timer.scheduleWithFixedDelay(this::flushIfDue, tick, tick, TimeUnit.MILLISECONDS);
+
+        // Durability hook: whatever is still queued when the JVM exits gets written; close() removes it
+        this.shutdownHook = new Thread(this::flushQuietly, "write-behind-shutdown-" + table);
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+    }
+
+    public void submit(int id, float value) throws SQLException {
+        if (closed) throw new SQLException("Write-behind buffer for " + table + "." + column + " is closed");
+        if (pending.isEmpty()) oldestPendingNanos = System.nanoTime();
+        if (mode == Mode.REPLACE) pending.put(id, value);
+        else pending.merge(id, value, Float::sum);
+        submitted.incrementAndGet();
+        if (pending.size() >= maxPending || isDue()) flush();
+    }
+
+    private boolean isDue() {
+        return !pending.isEmpty() && System.nanoTime() - oldestPendingNanos >= flushIntervalNanos;
+    }
+
+    private void flushIfDue() {
+        if (isDue()) flushQuietly();
+    }
+
+    // Read-your-writes hook: called before a read of id so it never sees a value older than the queue
+    public void flushIfPending(int id) throws SQLException {
+        if (flushing || pending.containsKey(id)) flush();
+    }
+
+    public synchronized void flush() throws SQLException {
+        if (pending.isEmpty()) return;
+        flushing = true;
+        try {
+            Map<Integer, Float> batch = new LinkedHashMap<>();
+            for (Integer id : pending.keySet()) {
+                Float value = pending.remove(id);
+                if (value != null) batch.put(id, value);
+            }
+            List<Map.Entry<Integer, Float>> entries = new ArrayList<>(batch.entrySet());
+            for (int from = 0; from < entries.size(); from += FLUSH_CHUNK_SIZE) {
+                List<Map.Entry<Integer, Float>> chunk = entries.subList(from, Math.min(entries.size(), from + FLUSH_CHUNK_SIZE));
+                try {
+                    writeChunk(chunk);
+                } catch (SQLException e) {
+                    requeue(entries.subList(from, entries.size()));
+                    throw e;
+                }
+                for (Map.Entry<Integer, Float> e : chunk) onFlushed.accept(e.getKey(), e.getValue());
+            }
+            flushedRows.addAndGet(entries.size());
+            flushes.incrementAndGet();
+        } finally {
+            flushing = false;
+        }
+    }
+
+    private void writeChunk(List<Map.Entry<Integer, Float>> chunk) throws SQLException {
+        String target = mode == Mode.REPLACE ? "" : column + " + ";
+        String query = "UPDATE " + table + " SET " + column + " = " + target + "CASE id"
+                + " WHEN ? THEN ?".repeat(chunk.size()) + " END"
+                + " WHERE id IN (" + String.join(", ", Collections.nCopies(chunk.size(), "?")) + ")";
+        try (PreparedStatement ps = connection.prepareStatement(query)) {
+            int index = 1;
+            for (Map.Entry<Integer, Float> e : chunk) {
+                ps.setInt(index++, e.getKey());
+                ps.setFloat(index++, e.getValue());
+            }
+            for (Map.Entry<Integer, Float> e : chunk) ps.setInt(index++, e.getKey());
+            ps.executeUpdate();
+        }
+    }
+
+    // Puts unwritten values back without clobbering anything submitted since the flush began
+    private void requeue(List<Map.Entry<Integer, Float>> entries) {
+        for (Map.Entry<Integer, Float> e : entries) {
+            if (mode == Mode.REPLACE) pending.putIfAbsent(e.getKey(), e.getValue());
+            else pending.merge(e.getKey(), e.getValue(), Float::sum);
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            if (connection.isClosed()) {
+                if (!pending.isEmpty()) {
+                    System.err.println("Write-behind connection for " + table + " is closed; dropping "
+                            + pending.size() + " queued " + column + " values");
+                }
+                return;
+            }
+            flush();
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+    }
+
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    public long getSubmitted() {
+        return submitted.get();
+    }
+
+    public long getFlushedRows() {
+        return flushedRows.get();
+    }
+
+    public long getFlushCount() {
+        return flushes.get();
+    }
+
+    // Submitted updates per row actually written; 1.0 means nothing was coalesced
+    public double getCoalescingRatio() {
+        long rows = flushedRows.get();
+        return rows == 0 ? 0.0 : (double) submitted.get() / rows;
+    }
+
+    // Stops the timer, writes what is queued and closes the buffer's connection
+    @Override
+    public void close() throws SQLException {
+        if (closed) return;
+        closed = true;
+        timer.shutdown();
+        try {
+            timer.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            Runtime.getRuntime().removeShutdownHook(shutdownHook);
+        } catch (IllegalStateException e) {
+            // JVM already shutting down; the hook itself will flush
+        }
+        try {
+            flush();
+        } finally {
+            connection.close();
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.schoolmanagement.dao.mapping;
+
+import com.schoolmanagement.models.Book;
+
+import java.util.List;
+
+// books: id, book_id, title, author, library_id
+public final class BookMapper implements EntityMapper<Book> {
+    public static final BookMapper INSTANCE = new BookMapper();
+
+    private static final List<String> COLUMNS = List.of("id", "book_id", "title", "author", "library_id");
+
+    private BookMapper() {
+    }
+
+    @Override
+    public List<String> columns() {
+        return COLUMNS;
+    }
+
+    @Override
+    public RowMapper<Book> bind(int... positions) {
+        int id = positions[0], bookId = positions[1], title = positions[2], author = positions[3],
+                libraryId = positions[4];
+        return rs -> new Book(rs.getInt(id), rs.getString(bookId), rs.getString(title), rs.getString(author),
+                rs.getInt(libraryId));
+    }
+}
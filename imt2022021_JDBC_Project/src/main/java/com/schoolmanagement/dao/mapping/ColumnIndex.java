@@ -0,0 +1,30 @@
+package com.schoolmanagement.dao.mapping;
+
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.List;
+
+// Resolves column names to ResultSet positions from the metadata, once per ResultSet
+public final class ColumnIndex {
+
+    private ColumnIndex() {
+    }
+
+    // 1-based position of every name, matched case-insensitively against the column labels. When a
+    // join repeats a label the first occurrence wins, as it does for ResultSet.findColumn.
+    public static int[] resolve(ResultSetMetaData metaData, List<String> names) throws SQLException {
+        int count = metaData.getColumnCount();
+        String[] labels = new String[count];
+        for (int i = 0; i < count; i++) labels[i] = metaData.getColumnLabel(i + 1);
+
+        int[] positions = new int[names.size()];
+        for (int n = 0; n < positions.length; n++) {
+            String name = names.get(n);
+            int i = 0;
+            while (i < count && !labels[i].equalsIgnoreCase(name)) i++;
+            if (i == count) throw new SQLException("Column " + name + " is not in the result set");
+            positions[n] = i + 1;
+        }
+        return positions;
+    }
+}
@@ -0,0 +1,28 @@
+package com.schoolmanagement.dao.mapping;
+
+import com.schoolmanagement.models.Course;
+
+import java.util.List;
+
+// courses: course_id, course_code, course_name, course_description
+public final class CourseMapper implements EntityMapper<Course> {
+    public static final CourseMapper INSTANCE = new CourseMapper();
+
+    private static final List<String> COLUMNS = List.of("course_id", "course_code", "course_name", "course_description");
+
+    private CourseMapper() {
+    }
+
+    @Override
+    public List<String> columns() {
+        return COLUMNS;
+    }
+
+    @Override
+    public RowMapper<Course> bind(int... positions) {
+        int courseId = positions[0], courseCode = positions[1], courseName = positions[2],
+                courseDescription = positions[3];
+        return rs -> new Course(rs.getInt(courseId), rs.getString(courseCode), rs.getString(courseName),
+                rs.getString(courseDescription));
+    }
+}
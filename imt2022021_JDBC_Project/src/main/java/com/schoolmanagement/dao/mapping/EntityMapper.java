@@ -0,0 +1,37 @@
+package com.schoolmanagement.dao.mapping;
+
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.StringJoiner;
+
+// Column list and positional row mapping for one entity. Queries select columns() explicitly, so
+// the mapper can be bound to fixed positions up front; for a ResultSet of unknown shape (SELECT *,
+// a join) bind(ResultSetMetaData) looks each column up by label once and every row after that is
+// read by index.
+public interface EntityMapper<T> {
+
+    // Columns the entity is built from, in the order bind(int...) takes their positions
+    List<String> columns();
+
+    // Mapper reading columns().get(i) from 1-based ResultSet position positions[i]
+    RowMapper<T> bind(int... positions);
+
+    // For a select list holding exactly columns(), in order, from firstColumn on
+    default RowMapper<T> bindAt(int firstColumn) {
+        int[] positions = new int[columns().size()];
+        for (int i = 0; i < positions.length; i++) positions[i] = firstColumn + i;
+        return bind(positions);
+    }
+
+    default RowMapper<T> bind(ResultSetMetaData metaData) throws SQLException {
+        return bind(ColumnIndex.resolve(metaData, columns()));
+    }
+
+    // "a.col1, a.col2, ..." in columns() order; alias may be null
+    default String selectList(String alias) {
+        StringJoiner list = new StringJoiner(", ");
+        for (String column : columns()) list.add(alias == null ? column : alias + "." + column);
+        return list.toString();
+    }
+}
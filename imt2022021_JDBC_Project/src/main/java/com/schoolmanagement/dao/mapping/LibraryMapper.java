@@ -0,0 +1,26 @@
+package com.schoolmanagement.dao.mapping;
+
+import com.schoolmanagement.models.Library;
+
+import java.util.List;
+
+// libraries: id, name
+public final class LibraryMapper implements EntityMapper<Library> {
+    public static final LibraryMapper INSTANCE = new LibraryMapper();
+
+    private static final List<String> COLUMNS = List.of("id", "name");
+
+    private LibraryMapper() {
+    }
+
+    @Override
+    public List<String> columns() {
+        return COLUMNS;
+    }
+
+    @Override
+    public RowMapper<Library> bind(int... positions) {
+        int id = positions[0], name = positions[1];
+        return rs -> new Library(rs.getInt(id), rs.getString(name));
+    }
+}
@@ -0,0 +1,20 @@
+package com.schoolmanagement.dao.mapping;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+// Builds one entity from the current row of a ResultSet whose column positions are already known
+@FunctionalInterface
+public interface RowMapper<T> {
+
+    T map(ResultSet rs) throws SQLException;
+
+    // Maps every remaining row of rs
+    default List<T> mapAll(ResultSet rs) throws SQLException {
+        List<T> list = new ArrayList<>();
+        while (rs.next()) list.add(map(rs));
+        return list;
+    }
+}
@@ -0,0 +1,28 @@
+package com.schoolmanagement.dao.mapping;
+
+import com.schoolmanagement.models.Student;
+
+import java.util.List;
+
+// students: id, roll_number, name, dob, address, cgpa
+public final class StudentMapper implements EntityMapper<Student> {
+    public static final StudentMapper INSTANCE = new StudentMapper();
+
+    private static final List<String> COLUMNS = List.of("id", "roll_number", "name", "dob", "address", "cgpa");
+
+    private StudentMapper() {
+    }
+
+    @Override
+    public List<String> columns() {
+        return COLUMNS;
+    }
+
+    @Override
+    public RowMapper<Student> bind(int... positions) {
+        int id = positions[0], rollNumber = positions[1], name = positions[2], dob = positions[3],
+                address = positions[4], cgpa = positions[5];
+        return rs -> new Student(rs.getInt(id), rs.getString(rollNumber), rs.getString(name), rs.getString(dob),
+                rs.getString(address), rs.getFloat(cgpa));
+    }
+}
@@ -0,0 +1,28 @@
+package com.schoolmanagement.dao.mapping;
+
+import com.schoolmanagement.models.Teacher;
+
+import java.util.List;
+
+// teachers: id, emp_id, name, dob, address, salary
+public final class TeacherMapper implements EntityMapper<Teacher> {
+    public static final TeacherMapper INSTANCE = new TeacherMapper();
+
+    private static final List<String> COLUMNS = List.of("id", "emp_id", "name", "dob", "address", "salary");
+
+    private TeacherMapper() {
+    }
+
+    @Override
+    public List<String> columns() {
+        return COLUMNS;
+    }
+
+    @Override
+    public RowMapper<Teacher> bind(int... positions) {
+        int id = positions[0], empId = positions[1], name = positions[2], dob = positions[3],
+                address = positions[4], salary = positions[5];
+        return rs -> new Teacher(rs.getInt(id), rs.getString(empId), rs.getString(name), rs.getString(dob),
+                rs.getString(address), rs.getFloat(salary));
+    }
+}
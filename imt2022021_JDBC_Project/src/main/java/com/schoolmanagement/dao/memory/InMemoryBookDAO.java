@@ -0,0 +1,86 @@
+package com.schoolmanagement.dao.memory;
+
+import com.schoolmanagement.dao.BookStore;
+import com.schoolmanagement.models.Book;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class InMemoryBookDAO implements BookStore {
+    private final InMemoryDatabase db;
+
+    InMemoryBookDAO(InMemoryDatabase db) {
+        this.db = db;
+    }
+
+    @Override
+    public void create(Book book) throws SQLException {
+        if (!db.libraries.containsKey(book.getLibraryId()))
+            throw InMemoryDatabase.missingParent("books", "library", book.getLibraryId());
+        int id = db.bookIds.incrementAndGet();
+        InMemoryDatabase.claimUnique(db.booksByBookId, book.getBookId(), id, "books.book_id");
+        db.books.put(id, InMemoryDatabase.copy(book, id));
+        book.setId(id);
+        db.booksByLibrary.computeIfAbsent(book.getLibraryId(), k -> ConcurrentHashMap.newKeySet()).add(id);
+    }
+
+    @Override
+    public Book read(int id) {
+        Book row = db.books.get(id);
+        return row == null ? null : InMemoryDatabase.copy(row, id);
+    }
+
+    @Override
+    public void delete(int id) {
+        Book row = db.books.remove(id);
+        if (row == null) return;
+        db.booksByBookId.remove(row.getBookId(), id);
+        Set<Integer> siblings = db.booksByLibrary.get(row.getLibraryId());
+        if (siblings != null) siblings.remove(id);
+        db.courseBooks.removeRight(id);
+    }
+
+    @Override
+    public List<Book> getAllBooks() {
+        return InMemoryDatabase.sortedRows(db.books, Book::getId, b -> InMemoryDatabase.copy(b, b.getId()));
+    }
+
+    @Override
+    public int update(String bookId, String title, String author) {
+        Integer id = db.booksByBookId.get(bookId);
+        if (id == null) return 0;
+        Book updated = db.books.computeIfPresent(id, (k, b) -> new Book(k, bookId, title, author, b.getLibraryId()));
+        return updated == null ? 0 : 1;
+    }
+
+    @Override
+    public void markBookWithCourse(int bookId, int courseId) {
+        // Same failure handling as BookDAO: report and carry on
+        if (!db.books.containsKey(bookId) || !db.courses.containsKey(courseId)) {
+            System.err.println("Cannot link book " + bookId + " to course " + courseId + ": missing parent row");
+            return;
+        }
+        if (!db.courseBooks.add(courseId, bookId))
+            System.err.println("Book " + bookId + " is already linked to course " + courseId);
+    }
+
+    @Override
+    public void unmarkBookWithCourse(int bookId, int courseId) {
+        db.courseBooks.remove(courseId, bookId);
+    }
+
+    @Override
+    public List<Book> getBooksForLibrary(int libraryId) {
+        return InMemoryDatabase.rows(db.books, new TreeSet<>(db.booksByLibrary.getOrDefault(libraryId, Set.of())),
+                b -> InMemoryDatabase.copy(b, b.getId()));
+    }
+
+    @Override
+    public List<Book> getBooksForCourse(int courseId) {
+        return InMemoryDatabase.rows(db.books, new TreeSet<>(db.courseBooks.rightsOf(courseId)),
+                b -> InMemoryDatabase.copy(b, b.getId()));
+    }
+}
@@ -0,0 +1,71 @@
+package com.schoolmanagement.dao.memory;
+
+import com.schoolmanagement.dao.CourseStore;
+import com.schoolmanagement.models.Course;
+import com.schoolmanagement.models.Student;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.TreeSet;
+
+public class InMemoryCourseDAO implements CourseStore {
+    private final InMemoryDatabase db;
+
+    InMemoryCourseDAO(InMemoryDatabase db) {
+        this.db = db;
+    }
+
+    @Override
+    public void create(Course course) throws SQLException {
+        int id = db.courseIds.incrementAndGet();
+        InMemoryDatabase.claimUnique(db.coursesByCode, course.getCourseCode(), id, "courses.course_code");
+        db.courses.put(id, InMemoryDatabase.copy(course, id));
+        course.setCourseId(id);
+    }
+
+    @Override
+    public Course read(int id) {
+        Course row = db.courses.get(id);
+        return row == null ? null : withLoader(row);
+    }
+
+    @Override
+    public void delete(int id) {
+        Course row = db.courses.remove(id);
+        if (row == null) return;
+        db.coursesByCode.remove(row.getCourseCode(), id);
+        db.enrollments.removeLeft(id);
+        db.courseBooks.removeLeft(id);
+    }
+
+    Course withLoader(Course row) {
+        Course course = InMemoryDatabase.copy(row, row.getCourseId());
+        course.setStudentsLoader(() -> getStudentsForCourse(row.getCourseId()));
+        return course;
+    }
+
+    @Override
+    public List<Course> getAllCourses() {
+        return InMemoryDatabase.sortedRows(db.courses, Course::getCourseId, this::withLoader);
+    }
+
+    @Override
+    public Course findByCourseCode(String courseCode) {
+        Integer id = db.coursesByCode.get(courseCode);
+        return id == null ? null : read(id);
+    }
+
+    @Override
+    public int update(String code, String name, String desc) {
+        Integer id = db.coursesByCode.get(code);
+        if (id == null) return 0;
+        Course updated = db.courses.computeIfPresent(id, (k, c) -> new Course(k, code, name, desc));
+        return updated == null ? 0 : 1;
+    }
+
+    @Override
+    public List<Student> getStudentsForCourse(int courseId) {
+        return InMemoryDatabase.rows(db.students, new TreeSet<>(db.enrollments.rightsOf(courseId)),
+                db.studentDAO()::withLoader);
+    }
+}
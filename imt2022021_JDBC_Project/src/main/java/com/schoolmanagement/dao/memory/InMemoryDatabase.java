@@ -0,0 +1,165 @@
+package com.schoolmanagement.dao.memory;
+
+import com.schoolmanagement.models.Book;
+import com.schoolmanagement.models.Course;
+import com.schoolmanagement.models.Library;
+import com.schoolmanagement.models.Student;
+import com.schoolmanagement.models.Teacher;
+
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+// Shared state behind the in-memory DAOs: one concurrent map per table keyed by id, a unique
+// index per natural key (roll_number, emp_id, course_code, book_id), books by library, and link
+// tables for enrollments and course_books. Rows are stored as private copies and handed out as
+// fresh copies, so callers can no more change a stored row by mutating a model than they could
+// with MySQL. Deletes cascade the way the foreign keys in sql/schem.sql do.
+public class InMemoryDatabase {
+    final Map<Integer, Student> students = new ConcurrentHashMap<>();
+    final Map<String, Integer> studentsByRollNumber = new ConcurrentHashMap<>();
+    final AtomicInteger studentIds = new AtomicInteger();
+
+    final Map<Integer, Teacher> teachers = new ConcurrentHashMap<>();
+    final Map<String, Integer> teachersByEmpId = new ConcurrentHashMap<>();
+    final AtomicInteger teacherIds = new AtomicInteger();
+
+    final Map<Integer, Course> courses = new ConcurrentHashMap<>();
+    final Map<String, Integer> coursesByCode = new ConcurrentHashMap<>();
+    final AtomicInteger courseIds = new AtomicInteger();
+
+    final Map<Integer, Library> libraries = new ConcurrentHashMap<>();
+    final AtomicInteger libraryIds = new AtomicInteger();
+
+    final Map<Integer, Book> books = new ConcurrentHashMap<>();
+    final Map<String, Integer> booksByBookId = new ConcurrentHashMap<>();
+    final Map<Integer, Set<Integer>> booksByLibrary = new ConcurrentHashMap<>();
+    final AtomicInteger bookIds = new AtomicInteger();
+
+    // left = course_id, right = student_id / book id
+    final LinkTable enrollments = new LinkTable();
+    final LinkTable courseBooks = new LinkTable();
+
+    private final InMemoryStudentDAO studentDAO = new InMemoryStudentDAO(this);
+    private final InMemoryTeacherDAO teacherDAO = new InMemoryTeacherDAO(this);
+    private final InMemoryCourseDAO courseDAO = new InMemoryCourseDAO(this);
+    private final InMemoryBookDAO bookDAO = new InMemoryBookDAO(this);
+    private final InMemoryLibraryDAO libraryDAO = new InMemoryLibraryDAO(this);
+
+    public InMemoryStudentDAO studentDAO() {
+        return studentDAO;
+    }
+
+    public InMemoryTeacherDAO teacherDAO() {
+        return teacherDAO;
+    }
+
+    public InMemoryCourseDAO courseDAO() {
+        return courseDAO;
+    }
+
+    public InMemoryBookDAO bookDAO() {
+        return bookDAO;
+    }
+
+    public InMemoryLibraryDAO libraryDAO() {
+        return libraryDAO;
+    }
+
+    // Bulk loading with the rows' own ids, e.g. from a snapshot. The row is stored as is, so pass a
+    // fresh instance. Unique keys are still enforced and id counters move past the highest id
+    // loaded, so later creates don't collide; foreign keys are the caller's business.
+    public void load(Student s) throws SQLIntegrityConstraintViolationException {
+        claimUnique(studentsByRollNumber, s.getRollNumber(), s.getId(), "students.roll_number");
+        students.put(s.getId(), s);
+        studentIds.accumulateAndGet(s.getId(), Math::max);
+    }
+
+    public void load(Teacher t) throws SQLIntegrityConstraintViolationException {
+        claimUnique(teachersByEmpId, t.getEmpId(), t.getId(), "teachers.emp_id");
+        teachers.put(t.getId(), t);
+        teacherIds.accumulateAndGet(t.getId(), Math::max);
+    }
+
+    public void load(Course c) throws SQLIntegrityConstraintViolationException {
+        claimUnique(coursesByCode, c.getCourseCode(), c.getCourseId(), "courses.course_code");
+        courses.put(c.getCourseId(), c);
+        courseIds.accumulateAndGet(c.getCourseId(), Math::max);
+    }
+
+    public void load(Library l) {
+        libraries.put(l.getId(), l);
+        libraryIds.accumulateAndGet(l.getId(), Math::max);
+    }
+
+    public void load(Book b) throws SQLIntegrityConstraintViolationException {
+        claimUnique(booksByBookId, b.getBookId(), b.getId(), "books.book_id");
+        books.put(b.getId(), b);
+        booksByLibrary.computeIfAbsent(b.getLibraryId(), k -> ConcurrentHashMap.newKeySet()).add(b.getId());
+        bookIds.accumulateAndGet(b.getId(), Math::max);
+    }
+
+    public void loadEnrollment(int studentId, int courseId) {
+        enrollments.add(courseId, studentId);
+    }
+
+    public void loadCourseBook(int courseId, int bookId) {
+        courseBooks.add(courseId, bookId);
+    }
+
+    // Claims a unique key for id; the message matches MySQL's duplicate-entry error
+    static void claimUnique(Map<String, Integer> index, String key, int id, String constraint)
+            throws SQLIntegrityConstraintViolationException {
+        if (index.putIfAbsent(key, id) != null)
+            throw new SQLIntegrityConstraintViolationException("Duplicate entry '" + key + "' for key '" + constraint + "'", "23000", 1062);
+    }
+
+    static SQLIntegrityConstraintViolationException missingParent(String child, String parent, int id) {
+        return new SQLIntegrityConstraintViolationException(
+                "Cannot add or update a child row: " + child + " references missing " + parent + " " + id, "23000", 1452);
+    }
+
+    // Copies of the rows for the given ids in id order, skipping ids deleted meanwhile
+    static <T> List<T> rows(Map<Integer, T> table, Iterable<Integer> ids, Function<T, T> copy) {
+        List<T> result = new ArrayList<>();
+        for (int id : ids) {
+            T row = table.get(id);
+            if (row != null) result.add(copy.apply(row));
+        }
+        return result;
+    }
+
+    static <T> List<T> sortedRows(Map<Integer, T> table, ToIntFunction<T> idOf, Function<T, T> copy) {
+        List<T> result = new ArrayList<>(table.size());
+        for (T row : table.values()) result.add(copy.apply(row));
+        result.sort(Comparator.comparingInt(idOf));
+        return result;
+    }
+
+    static Student copy(Student s, int id) {
+        return new Student(id, s.getRollNumber(), s.getName(), s.getDob(), s.getAddress(), s.getCgpa());
+    }
+
+    static Teacher copy(Teacher t, int id) {
+        return new Teacher(id, t.getEmpId(), t.getName(), t.getDob(), t.getAddress(), t.getSalary());
+    }
+
+    static Course copy(Course c, int id) {
+        return new Course(id, c.getCourseCode(), c.getCourseName(), c.getCourseDescription());
+    }
+
+    static Library copy(Library l, int id) {
+        return new Library(id, l.getName());
+    }
+
+    static Book copy(Book b, int id) {
+        return new Book(id, b.getBookId(), b.getTitle(), b.getAuthor(), b.getLibraryId());
+    }
+}
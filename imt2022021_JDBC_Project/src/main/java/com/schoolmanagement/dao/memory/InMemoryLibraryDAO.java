@@ -0,0 +1,54 @@
+package com.schoolmanagement.dao.memory;
+
+import com.schoolmanagement.dao.LibraryStore;
+import com.schoolmanagement.models.Library;
+
+import java.util.List;
+import java.util.Set;
+
+public class InMemoryLibraryDAO implements LibraryStore {
+    private final InMemoryDatabase db;
+
+    InMemoryLibraryDAO(InMemoryDatabase db) {
+        this.db = db;
+    }
+
+    @Override
+    public void create(Library library) {
+        int id = db.libraryIds.incrementAndGet();
+        db.libraries.put(id, InMemoryDatabase.copy(library, id));
+        library.setId(id);
+    }
+
+    @Override
+    public Library read(int id) {
+        Library row = db.libraries.get(id);
+        return row == null ? null : withLoader(row);
+    }
+
+    // Books go with their library, as ON DELETE CASCADE does in MySQL
+    @Override
+    public void delete(int id) {
+        if (db.libraries.remove(id) == null) return;
+        Set<Integer> books = db.booksByLibrary.remove(id);
+        if (books != null) {
+            for (int bookId : books) db.bookDAO().delete(bookId);
+        }
+    }
+
+    private Library withLoader(Library row) {
+        Library library = InMemoryDatabase.copy(row, row.getId());
+        library.setBooksLoader(() -> db.bookDAO().getBooksForLibrary(row.getId()));
+        return library;
+    }
+
+    @Override
+    public List<Library> getAllLibraries() {
+        return InMemoryDatabase.sortedRows(db.libraries, Library::getId, this::withLoader);
+    }
+
+    @Override
+    public void update(int id, String name) {
+        db.libraries.computeIfPresent(id, (k, l) -> new Library(k, name));
+    }
+}
@@ -0,0 +1,122 @@
+package com.schoolmanagement.dao.memory;
+
+import com.schoolmanagement.dao.StudentStore;
+import com.schoolmanagement.models.Book;
+import com.schoolmanagement.models.Course;
+import com.schoolmanagement.models.Student;
+
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+public class InMemoryStudentDAO implements StudentStore {
+    private final InMemoryDatabase db;
+
+    InMemoryStudentDAO(InMemoryDatabase db) {
+        this.db = db;
+    }
+
+    @Override
+    public void create(Student student) throws SQLException {
+        int id = db.studentIds.incrementAndGet();
+        InMemoryDatabase.claimUnique(db.studentsByRollNumber, student.getRollNumber(), id, "students.roll_number");
+        db.students.put(id, InMemoryDatabase.copy(student, id));
+        student.setId(id);
+    }
+
+    @Override
+    public Student read(int id) {
+        Student row = db.students.get(id);
+        return row == null ? null : withLoader(row);
+    }
+
+    @Override
+    public void delete(int id) {
+        Student row = db.students.remove(id);
+        if (row == null) return;
+        db.studentsByRollNumber.remove(row.getRollNumber(), id);
+        db.enrollments.removeRight(id);
+    }
+
+    Student withLoader(Student row) {
+        Student student = InMemoryDatabase.copy(row, row.getId());
+        student.setCoursesLoader(() -> getCoursesForStudent(row.getId()));
+        return student;
+    }
+
+    @Override
+    public List<Student> getAllStudents() {
+        return InMemoryDatabase.sortedRows(db.students, Student::getId, this::withLoader);
+    }
+
+    @Override
+    public Student findByRollNumber(String rollNumber) {
+        Integer id = db.studentsByRollNumber.get(rollNumber);
+        return id == null ? null : read(id);
+    }
+
+    @Override
+    public int getIdByRollNumber(String rollNumber) {
+        return db.studentsByRollNumber.getOrDefault(rollNumber, -1);
+    }
+
+    @Override
+    public int updateAddress(String rollNumber, String address) {
+        Integer id = db.studentsByRollNumber.get(rollNumber);
+        if (id == null) return 0;
+        Student updated = db.students.computeIfPresent(id, (k, s) -> {
+            Student copy = InMemoryDatabase.copy(s, k);
+            copy.setAddress(address);
+            return copy;
+        });
+        return updated == null ? 0 : 1;
+    }
+
+    @Override
+    public void updateCGPA(int studentId, float newCGPA) {
+        db.students.computeIfPresent(studentId, (k, s) -> {
+            Student copy = InMemoryDatabase.copy(s, k);
+            copy.setCgpa(newCGPA);
+            return copy;
+        });
+    }
+
+    @Override
+    public Student getTopper() {
+        Student best = null;
+        for (Student s : db.students.values()) {
+            if (best == null || s.getCgpa() > best.getCgpa()) best = s;
+        }
+        return best == null ? null : withLoader(best);
+    }
+
+    @Override
+    public void addStudentToCourse(int studentId, int courseId) throws SQLException {
+        if (!db.students.containsKey(studentId)) throw InMemoryDatabase.missingParent("enrollments", "student", studentId);
+        if (!db.courses.containsKey(courseId)) throw InMemoryDatabase.missingParent("enrollments", "course", courseId);
+        if (!db.enrollments.add(courseId, studentId)) {
+            throw new SQLIntegrityConstraintViolationException(
+                    "Duplicate entry '" + studentId + "-" + courseId + "' for key 'enrollments.PRIMARY'", "23000", 1062);
+        }
+    }
+
+    @Override
+    public void removeStudentFromCourse(int studentId, int courseId) {
+        db.enrollments.remove(courseId, studentId);
+    }
+
+    @Override
+    public List<Course> getCoursesForStudent(int studentId) {
+        return InMemoryDatabase.rows(db.courses, new TreeSet<>(db.enrollments.leftsOf(studentId)),
+                db.courseDAO()::withLoader);
+    }
+
+    @Override
+    public List<Book> getBooksForStudent(int studentId) {
+        Set<Integer> bookIds = new TreeSet<>();
+        for (int courseId : db.enrollments.leftsOf(studentId)) bookIds.addAll(db.courseBooks.rightsOf(courseId));
+        return InMemoryDatabase.rows(db.books, bookIds, b -> InMemoryDatabase.copy(b, b.getId()));
+    }
+}
@@ -0,0 +1,70 @@
+package com.schoolmanagement.dao.memory;
+
+import com.schoolmanagement.dao.TeacherStore;
+import com.schoolmanagement.models.Teacher;
+
+import java.sql.SQLException;
+import java.util.List;
+
+public class InMemoryTeacherDAO implements TeacherStore {
+    private final InMemoryDatabase db;
+
+    InMemoryTeacherDAO(InMemoryDatabase db) {
+        this.db = db;
+    }
+
+    @Override
+    public void create(Teacher teacher) throws SQLException {
+        int id = db.teacherIds.incrementAndGet();
+        InMemoryDatabase.claimUnique(db.teachersByEmpId, teacher.getEmpId(), id, "teachers.emp_id");
+        db.teachers.put(id, InMemoryDatabase.copy(teacher, id));
+        teacher.setId(id);
+    }
+
+    @Override
+    public Teacher read(int id) {
+        Teacher row = db.teachers.get(id);
+        return row == null ? null : InMemoryDatabase.copy(row, id);
+    }
+
+    @Override
+    public void delete(int id) {
+        Teacher row = db.teachers.remove(id);
+        if (row != null) db.teachersByEmpId.remove(row.getEmpId(), id);
+    }
+
+    @Override
+    public List<Teacher> getAllTeachers() {
+        return InMemoryDatabase.sortedRows(db.teachers, Teacher::getId, t -> InMemoryDatabase.copy(t, t.getId()));
+    }
+
+    @Override
+    public int updateAddress(String newAddress, String empId) {
+        Integer id = db.teachersByEmpId.get(empId);
+        if (id == null) return 0;
+        Teacher updated = db.teachers.computeIfPresent(id, (k, t) -> {
+            Teacher copy = InMemoryDatabase.copy(t, k);
+            copy.setAddress(newAddress);
+            return copy;
+        });
+        return updated == null ? 0 : 1;
+    }
+
+    @Override
+    public void incrementSalary(int id, float inc) {
+        db.teachers.computeIfPresent(id, (k, t) -> {
+            Teacher copy = InMemoryDatabase.copy(t, k);
+            copy.incrementSalary(inc);
+            return copy;
+        });
+    }
+
+    @Override
+    public Teacher getHighestPaidTeacher() {
+        Teacher best = null;
+        for (Teacher t : db.teachers.values()) {
+            if (best == null || t.getSalary() > best.getSalary()) best = t;
+        }
+        return best == null ? null : InMemoryDatabase.copy(best, best.getId());
+    }
+}
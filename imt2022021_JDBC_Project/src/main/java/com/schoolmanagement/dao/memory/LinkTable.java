@@ -0,0 +1,55 @@
+package com.schoolmanagement.dao.memory;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Many-to-many link rows (enrollments, course_books) indexed in both directions, so either
+// side's partners are found without scanning
+class LinkTable {
+    private final Map<Integer, Set<Integer>> byLeft = new ConcurrentHashMap<>();
+    private final Map<Integer, Set<Integer>> byRight = new ConcurrentHashMap<>();
+
+    // false if the link already existed
+    synchronized boolean add(int left, int right) {
+        if (!byLeft.computeIfAbsent(left, k -> ConcurrentHashMap.newKeySet()).add(right)) return false;
+        byRight.computeIfAbsent(right, k -> ConcurrentHashMap.newKeySet()).add(left);
+        return true;
+    }
+
+    synchronized boolean remove(int left, int right) {
+        Set<Integer> rights = byLeft.get(left);
+        if (rights == null || !rights.remove(right)) return false;
+        Set<Integer> lefts = byRight.get(right);
+        if (lefts != null) lefts.remove(left);
+        return true;
+    }
+
+    Set<Integer> rightsOf(int left) {
+        return byLeft.getOrDefault(left, Set.of());
+    }
+
+    Set<Integer> leftsOf(int right) {
+        return byRight.getOrDefault(right, Set.of());
+    }
+
+    // ON DELETE CASCADE for a deleted left-hand row
+    synchronized void removeLeft(int left) {
+        Set<Integer> rights = byLeft.remove(left);
+        if (rights == null) return;
+        for (int right : rights) {
+            Set<Integer> lefts = byRight.get(right);
+            if (lefts != null) lefts.remove(left);
+        }
+    }
+
+    // ON DELETE CASCADE for a deleted right-hand row
+    synchronized void removeRight(int right) {
+        Set<Integer> lefts = byRight.remove(right);
+        if (lefts == null) return;
+        for (int left : lefts) {
+            Set<Integer> rights = byLeft.get(left);
+            if (rights != null) rights.remove(right);
+        }
+    }
+}
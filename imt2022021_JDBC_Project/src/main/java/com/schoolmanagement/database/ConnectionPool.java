@@ -0,0 +1,142 @@
+package com.schoolmanagement.database;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Fixed-size pool of connections opened up front from a DatabaseConfig. borrow blocks for up to
+// the configured borrow timeout. A connection returned after an SQLException is validated and
+// replaced if broken; one that cannot be reopened right away leaves a missing slot that the next
+// borrow reopens, so the pool never holds fewer usable slots than its size.
+public class ConnectionPool implements AutoCloseable {
+    private final DatabaseConfig config;
+    private final int size;
+    private final BlockingQueue<Connection> idle;
+    private final List<Connection> all = new ArrayList<>();
+    private final long borrowTimeoutMillis;
+    // Slots whose connection broke and could not be reopened yet
+    private final AtomicInteger missing = new AtomicInteger();
+
+    public ConnectionPool(DatabaseConfig config) throws SQLException {
+        this.config = config;
+        this.size = Math.max(1, config.getPoolSize());
+        this.idle = new ArrayBlockingQueue<>(size);
+        this.borrowTimeoutMillis = config.getBorrowTimeoutMillis();
+        try {
+            for (int i = 0; i < size; i++) {
+                Connection c = config.openConnection();
+                all.add(c);
+                idle.add(c);
+            }
+        } catch (SQLException e) {
+            close();
+            throw e;
+        }
+    }
+
+    public Connection borrow() throws SQLException {
+        Connection c = idle.poll();
+        if (c != null) return c;
+        if (takeMissing()) return reopen();
+        try {
+            c = idle.poll(borrowTimeoutMillis, TimeUnit.MILLISECONDS);
+            if (c == null) throw new SQLException("No pooled connection available within " + borrowTimeoutMillis + " ms");
+            return c;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a pooled connection", e);
+        }
+    }
+
+    public void release(Connection c) {
+        release(c, false);
+    }
+
+    // failed: the borrower saw an SQLException, so the connection is checked before reuse
+    public void release(Connection c, boolean failed) {
+        Connection returned = c;
+        try {
+            if (!c.getAutoCommit()) {
+                c.rollback();
+                c.setAutoCommit(true);
+            }
+            if (failed && !c.isValid(2)) returned = replace(c);
+        } catch (SQLException e) {
+            returned = replace(c);
+        }
+        if (returned != null) idle.offer(returned);
+    }
+
+    private synchronized Connection replace(Connection broken) {
+        all.remove(broken);
+        try {
+            broken.close();
+        } catch (SQLException ignored) {
+            // already unusable
+        }
+        try {
+            Connection fresh = config.openConnection();
+            all.add(fresh);
+            return fresh;
+        } catch (SQLException e) {
+            System.err.println("Could not replace pooled connection, will retry on borrow: " + e.getMessage());
+            missing.incrementAndGet();
+            return null;
+        }
+    }
+
+    private boolean takeMissing() {
+        int n;
+        do {
+            n = missing.get();
+            if (n == 0) return false;
+        } while (!missing.compareAndSet(n, n - 1));
+        return true;
+    }
+
+    // Fills a missing slot on the borrowing thread; if the database is still unreachable the
+    // slot stays missing and the borrow fails at once rather than waiting for an idle connection
+    private Connection reopen() throws SQLException {
+        try {
+            Connection fresh = config.openConnection();
+            synchronized (this) {
+                all.add(fresh);
+            }
+            return fresh;
+        } catch (SQLException e) {
+            missing.incrementAndGet();
+            throw e;
+        }
+    }
+
+    // Configured size, including slots waiting to be reopened
+    public int getSize() {
+        return size;
+    }
+
+    public synchronized int getOpenCount() {
+        return all.size();
+    }
+
+    public int getIdleCount() {
+        return idle.size();
+    }
+
+    @Override
+    public synchronized void close() {
+        for (Connection c : all) {
+            try {
+                c.close();
+            } catch (SQLException ignored) {
+                // closing anyway
+            }
+        }
+        all.clear();
+        idle.clear();
+    }
+}
@@ -0,0 +1,271 @@
+package com.schoolmanagement.database;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+
+// Database settings resolved from, in increasing precedence: built-in defaults, school-db.properties
+// on the classpath, a school-db.properties file (working directory, or the path named by
+// school.db.config / SCHOOL_DB_CONFIG), environment variables (school.db.pool.size -> SCHOOL_DB_POOL_SIZE)
+// and JVM system properties. Driver tuning keys are appended to the JDBC URL; any extra
+// school.db.driver.<name> key is passed through to Connector/J as <name>.
+public class DatabaseConfig {
+    public static final String FILE_NAME = "school-db.properties";
+    private static final String PREFIX = "school.db.";
+
+    // Connector/J properties exposed as first-class settings, with their defaults
+    private static final String[][] DRIVER_SETTINGS = {
+            {"cachePrepStmts", "true"},
+            {"prepStmtCacheSize", "250"},
+            {"prepStmtCacheSqlLimit", "2048"},
+            {"useServerPrepStmts", "true"},
+            {"rewriteBatchedStatements", "true"},
+            {"useCursorFetch", "false"},
+            {"defaultFetchSize", "0"},
+            {"connectTimeout", "5000"},
+            {"socketTimeout", "0"},
+    };
+
+    private final Map<String, String> values = new LinkedHashMap<>();
+    private final Map<String, String> sources = new LinkedHashMap<>();
+
+    private DatabaseConfig() {
+    }
+
+    public static DatabaseConfig load() {
+        DatabaseConfig config = new DatabaseConfig();
+        config.put("mode", "mysql", "default");
+        config.put("url", "jdbc:mysql://localhost:3306/school_db", "default");
+        config.put("embedded.path", "./data/school_db", "default");
+        config.put("embedded.schema", "sql/schem.sql", "default");
+        config.put("user", "root", "default");
+        config.put("password", "admin", "default");
+        config.put("pool.size", "4", "default");
+        config.put("pool.borrowTimeoutMillis", "5000", "default");
+        config.put("replicas", "", "default");
+        config.put("replicas.balancing", "ROUND_ROBIN", "default");
+        config.put("replicas.maxLagSeconds", "5", "default");
+        config.put("replicas.readYourWritesMillis", "1000", "default");
+        config.put("replicas.probeIntervalMillis", "1000", "default");
+        config.put("shards", "", "default");
+        config.put("shard.campuses", "", "default");
+        config.put("migrations.dir", "sql/migrations", "default");
+        config.put("migrate", "false", "default");
+        config.put("migrate.onlineIndexes", "true", "default");
+        for (String[] setting : DRIVER_SETTINGS) config.put(setting[0], setting[1], "default");
+
+        try (InputStream in = DatabaseConfig.class.getClassLoader().getResourceAsStream(FILE_NAME)) {
+            if (in != null) config.putAll(read(in), "classpath:" + FILE_NAME);
+        } catch (IOException e) {
+            System.err.println("Could not read classpath " + FILE_NAME + ": " + e.getMessage());
+        }
+
+        String explicit = System.getProperty(PREFIX + "config", System.getenv("SCHOOL_DB_CONFIG"));
+        Path file = explicit != null ? Paths.get(explicit) : Paths.get(FILE_NAME);
+        if (Files.isRegularFile(file)) {
+            try (InputStream in = Files.newInputStream(file)) {
+                config.putAll(read(in), file.toAbsolutePath().toString());
+            } catch (IOException e) {
+                System.err.println("Could not read " + file + ": " + e.getMessage());
+            }
+        }
+
+        for (Map.Entry<String, String> env : System.getenv().entrySet()) {
+            if (env.getKey().startsWith("SCHOOL_DB_") && !env.getKey().equals("SCHOOL_DB_CONFIG")) {
+                String key = env.getKey().substring("SCHOOL_DB_".length()).toLowerCase().replace('_', '.');
+                config.put(config.canonical(key), env.getValue(), "env:" + env.getKey());
+            }
+        }
+
+        for (String name : System.getProperties().stringPropertyNames()) {
+            if (name.startsWith(PREFIX) && !name.equals(PREFIX + "config")) {
+                config.put(name.substring(PREFIX.length()), System.getProperty(name), "-D" + name);
+            }
+        }
+        return config;
+    }
+
+    // Copy with one setting replaced, e.g. to point a test class at its own database
+    public DatabaseConfig with(String key, String value) {
+        DatabaseConfig copy = new DatabaseConfig();
+        copy.values.putAll(values);
+        copy.sources.putAll(sources);
+        copy.put(key, value, "override");
+        return copy;
+    }
+
+    private static Properties read(InputStream in) throws IOException {
+        Properties props = new Properties();
+        try (Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+            props.load(reader);
+        }
+        return props;
+    }
+
+    private void putAll(Properties props, String source) {
+        for (String name : props.stringPropertyNames()) {
+            if (name.startsWith(PREFIX)) put(name.substring(PREFIX.length()), props.getProperty(name).trim(), source);
+        }
+    }
+
+    private void put(String key, String value, String source) {
+        values.put(key, value);
+        sources.put(key, source);
+    }
+
+    // Environment variable names lose case, so map them back onto a known key when one matches
+    private String canonical(String lowerKey) {
+        for (String key : values.keySet()) {
+            if (key.equalsIgnoreCase(lowerKey)) return key;
+        }
+        return lowerKey;
+    }
+
+    public String get(String key) {
+        return values.get(key);
+    }
+
+    public String get(String key, String fallback) {
+        return values.getOrDefault(key, fallback);
+    }
+
+    public int getInt(String key) {
+        return Integer.parseInt(values.get(key).trim());
+    }
+
+    // mysql (default) or embedded; see EmbeddedDatabase
+    public boolean isEmbedded() {
+        return "embedded".equalsIgnoreCase(values.get("mode"));
+    }
+
+    public String getBaseUrl() {
+        return values.get("url");
+    }
+
+    public String getUsername() {
+        return values.get("user");
+    }
+
+    public String getPassword() {
+        return values.get("password");
+    }
+
+    public int getPoolSize() {
+        return getInt("pool.size");
+    }
+
+    public long getBorrowTimeoutMillis() {
+        return Long.parseLong(values.get("pool.borrowTimeoutMillis").trim());
+    }
+
+    public List<String> getReplicaUrls() {
+        return urlList("replicas");
+    }
+
+    // ROUND_ROBIN or LEAST_LOADED
+    public ReplicaRouter.Balancing getReplicaBalancing() {
+        return ReplicaRouter.Balancing.valueOf(values.get("replicas.balancing").trim().toUpperCase(Locale.ROOT));
+    }
+
+    public long getReplicaMaxLagSeconds() {
+        return Long.parseLong(values.get("replicas.maxLagSeconds").trim());
+    }
+
+    public long getReplicaReadYourWritesMillis() {
+        return Long.parseLong(values.get("replicas.readYourWritesMillis").trim());
+    }
+
+    public long getReplicaProbeIntervalMillis() {
+        return Long.parseLong(values.get("replicas.probeIntervalMillis").trim());
+    }
+
+    public List<String> getShardUrls() {
+        return urlList("shards");
+    }
+
+    // Comma-separated URL list with the driver properties applied to each entry
+    private List<String> urlList(String key) {
+        String list = values.get(key);
+        if (list == null || list.isBlank()) return List.of();
+        List<String> urls = new ArrayList<>();
+        for (String url : list.split(",")) {
+            if (!url.isBlank()) urls.add(withDriverProperties(url.trim()));
+        }
+        return urls;
+    }
+
+    // Connector/J properties that end up on the URL; keys already present in the URL win
+    public Map<String, String> getDriverProperties() {
+        Map<String, String> props = new LinkedHashMap<>();
+        for (String[] setting : DRIVER_SETTINGS) props.put(setting[0], values.get(setting[0]));
+        for (Map.Entry<String, String> e : values.entrySet()) {
+            if (e.getKey().startsWith("driver.")) props.put(e.getKey().substring("driver.".length()), e.getValue());
+        }
+        return props;
+    }
+
+    public String getJdbcUrl() {
+        if (isEmbedded()) return EmbeddedDatabase.url(values.get("embedded.path"));
+        return withDriverProperties(getBaseUrl());
+    }
+
+    private String withDriverProperties(String url) {
+        if (!url.startsWith("jdbc:mysql:")) return url;
+        StringBuilder sb = new StringBuilder(url);
+        String existing = url.contains("?") ? url.substring(url.indexOf('?') + 1) : "";
+        List<String> present = new ArrayList<>();
+        for (String pair : existing.split("&")) present.add(pair.split("=", 2)[0]);
+        char separator = url.contains("?") ? '&' : '?';
+        for (Map.Entry<String, String> e : getDriverProperties().entrySet()) {
+            if (present.contains(e.getKey()) || e.getValue() == null || e.getValue().isEmpty()) continue;
+            sb.append(separator).append(e.getKey()).append('=').append(e.getValue());
+            separator = '&';
+        }
+        return sb.toString();
+    }
+
+    public Connection openConnection() throws SQLException {
+        if (isEmbedded()) return EmbeddedDatabase.open(this);
+        return DriverManager.getConnection(getJdbcUrl(), getUsername(), getPassword());
+    }
+
+    // One line per effective setting with where it came from; the password is masked
+    public String describe() {
+        StringBuilder sb = new StringBuilder();
+        for (Map.Entry<String, String> e : values.entrySet()) {
+            String value = e.getKey().equals("password") ? "******" : e.getValue();
+            sb.append(String.format("  %-28s = %-40s (%s)%n", PREFIX + e.getKey(), value, sources.get(e.getKey())));
+        }
+        return sb.toString();
+    }
+
+    // Settings that are valid individually but work against each other
+    public List<String> warnings() {
+        List<String> warnings = new ArrayList<>();
+        if (getPoolSize() < 1) warnings.add("pool.size must be at least 1");
+        if (isEmbedded() && !(getReplicaUrls().isEmpty() && getShardUrls().isEmpty()))
+            warnings.add("replicas and shards are ignored in embedded mode");
+        boolean cursorFetch = Boolean.parseBoolean(values.get("useCursorFetch"));
+        int fetchSize = getInt("defaultFetchSize");
+        if (cursorFetch && fetchSize <= 0) warnings.add("useCursorFetch=true has no effect without defaultFetchSize > 0");
+        if (cursorFetch && !Boolean.parseBoolean(values.get("useServerPrepStmts")))
+            warnings.add("useCursorFetch=true requires server-side prepared statements");
+        if (Boolean.parseBoolean(values.get("cachePrepStmts")) && getInt("prepStmtCacheSize") <= 0)
+            warnings.add("cachePrepStmts=true with prepStmtCacheSize <= 0 caches nothing");
+        return warnings;
+    }
+}
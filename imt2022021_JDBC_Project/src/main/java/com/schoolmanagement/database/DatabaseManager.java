@@ -1,21 +1,22 @@
 package com.schoolmanagement.database;
 
 import java.sql.Connection;
-import java.sql.DriverManager;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 
 public class DatabaseManager {
     private static DatabaseManager instance;
+    private final DatabaseConfig config;
     private Connection connection;
+    private ConnectionPool pool;
 
-    private final String URL = "jdbc:mysql://localhost:3306/school_db";
-    private final String USERNAME = "root";
-    private final String PASSWORD = "admin";
-
-    private DatabaseManager() throws SQLException {
+    private DatabaseManager(DatabaseConfig config) throws SQLException {
+        this.config = config;
         try {
-            Class.forName("com.mysql.cj.jdbc.Driver");
-            this.connection = DriverManager.getConnection(URL, USERNAME, PASSWORD);
+            if (!config.isEmbedded()) Class.forName("com.mysql.cj.jdbc.Driver");
+            this.connection = config.openConnection();
         } catch (ClassNotFoundException e) {
             throw new SQLException("MySQL JDBC Driver not found.", e);
         }
@@ -25,14 +26,52 @@ public class DatabaseManager {
         if (instance == null) {
             synchronized (DatabaseManager.class) {
                 if (instance == null) {
-                    instance = new DatabaseManager();
+                    instance = new DatabaseManager(DatabaseConfig.load());
                 }
             }
         }
         return instance;
     }
 
+    public DatabaseConfig getConfig() {
+        return config;
+    }
+
+    // Long-lived connection shared by the single-threaded CLI and the DAOs built from it
     public Connection getConnection() {
         return connection;
     }
+
+    // Pool of school.db.pool.size extra connections for concurrent callers, opened on first use
+    public synchronized ConnectionPool getPool() throws SQLException {
+        if (pool == null) pool = new ConnectionPool(config);
+        return pool;
+    }
+
+    // Startup report: effective settings with their sources, what the server and driver actually
+    // negotiated, one round-trip time and any settings that conflict with each other
+    public String selfCheck() {
+        StringBuilder sb = new StringBuilder("Database configuration:\n");
+        sb.append(config.describe());
+        sb.append("  effective JDBC URL           = ").append(config.getJdbcUrl()).append('\n');
+        try {
+            DatabaseMetaData meta = connection.getMetaData();
+            sb.append("  server                       = ").append(meta.getDatabaseProductName())
+                    .append(' ').append(meta.getDatabaseProductVersion()).append('\n');
+            sb.append("  driver                       = ").append(meta.getDriverName())
+                    .append(' ').append(meta.getDriverVersion()).append('\n');
+            long start = System.nanoTime();
+            try (Statement st = connection.createStatement(); ResultSet rs = st.executeQuery("SELECT 1")) {
+                rs.next();
+            }
+            sb.append(String.format("  round trip                   = %.2f ms%n", (System.nanoTime() - start) / 1e6));
+            try (Statement st = connection.createStatement()) {
+                sb.append("  statement fetch size         = ").append(st.getFetchSize()).append('\n');
+            }
+        } catch (SQLException e) {
+            sb.append("  self-check failed: ").append(e.getMessage()).append('\n');
+        }
+        for (String warning : config.warnings()) sb.append("  WARNING: ").append(warning).append('\n');
+        return sb.toString();
+    }
 }
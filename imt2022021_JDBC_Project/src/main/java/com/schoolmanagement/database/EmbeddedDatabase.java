@@ -0,0 +1,70 @@
+package com.schoolmanagement.database;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// school.db.mode=embedded: an in-process H2 database running in MySQL compatibility mode, so the
+// unchanged DAOs (upserts, CASE updates, LIMIT) work against a local file or memory store with no
+// server. The first connection to a database creates the tables from the MySQL schema script.
+public final class EmbeddedDatabase {
+    private static final Set<String> initialized = ConcurrentHashMap.newKeySet();
+
+    private EmbeddedDatabase() {
+    }
+
+    // "./data/school_db" -> a file database, "mem:school_db" -> memory kept until the JVM exits
+    static String url(String path) {
+        String options = ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;CASE_INSENSITIVE_IDENTIFIERS=TRUE";
+        if (path.startsWith("mem:")) return "jdbc:h2:" + path + ";DB_CLOSE_DELAY=-1" + options;
+        return "jdbc:h2:file:" + path + options;
+    }
+
+    static Connection open(DatabaseConfig config) throws SQLException {
+        Connection connection = DriverManager.getConnection(config.getJdbcUrl(), config.getUsername(), config.getPassword());
+        if (initialized.add(config.getJdbcUrl())) {
+            try {
+                ensureSchema(connection, Paths.get(config.get("embedded.schema")));
+            } catch (SQLException e) {
+                initialized.remove(config.getJdbcUrl());
+                connection.close();
+                throw e;
+            }
+        }
+        return connection;
+    }
+
+    static void ensureSchema(Connection connection, Path schemaFile) throws SQLException {
+        try (ResultSet rs = connection.getMetaData().getTables(null, null, "students", null)) {
+            if (rs.next()) return;
+        }
+        createTables(connection, schemaFile);
+    }
+
+    // Runs the MySQL schema script against connection's current database, skipping its own
+    // CREATE DATABASE/USE so the tables land wherever connection points (H2, or a scratch MySQL schema)
+    public static void createTables(Connection connection, Path schemaFile) throws SQLException {
+        String script;
+        try {
+            script = Files.readString(schemaFile);
+        } catch (IOException e) {
+            throw new SQLException("Cannot read embedded schema " + schemaFile.toAbsolutePath(), e);
+        }
+        try (Statement st = connection.createStatement()) {
+            for (String sql : SqlScriptReader.split(script)) {
+                String head = sql.toUpperCase(Locale.ROOT);
+                if (head.startsWith("CREATE DATABASE") || head.startsWith("USE ")) continue;
+                st.execute(sql);
+            }
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.schoolmanagement.database;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Runs one task per shard in parallel and returns the results in shard order. The first
+// failure (in shard order) is rethrown once every task has finished, so no shard is left
+// mid-query when the caller sees the error.
+public class FanOutExecutor implements AutoCloseable {
+
+    public interface ShardTask<S, R> {
+        R run(S shard) throws SQLException;
+    }
+
+    private final ExecutorService executor;
+
+    public FanOutExecutor(int threads) {
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(Math.max(1, threads), r -> {
+            Thread t = new Thread(r, "shard-fan-out-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    public <S, R> List<R> fanOut(List<S> shards, ShardTask<S, R> task) throws SQLException {
+        // A single shard gains nothing from a thread hop
+        if (shards.size() == 1) return Collections.singletonList(task.run(shards.get(0)));
+
+        List<Future<R>> futures = new ArrayList<>(shards.size());
+        for (S shard : shards) futures.add(executor.submit(() -> task.run(shard)));
+
+        List<R> results = new ArrayList<>(shards.size());
+        SQLException failure = null;
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                results.add(futures.get(i).get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                if (failure == null) failure = new SQLException("Interrupted while waiting for shard " + i, e);
+                results.add(null);
+            } catch (ExecutionException e) {
+                if (failure == null) {
+                    failure = e.getCause() instanceof SQLException
+                            ? (SQLException) e.getCause()
+                            : new SQLException("Shard " + i + " failed", e.getCause());
+                }
+                results.add(null);
+            }
+        }
+        if (failure != null) throw failure;
+        return results;
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
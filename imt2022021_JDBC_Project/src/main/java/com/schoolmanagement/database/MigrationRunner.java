@@ -0,0 +1,227 @@
+package com.schoolmanagement.database;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+// Applies versioned scripts V<n>__<description>.sql from a directory in version order and records
+// each one in schema_version with a checksum. A script runs in one transaction together with its
+// schema_version row, so a failed data change leaves nothing behind. MySQL commits DDL implicitly,
+// which is why CREATE INDEX statements are checked against the catalogue first: re-running after
+// a half-applied script skips the indexes that already exist instead of failing on them.
+public class MigrationRunner {
+
+    public static class Migration {
+        private final int version;
+        private final String description;
+        private final Path file;
+        private final String script;
+        private final long checksum;
+
+        Migration(int version, String description, Path file, String script) {
+            this.version = version;
+            this.description = description;
+            this.file = file;
+            this.script = script;
+            CRC32 crc = new CRC32();
+            crc.update(script.getBytes(StandardCharsets.UTF_8));
+            this.checksum = crc.getValue();
+        }
+
+        public int getVersion() {
+            return version;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+
+        public long getChecksum() {
+            return checksum;
+        }
+
+        @Override
+        public String toString() {
+            return "V" + version + " " + description;
+        }
+    }
+
+    private static final Pattern FILE_NAME = Pattern.compile("V(\\d+)__(.+)\\.sql");
+    private static final Pattern CREATE_INDEX = Pattern.compile(
+            "CREATE\\s+(?:UNIQUE\\s+)?INDEX\\s+(\\w+)\\s+ON\\s+(\\w+)\\s*\\(.*", Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+    private static final String LOCK_NAME = "school_db.migrations";
+
+    private final Connection connection;
+    private final Path directory;
+    private final boolean onlineIndexes;
+    private final boolean mysql;
+
+    public MigrationRunner(Connection connection, Path directory, boolean onlineIndexes) throws SQLException {
+        this.connection = connection;
+        this.directory = directory;
+        this.onlineIndexes = onlineIndexes;
+        this.mysql = connection.getMetaData().getDatabaseProductName().equals("MySQL");
+    }
+
+    public static MigrationRunner forConfig(Connection connection, DatabaseConfig config) throws SQLException {
+        return new MigrationRunner(connection, Paths.get(config.get("migrations.dir")),
+                Boolean.parseBoolean(config.get("migrate.onlineIndexes")));
+    }
+
+    // Scripts on disk, in version order
+    public List<Migration> available() throws SQLException {
+        Map<Integer, Migration> byVersion = new TreeMap<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Matcher m = FILE_NAME.matcher(file.getFileName().toString());
+                if (!m.matches()) continue;
+                Migration migration = new Migration(Integer.parseInt(m.group(1)), m.group(2).replace('_', ' '),
+                        file, Files.readString(file));
+                Migration clash = byVersion.put(migration.version, migration);
+                if (clash != null) {
+                    throw new SQLException("Duplicate migration version " + migration.version + ": "
+                            + clash.file.getFileName() + " and " + file.getFileName());
+                }
+            }
+        } catch (IOException e) {
+            throw new SQLException("Cannot read migrations from " + directory.toAbsolutePath(), e);
+        }
+        return new ArrayList<>(byVersion.values());
+    }
+
+    // version -> checksum of everything recorded in schema_version
+    public Map<Integer, Long> applied() throws SQLException {
+        ensureVersionTable();
+        Map<Integer, Long> applied = new LinkedHashMap<>();
+        try (Statement st = connection.createStatement();
+             ResultSet rs = st.executeQuery("SELECT version, checksum FROM schema_version ORDER BY version")) {
+            while (rs.next()) applied.put(rs.getInt(1), rs.getLong(2));
+        }
+        return applied;
+    }
+
+    // Applies every pending migration and returns them. Refuses to run if an applied script has
+    // been edited since, because the database would then no longer match the scripts.
+    public List<Migration> migrate() throws SQLException {
+        boolean autoCommit = connection.getAutoCommit();
+        lock();
+        try {
+            Map<Integer, Long> applied = applied();
+            List<Migration> pending = new ArrayList<>();
+            for (Migration migration : available()) {
+                Long checksum = applied.get(migration.version);
+                if (checksum == null) {
+                    pending.add(migration);
+                } else if (checksum != migration.checksum) {
+                    throw new SQLException("Migration " + migration + " was changed after it was applied"
+                            + " (checksum " + checksum + " in schema_version, " + migration.checksum + " on disk)");
+                }
+            }
+            for (Migration migration : pending) apply(migration);
+            return pending;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+            unlock();
+        }
+    }
+
+    private void apply(Migration migration) throws SQLException {
+        long start = System.nanoTime();
+        connection.setAutoCommit(false);
+        try (Statement st = connection.createStatement()) {
+            for (String sql : SqlScriptReader.split(migration.script)) {
+                Matcher index = CREATE_INDEX.matcher(sql);
+                if (index.matches()) {
+                    if (indexExists(index.group(2), index.group(1))) continue;
+                    if (mysql && onlineIndexes) sql += " ALGORITHM=INPLACE LOCK=NONE";
+                }
+                st.execute(sql);
+            }
+            try (PreparedStatement ps = connection.prepareStatement(
+                    "INSERT INTO schema_version (version, description, checksum, execution_ms) VALUES (?, ?, ?, ?)")) {
+                ps.setInt(1, migration.version);
+                ps.setString(2, migration.description);
+                ps.setLong(3, migration.checksum);
+                ps.setLong(4, (System.nanoTime() - start) / 1_000_000);
+                ps.executeUpdate();
+            }
+            connection.commit();
+        } catch (SQLException e) {
+            connection.rollback();
+            throw new SQLException("Migration " + migration + " failed: " + e.getMessage(), e.getSQLState(),
+                    e.getErrorCode(), e);
+        }
+    }
+
+    private void ensureVersionTable() throws SQLException {
+        try (Statement st = connection.createStatement()) {
+            st.execute("CREATE TABLE IF NOT EXISTS schema_version ("
+                    + "version INT PRIMARY KEY, "
+                    + "description VARCHAR(200) NOT NULL, "
+                    + "checksum BIGINT NOT NULL, "
+                    + "installed_on TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP, "
+                    + "execution_ms BIGINT NOT NULL)");
+        }
+    }
+
+    private boolean indexExists(String table, String index) throws SQLException {
+        try (ResultSet rs = connection.getMetaData().getIndexInfo(connection.getCatalog(), null, table, false, false)) {
+            while (rs.next()) {
+                if (index.equalsIgnoreCase(rs.getString("INDEX_NAME"))) return true;
+            }
+        }
+        return false;
+    }
+
+    // Two runners started together (e.g. several app instances) must not apply the same script
+    private void lock() throws SQLException {
+        if (!mysql) return;
+        try (Statement st = connection.createStatement();
+             ResultSet rs = st.executeQuery("SELECT GET_LOCK('" + LOCK_NAME + "', 60)")) {
+            if (!rs.next() || rs.getInt(1) != 1) throw new SQLException("Timed out waiting for the migration lock");
+        }
+    }
+
+    private void unlock() throws SQLException {
+        if (!mysql) return;
+        try (Statement st = connection.createStatement()) {
+            st.execute("SELECT RELEASE_LOCK('" + LOCK_NAME + "')");
+        }
+    }
+
+    // java ... MigrationRunner [status]: applies pending migrations, or lists their state
+    public static void main(String[] args) throws SQLException {
+        DatabaseConfig config = DatabaseConfig.load();
+        try (Connection connection = config.openConnection()) {
+            MigrationRunner runner = forConfig(connection, config);
+            if (args.length > 0 && args[0].equals("status")) {
+                Map<Integer, Long> applied = runner.applied();
+                for (Migration migration : runner.available()) {
+                    String state = !applied.containsKey(migration.version) ? "pending"
+                            : applied.get(migration.version) == migration.checksum ? "applied" : "CHANGED";
+                    System.out.printf(Locale.ROOT, "%-40s %s%n", migration, state);
+                }
+                return;
+            }
+            List<Migration> done = runner.migrate();
+            System.out.println(done.isEmpty() ? "Schema is up to date" : "Applied " + done);
+        }
+    }
+}
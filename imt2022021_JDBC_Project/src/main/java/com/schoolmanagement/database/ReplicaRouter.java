@@ -0,0 +1,278 @@
+package com.schoolmanagement.database;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Read/write splitting for the DAOs. Writes always use the primary; reads go to a healthy
+// replica chosen round-robin or by lowest load, unless the calling thread wrote within the
+// read-your-writes window or no replica is within maxLagSeconds, in which case they stay on
+// the primary. Replica lag and load are sampled by a background probe on its own connection
+// per replica, so a slow status query never holds up the connection request threads read through.
+// Each reader thread gets its own read-only connection to a replica, opened on its first read
+// there, so concurrent reads are not serialized on one connection. They are kept for the
+// router's lifetime and closed with it, which suits long-lived worker threads.
+public class ReplicaRouter implements AutoCloseable {
+
+    public enum Balancing {
+        ROUND_ROBIN,
+        LEAST_LOADED
+    }
+
+    // How a replica's lag and load are sampled; MYSQL reads the replication status
+    public interface Probe {
+        // Seconds behind the source; 0 for a standalone server, -1 when replication is stopped
+        long lagSeconds(Connection connection) throws SQLException;
+
+        int threadsRunning(Connection connection) throws SQLException;
+    }
+
+    public static final Probe MYSQL = new Probe() {
+        @Override
+        public long lagSeconds(Connection connection) throws SQLException {
+            try (Statement st = connection.createStatement()) {
+                return replicationLag(st);
+            }
+        }
+
+        @Override
+        public int threadsRunning(Connection connection) throws SQLException {
+            try (Statement st = connection.createStatement();
+                 ResultSet rs = st.executeQuery("SHOW GLOBAL STATUS LIKE 'Threads_running'")) {
+                return rs.next() ? rs.getInt(2) : 0;
+            }
+        }
+    };
+
+    // Opens a new connection to one replica
+    public interface Opener {
+        Connection open() throws SQLException;
+    }
+
+    // Last sampled state of one replica
+    public static class Replica {
+        private final String url;
+        private final Opener opener;
+        private final Connection probeConnection;
+        private final ThreadLocal<Connection> readerConnection = new ThreadLocal<>();
+        private final List<Connection> readConnections = new CopyOnWriteArrayList<>();
+        private volatile boolean healthy = true;
+        private volatile long lagSeconds;
+        private volatile int threadsRunning;
+
+        Replica(String url, Opener opener, Connection probeConnection) {
+            this.url = url;
+            this.opener = opener;
+            this.probeConnection = probeConnection;
+        }
+
+        // The calling thread's read connection, opened on first use
+        private Connection forReader() throws SQLException {
+            Connection c = readerConnection.get();
+            if (c == null || c.isClosed()) {
+                c = opener.open();
+                c.setReadOnly(true);
+                readConnections.add(c);
+                readerConnection.set(c);
+            }
+            return c;
+        }
+
+        public String getUrl() {
+            return url;
+        }
+
+        public boolean isHealthy() {
+            return healthy;
+        }
+
+        public long getLagSeconds() {
+            return lagSeconds;
+        }
+
+        public int getThreadsRunning() {
+            return threadsRunning;
+        }
+
+        // Read connections opened so far, one per thread that read from this replica
+        public int getReadConnectionCount() {
+            return readConnections.size();
+        }
+
+        @Override
+        public String toString() {
+            return "Replica [url=" + url + ", healthy=" + healthy + ", lagSeconds=" + lagSeconds
+                    + ", threadsRunning=" + threadsRunning + "]";
+        }
+    }
+
+    private final Connection primary;
+    private final List<Replica> replicas;
+    private final Probe prober;
+    private final Balancing balancing;
+    private final long maxLagSeconds;
+    private final long readYourWritesMillis;
+
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private final ThreadLocal<Long> lastWriteAt = ThreadLocal.withInitial(() -> 0L);
+    private final ScheduledExecutorService probe;
+
+    // readers and probeConnections hold one entry per URL, for the same replica
+    public ReplicaRouter(Connection primary, List<String> replicaUrls, List<Opener> readers,
+                         List<Connection> probeConnections, Probe prober, Balancing balancing,
+                         long maxLagSeconds, long readYourWritesMillis, long probeIntervalMillis) {
+        this.primary = primary;
+        this.replicas = new ArrayList<>();
+        for (int i = 0; i < readers.size(); i++) {
+            replicas.add(new Replica(replicaUrls.get(i), readers.get(i), probeConnections.get(i)));
+        }
+        this.prober = prober;
+        this.balancing = balancing;
+        this.maxLagSeconds = maxLagSeconds;
+        this.readYourWritesMillis = readYourWritesMillis;
+
+        refresh();
+        this.probe = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "replica-probe");
+            t.setDaemon(true);
+            return t;
+        });
+        probe.scheduleWithFixedDelay(this::refresh, probeIntervalMillis, probeIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    // Router over the school.db.replicas URLs, tuned by the school.db.replicas.* settings
+    public static ReplicaRouter connect(Connection primary, DatabaseConfig config) throws SQLException {
+        return connect(primary, config.getReplicaUrls(), config.getUsername(), config.getPassword(),
+                config.getReplicaBalancing(), config.getReplicaMaxLagSeconds(),
+                config.getReplicaReadYourWritesMillis(), config.getReplicaProbeIntervalMillis());
+    }
+
+    // Opens a probe connection per replica URL with the primary's credentials; read connections
+    // are opened per reader thread with the same credentials
+    public static ReplicaRouter connect(Connection primary, List<String> replicaUrls, String username, String password,
+                                        Balancing balancing, long maxLagSeconds, long readYourWritesMillis,
+                                        long probeIntervalMillis) throws SQLException {
+        List<Opener> reads = new ArrayList<>();
+        List<Connection> probes = new ArrayList<>();
+        try {
+            for (String url : replicaUrls) {
+                reads.add(() -> DriverManager.getConnection(url, username, password));
+                probes.add(DriverManager.getConnection(url, username, password));
+            }
+        } catch (SQLException e) {
+            for (Connection c : probes) c.close();
+            throw e;
+        }
+        return new ReplicaRouter(primary, replicaUrls, reads, probes, MYSQL,
+                balancing, maxLagSeconds, readYourWritesMillis, probeIntervalMillis);
+    }
+
+    public Connection forWrite() {
+        markWrite();
+        return primary;
+    }
+
+    public Connection forRead() {
+        if (System.currentTimeMillis() - lastWriteAt.get() < readYourWritesMillis) return primary;
+        Replica chosen = balancing == Balancing.LEAST_LOADED ? leastLoaded() : roundRobin();
+        if (chosen == null) return primary;
+        try {
+            return chosen.forReader();
+        } catch (SQLException e) {
+            // Unreachable for now; the probe brings it back once it answers again
+            chosen.healthy = false;
+            return primary;
+        }
+    }
+
+    // Pins this thread's reads to the primary for the read-your-writes window
+    public void markWrite() {
+        lastWriteAt.set(System.currentTimeMillis());
+    }
+
+    public List<Replica> getReplicas() {
+        return replicas;
+    }
+
+    private Replica roundRobin() {
+        int n = replicas.size();
+        int start = Math.floorMod(nextReplica.getAndIncrement(), Math.max(n, 1));
+        for (int i = 0; i < n; i++) {
+            Replica r = replicas.get((start + i) % n);
+            if (usable(r)) return r;
+        }
+        return null;
+    }
+
+    private Replica leastLoaded() {
+        Replica best = null;
+        for (Replica r : replicas) {
+            if (usable(r) && (best == null || r.threadsRunning < best.threadsRunning)) best = r;
+        }
+        return best;
+    }
+
+    private boolean usable(Replica r) {
+        return r.healthy && r.lagSeconds <= maxLagSeconds;
+    }
+
+    // Samples every replica now; the background probe calls this every probeIntervalMillis
+    public synchronized void refresh() {
+        for (Replica r : replicas) {
+            try {
+                r.lagSeconds = prober.lagSeconds(r.probeConnection);
+                r.threadsRunning = prober.threadsRunning(r.probeConnection);
+                r.healthy = r.lagSeconds >= 0;
+            } catch (SQLException e) {
+                r.healthy = false;
+            }
+        }
+    }
+
+    // Seconds behind the source; 0 for a standalone server, -1 when replication is stopped
+    private static long replicationLag(Statement st) throws SQLException {
+        ResultSet rs;
+        String column;
+        try {
+            rs = st.executeQuery("SHOW REPLICA STATUS");
+            column = "Seconds_Behind_Source";
+        } catch (SQLException e) {
+            // Servers before 8.0.22 only understand the old spelling
+            rs = st.executeQuery("SHOW SLAVE STATUS");
+            column = "Seconds_Behind_Master";
+        }
+        try (ResultSet status = rs) {
+            if (!status.next()) return 0;
+            long lag = status.getLong(column);
+            return status.wasNull() ? -1 : lag;
+        }
+    }
+
+    @Override
+    public void close() throws SQLException {
+        probe.shutdownNow();
+        SQLException failure = null;
+        for (Replica r : replicas) {
+            List<Connection> connections = new ArrayList<>(r.readConnections);
+            connections.add(r.probeConnection);
+            for (Connection c : connections) {
+                try {
+                    c.close();
+                } catch (SQLException e) {
+                    if (failure == null) failure = e;
+                    else failure.addSuppressed(e);
+                }
+            }
+        }
+        if (failure != null) throw failure;
+    }
+}
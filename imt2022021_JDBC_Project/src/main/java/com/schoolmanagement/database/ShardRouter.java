@@ -0,0 +1,111 @@
+package com.schoolmanagement.database;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// Maps shard keys to one of N school databases. Students and teachers are placed by the campus
+// prefix of roll_number / emp_id ("BLR-2021-001" or "BLR2021001" -> BLR), with unmapped campuses
+// hashed; libraries by name hash; books by their library. Every shard connection generates ids
+// with auto_increment_increment = N and auto_increment_offset = shard + 1, so an id alone
+// identifies its shard and reads or deletes by id touch exactly one database. ShardedDAO.create
+// checks every generated id against this layout.
+public class ShardRouter implements AutoCloseable {
+    private final List<Connection> shards;
+    private final Map<String, Integer> campusShards;
+
+    public ShardRouter(List<Connection> shards, Map<String, Integer> campusShards) {
+        if (shards.isEmpty()) throw new IllegalArgumentException("At least one shard is required");
+        this.shards = shards;
+        this.campusShards = new HashMap<>();
+        for (Map.Entry<String, Integer> e : campusShards.entrySet()) {
+            if (e.getValue() < 0 || e.getValue() >= shards.size())
+                throw new IllegalArgumentException("Campus " + e.getKey() + " mapped to missing shard " + e.getValue());
+            this.campusShards.put(e.getKey().toUpperCase(Locale.ROOT), e.getValue());
+        }
+    }
+
+    // Opens school.db.shards (falling back to the primary URL alone) and pins each session's id layout
+    public static ShardRouter connect(DatabaseConfig config) throws SQLException {
+        List<String> urls = config.getShardUrls();
+        if (urls.isEmpty()) urls = List.of(config.getJdbcUrl());
+        List<Connection> connections = new ArrayList<>();
+        try {
+            for (int i = 0; i < urls.size(); i++) {
+                Connection c = DriverManager.getConnection(urls.get(i), config.getUsername(), config.getPassword());
+                connections.add(c);
+                if (urls.size() > 1) {
+                    try (Statement st = c.createStatement()) {
+                        st.execute("SET SESSION auto_increment_increment = " + urls.size()
+                                + ", auto_increment_offset = " + (i + 1));
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            for (Connection c : connections) c.close();
+            throw e;
+        }
+        return new ShardRouter(connections, parseCampuses(config.get("shard.campuses", "")));
+    }
+
+    // "BLR=0, DEL=1" -> {BLR: 0, DEL: 1}
+    static Map<String, Integer> parseCampuses(String spec) {
+        Map<String, Integer> campuses = new HashMap<>();
+        for (String pair : spec.split(",")) {
+            if (pair.isBlank()) continue;
+            String[] parts = pair.split("=", 2);
+            if (parts.length != 2) throw new IllegalArgumentException("Expected CAMPUS=shard but got '" + pair.trim() + "'");
+            campuses.put(parts[0].trim(), Integer.parseInt(parts[1].trim()));
+        }
+        return campuses;
+    }
+
+    public int shardCount() {
+        return shards.size();
+    }
+
+    public Connection getShard(int shard) {
+        return shards.get(shard);
+    }
+
+    public List<Connection> getShards() {
+        return shards;
+    }
+
+    // Shard that generated an id under the increment/offset layout set up by connect
+    public int shardForId(int id) {
+        return Math.floorMod(id - 1, shards.size());
+    }
+
+    public int shardForCampusKey(String code) {
+        String campus = campusOf(code);
+        Integer mapped = campusShards.get(campus);
+        return mapped != null ? mapped : shardForKey(campus);
+    }
+
+    public int shardForKey(String key) {
+        return Math.floorMod(key.hashCode(), shards.size());
+    }
+
+    // Text before the first '-', or the leading letters when there is no separator
+    public static String campusOf(String code) {
+        int dash = code.indexOf('-');
+        if (dash > 0) return code.substring(0, dash).toUpperCase(Locale.ROOT);
+        int end = 0;
+        while (end < code.length() && Character.isLetter(code.charAt(end))) end++;
+        return code.substring(0, end).toUpperCase(Locale.ROOT);
+    }
+
+    @Override
+    public void close() throws SQLException {
+        for (Connection c : shards) {
+            if (c != null) c.close();
+        }
+    }
+}
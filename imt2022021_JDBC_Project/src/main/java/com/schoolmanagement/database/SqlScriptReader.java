@@ -0,0 +1,152 @@
+package com.schoolmanagement.database;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+
+// Streams statements out of a SQL script one at a time, the way the mysql client splits them:
+// a delimiter inside quotes or comments does not end a statement, "-- ", "#" and /* */ comments
+// are dropped (/*! */ version comments and /*+ */ hints are kept), and DELIMITER lines switch
+// the terminator for procedure bodies. Only the current line and statement are held in memory.
+public class SqlScriptReader implements Closeable {
+    private final BufferedReader in;
+    private final Deque<String> ready = new ArrayDeque<>();
+    private final Deque<Integer> readyLines = new ArrayDeque<>();
+    private final StringBuilder current = new StringBuilder();
+    private String delimiter = ";";
+    private char quote;
+    private boolean inComment;
+    private boolean keepComment;
+    private int lineNumber;
+    private int currentLine;
+    private int statementLine;
+    private boolean eof;
+
+    public SqlScriptReader(Reader reader) {
+        this.in = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+    }
+
+    // Next statement without its delimiter, or null at the end of the script
+    public String next() throws IOException {
+        while (ready.isEmpty() && !eof) {
+            String line = in.readLine();
+            if (line == null) {
+                eof = true;
+                emit();
+            } else {
+                lineNumber++;
+                scan(line);
+            }
+        }
+        if (ready.isEmpty()) return null;
+        statementLine = readyLines.poll();
+        return ready.poll();
+    }
+
+    // 1-based line on which the statement last returned by next() starts
+    public int getStatementLine() {
+        return statementLine;
+    }
+
+    private void scan(String line) {
+        if (quote == 0 && !inComment && isBlank()) {
+            String trimmed = line.trim();
+            if (trimmed.regionMatches(true, 0, "DELIMITER ", 0, 10)) {
+                delimiter = trimmed.substring(10).trim();
+                return;
+            }
+        }
+        int length = line.length();
+        for (int i = 0; i < length; i++) {
+            char c = line.charAt(i);
+            if (inComment) {
+                if (keepComment) append(c);
+                if (c == '*' && i + 1 < length && line.charAt(i + 1) == '/') {
+                    if (keepComment) append('/');
+                    inComment = false;
+                    i++;
+                }
+            } else if (quote != 0) {
+                append(c);
+                if (c == '\\' && quote != '`' && i + 1 < length) {
+                    append(line.charAt(++i));
+                } else if (c == quote) {
+                    if (i + 1 < length && line.charAt(i + 1) == quote) append(line.charAt(++i));
+                    else quote = 0;
+                }
+            } else if (c == '-' && line.startsWith("--", i) && (i + 2 == length || Character.isWhitespace(line.charAt(i + 2)))) {
+                break;
+            } else if (c == '#') {
+                break;
+            } else if (c == '/' && i + 1 < length && line.charAt(i + 1) == '*') {
+                inComment = true;
+                keepComment = i + 2 < length && (line.charAt(i + 2) == '!' || line.charAt(i + 2) == '+');
+                if (keepComment) append("/*");
+                i++;
+            } else if (line.startsWith(delimiter, i)) {
+                emit();
+                i += delimiter.length() - 1;
+            } else {
+                if (c == '\'' || c == '"' || c == '`') quote = c;
+                append(c);
+            }
+        }
+        // Keep line breaks between lines so "...VALUES\n(1)" doesn't run words together
+        if (current.length() > 0) current.append('\n');
+    }
+
+    private boolean isBlank() {
+        for (int i = 0; i < current.length(); i++) {
+            if (!Character.isWhitespace(current.charAt(i))) return false;
+        }
+        return true;
+    }
+
+    private void append(char c) {
+        if (current.length() == 0 && Character.isWhitespace(c)) return;
+        if (current.length() == 0) currentLine = lineNumber;
+        current.append(c);
+    }
+
+    private void append(String s) {
+        for (int i = 0; i < s.length(); i++) append(s.charAt(i));
+    }
+
+    private void emit() {
+        String sql = current.toString().trim();
+        current.setLength(0);
+        if (!sql.isEmpty()) {
+            ready.add(sql);
+            readyLines.add(currentLine);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    // Whole-script convenience for small scripts already in memory
+    public static List<String> split(String script) {
+        List<String> statements = new ArrayList<>();
+        try (SqlScriptReader reader = new SqlScriptReader(new StringReader(script))) {
+            for (String sql = reader.next(); sql != null; sql = reader.next()) statements.add(sql);
+        } catch (IOException e) {
+            throw new IllegalStateException("StringReader failed", e);
+        }
+        return statements;
+    }
+
+    static String head(String sql) {
+        int end = 0;
+        while (end < sql.length() && !Character.isWhitespace(sql.charAt(end))) end++;
+        return sql.substring(0, end).toUpperCase(Locale.ROOT);
+    }
+}
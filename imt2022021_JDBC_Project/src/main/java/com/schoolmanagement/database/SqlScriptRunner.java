@@ -0,0 +1,184 @@
+package com.schoolmanagement.database;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+
+// Runs a SQL script inside one transaction. Consecutive INSERT/UPDATE/DELETE/REPLACE statements
+// are sent as JDBC batches; with rewriteBatchedStatements or allowMultiQueries on the connection
+// (see bulkProperties) Connector/J ships each batch in a single round trip. Anything else (DDL,
+// SET, USE) flushes the pending batch and runs on its own. MySQL still commits DDL implicitly, so
+// only the data statements are all-or-nothing. Every executed statement or batch is timed.
+public class SqlScriptRunner {
+
+    private static final Set<String> BATCHABLE = Set.of("INSERT", "UPDATE", "DELETE", "REPLACE");
+
+    public static class Timing {
+        private final int line;
+        private final String sql;
+        private final int statements;
+        private final long nanos;
+
+        Timing(int line, String sql, int statements, long nanos) {
+            this.line = line;
+            this.sql = sql;
+            this.statements = statements;
+            this.nanos = nanos;
+        }
+
+        public int getLine() {
+            return line;
+        }
+
+        public int getStatements() {
+            return statements;
+        }
+
+        public long getNanos() {
+            return nanos;
+        }
+
+        @Override
+        public String toString() {
+            String text = sql.replaceAll("\\s+", " ");
+            if (text.length() > 60) text = text.substring(0, 57) + "...";
+            return String.format("line %5d %9.2f ms  %s%s", line, nanos / 1e6, text,
+                    statements > 1 ? " (+" + (statements - 1) + " more in batch)" : "");
+        }
+    }
+
+    public static class Report {
+        private final String name;
+        private final List<Timing> timings = new ArrayList<>();
+        private int statements;
+        private long nanos;
+
+        Report(String name) {
+            this.name = name;
+        }
+
+        public int getStatements() {
+            return statements;
+        }
+
+        // One round trip each: a single statement or a whole batch
+        public int getExecutions() {
+            return timings.size();
+        }
+
+        public long getNanos() {
+            return nanos;
+        }
+
+        public List<Timing> getTimings() {
+            return timings;
+        }
+
+        public List<Timing> slowest(int n) {
+            List<Timing> sorted = new ArrayList<>(timings);
+            sorted.sort(Comparator.comparingLong(Timing::getNanos).reversed());
+            return sorted.subList(0, Math.min(n, sorted.size()));
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder(String.format("%s: %d statements in %d executions, %.1f ms%n",
+                    name, statements, timings.size(), nanos / 1e6));
+            for (Timing t : slowest(3)) sb.append("  ").append(t).append('\n');
+            return sb.toString();
+        }
+    }
+
+    private final Connection connection;
+    private int batchSize = 500;
+
+    public SqlScriptRunner(Connection connection) {
+        this.connection = connection;
+    }
+
+    public SqlScriptRunner batchSize(int batchSize) {
+        this.batchSize = Math.max(1, batchSize);
+        return this;
+    }
+
+    // Connection properties that let Connector/J send a statement batch as one multi-statement packet
+    public static Properties bulkProperties(String user, String password) {
+        Properties props = new Properties();
+        props.setProperty("user", user);
+        props.setProperty("password", password);
+        props.setProperty("rewriteBatchedStatements", "true");
+        props.setProperty("allowMultiQueries", "true");
+        return props;
+    }
+
+    public Report run(Path file) throws SQLException, IOException {
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return run(reader, file.toString());
+        }
+    }
+
+    public Report run(Reader script, String name) throws SQLException, IOException {
+        Report report = new Report(name);
+        boolean autoCommit = connection.getAutoCommit();
+        long start = System.nanoTime();
+        connection.setAutoCommit(false);
+        SqlScriptReader reader = new SqlScriptReader(script);
+        int line = 0;
+        try (Statement st = connection.createStatement()) {
+            List<String> batch = new ArrayList<>();
+            int batchLine = 0;
+            for (String sql = reader.next(); sql != null; sql = reader.next()) {
+                line = reader.getStatementLine();
+                if (BATCHABLE.contains(SqlScriptReader.head(sql))) {
+                    if (batch.isEmpty()) batchLine = line;
+                    st.addBatch(sql);
+                    batch.add(sql);
+                    if (batch.size() >= batchSize) {
+                        line = batchLine;
+                        flush(st, batch, batchLine, report);
+                    }
+                } else {
+                    if (!batch.isEmpty()) {
+                        line = batchLine;
+                        flush(st, batch, batchLine, report);
+                        line = reader.getStatementLine();
+                    }
+                    long t = System.nanoTime();
+                    st.execute(sql);
+                    report.timings.add(new Timing(line, sql, 1, System.nanoTime() - t));
+                    report.statements++;
+                }
+            }
+            if (!batch.isEmpty()) {
+                line = batchLine;
+                flush(st, batch, batchLine, report);
+            }
+            connection.commit();
+        } catch (SQLException e) {
+            connection.rollback();
+            throw new SQLException(name + ":" + line + ": " + e.getMessage(), e.getSQLState(), e.getErrorCode(), e);
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+        report.nanos = System.nanoTime() - start;
+        return report;
+    }
+
+    private static void flush(Statement st, List<String> batch, int line, Report report) throws SQLException {
+        long t = System.nanoTime();
+        st.executeBatch();
+        report.timings.add(new Timing(line, batch.get(0), batch.size(), System.nanoTime() - t));
+        report.statements += batch.size();
+        batch.clear();
+    }
+}
@@ -0,0 +1,106 @@
+package com.schoolmanagement.datagen;
+
+import com.schoolmanagement.models.Book;
+import com.schoolmanagement.models.Course;
+import com.schoolmanagement.models.Library;
+import com.schoolmanagement.models.Student;
+import com.schoolmanagement.models.Teacher;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// One RFC 4180 CSV file per table (header row first) plus load.sql, which bulk-loads them in
+// foreign-key order with LOAD DATA LOCAL INFILE; the fastest way to get millions of rows into MySQL
+public class CsvDatasetSink implements DatasetSink {
+    private final Path directory;
+    private final Map<String, BufferedWriter> writers = new LinkedHashMap<>();
+    private final Map<String, String> columns = new LinkedHashMap<>();
+
+    public CsvDatasetSink(Path directory) throws IOException {
+        this.directory = directory;
+        Files.createDirectories(directory);
+    }
+
+    private BufferedWriter writer(String table, String header) throws IOException {
+        BufferedWriter writer = writers.get(table);
+        if (writer == null) {
+            writer = Files.newBufferedWriter(directory.resolve(table + ".csv"), StandardCharsets.UTF_8);
+            writer.write(header);
+            writer.write('\n');
+            writers.put(table, writer);
+            columns.put(table, header);
+        }
+        return writer;
+    }
+
+    private static void row(BufferedWriter w, Object... values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) w.write(',');
+            String v = String.valueOf(values[i]);
+            if (v.indexOf(',') >= 0 || v.indexOf('"') >= 0 || v.indexOf('\n') >= 0) {
+                w.write('"');
+                w.write(v.replace("\"", "\"\""));
+                w.write('"');
+            } else {
+                w.write(v);
+            }
+        }
+        w.write('\n');
+    }
+
+    @Override
+    public void libraries(List<Library> batch) throws IOException {
+        BufferedWriter w = writer("libraries", "id,name");
+        for (Library l : batch) row(w, l.getId(), l.getName());
+    }
+
+    @Override
+    public void books(List<Book> batch) throws IOException {
+        BufferedWriter w = writer("books", "id,book_id,title,author,library_id");
+        for (Book b : batch) row(w, b.getId(), b.getBookId(), b.getTitle(), b.getAuthor(), b.getLibraryId());
+    }
+
+    @Override
+    public void courses(List<Course> batch) throws IOException {
+        BufferedWriter w = writer("courses", "course_id,course_code,course_name,course_description");
+        for (Course c : batch) row(w, c.getCourseId(), c.getCourseCode(), c.getCourseName(), c.getCourseDescription());
+    }
+
+    @Override
+    public void teachers(List<Teacher> batch) throws IOException {
+        BufferedWriter w = writer("teachers", "id,emp_id,name,dob,address,salary");
+        for (Teacher t : batch) row(w, t.getId(), t.getEmpId(), t.getName(), t.getDob(), t.getAddress(), t.getSalary());
+    }
+
+    @Override
+    public void students(List<Student> batch) throws IOException {
+        BufferedWriter w = writer("students", "id,roll_number,name,dob,address,cgpa");
+        for (Student s : batch) row(w, s.getId(), s.getRollNumber(), s.getName(), s.getDob(), s.getAddress(), s.getCgpa());
+    }
+
+    @Override
+    public void links(JoinTable table, int[] lefts, int[] rights, int count) throws IOException {
+        BufferedWriter w = writer(table.table(), table.leftColumn() + "," + table.rightColumn());
+        for (int i = 0; i < count; i++) row(w, lefts[i], rights[i]);
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (BufferedWriter w : writers.values()) w.close();
+        StringBuilder sql = new StringBuilder("-- Generated by SyntheticDataGenerator; run with mysql --local-infile=1 school_db < load.sql\n");
+        sql.append("SET FOREIGN_KEY_CHECKS = 0;\nSET UNIQUE_CHECKS = 0;\n");
+        for (Map.Entry<String, String> e : columns.entrySet()) {
+            sql.append("LOAD DATA LOCAL INFILE '").append(e.getKey()).append(".csv' INTO TABLE ").append(e.getKey())
+                    .append(" FIELDS TERMINATED BY ',' OPTIONALLY ENCLOSED BY '\"' LINES TERMINATED BY '\\n'")
+                    .append(" IGNORE 1 LINES (").append(e.getValue()).append(");\n");
+        }
+        sql.append("SET UNIQUE_CHECKS = 1;\nSET FOREIGN_KEY_CHECKS = 1;\n");
+        Files.writeString(directory.resolve("load.sql"), sql.toString());
+    }
+}
@@ -0,0 +1,32 @@
+package com.schoolmanagement.datagen;
+
+import com.schoolmanagement.models.Book;
+import com.schoolmanagement.models.Course;
+import com.schoolmanagement.models.Library;
+import com.schoolmanagement.models.Student;
+import com.schoolmanagement.models.Teacher;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.List;
+
+// Receives generated rows in batches, parents before children: libraries, books, courses,
+// teachers, students, then the link tables. Entity ids are final (1..n per table). A batch and
+// its entities are reused by the generator once the call returns; sinks copy anything they keep.
+public interface DatasetSink extends AutoCloseable {
+    void libraries(List<Library> batch) throws SQLException, IOException;
+
+    void books(List<Book> batch) throws SQLException, IOException;
+
+    void courses(List<Course> batch) throws SQLException, IOException;
+
+    void teachers(List<Teacher> batch) throws SQLException, IOException;
+
+    void students(List<Student> batch) throws SQLException, IOException;
+
+    // Rows are (lefts[i], rights[i]) for i < count
+    void links(JoinTable table, int[] lefts, int[] rights, int count) throws SQLException, IOException;
+
+    @Override
+    void close() throws SQLException, IOException;
+}
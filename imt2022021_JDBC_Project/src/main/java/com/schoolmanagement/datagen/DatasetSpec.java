@@ -0,0 +1,132 @@
+package com.schoolmanagement.datagen;
+
+// Sizes and shape of a synthetic dataset. The defaults give a small campus; raise the counts
+// (e.g. --students=2000000 --books=500000) for production-scale runs.
+public class DatasetSpec {
+    long seed = 42;
+    int libraries = 20;
+    int books = 20_000;
+    int courses = 1_000;
+    int teachers = 2_000;
+    int students = 100_000;
+    int minCoursesPerStudent = 3;
+    int maxCoursesPerStudent = 7;
+    int teachersPerCourse = 2;
+    int booksPerCourse = 8;
+    // Zipf exponent for course (and course-book) popularity; ~1.0 is typical for enrollments
+    double courseSkew = 1.0;
+    double bookSkew = 0.8;
+    int batchSize = 2_000;
+
+    public DatasetSpec seed(long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    public DatasetSpec libraries(int libraries) {
+        this.libraries = libraries;
+        return this;
+    }
+
+    public DatasetSpec books(int books) {
+        this.books = books;
+        return this;
+    }
+
+    public DatasetSpec courses(int courses) {
+        this.courses = courses;
+        return this;
+    }
+
+    public DatasetSpec teachers(int teachers) {
+        this.teachers = teachers;
+        return this;
+    }
+
+    public DatasetSpec students(int students) {
+        this.students = students;
+        return this;
+    }
+
+    public DatasetSpec coursesPerStudent(int min, int max) {
+        this.minCoursesPerStudent = min;
+        this.maxCoursesPerStudent = max;
+        return this;
+    }
+
+    public DatasetSpec teachersPerCourse(int teachersPerCourse) {
+        this.teachersPerCourse = teachersPerCourse;
+        return this;
+    }
+
+    public DatasetSpec booksPerCourse(int booksPerCourse) {
+        this.booksPerCourse = booksPerCourse;
+        return this;
+    }
+
+    public DatasetSpec courseSkew(double courseSkew) {
+        this.courseSkew = courseSkew;
+        return this;
+    }
+
+    public DatasetSpec bookSkew(double bookSkew) {
+        this.bookSkew = bookSkew;
+        return this;
+    }
+
+    public DatasetSpec batchSize(int batchSize) {
+        this.batchSize = batchSize;
+        return this;
+    }
+
+    // --students=1000000 --seed=7 ...; unknown keys are rejected so typos don't go unnoticed
+    public static DatasetSpec fromArgs(String[] args) {
+        DatasetSpec spec = new DatasetSpec();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) continue;
+            String key = arg.substring(2, arg.indexOf('='));
+            String value = arg.substring(arg.indexOf('=') + 1);
+            switch (key) {
+                case "seed": spec.seed(Long.parseLong(value)); break;
+                case "libraries": spec.libraries(Integer.parseInt(value)); break;
+                case "books": spec.books(Integer.parseInt(value)); break;
+                case "courses": spec.courses(Integer.parseInt(value)); break;
+                case "teachers": spec.teachers(Integer.parseInt(value)); break;
+                case "students": spec.students(Integer.parseInt(value)); break;
+                case "min-courses": spec.minCoursesPerStudent = Integer.parseInt(value); break;
+                case "max-courses": spec.maxCoursesPerStudent = Integer.parseInt(value); break;
+                case "teachers-per-course": spec.teachersPerCourse(Integer.parseInt(value)); break;
+                case "books-per-course": spec.booksPerCourse(Integer.parseInt(value)); break;
+                case "course-skew": spec.courseSkew(Double.parseDouble(value)); break;
+                case "book-skew": spec.bookSkew(Double.parseDouble(value)); break;
+                case "batch": spec.batchSize(Integer.parseInt(value)); break;
+                case "csv": case "jdbc": break;
+                default: throw new IllegalArgumentException("Unknown option --" + key);
+            }
+        }
+        return spec;
+    }
+
+    // Rejects shapes the generator cannot produce: every book needs a library to sit in, and the
+    // Zipf samplers need at least one course and one book
+    public DatasetSpec validate() {
+        if (libraries <= 0) throw new IllegalArgumentException("libraries must be positive, was " + libraries);
+        if (books <= 0) throw new IllegalArgumentException("books must be positive, was " + books);
+        if (courses <= 0) throw new IllegalArgumentException("courses must be positive, was " + courses);
+        if (teachers < 0 || students < 0) throw new IllegalArgumentException("teachers and students must not be negative");
+        if (minCoursesPerStudent < 0 || minCoursesPerStudent > maxCoursesPerStudent)
+            throw new IllegalArgumentException("need 0 <= min-courses <= max-courses, was "
+                    + minCoursesPerStudent + ".." + maxCoursesPerStudent);
+        if (teachersPerCourse < 0 || booksPerCourse < 0)
+            throw new IllegalArgumentException("teachers-per-course and books-per-course must not be negative");
+        if (batchSize <= 0) throw new IllegalArgumentException("batch must be positive, was " + batchSize);
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return "DatasetSpec [seed=" + seed + ", libraries=" + libraries + ", books=" + books + ", courses=" + courses
+                + ", teachers=" + teachers + ", students=" + students + ", coursesPerStudent=" + minCoursesPerStudent
+                + ".." + maxCoursesPerStudent + ", courseSkew=" + courseSkew + "]";
+    }
+}
@@ -0,0 +1,118 @@
+package com.schoolmanagement.datagen;
+
+import com.schoolmanagement.models.Book;
+import com.schoolmanagement.models.Course;
+import com.schoolmanagement.models.Library;
+import com.schoolmanagement.models.Student;
+import com.schoolmanagement.models.Teacher;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+// Writes generated rows with explicit ids as multi-row INSERTs, one transaction per batch.
+// On MySQL, bulk mode also turns off foreign-key and unique checks for the session: the
+// generator only emits rows whose parents already exist and whose keys are unique.
+public class JdbcDatasetSink implements DatasetSink {
+    // MySQL allows at most 65535 placeholders per statement
+    private static final int MAX_PARAMETERS = 65_000;
+
+    private final Connection connection;
+    private final int batchSize;
+    private final boolean bulkMode;
+    private final boolean originalAutoCommit;
+
+    public JdbcDatasetSink(Connection connection, int batchSize, boolean bulkMode) throws SQLException {
+        this.connection = connection;
+        this.batchSize = batchSize;
+        this.bulkMode = bulkMode && connection.getMetaData().getDatabaseProductName().equals("MySQL");
+        this.originalAutoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        if (this.bulkMode) setChecks(0);
+    }
+
+    private void setChecks(int value) throws SQLException {
+        try (Statement st = connection.createStatement()) {
+            st.execute("SET FOREIGN_KEY_CHECKS = " + value + ", UNIQUE_CHECKS = " + value);
+        }
+    }
+
+    private void insert(String table, String columnList, int columnCount, List<Object[]> rows) throws SQLException {
+        int perStatement = Math.max(1, Math.min(batchSize, MAX_PARAMETERS / columnCount));
+        String tuple = "(" + String.join(", ", Collections.nCopies(columnCount, "?")) + ")";
+        try {
+            for (int from = 0; from < rows.size(); from += perStatement) {
+                List<Object[]> chunk = rows.subList(from, Math.min(rows.size(), from + perStatement));
+                String sql = "INSERT INTO " + table + " (" + columnList + ") VALUES "
+                        + String.join(", ", Collections.nCopies(chunk.size(), tuple));
+                try (PreparedStatement ps = connection.prepareStatement(sql)) {
+                    int index = 1;
+                    for (Object[] row : chunk) {
+                        for (Object value : row) ps.setObject(index++, value);
+                    }
+                    ps.executeUpdate();
+                }
+            }
+            connection.commit();
+        } catch (SQLException e) {
+            connection.rollback();
+            throw e;
+        }
+    }
+
+    @Override
+    public void libraries(List<Library> batch) throws SQLException {
+        List<Object[]> rows = new ArrayList<>(batch.size());
+        for (Library l : batch) rows.add(new Object[] { l.getId(), l.getName() });
+        insert("libraries", "id, name", 2, rows);
+    }
+
+    @Override
+    public void books(List<Book> batch) throws SQLException {
+        List<Object[]> rows = new ArrayList<>(batch.size());
+        for (Book b : batch) rows.add(new Object[] { b.getId(), b.getBookId(), b.getTitle(), b.getAuthor(), b.getLibraryId() });
+        insert("books", "id, book_id, title, author, library_id", 5, rows);
+    }
+
+    @Override
+    public void courses(List<Course> batch) throws SQLException {
+        List<Object[]> rows = new ArrayList<>(batch.size());
+        for (Course c : batch) rows.add(new Object[] { c.getCourseId(), c.getCourseCode(), c.getCourseName(), c.getCourseDescription() });
+        insert("courses", "course_id, course_code, course_name, course_description", 4, rows);
+    }
+
+    @Override
+    public void teachers(List<Teacher> batch) throws SQLException {
+        List<Object[]> rows = new ArrayList<>(batch.size());
+        for (Teacher t : batch) rows.add(new Object[] { t.getId(), t.getEmpId(), t.getName(), t.getDob(), t.getAddress(), t.getSalary() });
+        insert("teachers", "id, emp_id, name, dob, address, salary", 6, rows);
+    }
+
+    @Override
+    public void students(List<Student> batch) throws SQLException {
+        List<Object[]> rows = new ArrayList<>(batch.size());
+        for (Student s : batch) rows.add(new Object[] { s.getId(), s.getRollNumber(), s.getName(), s.getDob(), s.getAddress(), s.getCgpa() });
+        insert("students", "id, roll_number, name, dob, address, cgpa", 6, rows);
+    }
+
+    @Override
+    public void links(JoinTable table, int[] lefts, int[] rights, int count) throws SQLException {
+        List<Object[]> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) rows.add(new Object[] { lefts[i], rights[i] });
+        insert(table.table(), table.leftColumn() + ", " + table.rightColumn(), 2, rows);
+    }
+
+    @Override
+    public void close() throws SQLException {
+        try {
+            if (bulkMode) setChecks(1);
+            connection.setAutoCommit(originalAutoCommit);
+        } finally {
+            connection.close();
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.schoolmanagement.datagen;
+
+// Many-to-many tables the generator fills, with their column order as written
+public enum JoinTable {
+    ENROLLMENTS("enrollments", "student_id", "course_id"),
+    COURSE_TEACHER("course_teacher", "course_id", "teacher_id"),
+    COURSE_BOOKS("course_books", "course_id", "book_id");
+
+    private final String table;
+    private final String leftColumn;
+    private final String rightColumn;
+
+    JoinTable(String table, String leftColumn, String rightColumn) {
+        this.table = table;
+        this.leftColumn = leftColumn;
+        this.rightColumn = rightColumn;
+    }
+
+    public String table() {
+        return table;
+    }
+
+    public String leftColumn() {
+        return leftColumn;
+    }
+
+    public String rightColumn() {
+        return rightColumn;
+    }
+}
@@ -0,0 +1,321 @@
+package com.schoolmanagement.datagen;
+
+import com.schoolmanagement.database.DatabaseConfig;
+import com.schoolmanagement.factory.EntityFactory;
+import com.schoolmanagement.factory.EntityPool;
+import com.schoolmanagement.models.Book;
+import com.schoolmanagement.models.Course;
+import com.schoolmanagement.models.Library;
+import com.schoolmanagement.models.Student;
+import com.schoolmanagement.models.Teacher;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+// Deterministic dataset for the sql/schem.sql tables. Every table draws from its own RNG derived
+// from the seed, so the same seed and counts always give byte-identical output, and changing one
+// table's size does not reshuffle the others. Course popularity (enrollments) and textbook reuse
+// (course_books) follow Zipf distributions over a shuffled id order, so the hot rows are spread
+// over the key space the way they are in production rather than clustered at low ids.
+// Entities are pooled: each batch goes back to the pool once the sink has written it, so a run
+// allocates one batch worth of entity objects per table however many rows it produces.
+public class SyntheticDataGenerator {
+    private static final String[] CAMPUSES = {"BLR", "DEL", "HYD", "MUM", "PUN"};
+    private static final String[] FIRST_NAMES = {
+            "Aarav", "Aditi", "Arjun", "Diya", "Ishaan", "Kavya", "Meera", "Nikhil", "Priya", "Rahul",
+            "Rohan", "Saanvi", "Sneha", "Tanvi", "Vikram", "Ananya", "Karthik", "Lakshmi", "Neha", "Varun"};
+    private static final String[] LAST_NAMES = {
+            "Sharma", "Iyer", "Reddy", "Patel", "Nair", "Gupta", "Rao", "Menon", "Joshi", "Kulkarni",
+            "Singh", "Das", "Bose", "Pillai", "Mehta", "Chopra", "Verma", "Hegde", "Kapoor", "Shetty"};
+    private static final String[] STREETS = {
+            "MG Road", "Church Street", "Park Avenue", "Lake View Road", "Station Road", "Hill Road", "Ring Road"};
+    private static final String[] SUBJECTS = {
+            "Algorithms", "Databases", "Operating Systems", "Networks", "Compilers", "Machine Learning",
+            "Linear Algebra", "Probability", "Signals", "Economics", "Physics", "Chemistry", "Ethics"};
+    private static final String[] TITLE_WORDS = {
+            "Introduction", "Principles", "Foundations", "Advanced", "Applied", "Modern", "Practical", "Theory"};
+
+    private final DatasetSpec spec;
+
+    public SyntheticDataGenerator(DatasetSpec spec) {
+        this.spec = spec.validate();
+    }
+
+    private SplittableRandom random(int table) {
+        return new SplittableRandom(spec.seed * 1_000_003L + table);
+    }
+
+    // Writes every table to sink and returns the number of rows produced
+    public long generate(DatasetSink sink) throws SQLException, IOException {
+        long rows = 0;
+        rows += libraries(sink);
+        rows += books(sink);
+        rows += courses(sink);
+        rows += teachers(sink);
+        rows += students(sink);
+        rows += enrollments(sink);
+        rows += courseTeachers(sink);
+        rows += courseBooks(sink);
+        return rows;
+    }
+
+    private long libraries(DatasetSink sink) throws SQLException, IOException {
+        List<Library> batch = new ArrayList<>();
+        for (int id = 1; id <= spec.libraries; id++) {
+            batch.add(new Library(id, CAMPUSES[(id - 1) % CAMPUSES.length] + " Library " + id));
+        }
+        sink.libraries(batch);
+        return spec.libraries;
+    }
+
+    private long books(DatasetSink sink) throws SQLException, IOException {
+        SplittableRandom random = random(2);
+        EntityPool<Book> pool = EntityFactory.pool(Book.class, spec.batchSize);
+        List<Book> batch = new ArrayList<>(spec.batchSize);
+        for (int id = 1; id <= spec.books; id++) {
+            String title = pick(random, TITLE_WORDS) + " " + pick(random, SUBJECTS) + " Vol. " + (1 + random.nextInt(4));
+            Book book = pool.acquire();
+            book.setId(id);
+            book.setBookId(String.format(Locale.ROOT, "BK%07d", id));
+            book.setTitle(title);
+            book.setAuthor(fullName(random));
+            book.setLibraryId(1 + random.nextInt(spec.libraries));
+            batch.add(book);
+            if (batch.size() == spec.batchSize) {
+                sink.books(batch);
+                pool.releaseAll(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) sink.books(batch);
+        return spec.books;
+    }
+
+    private long courses(DatasetSink sink) throws SQLException, IOException {
+        SplittableRandom random = random(3);
+        EntityPool<Course> pool = EntityFactory.pool(Course.class, spec.batchSize);
+        List<Course> batch = new ArrayList<>(spec.batchSize);
+        for (int id = 1; id <= spec.courses; id++) {
+            String subject = pick(random, SUBJECTS);
+            int level = 100 * (1 + random.nextInt(4)) + id % 100;
+            Course course = pool.acquire();
+            course.setCourseId(id);
+            course.setCourseCode(String.format(Locale.ROOT, "C%05d", id));
+            course.setCourseName(subject + " " + level);
+            course.setCourseDescription("Level " + level + " course in " + subject.toLowerCase(Locale.ROOT));
+            batch.add(course);
+            if (batch.size() == spec.batchSize) {
+                sink.courses(batch);
+                pool.releaseAll(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) sink.courses(batch);
+        return spec.courses;
+    }
+
+    private long teachers(DatasetSink sink) throws SQLException, IOException {
+        SplittableRandom random = random(4);
+        EntityPool<Teacher> pool = EntityFactory.pool(Teacher.class, spec.batchSize);
+        List<Teacher> batch = new ArrayList<>(spec.batchSize);
+        for (int id = 1; id <= spec.teachers; id++) {
+            String campus = CAMPUSES[random.nextInt(CAMPUSES.length)];
+            // Log-normal around 60k: a long tail of senior salaries, as in real payrolls
+            float salary = (float) Math.round(60_000 * Math.exp(0.35 * gaussian(random)));
+            Teacher teacher = pool.acquire();
+            teacher.setId(id);
+            teacher.setEmpId(String.format(Locale.ROOT, "%sE%06d", campus, id));
+            teacher.setName(fullName(random));
+            teacher.setDob(date(random, 1960, 1992));
+            teacher.setAddress(address(random, campus));
+            teacher.setSalary(salary);
+            batch.add(teacher);
+            if (batch.size() == spec.batchSize) {
+                sink.teachers(batch);
+                pool.releaseAll(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) sink.teachers(batch);
+        return spec.teachers;
+    }
+
+    private long students(DatasetSink sink) throws SQLException, IOException {
+        SplittableRandom random = random(5);
+        EntityPool<Student> pool = EntityFactory.pool(Student.class, spec.batchSize);
+        List<Student> batch = new ArrayList<>(spec.batchSize);
+        for (int id = 1; id <= spec.students; id++) {
+            String campus = CAMPUSES[random.nextInt(CAMPUSES.length)];
+            int year = 2019 + random.nextInt(6);
+            float cgpa = (float) Math.round(Math.max(0, Math.min(4, 3.0 + 0.5 * gaussian(random))) * 100) / 100;
+            Student student = pool.acquire();
+            student.setId(id);
+            student.setRollNumber(String.format(Locale.ROOT, "%s%d%07d", campus, year, id));
+            student.setName(fullName(random));
+            student.setDob(date(random, year - 19, year - 17));
+            student.setAddress(address(random, campus));
+            student.setCgpa(cgpa);
+            batch.add(student);
+            if (batch.size() == spec.batchSize) {
+                sink.students(batch);
+                pool.releaseAll(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) sink.students(batch);
+        return spec.students;
+    }
+
+    private long enrollments(DatasetSink sink) throws SQLException, IOException {
+        SplittableRandom random = random(6);
+        int[] courseByRank = shuffledIds(spec.courses, random(7));
+        ZipfSampler popularity = new ZipfSampler(spec.courses, spec.courseSkew);
+        int maxPerStudent = Math.min(spec.maxCoursesPerStudent, spec.courses);
+        int minPerStudent = Math.min(spec.minCoursesPerStudent, maxPerStudent);
+
+        LinkBatch batch = new LinkBatch(sink, JoinTable.ENROLLMENTS, spec.batchSize);
+        Set<Integer> chosen = new LinkedHashSet<>();
+        for (int studentId = 1; studentId <= spec.students; studentId++) {
+            int count = minPerStudent + random.nextInt(maxPerStudent - minPerStudent + 1);
+            chosen.clear();
+            while (chosen.size() < count) chosen.add(courseByRank[popularity.sample(random)]);
+            for (int courseId : chosen) batch.add(studentId, courseId);
+        }
+        return batch.finish();
+    }
+
+    private long courseTeachers(DatasetSink sink) throws SQLException, IOException {
+        SplittableRandom random = random(8);
+        int perCourse = Math.min(spec.teachersPerCourse, spec.teachers);
+        LinkBatch batch = new LinkBatch(sink, JoinTable.COURSE_TEACHER, spec.batchSize);
+        Set<Integer> chosen = new LinkedHashSet<>();
+        for (int courseId = 1; courseId <= spec.courses; courseId++) {
+            chosen.clear();
+            while (chosen.size() < perCourse) chosen.add(1 + random.nextInt(spec.teachers));
+            for (int teacherId : chosen) batch.add(courseId, teacherId);
+        }
+        return batch.finish();
+    }
+
+    private long courseBooks(DatasetSink sink) throws SQLException, IOException {
+        SplittableRandom random = random(9);
+        int[] bookByRank = shuffledIds(spec.books, random(10));
+        ZipfSampler reuse = new ZipfSampler(spec.books, spec.bookSkew);
+        int perCourse = Math.min(spec.booksPerCourse, spec.books);
+        LinkBatch batch = new LinkBatch(sink, JoinTable.COURSE_BOOKS, spec.batchSize);
+        Set<Integer> chosen = new LinkedHashSet<>();
+        for (int courseId = 1; courseId <= spec.courses; courseId++) {
+            chosen.clear();
+            while (chosen.size() < perCourse) chosen.add(bookByRank[reuse.sample(random)]);
+            for (int bookId : chosen) batch.add(courseId, bookId);
+        }
+        return batch.finish();
+    }
+
+    // Fisher-Yates over 1..n: maps popularity rank to id
+    private static int[] shuffledIds(int n, SplittableRandom random) {
+        int[] ids = new int[n];
+        for (int i = 0; i < n; i++) ids[i] = i + 1;
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = ids[i];
+            ids[i] = ids[j];
+            ids[j] = tmp;
+        }
+        return ids;
+    }
+
+    private static String pick(SplittableRandom random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static String fullName(SplittableRandom random) {
+        return pick(random, FIRST_NAMES) + " " + pick(random, LAST_NAMES);
+    }
+
+    private static String address(SplittableRandom random, String campus) {
+        return (1 + random.nextInt(999)) + " " + pick(random, STREETS) + ", " + campus;
+    }
+
+    private static String date(SplittableRandom random, int fromYear, int toYear) {
+        long from = LocalDate.of(fromYear, 1, 1).toEpochDay();
+        long to = LocalDate.of(toYear, 12, 31).toEpochDay();
+        return LocalDate.ofEpochDay(from + random.nextLong(to - from + 1)).toString();
+    }
+
+    // Box-Muller; SplittableRandom has no nextGaussian
+    private static double gaussian(SplittableRandom random) {
+        double u = 1.0 - random.nextDouble();
+        return Math.sqrt(-2 * Math.log(u)) * Math.cos(2 * Math.PI * random.nextDouble());
+    }
+
+    // Reusable column buffers for one link table, flushed to the sink every batchSize rows
+    private static class LinkBatch {
+        private final DatasetSink sink;
+        private final JoinTable table;
+        private final int[] lefts;
+        private final int[] rights;
+        private int count;
+        private long total;
+
+        LinkBatch(DatasetSink sink, JoinTable table, int batchSize) {
+            this.sink = sink;
+            this.table = table;
+            this.lefts = new int[batchSize];
+            this.rights = new int[batchSize];
+        }
+
+        void add(int left, int right) throws SQLException, IOException {
+            lefts[count] = left;
+            rights[count] = right;
+            if (++count == lefts.length) flush();
+        }
+
+        private void flush() throws SQLException, IOException {
+            if (count == 0) return;
+            sink.links(table, lefts, rights, count);
+            total += count;
+            count = 0;
+        }
+
+        long finish() throws SQLException, IOException {
+            flush();
+            return total;
+        }
+    }
+
+    // java ... SyntheticDataGenerator --students=1000000 [--seed=42] (--csv=out/ | --jdbc)
+    public static void main(String[] args) throws Exception {
+        DatasetSpec spec = DatasetSpec.fromArgs(args);
+        String csvDir = null;
+        boolean jdbc = false;
+        for (String arg : args) {
+            if (arg.startsWith("--csv=")) csvDir = arg.substring("--csv=".length());
+            if (arg.equals("--jdbc")) jdbc = true;
+        }
+        if (csvDir == null && !jdbc) {
+            System.err.println("Usage: SyntheticDataGenerator (--csv=<dir> | --jdbc) [--seed=N --students=N --teachers=N"
+                    + " --courses=N --libraries=N --books=N --min-courses=N --max-courses=N --course-skew=X --batch=N]");
+            System.exit(2);
+        }
+
+        System.out.println("Generating " + spec);
+        long start = System.nanoTime();
+        long rows;
+        try (DatasetSink sink = jdbc
+                ? new JdbcDatasetSink(DatabaseConfig.load().openConnection(), spec.batchSize, true)
+                : new CsvDatasetSink(Paths.get(csvDir))) {
+            rows = new SyntheticDataGenerator(spec).generate(sink);
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("Wrote %,d rows in %.1f s (%,.0f rows/s)%n", rows, seconds, rows / seconds);
+    }
+}
@@ -0,0 +1,35 @@
+package com.schoolmanagement.datagen;
+
+import java.util.SplittableRandom;
+
+// Draws ranks 0..n-1 with P(rank k) proportional to 1 / (k + 1)^exponent, so rank 0 is the most
+// popular item. The cumulative weights are computed once; each draw is a binary search.
+public class ZipfSampler {
+    private final double[] cumulative;
+
+    public ZipfSampler(int n, double exponent) {
+        if (n <= 0) throw new IllegalArgumentException("n must be positive");
+        cumulative = new double[n];
+        double total = 0;
+        for (int k = 0; k < n; k++) {
+            total += 1.0 / Math.pow(k + 1, exponent);
+            cumulative[k] = total;
+        }
+    }
+
+    public int size() {
+        return cumulative.length;
+    }
+
+    public int sample(SplittableRandom random) {
+        double target = random.nextDouble() * cumulative[cumulative.length - 1];
+        int lo = 0;
+        int hi = cumulative.length - 1;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (cumulative[mid] < target) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+}
@@ -0,0 +1,50 @@
+package com.schoolmanagement.events;
+
+// One committed mutation. key is the row identifier the DAO call was given (id, natural key,
+// or "course_id:other_id" for link tables); payload is the entity or new value, if any.
+public class ChangeEvent {
+    private final long sequence;
+    private final long timestamp;
+    private final String table;
+    private final ChangeType type;
+    private final String key;
+    private final Object payload;
+
+    public ChangeEvent(long sequence, long timestamp, String table, ChangeType type, String key, Object payload) {
+        this.sequence = sequence;
+        this.timestamp = timestamp;
+        this.table = table;
+        this.type = type;
+        this.key = key;
+        this.payload = payload;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public String getTable() {
+        return table;
+    }
+
+    public ChangeType getType() {
+        return type;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public Object getPayload() {
+        return payload;
+    }
+
+    @Override
+    public String toString() {
+        return "ChangeEvent [sequence=" + sequence + ", table=" + table + ", type=" + type + ", key=" + key + "]";
+    }
+}
@@ -0,0 +1,83 @@
+package com.schoolmanagement.events;
+
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+// In-process change stream fed by the DAOs. Events live in a fixed-size lock-free ring:
+// producers claim a sequence with one atomic increment and store the event in its slot,
+// subscribers each keep their own cursor, so a slow consumer never blocks a DAO call.
+// A subscriber that falls more than one ring behind skips ahead and counts what it missed.
+// The slot is written with a compare-and-set that never replaces a newer sequence, so a producer
+// that stalls after claiming its sequence cannot overwrite an event that lapped it.
+public class ChangeFeed {
+    public static final int DEFAULT_CAPACITY = 8192;
+
+    private final AtomicReferenceArray<ChangeEvent> slots;
+    private final int mask;
+    private final AtomicLong nextSequence = new AtomicLong();
+    // Consumers parked in Subscription.await until the next publish
+    private final Set<Thread> waiters = new CopyOnWriteArraySet<>();
+
+    public ChangeFeed() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public ChangeFeed(int capacity) {
+        if (capacity <= 0) throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) size <<= 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    public ChangeEvent publish(String table, ChangeType type, String key, Object payload) {
+        long sequence = nextSequence.getAndIncrement();
+        ChangeEvent event = new ChangeEvent(sequence, System.currentTimeMillis(), table, type, key, payload);
+        int index = (int) (sequence & mask);
+        while (true) {
+            ChangeEvent current = slots.get(index);
+            // Lapped while stalled: the slot already belongs to a later event, which wins
+            if (current != null && current.getSequence() > sequence) break;
+            if (slots.compareAndSet(index, current, event)) break;
+        }
+        for (Thread waiter : waiters) LockSupport.unpark(waiter);
+        return event;
+    }
+
+    // New subscribers only see events published after they subscribe
+    public Subscription subscribe() {
+        return new Subscription(this, nextSequence.get());
+    }
+
+    // Starts from the oldest event still held in the ring
+    public Subscription subscribeFromOldest() {
+        return new Subscription(this, oldestAvailable());
+    }
+
+    public int capacity() {
+        return slots.length();
+    }
+
+    public long publishedCount() {
+        return nextSequence.get();
+    }
+
+    ChangeEvent slot(long sequence) {
+        return slots.get((int) (sequence & mask));
+    }
+
+    void addWaiter(Thread thread) {
+        waiters.add(thread);
+    }
+
+    void removeWaiter(Thread thread) {
+        waiters.remove(thread);
+    }
+
+    long oldestAvailable() {
+        return Math.max(0, nextSequence.get() - slots.length());
+    }
+}
@@ -0,0 +1,77 @@
+package com.schoolmanagement.events;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+// Optional durable tail of a ChangeFeed: a background subscriber that appends every event to a
+// local file, one tab-separated line per event (sequence, timestamp, table, type, key, payload)
+public class ChangeLog implements AutoCloseable {
+    private static final int BATCH_SIZE = 512;
+
+    private final Subscription subscription;
+    private final BufferedWriter writer;
+    private final Thread worker;
+    private volatile boolean running = true;
+
+    public ChangeLog(ChangeFeed feed, Path file) throws IOException {
+        this.subscription = feed.subscribe();
+        this.writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.WRITE);
+        this.worker = new Thread(this::run, "change-log-writer");
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    private void run() {
+        while (running) {
+            // Sleeps until the next publish; close() unparks it, the timeout is only a backstop
+            if (writeBatch() == 0) subscription.await(1, TimeUnit.SECONDS);
+        }
+        while (writeBatch() > 0) {
+            // drain whatever was published before close()
+        }
+    }
+
+    private int writeBatch() {
+        List<ChangeEvent> events = subscription.drain(BATCH_SIZE);
+        if (events.isEmpty()) return 0;
+        try {
+            for (ChangeEvent e : events) {
+                writer.write(e.getSequence() + "\t" + e.getTimestamp() + "\t" + e.getTable() + "\t"
+                        + e.getType() + "\t" + clean(e.getKey()) + "\t" + clean(e.getPayload()));
+                writer.newLine();
+            }
+            writer.flush();
+        } catch (IOException ex) {
+            ex.printStackTrace();
+        }
+        return events.size();
+    }
+
+    private static String clean(Object value) {
+        return value == null ? "" : value.toString().replace('\t', ' ').replace('\n', ' ').replace('\r', ' ');
+    }
+
+    public long getMissed() {
+        return subscription.getMissed();
+    }
+
+    @Override
+    public void close() throws IOException {
+        running = false;
+        LockSupport.unpark(worker);
+        try {
+            worker.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        writer.close();
+    }
+}
@@ -0,0 +1,14 @@
+package com.schoolmanagement.events;
+
+// Kinds of mutation the DAO layer reports on the change feed
+public enum ChangeType {
+    CREATED,
+    UPSERTED,
+    UPDATED,
+    ADDRESS_UPDATED,
+    CGPA_UPDATED,
+    SALARY_INCREMENTED,
+    DELETED,
+    LINKED,
+    UNLINKED
+}
@@ -0,0 +1,70 @@
+package com.schoolmanagement.events;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+// A single consumer's cursor into a ChangeFeed. Not thread-safe: one thread per subscription.
+public class Subscription {
+    private final ChangeFeed feed;
+    private long cursor;
+    private long missed;
+
+    Subscription(ChangeFeed feed, long cursor) {
+        this.feed = feed;
+        this.cursor = cursor;
+    }
+
+    // Returns the next event, or null once the subscriber has caught up with the producers
+    public ChangeEvent poll() {
+        while (true) {
+            ChangeEvent event = feed.slot(cursor);
+            if (event == null || event.getSequence() < cursor) return null;
+            if (event.getSequence() == cursor) {
+                cursor++;
+                return event;
+            }
+            // Producers lapped us: jump to the oldest event still in the ring
+            long oldest = feed.oldestAvailable();
+            missed += oldest - cursor;
+            cursor = oldest;
+        }
+    }
+
+    // Blocks until an event is available to poll, the timeout passes or the thread is unparked
+    // (like LockSupport.park it may also return early); true when poll would now return an event
+    public boolean await(long timeout, TimeUnit unit) {
+        Thread self = Thread.currentThread();
+        // Registered before checking, so a publish in between leaves a permit and park returns at once
+        feed.addWaiter(self);
+        try {
+            if (hasNext()) return true;
+            LockSupport.parkNanos(this, unit.toNanos(timeout));
+            return hasNext();
+        } finally {
+            feed.removeWaiter(self);
+        }
+    }
+
+    private boolean hasNext() {
+        ChangeEvent event = feed.slot(cursor);
+        return event != null && event.getSequence() >= cursor;
+    }
+
+    public List<ChangeEvent> drain(int maxEvents) {
+        List<ChangeEvent> events = new ArrayList<>();
+        ChangeEvent event;
+        while (events.size() < maxEvents && (event = poll()) != null) events.add(event);
+        return events;
+    }
+
+    public long getCursor() {
+        return cursor;
+    }
+
+    // Number of events overwritten before this subscriber could read them
+    public long getMissed() {
+        return missed;
+    }
+}
@@ -2,50 +2,67 @@ package com.schoolmanagement.factory;
 
 import com.schoolmanagement.models.*;
 
+import java.util.function.Supplier;
+
 public class EntityFactory {
 
+    // Default-instance supplier per entity type, indexed by EntityType.ordinal()
+    private static final Supplier<?>[] SUPPLIERS = new Supplier<?>[EntityType.values().length];
+
+    static {
+        SUPPLIERS[EntityType.STUDENT.ordinal()] = () -> new Student(0, "", "", "", "", 0.0f);
+        SUPPLIERS[EntityType.TEACHER.ordinal()] = () -> new Teacher(0, "", "", "", "", 0.0f);
+        SUPPLIERS[EntityType.COURSE.ordinal()] = () -> new Course(0, "", "", "");
+        SUPPLIERS[EntityType.BOOK.ordinal()] = () -> new Book(0, "", "", "", 0);
+        SUPPLIERS[EntityType.LIBRARY.ordinal()] = () -> new Library(0, "");
+    }
+
+    // Typed variant of createEntity: no string switch and no cast at the call site
+    public static <T> T create(Class<T> type) {
+        return type.cast(SUPPLIERS[EntityType.of(type).ordinal()].get());
+    }
+
+    // Pool of default instances of type for bulk paths; see EntityPool
+    public static <T> EntityPool<T> pool(Class<T> type, int maxIdle) {
+        return new EntityPool<>(() -> create(type), maxIdle);
+    }
+
     // Factory method to create entities based on the type provided
     public static Object createEntity(String entityType) {
-        switch (entityType) {
-            case "Student":
-                return new Student(0, "", "", "", "", 0.0f); // Creating a default student instance
-            case "Teacher":
-                return new Teacher(0, "", "", "", "", 0.0f); // Creating a default teacher instance
-            case "Course":
-                return new Course(0, "", "", ""); // Creating a default course instance
-            case "Book":
-                return new Book(0, "", "", "", 0); // Creating a default book instance
-            case "Library":
-                return new Library(0, ""); // Creating a default library instance
-            default:
-                throw new IllegalArgumentException("Unknown entity type: " + entityType);
+        for (EntityType type : EntityType.values()) {
+            if (type.type.getSimpleName().equals(entityType)) return createEntity(type);
         }
+        throw new IllegalArgumentException("Unknown entity type: " + entityType);
     }
 
     // Factory method to create entities based on an enum (optional but cleaner)
     public static Object createEntity(EntityType entityType) {
-        switch (entityType) {
-            case STUDENT:
-                return new Student(0, "", "", "", "", 0.0f);
-            case TEACHER:
-                return new Teacher(0, "", "", "", "", 0.0f);
-            case COURSE:
-                return new Course(0, "", "", "");
-            case BOOK:
-                return new Book(0, "", "", "", 0);
-            case LIBRARY:
-                return new Library(0, "");
-            default:
-                throw new IllegalArgumentException("Unknown entity type: " + entityType);
-        }
+        return SUPPLIERS[entityType.ordinal()].get();
     }
 
     // Enum to represent entity types (optional)
     public enum EntityType {
-        STUDENT,
-        TEACHER,
-        COURSE,
-        BOOK,
-        LIBRARY
+        STUDENT(Student.class),
+        TEACHER(Teacher.class),
+        COURSE(Course.class),
+        BOOK(Book.class),
+        LIBRARY(Library.class);
+
+        private final Class<?> type;
+
+        EntityType(Class<?> type) {
+            this.type = type;
+        }
+
+        public Class<?> getType() {
+            return type;
+        }
+
+        public static EntityType of(Class<?> type) {
+            for (EntityType t : values()) {
+                if (t.type == type) return t;
+            }
+            throw new IllegalArgumentException("Unknown entity type: " + type.getName());
+        }
     }
 }
@@ -0,0 +1,50 @@
+package com.schoolmanagement.factory;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.function.Supplier;
+
+// Free list of reusable entities for bulk paths (imports, generators) that build one short-lived
+// object per row and drop it once the batch is written. Released instances keep their old field
+// values, so callers set every field after acquire(); entities whose relationship lists have been
+// loaded should not be pooled. Not thread-safe: one pool per pipeline.
+public final class EntityPool<T> {
+
+    private final Supplier<T> supplier;
+    private final int maxIdle;
+    private final ArrayDeque<T> idle;
+    private long created;
+
+    public EntityPool(Supplier<T> supplier, int maxIdle) {
+        if (maxIdle < 0) throw new IllegalArgumentException("maxIdle must be >= 0: " + maxIdle);
+        this.supplier = supplier;
+        this.maxIdle = maxIdle;
+        this.idle = new ArrayDeque<>(Math.min(maxIdle, 1024));
+    }
+
+    // A released instance if there is one, otherwise a new default instance
+    public T acquire() {
+        T entity = idle.pollLast();
+        if (entity != null) return entity;
+        created++;
+        return supplier.get();
+    }
+
+    // Returns entity to the pool; dropped when maxIdle instances are already idle
+    public void release(T entity) {
+        if (idle.size() < maxIdle) idle.addLast(entity);
+    }
+
+    public void releaseAll(Collection<? extends T> entities) {
+        for (T entity : entities) release(entity);
+    }
+
+    public int getIdleCount() {
+        return idle.size();
+    }
+
+    // Instances the supplier had to build; rows minus this is what the pool saved
+    public long getCreatedCount() {
+        return created;
+    }
+}
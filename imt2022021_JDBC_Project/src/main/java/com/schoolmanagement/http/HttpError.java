@@ -0,0 +1,17 @@
+package com.schoolmanagement.http;
+
+// Thrown by handlers to answer with a specific status and message
+class HttpError extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    private final int status;
+
+    HttpError(int status, String message) {
+        super(message);
+        this.status = status;
+    }
+
+    int getStatus() {
+        return status;
+    }
+}
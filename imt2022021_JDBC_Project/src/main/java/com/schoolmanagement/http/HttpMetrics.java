@@ -0,0 +1,71 @@
+package com.schoolmanagement.http;
+
+import com.schoolmanagement.loadtest.LatencyHistogram;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Request count, errors and latency percentiles per route ("GET /students/{id}"), plus requests
+// turned away because the in-flight limit was reached
+class HttpMetrics {
+
+    private static class RouteStats {
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private long clientErrors;
+        private long serverErrors;
+
+        synchronized void record(int status, long nanos) {
+            latency.record(nanos);
+            if (status >= 500) serverErrors++;
+            else if (status >= 400) clientErrors++;
+        }
+    }
+
+    private final Map<String, RouteStats> routes = new ConcurrentHashMap<>();
+    private final AtomicLong rejected = new AtomicLong();
+
+    void record(String route, int status, long nanos) {
+        routes.computeIfAbsent(route, k -> new RouteStats()).record(status, nanos);
+    }
+
+    void rejected() {
+        rejected.incrementAndGet();
+    }
+
+    long getRejected() {
+        return rejected.get();
+    }
+
+    long getCount(String route) {
+        RouteStats stats = routes.get(route);
+        if (stats == null) return 0;
+        synchronized (stats) {
+            return stats.latency.getCount();
+        }
+    }
+
+    void write(JsonWriter json, int maxInFlight, int inFlight) throws IOException {
+        json.beginObject()
+                .name("maxInFlight").value(maxInFlight)
+                .name("inFlight").value(inFlight)
+                .name("rejected").value(rejected.get())
+                .name("routes").beginObject();
+        for (Map.Entry<String, RouteStats> e : new TreeMap<>(routes).entrySet()) {
+            RouteStats s = e.getValue();
+            synchronized (s) {
+                json.name(e.getKey()).beginObject()
+                        .name("count").value(s.latency.getCount())
+                        .name("clientErrors").value(s.clientErrors)
+                        .name("serverErrors").value(s.serverErrors)
+                        .name("p50Millis").value(s.latency.percentile(50) / 1e6)
+                        .name("p99Millis").value(s.latency.percentile(99) / 1e6)
+                        .name("maxMillis").value(s.latency.getMax() / 1e6)
+                        .endObject();
+            }
+        }
+        json.endObject().endObject();
+    }
+}
@@ -0,0 +1,136 @@
+package com.schoolmanagement.http;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Request bodies are flat JSON objects ({"rollNumber": "R1", "cgpa": 3.6}); this parses exactly
+// that and reports anything else as a 400
+class JsonBody {
+    private final Map<String, Object> fields;
+
+    private JsonBody(Map<String, Object> fields) {
+        this.fields = fields;
+    }
+
+    static JsonBody parse(String text) {
+        Parser p = new Parser(text);
+        Map<String, Object> fields = new LinkedHashMap<>();
+        p.skip();
+        p.expect('{');
+        p.skip();
+        if (p.peek() == '}') {
+            p.pos++;
+        } else {
+            while (true) {
+                p.skip();
+                String name = p.string();
+                p.skip();
+                p.expect(':');
+                p.skip();
+                fields.put(name, p.value());
+                p.skip();
+                if (p.peek() == ',') {
+                    p.pos++;
+                    continue;
+                }
+                p.expect('}');
+                break;
+            }
+        }
+        p.skip();
+        if (p.pos != text.length()) throw new HttpError(400, "Trailing characters in JSON body");
+        return new JsonBody(fields);
+    }
+
+    String getString(String name) {
+        Object v = fields.get(name);
+        if (v == null) throw new HttpError(400, "Missing field '" + name + "'");
+        return v.toString();
+    }
+
+    String getString(String name, String fallback) {
+        Object v = fields.get(name);
+        return v == null ? fallback : v.toString();
+    }
+
+    int getInt(String name) {
+        Object v = fields.get(name);
+        if (!(v instanceof Double) || (Double) v != Math.rint((Double) v)) {
+            throw new HttpError(400, "Field '" + name + "' must be an integer");
+        }
+        return (int) (double) (Double) v;
+    }
+
+    float getFloat(String name) {
+        Object v = fields.get(name);
+        if (!(v instanceof Double)) throw new HttpError(400, "Field '" + name + "' must be a number");
+        return (float) (double) (Double) v;
+    }
+
+    private static class Parser {
+        private final String s;
+        private int pos;
+
+        Parser(String s) {
+            this.s = s;
+        }
+
+        char peek() {
+            if (pos >= s.length()) throw new HttpError(400, "Unexpected end of JSON body");
+            return s.charAt(pos);
+        }
+
+        void skip() {
+            while (pos < s.length() && Character.isWhitespace(s.charAt(pos))) pos++;
+        }
+
+        void expect(char c) {
+            if (peek() != c) throw new HttpError(400, "Expected '" + c + "' at offset " + pos + " of JSON body");
+            pos++;
+        }
+
+        Object value() {
+            char c = peek();
+            if (c == '"') return string();
+            if (s.startsWith("true", pos)) { pos += 4; return Boolean.TRUE; }
+            if (s.startsWith("false", pos)) { pos += 5; return Boolean.FALSE; }
+            if (s.startsWith("null", pos)) { pos += 4; return null; }
+            int start = pos;
+            while (pos < s.length() && "+-0123456789.eE".indexOf(s.charAt(pos)) >= 0) pos++;
+            try {
+                return Double.parseDouble(s.substring(start, pos));
+            } catch (NumberFormatException e) {
+                throw new HttpError(400, "Unsupported JSON value at offset " + start + " (bodies are flat objects)");
+            }
+        }
+
+        String string() {
+            expect('"');
+            StringBuilder sb = new StringBuilder();
+            while (true) {
+                char c = peek();
+                pos++;
+                if (c == '"') return sb.toString();
+                if (c != '\\') {
+                    sb.append(c);
+                    continue;
+                }
+                char e = peek();
+                pos++;
+                switch (e) {
+                    case 'n': sb.append('\n'); break;
+                    case 'r': sb.append('\r'); break;
+                    case 't': sb.append('\t'); break;
+                    case 'b': sb.append('\b'); break;
+                    case 'f': sb.append('\f'); break;
+                    case 'u':
+                        if (pos + 4 > s.length()) throw new HttpError(400, "Bad \\u escape in JSON body");
+                        sb.append((char) Integer.parseInt(s.substring(pos, pos + 4), 16));
+                        pos += 4;
+                        break;
+                    default: sb.append(e);
+                }
+            }
+        }
+    }
+}
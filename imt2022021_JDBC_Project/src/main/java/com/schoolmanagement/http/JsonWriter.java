@@ -0,0 +1,269 @@
+package com.schoolmanagement.http;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+// Streaming JSON writer that encodes UTF-8 straight into a ByteBuffer and hands the buffer to the
+// OutputStream whenever it fills up, so a list response never exists as one big String (or as
+// a char[] waiting for an encoder). Integers are written digit by digit, names can be encoded
+// once up front as Keys, and the buffer survives reset() so one writer per thread can serve
+// every response on that thread. Commas are tracked per nesting level.
+public class JsonWriter {
+
+    // A field name encoded once as "name": so writing it is a single bulk put
+    public static final class Key {
+        private final byte[] bytes;
+
+        private Key(byte[] bytes) {
+            this.bytes = bytes;
+        }
+    }
+
+    private static final byte[] NULL = {'n', 'u', 'l', 'l'};
+    private static final byte[] TRUE = {'t', 'r', 'u', 'e'};
+    private static final byte[] FALSE = {'f', 'a', 'l', 's', 'e'};
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] MIN_LONG = Long.toString(Long.MIN_VALUE).getBytes(StandardCharsets.US_ASCII);
+    private static final int DEFAULT_CAPACITY = 16 * 1024;
+
+    private final ByteBuffer buffer;
+    private OutputStream out;
+    private WritableByteChannel channel;
+    // bit n set = level n already has an element
+    private long hasElement;
+    private int depth;
+    private boolean afterName;
+
+    public JsonWriter(OutputStream out) {
+        this(out, ByteBuffer.allocate(DEFAULT_CAPACITY));
+    }
+
+    // The buffer must hold at least 64 bytes; anything larger only means fewer writes to out
+    public JsonWriter(OutputStream out, ByteBuffer buffer) {
+        if (buffer.capacity() < 64) throw new IllegalArgumentException("JSON buffer too small: " + buffer.capacity());
+        this.buffer = buffer;
+        buffer.clear();
+        this.out = out;
+    }
+
+    public static Key key(String name) {
+        JsonWriter json = new JsonWriter(null, ByteBuffer.allocate(Math.max(64, name.length() * 6 + 3)));
+        try {
+            json.string(name);
+        } catch (IOException e) {
+            throw new IllegalStateException("Key does not fit its buffer", e);
+        }
+        json.buffer.put((byte) ':');
+        byte[] bytes = new byte[json.buffer.position()];
+        json.buffer.flip().get(bytes);
+        return new Key(bytes);
+    }
+
+    // Start a new document on another stream, keeping the buffer. Whatever was not flushed is dropped.
+    public JsonWriter reset(OutputStream out) {
+        this.out = out;
+        this.channel = null;
+        buffer.clear();
+        hasElement = 0;
+        depth = 0;
+        afterName = false;
+        return this;
+    }
+
+    private void separator() throws IOException {
+        if (afterName) {
+            afterName = false;
+            return;
+        }
+        if (depth > 0) {
+            long bit = 1L << depth;
+            if ((hasElement & bit) != 0) put((byte) ',');
+            hasElement |= bit;
+        }
+    }
+
+    public JsonWriter beginObject() throws IOException {
+        separator();
+        put((byte) '{');
+        depth++;
+        hasElement &= ~(1L << depth);
+        return this;
+    }
+
+    public JsonWriter endObject() throws IOException {
+        depth--;
+        put((byte) '}');
+        return this;
+    }
+
+    public JsonWriter beginArray() throws IOException {
+        separator();
+        put((byte) '[');
+        depth++;
+        hasElement &= ~(1L << depth);
+        return this;
+    }
+
+    public JsonWriter endArray() throws IOException {
+        depth--;
+        put((byte) ']');
+        return this;
+    }
+
+    public JsonWriter name(String name) throws IOException {
+        separator();
+        string(name);
+        put((byte) ':');
+        afterName = true;
+        return this;
+    }
+
+    public JsonWriter name(Key key) throws IOException {
+        separator();
+        put(key.bytes);
+        afterName = true;
+        return this;
+    }
+
+    public JsonWriter value(String value) throws IOException {
+        separator();
+        if (value == null) put(NULL);
+        else string(value);
+        return this;
+    }
+
+    public JsonWriter value(long value) throws IOException {
+        separator();
+        number(value);
+        return this;
+    }
+
+    public JsonWriter value(double value) throws IOException {
+        separator();
+        if (Double.isNaN(value) || Double.isInfinite(value)) put(NULL);
+        else if (value == Math.rint(value) && Math.abs(value) < 1e15) number((long) value);
+        else ascii(Double.toString(value));
+        return this;
+    }
+
+    // floats print with float precision (3.8, not 3.799999952316284); the shortest round-tripping
+    // digits are Float.toString's job, so only this path allocates
+    public JsonWriter value(float value) throws IOException {
+        separator();
+        if (Float.isNaN(value) || Float.isInfinite(value)) put(NULL);
+        else if (value == Math.rint(value) && Math.abs(value) < 1e7f) number((long) value);
+        else ascii(Float.toString(value));
+        return this;
+    }
+
+    public JsonWriter value(boolean value) throws IOException {
+        separator();
+        put(value ? TRUE : FALSE);
+        return this;
+    }
+
+    public JsonWriter nullValue() throws IOException {
+        separator();
+        put(NULL);
+        return this;
+    }
+
+    // A number that is already valid JSON text, e.g. BigDecimal.toPlainString()
+    JsonWriter rawNumber(String digits) throws IOException {
+        separator();
+        ascii(digits);
+        return this;
+    }
+
+    private void put(byte b) throws IOException {
+        if (!buffer.hasRemaining()) drain();
+        buffer.put(b);
+    }
+
+    private void put(byte[] bytes) throws IOException {
+        int offset = 0;
+        while (offset < bytes.length) {
+            if (!buffer.hasRemaining()) drain();
+            int n = Math.min(buffer.remaining(), bytes.length - offset);
+            buffer.put(bytes, offset, n);
+            offset += n;
+        }
+    }
+
+    private void ascii(String s) throws IOException {
+        if (buffer.remaining() < s.length()) drain();
+        for (int i = 0; i < s.length(); i++) put((byte) s.charAt(i));
+    }
+
+    private void number(long value) throws IOException {
+        if (value == Long.MIN_VALUE) {
+            put(MIN_LONG);
+            return;
+        }
+        if (buffer.remaining() < 20) drain();
+        if (value < 0) {
+            buffer.put((byte) '-');
+            value = -value;
+        }
+        int digits = 1;
+        for (long v = value; v >= 10; v /= 10) digits++;
+        int end = buffer.position() + digits;
+        for (int i = end - 1; i >= buffer.position(); i--) {
+            buffer.put(i, (byte) ('0' + value % 10));
+            value /= 10;
+        }
+        buffer.position(end);
+    }
+
+    private void string(String s) throws IOException {
+        put((byte) '"');
+        int length = s.length();
+        for (int i = 0; i < length; i++) {
+            // Worst case per char: a 6-byte \\u escape or a 4-byte surrogate pair
+            if (buffer.remaining() < 6) drain();
+            char c = s.charAt(i);
+            if (c >= 0x20 && c < 0x80) {
+                if (c == '"' || c == '\\') buffer.put((byte) '\\');
+                buffer.put((byte) c);
+            } else if (c < 0x20) {
+                buffer.put((byte) '\\');
+                if (c == '\n') buffer.put((byte) 'n');
+                else if (c == '\r') buffer.put((byte) 'r');
+                else if (c == '\t') buffer.put((byte) 't');
+                else buffer.put((byte) 'u').put((byte) '0').put((byte) '0').put(HEX[c >> 4]).put(HEX[c & 0xF]);
+            } else if (c < 0x800) {
+                buffer.put((byte) (0xC0 | c >> 6)).put((byte) (0x80 | c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(s.charAt(i + 1))) {
+                int cp = Character.toCodePoint(c, s.charAt(++i));
+                buffer.put((byte) (0xF0 | cp >> 18)).put((byte) (0x80 | cp >> 12 & 0x3F))
+                        .put((byte) (0x80 | cp >> 6 & 0x3F)).put((byte) (0x80 | cp & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                // Unpaired surrogate: not encodable, same replacement String.getBytes uses
+                buffer.put((byte) '?');
+            } else {
+                buffer.put((byte) (0xE0 | c >> 12)).put((byte) (0x80 | c >> 6 & 0x3F)).put((byte) (0x80 | c & 0x3F));
+            }
+        }
+        put((byte) '"');
+    }
+
+    private void drain() throws IOException {
+        buffer.flip();
+        if (buffer.hasArray()) {
+            out.write(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+        } else {
+            if (channel == null) channel = Channels.newChannel(out);
+            while (buffer.hasRemaining()) channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    public void flush() throws IOException {
+        drain();
+        out.flush();
+    }
+}
@@ -0,0 +1,86 @@
+package com.schoolmanagement.http;
+
+import com.schoolmanagement.models.Book;
+import com.schoolmanagement.models.Course;
+import com.schoolmanagement.models.Library;
+import com.schoolmanagement.models.Student;
+import com.schoolmanagement.models.Teacher;
+
+import java.io.IOException;
+
+// JSON shapes of the models; relationships are separate endpoints, never embedded
+public final class ModelJson {
+
+    public interface Serializer<T> {
+        void write(JsonWriter json, T value) throws IOException;
+    }
+
+    // Field names are encoded once; writing a model is then only its values
+    private static final JsonWriter.Key ID = JsonWriter.key("id");
+    private static final JsonWriter.Key ROLL_NUMBER = JsonWriter.key("rollNumber");
+    private static final JsonWriter.Key NAME = JsonWriter.key("name");
+    private static final JsonWriter.Key DOB = JsonWriter.key("dob");
+    private static final JsonWriter.Key ADDRESS = JsonWriter.key("address");
+    private static final JsonWriter.Key CGPA = JsonWriter.key("cgpa");
+    private static final JsonWriter.Key EMP_ID = JsonWriter.key("empId");
+    private static final JsonWriter.Key SALARY = JsonWriter.key("salary");
+    private static final JsonWriter.Key COURSE_ID = JsonWriter.key("courseId");
+    private static final JsonWriter.Key COURSE_CODE = JsonWriter.key("courseCode");
+    private static final JsonWriter.Key COURSE_NAME = JsonWriter.key("courseName");
+    private static final JsonWriter.Key COURSE_DESCRIPTION = JsonWriter.key("courseDescription");
+    private static final JsonWriter.Key BOOK_ID = JsonWriter.key("bookId");
+    private static final JsonWriter.Key TITLE = JsonWriter.key("title");
+    private static final JsonWriter.Key AUTHOR = JsonWriter.key("author");
+    private static final JsonWriter.Key LIBRARY_ID = JsonWriter.key("libraryId");
+
+    private ModelJson() {
+    }
+
+    public static void student(JsonWriter json, Student s) throws IOException {
+        json.beginObject()
+                .name(ID).value(s.getId())
+                .name(ROLL_NUMBER).value(s.getRollNumber())
+                .name(NAME).value(s.getName())
+                .name(DOB).value(s.getDob())
+                .name(ADDRESS).value(s.getAddress())
+                .name(CGPA).value(s.getCgpa())
+                .endObject();
+    }
+
+    public static void teacher(JsonWriter json, Teacher t) throws IOException {
+        json.beginObject()
+                .name(ID).value(t.getId())
+                .name(EMP_ID).value(t.getEmpId())
+                .name(NAME).value(t.getName())
+                .name(DOB).value(t.getDob())
+                .name(ADDRESS).value(t.getAddress())
+                .name(SALARY).value(t.getSalary())
+                .endObject();
+    }
+
+    public static void course(JsonWriter json, Course c) throws IOException {
+        json.beginObject()
+                .name(COURSE_ID).value(c.getCourseId())
+                .name(COURSE_CODE).value(c.getCourseCode())
+                .name(COURSE_NAME).value(c.getCourseName())
+                .name(COURSE_DESCRIPTION).value(c.getCourseDescription())
+                .endObject();
+    }
+
+    public static void book(JsonWriter json, Book b) throws IOException {
+        json.beginObject()
+                .name(ID).value(b.getId())
+                .name(BOOK_ID).value(b.getBookId())
+                .name(TITLE).value(b.getTitle())
+                .name(AUTHOR).value(b.getAuthor())
+                .name(LIBRARY_ID).value(b.getLibraryId())
+                .endObject();
+    }
+
+    public static void library(JsonWriter json, Library l) throws IOException {
+        json.beginObject()
+                .name(ID).value(l.getId())
+                .name(NAME).value(l.getName())
+                .endObject();
+    }
+}
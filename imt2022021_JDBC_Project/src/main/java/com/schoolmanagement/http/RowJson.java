@@ -0,0 +1,129 @@
+package com.schoolmanagement.http;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+
+// Writes ResultSet rows as JSON objects without building model objects first. Column labels and
+// types are read from the metadata once; labels become camelCase keys (roll_number -> rollNumber),
+// so a row of students, courses or books comes out with the same fields ModelJson writes.
+public final class RowJson {
+
+    private static final int LONG = 0;
+    private static final int FLOAT = 1;
+    private static final int DOUBLE = 2;
+    private static final int DECIMAL = 3;
+    private static final int BOOLEAN = 4;
+    private static final int STRING = 5;
+
+    private final JsonWriter.Key[] keys;
+    private final int[] kinds;
+
+    public RowJson(ResultSetMetaData meta) throws SQLException {
+        int columns = meta.getColumnCount();
+        keys = new JsonWriter.Key[columns];
+        kinds = new int[columns];
+        for (int i = 0; i < columns; i++) {
+            keys[i] = JsonWriter.key(camelCase(meta.getColumnLabel(i + 1)));
+            kinds[i] = kind(meta.getColumnType(i + 1));
+        }
+    }
+
+    private static int kind(int sqlType) {
+        switch (sqlType) {
+            case Types.TINYINT:
+            case Types.SMALLINT:
+            case Types.INTEGER:
+            case Types.BIGINT:
+                return LONG;
+            case Types.REAL:
+            case Types.FLOAT:
+                return FLOAT;
+            case Types.DOUBLE:
+                return DOUBLE;
+            case Types.DECIMAL:
+            case Types.NUMERIC:
+                return DECIMAL;
+            case Types.BIT:
+            case Types.BOOLEAN:
+                return BOOLEAN;
+            default:
+                return STRING;
+        }
+    }
+
+    // The current row as one object
+    public void write(JsonWriter json, ResultSet rs) throws SQLException, IOException {
+        json.beginObject();
+        for (int i = 0; i < keys.length; i++) {
+            json.name(keys[i]);
+            int column = i + 1;
+            switch (kinds[i]) {
+                case LONG: {
+                    long v = rs.getLong(column);
+                    if (rs.wasNull()) json.nullValue();
+                    else json.value(v);
+                    break;
+                }
+                case FLOAT: {
+                    float v = rs.getFloat(column);
+                    if (rs.wasNull()) json.nullValue();
+                    else json.value(v);
+                    break;
+                }
+                case DOUBLE: {
+                    double v = rs.getDouble(column);
+                    if (rs.wasNull()) json.nullValue();
+                    else json.value(v);
+                    break;
+                }
+                case DECIMAL: {
+                    BigDecimal v = rs.getBigDecimal(column);
+                    if (v == null) json.nullValue();
+                    else json.rawNumber(v.toPlainString());
+                    break;
+                }
+                case BOOLEAN: {
+                    boolean v = rs.getBoolean(column);
+                    if (rs.wasNull()) json.nullValue();
+                    else json.value(v);
+                    break;
+                }
+                default:
+                    json.value(rs.getString(column));
+            }
+        }
+        json.endObject();
+    }
+
+    // Every remaining row as one array; returns the number of rows written
+    public static long writeAll(JsonWriter json, ResultSet rs) throws SQLException, IOException {
+        RowJson row = new RowJson(rs.getMetaData());
+        long count = 0;
+        json.beginArray();
+        while (rs.next()) {
+            row.write(json, rs);
+            count++;
+        }
+        json.endArray();
+        return count;
+    }
+
+    static String camelCase(String label) {
+        StringBuilder sb = new StringBuilder(label.length());
+        boolean upper = false;
+        for (int i = 0; i < label.length(); i++) {
+            char c = label.charAt(i);
+            if (c == '_') {
+                upper = sb.length() > 0;
+            } else {
+                sb.append(upper ? Character.toUpperCase(c) : Character.toLowerCase(c));
+                upper = false;
+            }
+        }
+        return sb.toString();
+    }
+}
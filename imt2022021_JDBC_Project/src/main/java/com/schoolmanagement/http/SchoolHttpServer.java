@@ -0,0 +1,498 @@
+package com.schoolmanagement.http;
+
+import com.schoolmanagement.dao.memory.InMemoryDatabase;
+import com.schoolmanagement.database.ConnectionPool;
+import com.schoolmanagement.database.DatabaseConfig;
+import com.schoolmanagement.database.DatabaseManager;
+import com.schoolmanagement.models.Book;
+import com.schoolmanagement.models.Course;
+import com.schoolmanagement.models.Library;
+import com.schoolmanagement.models.Student;
+import com.schoolmanagement.models.Teacher;
+import com.schoolmanagement.snapshot.Snapshots;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// JSON over HTTP for the SchoolService operations, on the JDK's built-in server. At most
+// maxInFlight requests touch the database at once (by default the connection pool size, so a
+// request never waits inside the pool); a request that cannot get a slot within
+// queueTimeoutMillis is answered 503 with Retry-After instead of piling up. Connections are kept
+// alive between requests, list endpoints stream their JSON with chunked encoding, and every
+// request's latency is recorded per route and served at GET /metrics. GET /export/{table} streams
+// a whole table as JSON straight from the ResultSet, without building model objects.
+public class SchoolHttpServer implements AutoCloseable {
+
+    interface Handler {
+        void handle(Call call) throws Exception;
+    }
+
+    private static class Route {
+        private final String method;
+        private final String pattern;
+        private final String[] segments;
+        private final Handler handler;
+
+        Route(String method, String pattern, Handler handler) {
+            this.method = method;
+            this.pattern = pattern;
+            this.segments = pattern.substring(1).split("/");
+            this.handler = handler;
+        }
+
+        // Path parameters when path matches, otherwise null
+        Map<String, String> match(String[] path) {
+            if (path.length != segments.length) return null;
+            Map<String, String> params = new HashMap<>();
+            for (int i = 0; i < segments.length; i++) {
+                if (segments[i].startsWith("{")) params.put(segments[i].substring(1, segments[i].length() - 1), path[i]);
+                else if (!segments[i].equals(path[i])) return null;
+            }
+            return params;
+        }
+    }
+
+    // One request: path parameters, body, the store session and the response helpers
+    class Call {
+        private final HttpExchange exchange;
+        private final Map<String, String> params;
+        private StoreSession session;
+        private int status;
+
+        Call(HttpExchange exchange, Map<String, String> params) {
+            this.exchange = exchange;
+            this.params = params;
+        }
+
+        StoreSession stores() throws SQLException {
+            if (session == null) session = sessions.open();
+            return session;
+        }
+
+        int intParam(String name) {
+            try {
+                return Integer.parseInt(params.get(name));
+            } catch (NumberFormatException e) {
+                throw new HttpError(400, "Path parameter '" + name + "' must be an integer");
+            }
+        }
+
+        JsonBody body() throws IOException {
+            return JsonBody.parse(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+        }
+
+        <T> void send(int status, ModelJson.Serializer<T> serializer, T value) throws IOException {
+            if (value == null) throw new HttpError(404, "Not found");
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+            JsonWriter json = writer(bytes);
+            serializer.write(json, value);
+            json.flush();
+            sendBytes(status, bytes.toByteArray());
+        }
+
+        // Chunked response written element by element; the list is never rendered as one String
+        <T> void sendList(List<T> values, ModelJson.Serializer<T> serializer) throws IOException {
+            if (values == null) throw new HttpError(500, "Query failed");
+            JsonWriter json = startChunked();
+            json.beginArray();
+            for (T value : values) serializer.write(json, value);
+            json.endArray();
+            json.flush();
+        }
+
+        // Chunked response straight from the rows, no model objects in between
+        long sendRows(ResultSet rs) throws IOException, SQLException {
+            JsonWriter json = startChunked();
+            long rows = RowJson.writeAll(json, rs);
+            json.flush();
+            return rows;
+        }
+
+        private JsonWriter startChunked() throws IOException {
+            exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+            exchange.sendResponseHeaders(200, 0);
+            status = 200;
+            return writer(exchange.getResponseBody());
+        }
+
+        void sendNoContent() throws IOException {
+            exchange.sendResponseHeaders(204, -1);
+            status = 204;
+        }
+
+        void sendBytes(int status, byte[] body) throws IOException {
+            exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+            exchange.sendResponseHeaders(status, body.length);
+            exchange.getResponseBody().write(body);
+            this.status = status;
+        }
+
+        void sendError(int status, String message) throws IOException {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + message.length());
+            JsonWriter json = writer(bytes);
+            json.beginObject().name("error").value(message).endObject();
+            json.flush();
+            sendBytes(status, bytes.toByteArray());
+        }
+    }
+
+    private static final Set<String> EXPORTABLE = Set.of("students", "teachers", "courses", "books", "libraries",
+            "enrollments", "course_books", "course_teacher");
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final StoreSession.Factory sessions;
+    private final int maxInFlight;
+    private final long queueTimeoutMillis;
+    private final Semaphore slots;
+    private final HttpMetrics metrics = new HttpMetrics();
+    private final List<Route> routes = new ArrayList<>();
+    // One writer per worker thread, so every response on that thread reuses the same buffer
+    private final ThreadLocal<JsonWriter> writers = ThreadLocal.withInitial(() -> new JsonWriter(null));
+
+    public SchoolHttpServer(InetSocketAddress address, StoreSession.Factory sessions, int maxInFlight,
+                            long queueTimeoutMillis) throws IOException {
+        this.sessions = sessions;
+        this.maxInFlight = Math.max(1, maxInFlight);
+        this.queueTimeoutMillis = queueTimeoutMillis;
+        this.slots = new Semaphore(this.maxInFlight, true);
+
+        // Twice the slots: the extra threads answer /metrics and 503s while the slots are busy
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(this.maxInFlight * 2, r -> {
+            Thread t = new Thread(r, "http-worker-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        this.server = HttpServer.create(address, 128);
+        server.setExecutor(executor);
+        server.createContext("/", this::dispatch);
+        registerRoutes();
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void route(String method, String pattern, Handler handler) {
+        routes.add(new Route(method, pattern, handler));
+    }
+
+    private void registerRoutes() {
+        // ------------------ STUDENTS ------------------
+        route("GET", "/students", c -> c.sendList(c.stores().students().getAllStudents(), ModelJson::student));
+        route("POST", "/students", c -> {
+            JsonBody b = c.body();
+            Student s = new Student(0, b.getString("rollNumber"), b.getString("name"), b.getString("dob"),
+                    b.getString("address", null), b.getFloat("cgpa"));
+            c.stores().students().create(s);
+            c.send(201, ModelJson::student, s);
+        });
+        route("GET", "/students/{id}", c -> c.send(200, ModelJson::student, c.stores().students().read(c.intParam("id"))));
+        route("DELETE", "/students/{id}", c -> {
+            c.stores().students().delete(c.intParam("id"));
+            c.sendNoContent();
+        });
+        route("PUT", "/students/{id}/cgpa", c -> {
+            int id = c.intParam("id");
+            c.stores().students().updateCGPA(id, c.body().getFloat("cgpa"));
+            c.send(200, ModelJson::student, c.stores().students().read(id));
+        });
+        route("PUT", "/students/{id}/address", c -> {
+            Student s = existing(c.stores().students().read(c.intParam("id")));
+            c.stores().students().updateAddress(s.getRollNumber(), c.body().getString("address"));
+            c.send(200, ModelJson::student, c.stores().students().read(s.getId()));
+        });
+        route("GET", "/students/{id}/courses", c -> c.sendList(c.stores().students().getCoursesForStudent(c.intParam("id")), ModelJson::course));
+        route("GET", "/students/{id}/books", c -> c.sendList(c.stores().students().getBooksForStudent(c.intParam("id")), ModelJson::book));
+        route("PUT", "/students/{id}/courses/{courseId}", c -> {
+            c.stores().students().addStudentToCourse(c.intParam("id"), c.intParam("courseId"));
+            c.sendNoContent();
+        });
+        route("DELETE", "/students/{id}/courses/{courseId}", c -> {
+            c.stores().students().removeStudentFromCourse(c.intParam("id"), c.intParam("courseId"));
+            c.sendNoContent();
+        });
+
+        // ------------------ TEACHERS ------------------
+        route("GET", "/teachers", c -> c.sendList(c.stores().teachers().getAllTeachers(), ModelJson::teacher));
+        route("POST", "/teachers", c -> {
+            JsonBody b = c.body();
+            Teacher t = new Teacher(0, b.getString("empId"), b.getString("name"), b.getString("dob"),
+                    b.getString("address", null), b.getFloat("salary"));
+            c.stores().teachers().create(t);
+            c.send(201, ModelJson::teacher, t);
+        });
+        route("GET", "/teachers/{id}", c -> c.send(200, ModelJson::teacher, c.stores().teachers().read(c.intParam("id"))));
+        route("DELETE", "/teachers/{id}", c -> {
+            c.stores().teachers().delete(c.intParam("id"));
+            c.sendNoContent();
+        });
+        route("POST", "/teachers/{id}/salary-increment", c -> {
+            int id = c.intParam("id");
+            c.stores().teachers().incrementSalary(id, c.body().getFloat("amount"));
+            c.send(200, ModelJson::teacher, c.stores().teachers().read(id));
+        });
+        route("PUT", "/teachers/{id}/address", c -> {
+            Teacher t = existing(c.stores().teachers().read(c.intParam("id")));
+            c.stores().teachers().updateAddress(c.body().getString("address"), t.getEmpId());
+            c.send(200, ModelJson::teacher, c.stores().teachers().read(t.getId()));
+        });
+
+        // ------------------ COURSES ------------------
+        route("GET", "/courses", c -> c.sendList(c.stores().courses().getAllCourses(), ModelJson::course));
+        route("POST", "/courses", c -> {
+            JsonBody b = c.body();
+            Course course = new Course(0, b.getString("courseCode"), b.getString("courseName"),
+                    b.getString("courseDescription", null));
+            c.stores().courses().create(course);
+            c.send(201, ModelJson::course, course);
+        });
+        route("GET", "/courses/{id}", c -> c.send(200, ModelJson::course, c.stores().courses().read(c.intParam("id"))));
+        route("PUT", "/courses/{id}", c -> {
+            Course course = existing(c.stores().courses().read(c.intParam("id")));
+            JsonBody b = c.body();
+            c.stores().courses().update(course.getCourseCode(), b.getString("courseName"),
+                    b.getString("courseDescription", course.getCourseDescription()));
+            c.send(200, ModelJson::course, c.stores().courses().read(course.getCourseId()));
+        });
+        route("DELETE", "/courses/{id}", c -> {
+            c.stores().courses().delete(c.intParam("id"));
+            c.sendNoContent();
+        });
+        route("GET", "/courses/{id}/students", c -> c.sendList(c.stores().courses().getStudentsForCourse(c.intParam("id")), ModelJson::student));
+        route("GET", "/courses/{id}/books", c -> c.sendList(c.stores().books().getBooksForCourse(c.intParam("id")), ModelJson::book));
+        route("PUT", "/courses/{id}/books/{bookId}", c -> {
+            c.stores().books().markBookWithCourse(c.intParam("bookId"), c.intParam("id"));
+            c.sendNoContent();
+        });
+        route("DELETE", "/courses/{id}/books/{bookId}", c -> {
+            c.stores().books().unmarkBookWithCourse(c.intParam("bookId"), c.intParam("id"));
+            c.sendNoContent();
+        });
+
+        // ------------------ BOOKS ------------------
+        route("GET", "/books", c -> c.sendList(c.stores().books().getAllBooks(), ModelJson::book));
+        route("POST", "/books", c -> {
+            JsonBody b = c.body();
+            Book book = new Book(0, b.getString("bookId"), b.getString("title"), b.getString("author"), b.getInt("libraryId"));
+            c.stores().books().create(book);
+            c.send(201, ModelJson::book, book);
+        });
+        route("GET", "/books/{id}", c -> c.send(200, ModelJson::book, c.stores().books().read(c.intParam("id"))));
+        route("PUT", "/books/{id}", c -> {
+            Book book = existing(c.stores().books().read(c.intParam("id")));
+            JsonBody b = c.body();
+            c.stores().books().update(book.getBookId(), b.getString("title"), b.getString("author"));
+            c.send(200, ModelJson::book, c.stores().books().read(book.getId()));
+        });
+        route("DELETE", "/books/{id}", c -> {
+            c.stores().books().delete(c.intParam("id"));
+            c.sendNoContent();
+        });
+
+        // ------------------ LIBRARIES ------------------
+        route("GET", "/libraries", c -> c.sendList(c.stores().libraries().getAllLibraries(), ModelJson::library));
+        route("POST", "/libraries", c -> {
+            Library library = new Library(0, c.body().getString("name"));
+            c.stores().libraries().create(library);
+            c.send(201, ModelJson::library, library);
+        });
+        route("GET", "/libraries/{id}", c -> c.send(200, ModelJson::library, c.stores().libraries().read(c.intParam("id"))));
+        route("PUT", "/libraries/{id}", c -> {
+            int id = c.intParam("id");
+            existing(c.stores().libraries().read(id));
+            c.stores().libraries().update(id, c.body().getString("name"));
+            c.send(200, ModelJson::library, c.stores().libraries().read(id));
+        });
+        route("DELETE", "/libraries/{id}", c -> {
+            c.stores().libraries().delete(c.intParam("id"));
+            c.sendNoContent();
+        });
+        route("GET", "/libraries/{id}/books", c -> c.sendList(c.stores().books().getBooksForLibrary(c.intParam("id")), ModelJson::book));
+
+        // ------------------ EXPORT ------------------
+        route("GET", "/export/{table}", c -> {
+            String table = c.params.get("table");
+            if (!EXPORTABLE.contains(table)) throw new HttpError(404, "No such table: " + table);
+            Connection connection = c.stores().connection();
+            if (connection == null) throw new HttpError(501, "Export needs a database-backed server");
+            try (Statement st = connection.createStatement()) {
+                // Connector/J streams row by row only with this fetch size; otherwise it buffers the table
+                if (connection.getMetaData().getDatabaseProductName().equals("MySQL")) st.setFetchSize(Integer.MIN_VALUE);
+                try (ResultSet rs = st.executeQuery("SELECT * FROM " + table)) {
+                    c.sendRows(rs);
+                }
+            }
+        });
+
+        // ------------------ ADVANCED OPERATIONS ------------------
+        route("GET", "/stats/topper", c -> c.send(200, ModelJson::student, c.stores().students().getTopper()));
+        route("GET", "/stats/highest-paid-teacher", c -> c.send(200, ModelJson::teacher, c.stores().teachers().getHighestPaidTeacher()));
+    }
+
+    private JsonWriter writer(OutputStream out) {
+        return writers.get().reset(out);
+    }
+
+    private static <T> T existing(T value) {
+        if (value == null) throw new HttpError(404, "Not found");
+        return value;
+    }
+
+    private void dispatch(HttpExchange exchange) throws IOException {
+        long start = System.nanoTime();
+        String method = exchange.getRequestMethod();
+        String path = exchange.getRequestURI().getPath();
+        Call call = null;
+        String routeKey = method + " (unmatched)";
+        boolean holdsSlot = false;
+        try {
+            if (method.equals("GET") && path.equals("/metrics")) {
+                routeKey = "GET /metrics";
+                call = new Call(exchange, Map.of());
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                JsonWriter json = writer(bytes);
+                metrics.write(json, maxInFlight, maxInFlight - slots.availablePermits());
+                json.flush();
+                call.sendBytes(200, bytes.toByteArray());
+                return;
+            }
+
+            String[] segments = path.length() > 1 ? path.substring(1).split("/") : new String[0];
+            Route matched = null;
+            Map<String, String> params = null;
+            boolean pathKnown = false;
+            for (Route route : routes) {
+                Map<String, String> p = route.match(segments);
+                if (p == null) continue;
+                pathKnown = true;
+                if (route.method.equals(method)) {
+                    matched = route;
+                    params = p;
+                    break;
+                }
+            }
+            call = new Call(exchange, params == null ? Map.of() : params);
+            if (matched == null) {
+                call.sendError(pathKnown ? 405 : 404, pathKnown ? "Method not allowed" : "No such endpoint");
+                return;
+            }
+            routeKey = matched.method + " " + matched.pattern;
+
+            if (!slots.tryAcquire(queueTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                metrics.rejected();
+                exchange.getResponseHeaders().set("Retry-After", "1");
+                call.sendError(503, "Server busy, " + maxInFlight + " requests in flight");
+                return;
+            }
+            holdsSlot = true;
+            try {
+                matched.handler.handle(call);
+            } catch (HttpError e) {
+                if (call.status == 0) call.sendError(e.getStatus(), e.getMessage());
+            } catch (SQLIntegrityConstraintViolationException e) {
+                if (call.status == 0) call.sendError(409, e.getMessage());
+            } catch (SQLException e) {
+                if (call.session != null) call.session.markFailed();
+                if (call.status == 0) call.sendError(500, e.getMessage());
+            } catch (RuntimeException e) {
+                if (call.status == 0) call.sendError(500, e.getMessage());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            if (call != null && call.status == 0) call.sendError(503, "Shutting down");
+        } catch (Exception e) {
+            if (call != null && call.status == 0) call.sendError(500, String.valueOf(e.getMessage()));
+        } finally {
+            if (call != null && call.session != null) call.session.close();
+            if (holdsSlot) slots.release();
+            metrics.record(routeKey, call == null ? 500 : call.status, System.nanoTime() - start);
+            exchange.close();
+        }
+    }
+
+    HttpMetrics getMetrics() {
+        return metrics;
+    }
+
+    // java ... SchoolHttpServer [--port=8080] [--max-in-flight=N] [--queue-timeout-ms=1000] [--memory]
+    //         [--snapshot=<file> [--snapshot-checksums]]   (with --memory: warm-start the stores from the
+    //         database via the file; checksums also catch rows updated in place, at a full scan per table)
+    public static void main(String[] args) throws IOException, SQLException {
+        int port = 8080;
+        int maxInFlight = 0;
+        long queueTimeout = 1000;
+        boolean inMemory = false;
+        String snapshot = null;
+        boolean snapshotChecksums = false;
+        for (String arg : args) {
+            if (arg.startsWith("--port=")) port = Integer.parseInt(arg.substring(7));
+            else if (arg.startsWith("--max-in-flight=")) maxInFlight = Integer.parseInt(arg.substring(16));
+            else if (arg.startsWith("--queue-timeout-ms=")) queueTimeout = Long.parseLong(arg.substring(19));
+            else if (arg.equals("--memory")) inMemory = true;
+            else if (arg.startsWith("--snapshot=")) snapshot = arg.substring(11);
+            else if (arg.equals("--snapshot-checksums")) snapshotChecksums = true;
+        }
+
+        StoreSession.Factory sessions;
+        if (inMemory) {
+            InMemoryDatabase db;
+            if (snapshot == null) {
+                db = new InMemoryDatabase();
+            } else {
+                try (Connection connection = DatabaseConfig.load().openConnection()) {
+                    Snapshots.WarmStart warm = Snapshots.warmStart(connection, Paths.get(snapshot), snapshotChecksums);
+                    System.out.println(warm);
+                    db = warm.getDatabase();
+                }
+            }
+            sessions = StoreSession.inMemory(db);
+            if (maxInFlight <= 0) maxInFlight = Runtime.getRuntime().availableProcessors();
+        } else {
+            // One slot per pooled connection: a request holding a slot always gets a connection at once
+            ConnectionPool pool = DatabaseManager.getInstance().getPool();
+            sessions = StoreSession.pooled(pool);
+            if (maxInFlight <= 0) maxInFlight = pool.getSize();
+        }
+        SchoolHttpServer server = new SchoolHttpServer(new InetSocketAddress(port), sessions, maxInFlight, queueTimeout);
+        server.start();
+        System.out.println("Listening on http://localhost:" + server.getPort() + "/ (max " + server.getMaxInFlight()
+                + " requests in flight)");
+    }
+}
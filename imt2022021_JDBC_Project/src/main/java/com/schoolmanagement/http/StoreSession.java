@@ -0,0 +1,146 @@
+package com.schoolmanagement.http;
+
+import com.schoolmanagement.dao.BaseDAO;
+import com.schoolmanagement.dao.BookDAO;
+import com.schoolmanagement.dao.BookStore;
+import com.schoolmanagement.dao.CourseDAO;
+import com.schoolmanagement.dao.CourseStore;
+import com.schoolmanagement.dao.LibraryDAO;
+import com.schoolmanagement.dao.LibraryStore;
+import com.schoolmanagement.dao.StudentDAO;
+import com.schoolmanagement.dao.StudentStore;
+import com.schoolmanagement.dao.TeacherDAO;
+import com.schoolmanagement.dao.TeacherStore;
+import com.schoolmanagement.dao.memory.InMemoryDatabase;
+import com.schoolmanagement.database.ConnectionPool;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+// The stores one request works with. JDBC sessions hold a pooled connection for the length of the
+// request and hand it back on close; in-memory sessions share one database.
+public interface StoreSession extends AutoCloseable {
+
+    interface Factory {
+        StoreSession open() throws SQLException;
+    }
+
+    StudentStore students();
+
+    TeacherStore teachers();
+
+    CourseStore courses();
+
+    BookStore books();
+
+    LibraryStore libraries();
+
+    // The session's JDBC connection for work that bypasses the stores, or null without a database
+    default Connection connection() {
+        return null;
+    }
+
+    // The request failed with an SQLException; the session's connection is checked before reuse
+    default void markFailed() {
+    }
+
+    @Override
+    void close();
+
+    static Factory pooled(ConnectionPool pool) {
+        return () -> {
+            Connection connection = pool.borrow();
+            return new StoreSession() {
+                private final StudentDAO students = new StudentDAO(connection);
+                private final TeacherDAO teachers = new TeacherDAO(connection);
+                private final CourseDAO courses = new CourseDAO(connection);
+                private final BookDAO books = new BookDAO(connection);
+                private final LibraryDAO libraries = new LibraryDAO(connection);
+                private boolean failed;
+
+                @Override
+                public StudentStore students() {
+                    return students;
+                }
+
+                @Override
+                public TeacherStore teachers() {
+                    return teachers;
+                }
+
+                @Override
+                public CourseStore courses() {
+                    return courses;
+                }
+
+                @Override
+                public BookStore books() {
+                    return books;
+                }
+
+                @Override
+                public LibraryStore libraries() {
+                    return libraries;
+                }
+
+                @Override
+                public Connection connection() {
+                    return connection;
+                }
+
+                @Override
+                public void markFailed() {
+                    failed = true;
+                }
+
+                @Override
+                public void close() {
+                    // The DAOs' cached statements live on the pooled connection, so they go first
+                    for (BaseDAO<?> dao : List.of(students, teachers, courses, books, libraries)) {
+                        try {
+                            dao.close();
+                        } catch (SQLException e) {
+                            failed = true;
+                        }
+                    }
+                    pool.release(connection, failed);
+                }
+            };
+        };
+    }
+
+    static Factory inMemory(InMemoryDatabase db) {
+        StoreSession shared = new StoreSession() {
+            @Override
+            public StudentStore students() {
+                return db.studentDAO();
+            }
+
+            @Override
+            public TeacherStore teachers() {
+                return db.teacherDAO();
+            }
+
+            @Override
+            public CourseStore courses() {
+                return db.courseDAO();
+            }
+
+            @Override
+            public BookStore books() {
+                return db.bookDAO();
+            }
+
+            @Override
+            public LibraryStore libraries() {
+                return db.libraryDAO();
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        return () -> shared;
+    }
+}
@@ -0,0 +1,145 @@
+package com.schoolmanagement.loadtest;
+
+import com.schoolmanagement.models.Book;
+import com.schoolmanagement.models.Course;
+import com.schoolmanagement.models.Student;
+import com.schoolmanagement.models.compact.CompactBook;
+import com.schoolmanagement.models.compact.CompactStudent;
+import com.schoolmanagement.models.compact.StringPool;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+// Measures retained heap per cached row, Student/Book as StudentDAO/BookDAO build them versus the
+// compact records. Every string is a fresh instance, as it is when it comes out of a ResultSet.
+//
+//   java ... com.schoolmanagement.loadtest.Footprint [rows]        (run with a fixed heap, e.g. -Xms2g -Xmx2g, for stable numbers)
+public final class Footprint {
+    private static final String[] FIRST = {"Aarav", "Diya", "Ishaan", "Meera", "Kabir", "Ananya", "Rohan", "Saanvi",
+            "Vivaan", "Anika", "Arjun", "Kiara", "Reyansh", "Myra", "Vihaan", "Aditi"};
+    private static final String[] LAST = {"Sharma", "Iyer", "Reddy", "Nair", "Gupta", "Menon", "Das", "Rao",
+            "Patel", "Singh", "Kulkarni", "Bose"};
+    private static final String[] STREETS = {"MG Road", "Brigade Road", "Residency Road", "Church Street",
+            "Hosur Road", "Bannerghatta Road"};
+    private static final String[] CITIES = {"Bengaluru", "Mysuru", "Chennai", "Hyderabad"};
+
+    private Footprint() {
+    }
+
+    public static void main(String[] args) {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        System.out.printf(Locale.ROOT, "%,d rows%n", rows);
+        double student = measure(rows, Footprint::students);
+        double compactStudent = measure(rows, n -> compactStudents(n, new StringPool()));
+        double book = measure(rows, Footprint::books);
+        double compactBook = measure(rows, n -> compactBooks(n, new StringPool()));
+        System.out.printf(Locale.ROOT, "Student        %6.1f bytes/row%n", student);
+        System.out.printf(Locale.ROOT, "CompactStudent %6.1f bytes/row (%.0f%% less)%n", compactStudent,
+                100 * (1 - compactStudent / student));
+        System.out.printf(Locale.ROOT, "Book           %6.1f bytes/row%n", book);
+        System.out.printf(Locale.ROOT, "CompactBook    %6.1f bytes/row (%.0f%% less)%n", compactBook,
+                100 * (1 - compactBook / book));
+    }
+
+    interface Builder {
+        List<?> build(int rows);
+    }
+
+    // Retained bytes per row of what build returns, list overhead included
+    static double measure(int rows, Builder builder) {
+        long before = usedAfterGc();
+        List<?> kept = builder.build(rows);
+        long after = usedAfterGc();
+        if (kept.size() != rows) throw new IllegalStateException("built " + kept.size());
+        return (after - before) / (double) rows;
+    }
+
+    private static long usedAfterGc() {
+        Runtime rt = Runtime.getRuntime();
+        long used = Long.MAX_VALUE;
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            used = Math.min(used, rt.totalMemory() - rt.freeMemory());
+        }
+        return used;
+    }
+
+    private static String fresh(String s) {
+        return new String(s.toCharArray());
+    }
+
+    private static String[] studentRow(SplittableRandom random, int i) {
+        LocalDate dob = LocalDate.of(2003, 1, 1).plusDays(random.nextInt(3 * 365));
+        return new String[] {
+                String.format(Locale.ROOT, "R%07d", i),
+                fresh(FIRST[random.nextInt(FIRST.length)] + " " + LAST[random.nextInt(LAST.length)]),
+                fresh(dob.toString()),
+                fresh((1 + random.nextInt(999)) + " " + STREETS[random.nextInt(STREETS.length)] + ", "
+                        + CITIES[random.nextInt(CITIES.length)])
+        };
+    }
+
+    static List<Student> students(int rows) {
+        SplittableRandom random = new SplittableRandom(42);
+        List<Student> list = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            String[] r = studentRow(random, i);
+            Student s = new Student(i, r[0], r[1], r[2], r[3], 2 + random.nextInt(200) / 100f);
+            int id = i;
+            // StudentDAO attaches a lazy course loader to every student it maps
+            s.setCoursesLoader(() -> noCourses(id));
+            list.add(s);
+        }
+        return list;
+    }
+
+    private static List<Course> noCourses(int studentId) {
+        return List.of();
+    }
+
+    static List<CompactStudent> compactStudents(int rows, StringPool pool) {
+        SplittableRandom random = new SplittableRandom(42);
+        List<CompactStudent> list = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            String[] r = studentRow(random, i);
+            list.add(CompactStudent.of(i, r[0], r[1], r[2], r[3], 2 + random.nextInt(200) / 100f, pool));
+        }
+        return list;
+    }
+
+    private static String[] bookRow(SplittableRandom random, int i) {
+        return new String[] {
+                String.format(Locale.ROOT, "BK%07d", i),
+                fresh("Intro to " + LAST[random.nextInt(LAST.length)] + " Vol. " + (1 + random.nextInt(4))),
+                fresh(FIRST[random.nextInt(FIRST.length)] + " " + LAST[random.nextInt(LAST.length)])
+        };
+    }
+
+    static List<Book> books(int rows) {
+        SplittableRandom random = new SplittableRandom(7);
+        List<Book> list = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            String[] r = bookRow(random, i);
+            list.add(new Book(i, r[0], r[1], r[2], 1 + random.nextInt(10)));
+        }
+        return list;
+    }
+
+    static List<CompactBook> compactBooks(int rows, StringPool pool) {
+        SplittableRandom random = new SplittableRandom(7);
+        List<CompactBook> list = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            String[] r = bookRow(random, i);
+            list.add(CompactBook.of(i, r[0], r[1], r[2], 1 + random.nextInt(10), pool));
+        }
+        return list;
+    }
+}
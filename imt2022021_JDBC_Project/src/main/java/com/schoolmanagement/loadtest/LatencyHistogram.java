@@ -0,0 +1,65 @@
+package com.schoolmanagement.loadtest;
+
+// Log-linear latency histogram in nanoseconds: exact below 512 ns, then 256 sub-buckets per
+// power of two (under 0.4% error) up to about an hour. Fixed size and allocation-free on
+// record, so each client thread keeps its own and they are merged once at the end.
+public class LatencyHistogram {
+    private static final int SUB_BITS = 8;
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+    private static final int LINEAR_LIMIT = 2 * SUB_COUNT;
+    private static final int MAX_EXPONENT = 41;
+    private static final int BUCKETS = LINEAR_LIMIT + (MAX_EXPONENT - SUB_BITS) * SUB_COUNT;
+
+    private final long[] counts = new long[BUCKETS];
+    private long total;
+    private long max;
+
+    private static int indexOf(long value) {
+        if (value < LINEAR_LIMIT) return (int) Math.max(0, value);
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        if (exponent >= MAX_EXPONENT) return BUCKETS - 1;
+        int sub = (int) (value >>> (exponent - SUB_BITS)) & (SUB_COUNT - 1);
+        return LINEAR_LIMIT + (exponent - SUB_BITS - 1) * SUB_COUNT + sub;
+    }
+
+    // Upper edge of a bucket, so reported percentiles never understate latency
+    private static long valueOf(int index) {
+        if (index < LINEAR_LIMIT) return index;
+        int exponent = (index - LINEAR_LIMIT) / SUB_COUNT + SUB_BITS + 1;
+        int sub = (index - LINEAR_LIMIT) % SUB_COUNT;
+        long width = 1L << (exponent - SUB_BITS);
+        return (1L << exponent) + (sub + 1) * width - 1;
+    }
+
+    public void record(long nanos) {
+        counts[indexOf(nanos)]++;
+        total++;
+        if (nanos > max) max = nanos;
+    }
+
+    public void add(LatencyHistogram other) {
+        for (int i = 0; i < BUCKETS; i++) counts[i] += other.counts[i];
+        total += other.total;
+        max = Math.max(max, other.max);
+    }
+
+    public long getCount() {
+        return total;
+    }
+
+    public long getMax() {
+        return max;
+    }
+
+    // percentile in [0, 100]
+    public long percentile(double percentile) {
+        if (total == 0) return 0;
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) return Math.min(valueOf(i), max);
+        }
+        return max;
+    }
+}
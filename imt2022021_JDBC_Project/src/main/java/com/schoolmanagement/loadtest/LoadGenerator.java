@@ -0,0 +1,166 @@
+package com.schoolmanagement.loadtest;
+
+import com.schoolmanagement.dao.StudentDAO;
+import com.schoolmanagement.dao.StudentStore;
+import com.schoolmanagement.dao.memory.InMemoryDatabase;
+import com.schoolmanagement.database.DatabaseConfig;
+import com.schoolmanagement.models.Course;
+import com.schoolmanagement.models.Student;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+// Open-loop load generator. Request n is scheduled for start + n / rate regardless of how
+// earlier requests fared; clients claim the next slot, wait for its time and run it. When
+// every client is busy the schedule keeps advancing, and the delay shows up in the latency
+// measured from the scheduled time (coordinated-omission correction) instead of silently
+// lowering the offered rate the way a closed-loop "call, wait, call" benchmark does.
+public class LoadGenerator {
+
+    // One store per client; for JDBC that is one connection each, like one pooled connection per worker
+    public interface ClientFactory {
+        StudentStore open(int client) throws SQLException;
+    }
+
+    private final LoadSpec spec;
+
+    public LoadGenerator(LoadSpec spec) {
+        this.spec = spec;
+    }
+
+    public LoadReport run(ClientFactory factory) throws SQLException, InterruptedException {
+        StudentStore[] stores = new StudentStore[spec.clients];
+        for (int i = 0; i < spec.clients; i++) stores[i] = factory.open(i);
+
+        long interval = Math.max(1, (long) (1_000_000_000L / spec.ratePerSecond));
+        // Small lead so every client thread is parked on its first slot before the clock starts
+        long start = System.nanoTime() + 50_000_000L;
+        long measureFrom = start + spec.warmupMillis * 1_000_000L;
+        long end = measureFrom + spec.durationMillis * 1_000_000L;
+        AtomicLong sequence = new AtomicLong();
+
+        List<Client> clients = new ArrayList<>(spec.clients);
+        for (int i = 0; i < spec.clients; i++) {
+            Client client = new Client(stores[i], new SplittableRandom(spec.seed + i), sequence, start, interval, measureFrom, end);
+            Thread thread = new Thread(client, "load-client-" + (i + 1));
+            client.thread = thread;
+            clients.add(client);
+            thread.start();
+        }
+
+        long lastDone = measureFrom;
+        for (Client client : clients) {
+            client.thread.join();
+            lastDone = Math.max(lastDone, client.lastDone);
+        }
+        // Throughput is over the time the measured requests actually took to finish, which runs
+        // past the window whenever the system could not keep up with the offered rate
+        LoadReport report = new LoadReport(spec.ratePerSecond, spec.durationMillis / 1000.0, (lastDone - measureFrom) / 1e9);
+        for (Client client : clients) {
+            for (Operation op : client.latency.keySet()) {
+                report.add(op, client.latency.get(op), client.service.get(op), client.errors.getOrDefault(op, 0L));
+            }
+        }
+        return report;
+    }
+
+    private class Client implements Runnable {
+        private final StudentStore students;
+        private final SplittableRandom random;
+        private final AtomicLong sequence;
+        private final long start;
+        private final long interval;
+        private final long measureFrom;
+        private final long end;
+        private final Map<Operation, LatencyHistogram> latency = new EnumMap<>(Operation.class);
+        private final Map<Operation, LatencyHistogram> service = new EnumMap<>(Operation.class);
+        private final Map<Operation, Long> errors = new EnumMap<>(Operation.class);
+        private Thread thread;
+        // Completion time of the last measured request
+        private long lastDone;
+
+        Client(StudentStore students, SplittableRandom random, AtomicLong sequence,
+               long start, long interval, long measureFrom, long end) {
+            this.students = students;
+            this.random = random;
+            this.sequence = sequence;
+            this.start = start;
+            this.interval = interval;
+            this.measureFrom = measureFrom;
+            this.end = end;
+        }
+
+        @Override
+        public void run() {
+            while (true) {
+                long scheduled = start + sequence.getAndIncrement() * interval;
+                if (scheduled >= end) return;
+                long now;
+                while ((now = System.nanoTime()) < scheduled) LockSupport.parkNanos(scheduled - now);
+
+                Operation op = spec.nextOperation(random);
+                boolean failed = false;
+                long begin = System.nanoTime();
+                try {
+                    op.run(students, random, spec);
+                } catch (SQLException | RuntimeException e) {
+                    failed = true;
+                }
+                long done = System.nanoTime();
+
+                if (scheduled < measureFrom) continue;
+                lastDone = done;
+                latency.computeIfAbsent(op, k -> new LatencyHistogram()).record(done - scheduled);
+                service.computeIfAbsent(op, k -> new LatencyHistogram()).record(done - begin);
+                if (failed) errors.merge(op, 1L, Long::sum);
+            }
+        }
+    }
+
+    // Fills an in-memory database with the spec's students and courses, for dry runs without MySQL
+    static InMemoryDatabase seededInMemory(LoadSpec spec) throws SQLException {
+        InMemoryDatabase db = new InMemoryDatabase();
+        for (int i = 1; i <= spec.courses; i++) db.courseDAO().create(new Course(0, "C" + i, "Course " + i, ""));
+        for (int i = 1; i <= spec.students; i++) {
+            db.studentDAO().create(new Student(0, "R" + i, "Student " + i, "2003-01-01", "", 3.0f));
+        }
+        return db;
+    }
+
+    // java ... LoadGenerator --rate=800 --clients=16 --duration=120 --mix=read=50,books=20,enroll=20,cgpa=10
+    //   [--students=N --courses=N] [--target=db|memory]; run against data from SyntheticDataGenerator
+    public static void main(String[] args) throws Exception {
+        LoadSpec spec = LoadSpec.fromArgs(args);
+        boolean inMemory = false;
+        for (String arg : args) {
+            if (arg.equals("--target=memory")) inMemory = true;
+        }
+        System.out.println("Running " + spec);
+
+        List<Connection> connections = new ArrayList<>();
+        ClientFactory factory;
+        if (inMemory) {
+            InMemoryDatabase db = seededInMemory(spec);
+            factory = client -> db.studentDAO();
+        } else {
+            DatabaseConfig config = DatabaseConfig.load();
+            factory = client -> {
+                Connection connection = config.openConnection();
+                connections.add(connection);
+                return new StudentDAO(connection);
+            };
+        }
+        try {
+            System.out.print(new LoadGenerator(spec).run(factory));
+        } finally {
+            for (Connection connection : connections) connection.close();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.schoolmanagement.loadtest;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+// Measured-window results. "Latency" runs from each request's scheduled start, so time spent
+// waiting behind a slow request counts; "service" is the call alone. A large gap between the
+// two means the clients could not keep up with the offered rate. Throughput divides by the time
+// from the start of the window to the last measured completion, not by the nominal window, so a
+// saturated run reports less than it was offered.
+public class LoadReport {
+    private final Map<Operation, LatencyHistogram> latency = new EnumMap<>(Operation.class);
+    private final Map<Operation, LatencyHistogram> service = new EnumMap<>(Operation.class);
+    private final Map<Operation, Long> errors = new EnumMap<>(Operation.class);
+    private final double offeredRate;
+    private final double windowSeconds;
+    private final double elapsedSeconds;
+
+    LoadReport(double offeredRate, double windowSeconds, double elapsedSeconds) {
+        this.offeredRate = offeredRate;
+        this.windowSeconds = windowSeconds;
+        this.elapsedSeconds = elapsedSeconds;
+    }
+
+    void add(Operation op, LatencyHistogram latencyPart, LatencyHistogram servicePart, long errorCount) {
+        latency.computeIfAbsent(op, k -> new LatencyHistogram()).add(latencyPart);
+        service.computeIfAbsent(op, k -> new LatencyHistogram()).add(servicePart);
+        errors.merge(op, errorCount, Long::sum);
+    }
+
+    public LatencyHistogram latency(Operation op) {
+        return latency.getOrDefault(op, new LatencyHistogram());
+    }
+
+    public LatencyHistogram serviceTime(Operation op) {
+        return service.getOrDefault(op, new LatencyHistogram());
+    }
+
+    public long errors(Operation op) {
+        return errors.getOrDefault(op, 0L);
+    }
+
+    public long totalCount() {
+        return latency.values().stream().mapToLong(LatencyHistogram::getCount).sum();
+    }
+
+    public double throughput() {
+        return rate(totalCount());
+    }
+
+    // Seconds from the start of the measured window to the last measured completion
+    public double elapsedSeconds() {
+        return elapsedSeconds;
+    }
+
+    private double rate(long count) {
+        return elapsedSeconds == 0 ? 0 : count / elapsedSeconds;
+    }
+
+    private static String ms(long nanos) {
+        return String.format(Locale.ROOT, "%9.2f", nanos / 1e6);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format(Locale.ROOT, "Offered %.0f ops/s for %.1f s, achieved %.1f ops/s (last request done after %.1f s)%n",
+                offeredRate, windowSeconds, throughput(), elapsedSeconds));
+        sb.append(String.format(Locale.ROOT, "%-14s %9s %9s %9s %9s %9s %9s %9s %7s%n",
+                "operation", "ops/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "svc p99", "errors"));
+        for (Map.Entry<Operation, LatencyHistogram> e : latency.entrySet()) {
+            LatencyHistogram h = e.getValue();
+            sb.append(String.format(Locale.ROOT, "%-14s %9.1f %s %s %s %s %s %s %7d%n", e.getKey(), rate(h.getCount()),
+                    ms(h.percentile(50)), ms(h.percentile(90)), ms(h.percentile(99)), ms(h.percentile(99.9)),
+                    ms(h.getMax()), ms(serviceTime(e.getKey()).percentile(99)), errors(e.getKey())));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,115 @@
+package com.schoolmanagement.loadtest;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+// What to replay and how hard: operation weights, arrival rate, run length and client count
+public class LoadSpec {
+    private final Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+    private Operation[] wheel;
+    double ratePerSecond = 500;
+    long durationMillis = 60_000;
+    long warmupMillis = 10_000;
+    int clients = 8;
+    int students = 100_000;
+    int courses = 1_000;
+    long seed = 42;
+
+    public LoadSpec() {
+        mix("read=50,books=20,enroll=20,cgpa=10");
+    }
+
+    // "read=50,books=20,enroll=20,cgpa=10"; weights are relative, they need not sum to 100
+    public LoadSpec mix(String mix) {
+        weights.clear();
+        for (String part : mix.split(",")) {
+            String[] kv = part.trim().split("=");
+            if (kv.length != 2) throw new IllegalArgumentException("Bad mix entry '" + part + "'");
+            int weight = Integer.parseInt(kv[1].trim());
+            if (weight > 0) weights.put(Operation.fromKey(kv[0].trim()), weight);
+        }
+        if (weights.isEmpty()) throw new IllegalArgumentException("Mix has no operations: " + mix);
+
+        int total = weights.values().stream().mapToInt(Integer::intValue).sum();
+        wheel = new Operation[total];
+        int slot = 0;
+        for (Map.Entry<Operation, Integer> e : weights.entrySet()) {
+            for (int i = 0; i < e.getValue(); i++) wheel[slot++] = e.getKey();
+        }
+        return this;
+    }
+
+    public LoadSpec rate(double ratePerSecond) {
+        this.ratePerSecond = ratePerSecond;
+        return this;
+    }
+
+    public LoadSpec duration(long durationMillis) {
+        this.durationMillis = durationMillis;
+        return this;
+    }
+
+    public LoadSpec warmup(long warmupMillis) {
+        this.warmupMillis = warmupMillis;
+        return this;
+    }
+
+    public LoadSpec clients(int clients) {
+        this.clients = clients;
+        return this;
+    }
+
+    // Id ranges to draw from; match the counts the dataset was generated with
+    public LoadSpec population(int students, int courses) {
+        this.students = students;
+        this.courses = courses;
+        return this;
+    }
+
+    public LoadSpec seed(long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    Operation nextOperation(SplittableRandom random) {
+        return wheel[random.nextInt(wheel.length)];
+    }
+
+    int randomStudent(SplittableRandom random) {
+        return 1 + random.nextInt(students);
+    }
+
+    int randomCourse(SplittableRandom random) {
+        return 1 + random.nextInt(courses);
+    }
+
+    public static LoadSpec fromArgs(String[] args) {
+        LoadSpec spec = new LoadSpec();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) continue;
+            String key = arg.substring(2, arg.indexOf('='));
+            String value = arg.substring(arg.indexOf('=') + 1);
+            switch (key) {
+                case "mix": spec.mix(value); break;
+                case "rate": spec.rate(Double.parseDouble(value)); break;
+                case "duration": spec.duration(Long.parseLong(value) * 1000); break;
+                case "warmup": spec.warmup(Long.parseLong(value) * 1000); break;
+                case "clients": spec.clients(Integer.parseInt(value)); break;
+                case "students": spec.students = Integer.parseInt(value); break;
+                case "courses": spec.courses = Integer.parseInt(value); break;
+                case "seed": spec.seed(Long.parseLong(value)); break;
+                case "target": break;
+                default: throw new IllegalArgumentException("Unknown option --" + key);
+            }
+        }
+        return spec;
+    }
+
+    @Override
+    public String toString() {
+        return "LoadSpec [mix=" + weights + ", rate=" + ratePerSecond + "/s, duration=" + durationMillis / 1000
+                + "s, warmup=" + warmupMillis / 1000 + "s, clients=" + clients + ", students=" + students
+                + ", courses=" + courses + "]";
+    }
+}
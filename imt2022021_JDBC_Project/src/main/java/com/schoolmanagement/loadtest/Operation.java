@@ -0,0 +1,62 @@
+package com.schoolmanagement.loadtest;
+
+import com.schoolmanagement.dao.StudentStore;
+
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.util.SplittableRandom;
+
+// The request types the harness replays, each mapped onto the store calls SchoolService makes
+public enum Operation {
+    STUDENT_BY_ID("read") {
+        @Override
+        void run(StudentStore students, SplittableRandom random, LoadSpec spec) throws SQLException {
+            students.read(spec.randomStudent(random));
+        }
+    },
+    STUDENT_BOOKS("books") {
+        @Override
+        void run(StudentStore students, SplittableRandom random, LoadSpec spec) {
+            students.getBooksForStudent(spec.randomStudent(random));
+        }
+    },
+    // Add/drop: enrolling in a course the student already has drops it instead, so a long run
+    // keeps the enrollments table at a steady size
+    ENROLL("enroll") {
+        @Override
+        void run(StudentStore students, SplittableRandom random, LoadSpec spec) throws SQLException {
+            int studentId = spec.randomStudent(random);
+            int courseId = spec.randomCourse(random);
+            try {
+                students.addStudentToCourse(studentId, courseId);
+            } catch (SQLIntegrityConstraintViolationException e) {
+                students.removeStudentFromCourse(studentId, courseId);
+            }
+        }
+    },
+    UPDATE_CGPA("cgpa") {
+        @Override
+        void run(StudentStore students, SplittableRandom random, LoadSpec spec) {
+            students.updateCGPA(spec.randomStudent(random), (float) Math.round(random.nextDouble(4.0) * 100) / 100);
+        }
+    };
+
+    private final String key;
+
+    Operation(String key) {
+        this.key = key;
+    }
+
+    public String key() {
+        return key;
+    }
+
+    abstract void run(StudentStore students, SplittableRandom random, LoadSpec spec) throws SQLException;
+
+    public static Operation fromKey(String key) {
+        for (Operation op : values()) {
+            if (op.key.equals(key)) return op;
+        }
+        throw new IllegalArgumentException("Unknown operation '" + key + "'");
+    }
+}
@@ -0,0 +1,286 @@
+package com.schoolmanagement.main;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.sql.BatchUpdateException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+// Non-interactive mode for Main: one command per line, e.g.
+//
+//   add-student R2024001 "Asha Rao" 2005-04-01 "12 MG Road" 3.6
+//   enroll 17 4
+//   update-cgpa 17 3.8
+//
+// Consecutive commands of the same kind are sent as one JDBC batch (a multi-row statement with
+// rewriteBatchedStatements), and every groupSize commands are committed together. Command order
+// is preserved: a change of command kind flushes the pending batch before the next one starts.
+// A failing group is rolled back and the run stops there; lines that don't parse are skipped and
+// listed in the summary. Writes go straight to the tables, so DAO change feeds are not notified.
+public class BatchScript {
+
+    enum Command {
+        ADD_STUDENT("add-student", "INSERT INTO students (roll_number, name, dob, address, cgpa) VALUES (?, ?, ?, ?, ?)",
+                "roll_number name dob address cgpa", "SSSSF"),
+        ADD_TEACHER("add-teacher", "INSERT INTO teachers (emp_id, name, dob, address, salary) VALUES (?, ?, ?, ?, ?)",
+                "emp_id name dob address salary", "SSSSF"),
+        ADD_COURSE("add-course", "INSERT INTO courses (course_code, course_name, course_description) VALUES (?, ?, ?)",
+                "course_code name description", "SSS"),
+        ADD_LIBRARY("add-library", "INSERT INTO libraries (name) VALUES (?)", "name", "S"),
+        ADD_BOOK("add-book", "INSERT INTO books (book_id, title, author, library_id) VALUES (?, ?, ?, ?)",
+                "book_id title author library_id", "SSSI"),
+        ENROLL("enroll", "INSERT INTO enrollments (student_id, course_id) VALUES (?, ?)", "student_id course_id", "II"),
+        UNENROLL("unenroll", "DELETE FROM enrollments WHERE student_id = ? AND course_id = ?", "student_id course_id", "II"),
+        UPDATE_CGPA("update-cgpa", "UPDATE students SET cgpa = ? WHERE id = ?", "student_id cgpa", "IF", 1, 0),
+        UPDATE_ADDRESS("update-address", "UPDATE students SET address = ? WHERE roll_number = ?",
+                "roll_number address", "SS", 1, 0),
+        INCREMENT_SALARY("increment-salary", "UPDATE teachers SET salary = salary + ? WHERE id = ?",
+                "teacher_id amount", "IF", 1, 0),
+        MARK_BOOK("mark-book", "INSERT INTO course_books (course_id, book_id) VALUES (?, ?)", "book_id course_id", "II", 1, 0),
+        UNMARK_BOOK("unmark-book", "DELETE FROM course_books WHERE course_id = ? AND book_id = ?",
+                "book_id course_id", "II", 1, 0),
+        DELETE_STUDENT("delete-student", "DELETE FROM students WHERE id = ?", "student_id", "I"),
+        DELETE_TEACHER("delete-teacher", "DELETE FROM teachers WHERE id = ?", "teacher_id", "I"),
+        DELETE_COURSE("delete-course", "DELETE FROM courses WHERE course_id = ?", "course_id", "I"),
+        DELETE_BOOK("delete-book", "DELETE FROM books WHERE id = ?", "book_id", "I");
+
+        final String name;
+        final String sql;
+        final String usage;
+        // One letter per argument: S string, I int, F float
+        final String types;
+        // Argument index bound to each placeholder, when the SQL wants them in another order
+        final int[] order;
+
+        Command(String name, String sql, String usage, String types, int... order) {
+            this.name = name;
+            this.sql = sql;
+            this.usage = usage;
+            this.types = types;
+            this.order = order.length > 0 ? order : identity(types.length());
+        }
+
+        private static int[] identity(int n) {
+            int[] order = new int[n];
+            for (int i = 0; i < n; i++) order[i] = i;
+            return order;
+        }
+
+        static Command byName(String name) {
+            for (Command c : values()) {
+                if (c.name.equals(name)) return c;
+            }
+            return null;
+        }
+    }
+
+    public static class Summary {
+        private final Map<Command, Integer> counts = new EnumMap<>(Command.class);
+        private final List<String> rejected = new ArrayList<>();
+        private int lines;
+        private int committed;
+        private int groups;
+        private long affectedRows;
+        private String failure;
+        private long nanos;
+
+        public int getCommitted() {
+            return committed;
+        }
+
+        public int getRejected() {
+            return rejected.size();
+        }
+
+        public long getAffectedRows() {
+            return affectedRows;
+        }
+
+        public String getFailure() {
+            return failure;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder();
+            double seconds = nanos / 1e9;
+            sb.append(String.format("Read %d lines; committed %d commands in %d transactions (%d rows affected) in %.2f s",
+                    lines, committed, groups, affectedRows, seconds));
+            if (seconds > 0) sb.append(String.format(", %.0f commands/s", committed / seconds));
+            sb.append('\n');
+            for (Map.Entry<Command, Integer> e : counts.entrySet()) {
+                sb.append(String.format("  %-18s %d%n", e.getKey().name, e.getValue()));
+            }
+            if (!rejected.isEmpty()) {
+                sb.append("Skipped ").append(rejected.size()).append(" unparseable lines:\n");
+                for (String r : rejected.subList(0, Math.min(10, rejected.size()))) sb.append("  ").append(r).append('\n');
+                if (rejected.size() > 10) sb.append("  ...\n");
+            }
+            if (failure != null) sb.append("STOPPED: ").append(failure).append('\n');
+            return sb.toString();
+        }
+    }
+
+    private final Connection connection;
+    private final int groupSize;
+
+    public BatchScript(Connection connection, int groupSize) {
+        this.connection = connection;
+        this.groupSize = Math.max(1, groupSize);
+    }
+
+    public Summary run(Reader script) throws IOException, SQLException {
+        Summary summary = new Summary();
+        long start = System.nanoTime();
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        Map<Command, PreparedStatement> statements = new EnumMap<>(Command.class);
+        BufferedReader in = script instanceof BufferedReader ? (BufferedReader) script : new BufferedReader(script);
+
+        Command pending = null;
+        int pendingCount = 0;
+        int groupCount = 0;
+        int groupFirstLine = 0;
+        // Rows the open transaction changed; added to the summary only once it commits
+        long groupRows = 0;
+        Map<Command, Integer> groupCounts = new EnumMap<>(Command.class);
+        try {
+            String line;
+            while ((line = in.readLine()) != null) {
+                summary.lines++;
+                String text = line.trim();
+                if (text.isEmpty() || text.startsWith("#")) continue;
+
+                List<String> args = tokenize(text);
+                Command command = Command.byName(args.get(0));
+                if (command == null) {
+                    summary.rejected.add("line " + summary.lines + ": unknown command '" + args.get(0) + "'");
+                    continue;
+                }
+                if (args.size() - 1 != command.types.length()) {
+                    summary.rejected.add("line " + summary.lines + ": usage " + command.name + " " + command.usage);
+                    continue;
+                }
+
+                if (pending != null && pending != command) {
+                    groupRows += flush(statements.get(pending));
+                    pendingCount = 0;
+                }
+                PreparedStatement ps = statements.get(command);
+                if (ps == null) {
+                    ps = connection.prepareStatement(command.sql);
+                    statements.put(command, ps);
+                }
+                try {
+                    bind(ps, command, args);
+                } catch (NumberFormatException e) {
+                    summary.rejected.add("line " + summary.lines + ": " + e.getMessage() + " (usage " + command.name
+                            + " " + command.usage + ")");
+                    ps.clearParameters();
+                    continue;
+                }
+                ps.addBatch();
+                if (groupCount == 0) groupFirstLine = summary.lines;
+                pending = command;
+                pendingCount++;
+                groupCount++;
+                groupCounts.merge(command, 1, Integer::sum);
+
+                if (groupCount == groupSize) {
+                    groupRows += flush(ps);
+                    connection.commit();
+                    commitGroup(summary, groupCounts, groupCount, groupRows);
+                    groupRows = 0;
+                    pending = null;
+                    pendingCount = 0;
+                    groupCount = 0;
+                }
+            }
+            if (pending != null && pendingCount > 0) groupRows += flush(statements.get(pending));
+            if (groupCount > 0) {
+                connection.commit();
+                commitGroup(summary, groupCounts, groupCount, groupRows);
+            }
+        } catch (SQLException e) {
+            connection.rollback();
+            summary.failure = "transaction starting at line " + groupFirstLine + " rolled back: " + e.getMessage();
+        } finally {
+            for (PreparedStatement ps : statements.values()) ps.close();
+            connection.setAutoCommit(autoCommit);
+        }
+        summary.nanos = System.nanoTime() - start;
+        return summary;
+    }
+
+    private static void commitGroup(Summary summary, Map<Command, Integer> groupCounts, int groupCount, long groupRows) {
+        for (Map.Entry<Command, Integer> e : groupCounts.entrySet()) summary.counts.merge(e.getKey(), e.getValue(), Integer::sum);
+        groupCounts.clear();
+        summary.committed += groupCount;
+        summary.affectedRows += groupRows;
+        summary.groups++;
+    }
+
+    private static long flush(PreparedStatement ps) throws SQLException {
+        long rows = 0;
+        try {
+            for (int n : ps.executeBatch()) {
+                if (n > 0) rows += n;
+            }
+        } catch (BatchUpdateException e) {
+            throw new SQLException(e.getMessage(), e.getSQLState(), e.getErrorCode(), e);
+        }
+        return rows;
+    }
+
+    private static void bind(PreparedStatement ps, Command command, List<String> args) throws SQLException {
+        for (int p = 0; p < command.order.length; p++) {
+            int a = command.order[p];
+            String value = args.get(a + 1);
+            switch (command.types.charAt(a)) {
+                case 'I': ps.setInt(p + 1, Integer.parseInt(value)); break;
+                case 'F': ps.setFloat(p + 1, Float.parseFloat(value)); break;
+                default: ps.setString(p + 1, value);
+            }
+        }
+    }
+
+    // Whitespace-separated words; "double quotes" keep spaces, \" and \\ escape inside them
+    static List<String> tokenize(String line) {
+        List<String> tokens = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        boolean inToken = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '\\' && i + 1 < line.length()) current.append(line.charAt(++i));
+                else if (c == '"') quoted = false;
+                else current.append(c);
+            } else if (c == '"') {
+                quoted = true;
+                inToken = true;
+            } else if (Character.isWhitespace(c)) {
+                if (inToken) tokens.add(current.toString());
+                current.setLength(0);
+                inToken = false;
+            } else {
+                current.append(c);
+                inToken = true;
+            }
+        }
+        if (inToken) tokens.add(current.toString());
+        return tokens;
+    }
+
+    static String help() {
+        StringBuilder sb = new StringBuilder("Script commands:\n");
+        for (Command c : Command.values()) sb.append(String.format("  %-18s %s%n", c.name, c.usage));
+        return sb.toString();
+    }
+}
@@ -4,7 +4,6 @@ import com.schoolmanagement.models.*;
 import com.schoolmanagement.services.SchoolService;
 
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
 
 // public class Main {
@@ -107,7 +106,13 @@ import java.sql.SQLException;
 
 
 
+import com.schoolmanagement.database.DatabaseConfig;
 import com.schoolmanagement.database.DatabaseManager;
+import com.schoolmanagement.database.MigrationRunner;
+import com.schoolmanagement.database.ReplicaRouter;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.util.InputMismatchException;
 import java.util.List;
 import java.util.Scanner;
@@ -117,18 +122,47 @@ public class Main {
     private static SchoolService schoolService;
 
     public static void main(String[] args) {
-        String jdbcURL = "jdbc:mysql://localhost:3306/school_db"; // Replace with your database URL
-        String username = "root";  // Replace with your DB username
-        String password = "admin";  // Replace with your DB password
         try {
-            // Get the database connection
-            // Connection connection = DatabaseManager.getInstance().getConnection();
-            Connection connection = DriverManager.getConnection(jdbcURL, username, password);
+            // Connection settings come from school-db.properties, SCHOOL_DB_* env vars or -Dschool.db.* properties
+            DatabaseManager databaseManager = DatabaseManager.getInstance();
+            DatabaseConfig config = databaseManager.getConfig();
+            Connection connection = databaseManager.getConnection();
+            System.out.print(databaseManager.selfCheck());
+
+            // school.db.migrate=true brings the schema up to date before the menu starts
+            if (Boolean.parseBoolean(config.get("migrate"))) {
+                List<MigrationRunner.Migration> applied = MigrationRunner.forConfig(connection, config).migrate();
+                System.out.println(applied.isEmpty() ? "Schema is up to date" : "Applied migrations " + applied);
+            }
 
+            // --script=<file> [--group=N]: run a command file in batched transactions instead of the menu
+            String script = option(args, "script", null);
+            if (script != null) {
+                if (script.equals("help")) {
+                    System.out.print(BatchScript.help());
+                    return;
+                }
+                int group = Integer.parseInt(option(args, "group", "1000"));
+                BatchScript.Summary summary;
+                try (Reader reader = Files.newBufferedReader(Paths.get(script))) {
+                    summary = new BatchScript(connection, group).run(reader);
+                }
+                System.out.print(summary);
+                if (summary.getFailure() != null) System.exit(1);
+                return;
+            }
 
             // Initialize the service with the connection
             schoolService = new SchoolService(connection);
 
+            // Optional read replicas: school.db.replicas=jdbc:mysql://host1/school_db,jdbc:mysql://host2/school_db
+            List<String> replicas = config.getReplicaUrls();
+            ReplicaRouter replicaRouter = null;
+            if (!replicas.isEmpty() && !config.isEmbedded()) {
+                replicaRouter = ReplicaRouter.connect(connection, config);
+                schoolService.attachReplicaRouter(replicaRouter);
+            }
+
             // Start CLI Menu
             Scanner scanner = new Scanner(System.in);
             boolean running = true;
@@ -172,6 +206,8 @@ public class Main {
                     default: System.out.println("Invalid choice! Please select a valid option.");
                 }
             }
+            schoolService.close();
+            if (replicaRouter != null) replicaRouter.close();
 
         } catch (Exception e) {
             System.out.println("Error: Unable to connect to the database.");
@@ -179,6 +215,14 @@ public class Main {
         }
     }
 
+    // Value of --name=value, or fallback when absent
+    private static String option(String[] args, String name, String fallback) {
+        for (String arg : args) {
+            if (arg.startsWith("--" + name + "=")) return arg.substring(name.length() + 3);
+        }
+        return fallback;
+    }
+
     // Display Menu
     private static void showMenu() {
         System.out.println("\n====== School Management System ======");
@@ -414,7 +458,6 @@ public class Main {
     // Exit application
     private static void exitApplication() {
         System.out.println("Exiting the application...");
-        System.exit(0);
     }
 
     // Additional functionalities for books, libraries, etc.
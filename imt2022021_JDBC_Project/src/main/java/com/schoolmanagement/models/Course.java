@@ -2,6 +2,7 @@ package com.schoolmanagement.models;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Supplier;
 
 public class Course {
     private int courseId;
@@ -9,13 +10,14 @@ public class Course {
     private String courseName;
     private String courseDescription;
     private List<Student> students;
+    // Fetches enrolled students on first getStudents(); set by CourseDAO, null once loaded
+    private Supplier<List<Student>> studentsLoader;
 
     public Course(int courseId, String courseCode, String courseName, String courseDescription) {
         this.courseId = courseId;
         this.courseCode = courseCode;
         this.courseName = courseName;
         this.courseDescription = courseDescription;
-        this.students = new ArrayList<>();
     }
 
     public int getCourseId() {
@@ -51,15 +53,37 @@ public class Course {
     }
 
     public List<Student> getStudents() {
+        if (studentsLoader != null) {
+            List<Student> loaded = studentsLoader.get();
+            if (loaded != null) {  // null means the load failed; try again on the next access
+                students = new ArrayList<>(loaded);
+                studentsLoader = null;
+            }
+        }
+        if (students == null) students = new ArrayList<>();
         return students;
     }
 
+    public void setStudentsLoader(Supplier<List<Student>> studentsLoader) {
+        this.studentsLoader = studentsLoader;
+    }
+
+    // Used by batch fetches that load many courses' students in one query
+    public void setStudents(List<Student> students) {
+        this.students = new ArrayList<>(students);
+        this.studentsLoader = null;
+    }
+
+    public boolean isStudentsLoaded() {
+        return studentsLoader == null;
+    }
+
     public void enrollStudent(Student student) {
-        this.students.add(student);
+        getStudents().add(student);
     }
 
     public void removeStudent(Student student) {
-        this.students.remove(student);
+        getStudents().remove(student);
     }
 
     @Override
@@ -1,10 +1,15 @@
 package com.schoolmanagement.models;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Supplier;
 
 public class Library {
     private int id;
     private String name;
+    private List<Book> books;
+    // Fetches the library's books on first getBooks(); set by LibraryDAO, null once loaded
+    private Supplier<List<Book>> booksLoader;
 
     public Library(int id, String name) {
         this.id = id;
@@ -28,6 +33,30 @@ public class Library {
         this.name = name;
     }
 
+    public List<Book> getBooks() {
+        if (booksLoader != null) {
+            List<Book> loaded = booksLoader.get();
+            if (loaded != null) {  // null means the load failed; try again on the next access
+                books = new ArrayList<>(loaded);
+                booksLoader = null;
+            }
+        }
+        if (books == null) books = new ArrayList<>();
+        return books;
+    }
+
+    public void setBooksLoader(Supplier<List<Book>> booksLoader) {
+        this.booksLoader = booksLoader;
+    }
+
+    public void setBooks(List<Book> books) {
+        this.books = new ArrayList<>(books);
+        this.booksLoader = null;
+    }
+
+    public boolean isBooksLoaded() {
+        return booksLoader == null;
+    }
 
     @Override
     public String toString() {
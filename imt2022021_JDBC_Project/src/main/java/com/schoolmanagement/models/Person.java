@@ -17,14 +17,26 @@ public abstract class Person {
         return id;
     }
 
+    public void setId(int id) {
+        this.id = id;
+    }
+
     public String getName() {
         return name;
     }
 
+    public void setName(String name) {
+        this.name = name;
+    }
+
     public String getDob() {
         return dob;
     }
 
+    public void setDob(String dob) {
+        this.dob = dob;
+    }
+
     public String getAddress() {
         return address;
     }
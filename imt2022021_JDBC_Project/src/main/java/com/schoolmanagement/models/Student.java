@@ -1,8 +1,15 @@
 package com.schoolmanagement.models;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
 public class Student extends Person {
     private String rollNumber;
     private float cgpa;
+    private List<Course> courses;
+    // Fetches enrolled courses on first getCourses(); set by StudentDAO, null once loaded
+    private Supplier<List<Course>> coursesLoader;
 
     public Student(int id, String rollNumber, String name, String dob, String address, float cgpa) {
         super(id, name, dob, address);
@@ -30,6 +37,31 @@ public class Student extends Person {
         this.cgpa = newCgpa;
     }
 
+    public List<Course> getCourses() {
+        if (coursesLoader != null) {
+            List<Course> loaded = coursesLoader.get();
+            if (loaded != null) {  // null means the load failed; try again on the next access
+                courses = new ArrayList<>(loaded);
+                coursesLoader = null;
+            }
+        }
+        if (courses == null) courses = new ArrayList<>();
+        return courses;
+    }
+
+    public void setCoursesLoader(Supplier<List<Course>> coursesLoader) {
+        this.coursesLoader = coursesLoader;
+    }
+
+    public void setCourses(List<Course> courses) {
+        this.courses = new ArrayList<>(courses);
+        this.coursesLoader = null;
+    }
+
+    public boolean isCoursesLoaded() {
+        return coursesLoader == null;
+    }
+
     @Override
     public String toString() {
         return "Student [rollNumber=" + rollNumber + ", cgpa=" + cgpa + ", name=" + getName() + "]";
@@ -0,0 +1,19 @@
+package com.schoolmanagement.models.compact;
+
+import com.schoolmanagement.models.Book;
+
+// Immutable book row with pooled title and author
+public record CompactBook(int id, String bookId, String title, String author, int libraryId) {
+
+    public static CompactBook of(int id, String bookId, String title, String author, int libraryId, StringPool pool) {
+        return new CompactBook(id, bookId, pool.intern(title), pool.intern(author), libraryId);
+    }
+
+    public static CompactBook of(Book b, StringPool pool) {
+        return of(b.getId(), b.getBookId(), b.getTitle(), b.getAuthor(), b.getLibraryId(), pool);
+    }
+
+    public Book toBook() {
+        return new Book(id, bookId, title, author, libraryId);
+    }
+}
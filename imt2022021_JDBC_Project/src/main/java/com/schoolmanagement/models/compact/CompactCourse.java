@@ -0,0 +1,21 @@
+package com.schoolmanagement.models.compact;
+
+import com.schoolmanagement.models.Course;
+
+// Immutable course row; enrolments are looked up through the stores, not carried along.
+// Only the name is pooled: descriptions are free text, unique per course, and would just fill the pool.
+public record CompactCourse(int courseId, String courseCode, String courseName, String courseDescription) {
+
+    public static CompactCourse of(int courseId, String courseCode, String courseName, String courseDescription,
+                                   StringPool pool) {
+        return new CompactCourse(courseId, courseCode, pool.intern(courseName), courseDescription);
+    }
+
+    public static CompactCourse of(Course c, StringPool pool) {
+        return of(c.getCourseId(), c.getCourseCode(), c.getCourseName(), c.getCourseDescription(), pool);
+    }
+
+    public Course toCourse() {
+        return new Course(courseId, courseCode, courseName, courseDescription);
+    }
+}
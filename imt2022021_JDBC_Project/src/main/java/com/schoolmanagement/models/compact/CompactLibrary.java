@@ -0,0 +1,15 @@
+package com.schoolmanagement.models.compact;
+
+import com.schoolmanagement.models.Library;
+
+// Immutable library row without the lazily loaded book list
+public record CompactLibrary(int id, String name) {
+
+    public static CompactLibrary of(Library l, StringPool pool) {
+        return new CompactLibrary(l.getId(), pool.intern(l.getName()));
+    }
+
+    public Library toLibrary() {
+        return new Library(id, name);
+    }
+}
@@ -0,0 +1,52 @@
+package com.schoolmanagement.models.compact;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+
+// What CompactStudent and CompactTeacher share. dob is an epoch day (days since 1970-01-01) instead
+// of a 10-character String, and the address is split at its last ", " so the city part, which
+// repeats, can be pooled while the street line stays per row.
+public interface CompactPerson {
+    // dob of a row whose date was missing or not ISO yyyy-MM-dd
+    int NO_DATE = Integer.MIN_VALUE;
+
+    int id();
+
+    String name();
+
+    int dob();
+
+    String addressLine();
+
+    String city();
+
+    default LocalDate birthDate() {
+        return dob() == NO_DATE ? null : LocalDate.ofEpochDay(dob());
+    }
+
+    // The address exactly as it was stored
+    default String address() {
+        return city() == null ? addressLine() : addressLine() + ", " + city();
+    }
+
+    static int epochDay(String isoDate) {
+        if (isoDate == null || isoDate.isEmpty()) return NO_DATE;
+        try {
+            return (int) LocalDate.parse(isoDate).toEpochDay();
+        } catch (DateTimeParseException e) {
+            return NO_DATE;
+        }
+    }
+
+    static String isoDate(int epochDay) {
+        return epochDay == NO_DATE ? "" : LocalDate.ofEpochDay(epochDay).toString();
+    }
+
+    // {line, city}; city is null when there is no ", "
+    static String[] splitAddress(String address, StringPool pool) {
+        if (address == null) return new String[2];
+        int comma = address.lastIndexOf(", ");
+        if (comma < 0) return new String[] { address, null };
+        return new String[] { address.substring(0, comma), pool.intern(address.substring(comma + 2)) };
+    }
+}
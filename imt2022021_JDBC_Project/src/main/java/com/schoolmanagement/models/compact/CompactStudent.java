@@ -0,0 +1,27 @@
+package com.schoolmanagement.models.compact;
+
+import com.schoolmanagement.models.Student;
+
+// Immutable student row for large caches: no lazy-load supplier, no course list, dob as an epoch
+// day and pooled name and city. Convert back with toStudent() where a Student is expected.
+public record CompactStudent(int id, String rollNumber, String name, int dob, String addressLine, String city,
+                             float cgpa) implements CompactPerson {
+
+    public static CompactStudent of(int id, String rollNumber, String name, String dob, String address, float cgpa,
+                                    StringPool pool) {
+        String[] parts = CompactPerson.splitAddress(address, pool);
+        return new CompactStudent(id, rollNumber, pool.intern(name), CompactPerson.epochDay(dob), parts[0], parts[1], cgpa);
+    }
+
+    public static CompactStudent of(Student s, StringPool pool) {
+        return of(s.getId(), s.getRollNumber(), s.getName(), s.getDob(), s.getAddress(), s.getCgpa(), pool);
+    }
+
+    public CompactStudent withCgpa(float newCgpa) {
+        return new CompactStudent(id, rollNumber, name, dob, addressLine, city, newCgpa);
+    }
+
+    public Student toStudent() {
+        return new Student(id, rollNumber, name, CompactPerson.isoDate(dob), address(), cgpa);
+    }
+}
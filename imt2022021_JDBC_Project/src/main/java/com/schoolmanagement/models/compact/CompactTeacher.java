@@ -0,0 +1,26 @@
+package com.schoolmanagement.models.compact;
+
+import com.schoolmanagement.models.Teacher;
+
+// Immutable teacher row for large caches, laid out like CompactStudent
+public record CompactTeacher(int id, String empId, String name, int dob, String addressLine, String city,
+                             float salary) implements CompactPerson {
+
+    public static CompactTeacher of(int id, String empId, String name, String dob, String address, float salary,
+                                    StringPool pool) {
+        String[] parts = CompactPerson.splitAddress(address, pool);
+        return new CompactTeacher(id, empId, pool.intern(name), CompactPerson.epochDay(dob), parts[0], parts[1], salary);
+    }
+
+    public static CompactTeacher of(Teacher t, StringPool pool) {
+        return of(t.getId(), t.getEmpId(), t.getName(), t.getDob(), t.getAddress(), t.getSalary(), pool);
+    }
+
+    public CompactTeacher withSalary(float newSalary) {
+        return new CompactTeacher(id, empId, name, dob, addressLine, city, newSalary);
+    }
+
+    public Teacher toTeacher() {
+        return new Teacher(id, empId, name, CompactPerson.isoDate(dob), address(), salary);
+    }
+}
@@ -0,0 +1,21 @@
+package com.schoolmanagement.models.compact;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Deduplicates strings that repeat across many rows (cities, authors, common names), so a cache of
+// a million rows holds one copy of "Bengaluru" instead of one per row. Unlike String.intern() the
+// pool belongs to its cache and is collected with it.
+public class StringPool {
+    private final Map<String, String> strings = new ConcurrentHashMap<>();
+
+    public String intern(String value) {
+        if (value == null) return null;
+        String existing = strings.putIfAbsent(value, value);
+        return existing != null ? existing : value;
+    }
+
+    public int size() {
+        return strings.size();
+    }
+}
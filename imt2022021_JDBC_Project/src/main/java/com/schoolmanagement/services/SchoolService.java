@@ -1,26 +1,67 @@
 package com.schoolmanagement.services;
 
 import com.schoolmanagement.dao.*;
+import com.schoolmanagement.dao.memory.InMemoryDatabase;
+import com.schoolmanagement.database.ReplicaRouter;
+import com.schoolmanagement.events.ChangeFeed;
 import com.schoolmanagement.models.*;
 
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.List;
 
-public class SchoolService {
+public class SchoolService implements AutoCloseable {
 
-    private final StudentDAO studentDAO;
-    private final TeacherDAO teacherDAO;
-    private final CourseDAO courseDAO;
-    private final BookDAO bookDAO;
-    private final LibraryDAO libraryDAO;
+    private final StudentStore studentDAO;
+    private final TeacherStore teacherDAO;
+    private final CourseStore courseDAO;
+    private final BookStore bookDAO;
+    private final LibraryStore libraryDAO;
 
     public SchoolService(Connection connection) {
-        this.studentDAO = new StudentDAO(connection);
-        this.teacherDAO = new TeacherDAO(connection);
-        this.courseDAO = new CourseDAO(connection);
-        this.bookDAO = new BookDAO(connection);
-        this.libraryDAO = new LibraryDAO(connection);
+        this(new StudentDAO(connection), new TeacherDAO(connection), new CourseDAO(connection),
+                new BookDAO(connection), new LibraryDAO(connection));
+    }
+
+    public SchoolService(StudentStore studentDAO, TeacherStore teacherDAO, CourseStore courseDAO,
+                         BookStore bookDAO, LibraryStore libraryDAO) {
+        this.studentDAO = studentDAO;
+        this.teacherDAO = teacherDAO;
+        this.courseDAO = courseDAO;
+        this.bookDAO = bookDAO;
+        this.libraryDAO = libraryDAO;
+    }
+
+    // Service over the in-memory DAOs: no database, state lives as long as the service
+    public static SchoolService inMemory() {
+        InMemoryDatabase db = new InMemoryDatabase();
+        return new SchoolService(db.studentDAO(), db.teacherDAO(), db.courseDAO(), db.bookDAO(), db.libraryDAO());
+    }
+
+    private List<EntityStore<?>> stores() {
+        return List.of(studentDAO, teacherDAO, courseDAO, bookDAO, libraryDAO);
+    }
+
+    // Routes every mutation made through this service onto the given change feed (JDBC DAOs only)
+    public void attachChangeFeed(ChangeFeed feed) {
+        for (EntityStore<?> store : stores()) {
+            if (store instanceof BaseDAO) ((BaseDAO<?>) store).setChangeFeed(feed);
+        }
+    }
+
+    // Sends the DAOs' read-only queries to replicas; writes stay on the service's connection
+    public void attachReplicaRouter(ReplicaRouter router) {
+        for (EntityStore<?> store : stores()) {
+            if (store instanceof BaseDAO) ((BaseDAO<?>) store).setReplicaRouter(router);
+        }
+    }
+
+    // Releases the JDBC DAOs' cached statements; the connection itself belongs to the caller
+    @Override
+    public void close() throws SQLException {
+        for (EntityStore<?> store : stores()) {
+            if (store instanceof BaseDAO) ((BaseDAO<?>) store).close();
+        }
     }
 
     // ------------------ STUDENTS ------------------
@@ -0,0 +1,12 @@
+package com.schoolmanagement.snapshot;
+
+import java.io.IOException;
+
+// A snapshot file that cannot be used: wrong format or version, or damaged
+public class SnapshotException extends IOException {
+    private static final long serialVersionUID = 1L;
+
+    public SnapshotException(String message) {
+        super(message);
+    }
+}
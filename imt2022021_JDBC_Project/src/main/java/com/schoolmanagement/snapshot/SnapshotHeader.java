@@ -0,0 +1,129 @@
+package com.schoolmanagement.snapshot;
+
+import java.nio.ByteBuffer;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Fixed-size start of a snapshot file: format version, when it was taken, a CRC32 of everything
+// after the header, and per table the row count, highest id and optionally the CHECKSUM TABLE value.
+// The same per-table figures read from a live database tell whether the snapshot still matches it.
+// Checksums are opt-in: on InnoDB CHECKSUM TABLE reads every row, while COUNT(*) and MAX(id) are
+// answered from an index.
+public class SnapshotHeader {
+    static final int MAGIC = 0x5343484C; // "SCHL"
+    static final short VERSION = 1;
+    static final int SIZE = 4 + 2 + 2 + 8 + SnapshotTable.values().length * 16 + 4 + 8;
+    // No checksum available (not asked for, not MySQL, or the table changed while it was being dumped)
+    static final long NO_CHECKSUM = -1;
+
+    private static final int TABLES = SnapshotTable.values().length;
+
+    final long[] rows = new long[TABLES];
+    final int[] maxIds = new int[TABLES];
+    final long[] checksums = new long[TABLES];
+    long createdMillis;
+    int dictionarySize;
+    long bodyCrc;
+
+    SnapshotHeader() {
+        Arrays.fill(checksums, NO_CHECKSUM);
+    }
+
+    public long getRows(SnapshotTable table) {
+        return rows[table.ordinal()];
+    }
+
+    public int getMaxId(SnapshotTable table) {
+        return maxIds[table.ordinal()];
+    }
+
+    public long getCreatedMillis() {
+        return createdMillis;
+    }
+
+    public int getDictionarySize() {
+        return dictionarySize;
+    }
+
+    // The same figures for the tables as they are now, without checksums
+    public static SnapshotHeader ofDatabase(Connection connection) throws SQLException {
+        return ofDatabase(connection, false);
+    }
+
+    // checksums: also run CHECKSUM TABLE (MySQL only), a full scan of every table
+    public static SnapshotHeader ofDatabase(Connection connection, boolean checksums) throws SQLException {
+        SnapshotHeader live = new SnapshotHeader();
+        live.createdMillis = System.currentTimeMillis();
+        boolean mysql = checksums && isMySql(connection);
+        try (Statement st = connection.createStatement()) {
+            for (SnapshotTable t : SnapshotTable.values()) {
+                String sql = "SELECT COUNT(*), " + (t.idColumn != null ? "COALESCE(MAX(" + t.idColumn + "), 0)" : "0")
+                        + " FROM " + t.table;
+                try (ResultSet rs = st.executeQuery(sql)) {
+                    rs.next();
+                    live.rows[t.ordinal()] = rs.getLong(1);
+                    live.maxIds[t.ordinal()] = rs.getInt(2);
+                }
+                if (mysql) live.checksums[t.ordinal()] = tableChecksum(st, t);
+            }
+        }
+        return live;
+    }
+
+    static boolean isMySql(Connection connection) throws SQLException {
+        return connection.getMetaData().getDatabaseProductName().equals("MySQL");
+    }
+
+    static long tableChecksum(Statement st, SnapshotTable t) throws SQLException {
+        try (ResultSet rs = st.executeQuery("CHECKSUM TABLE " + t.table)) {
+            if (!rs.next()) return NO_CHECKSUM;
+            long checksum = rs.getLong(2);
+            return rs.wasNull() ? NO_CHECKSUM : checksum;
+        }
+    }
+
+    // Empty when the snapshot matches live. Counts and max ids catch inserts and deletes; updates
+    // in place only show up when both sides were taken with checksums.
+    public List<String> differences(SnapshotHeader live) {
+        List<String> diffs = new ArrayList<>();
+        for (SnapshotTable t : SnapshotTable.values()) {
+            int i = t.ordinal();
+            if (rows[i] != live.rows[i]) {
+                diffs.add(t.table + ": " + rows[i] + " rows in snapshot, " + live.rows[i] + " in database");
+            } else if (maxIds[i] != live.maxIds[i]) {
+                diffs.add(t.table + ": max id " + maxIds[i] + " in snapshot, " + live.maxIds[i] + " in database");
+            } else if (checksums[i] != NO_CHECKSUM && live.checksums[i] != NO_CHECKSUM && checksums[i] != live.checksums[i]) {
+                diffs.add(t.table + ": table checksum changed");
+            }
+        }
+        return diffs;
+    }
+
+    void write(ByteBuffer out) {
+        out.putInt(MAGIC).putShort(VERSION).putShort((short) TABLES).putLong(createdMillis);
+        for (int i = 0; i < TABLES; i++) out.putInt((int) rows[i]).putInt(maxIds[i]).putLong(checksums[i]);
+        out.putInt(dictionarySize).putLong(bodyCrc);
+    }
+
+    static SnapshotHeader read(ByteBuffer in) throws SnapshotException {
+        if (in.remaining() < SIZE || in.getInt() != MAGIC) throw new SnapshotException("Not a snapshot file");
+        short version = in.getShort();
+        if (version != VERSION) throw new SnapshotException("Unsupported snapshot version " + version + " (expected " + VERSION + ")");
+        if (in.getShort() != TABLES) throw new SnapshotException("Snapshot has a different table list");
+        SnapshotHeader header = new SnapshotHeader();
+        header.createdMillis = in.getLong();
+        for (int i = 0; i < TABLES; i++) {
+            header.rows[i] = Integer.toUnsignedLong(in.getInt());
+            header.maxIds[i] = in.getInt();
+            header.checksums[i] = in.getLong();
+        }
+        header.dictionarySize = in.getInt();
+        header.bodyCrc = in.getLong();
+        return header;
+    }
+}
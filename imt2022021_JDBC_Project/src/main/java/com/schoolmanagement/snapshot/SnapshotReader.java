@@ -0,0 +1,146 @@
+package com.schoolmanagement.snapshot;
+
+import com.schoolmanagement.dao.memory.InMemoryDatabase;
+import com.schoolmanagement.models.Book;
+import com.schoolmanagement.models.Course;
+import com.schoolmanagement.models.Library;
+import com.schoolmanagement.models.Student;
+import com.schoolmanagement.models.Teacher;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.util.zip.CRC32;
+
+// Restores a SnapshotWriter file into the in-memory stores. The file is memory-mapped and decoded
+// in place; dictionary strings are decoded once and shared by every row that references them.
+// A file that is truncated, fails its CRC or decodes to rows the header doesn't announce is
+// rejected as a whole, never half-loaded.
+public final class SnapshotReader {
+
+    private final ByteBuffer in;
+    private final String[] dictionary;
+    private byte[] scratch = new byte[256];
+
+    private SnapshotReader(ByteBuffer in, int dictionarySize) {
+        this.in = in;
+        this.dictionary = new String[dictionarySize];
+    }
+
+    public static SnapshotHeader readHeader(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer head = ByteBuffer.allocate(SnapshotHeader.SIZE);
+            while (head.hasRemaining() && channel.read(head) >= 0) {
+                // keep reading until the header is complete or the file ends
+            }
+            head.flip();
+            return SnapshotHeader.read(head);
+        }
+    }
+
+    // Always loads into a database of its own, so a file rejected halfway leaves nothing behind
+    public static InMemoryDatabase restore(Path file) throws IOException {
+        InMemoryDatabase db = new InMemoryDatabase();
+        load(file, db);
+        return db;
+    }
+
+    private static void load(Path file, InMemoryDatabase db) throws IOException {
+        MappedByteBuffer map;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel is closed
+            map = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        SnapshotHeader header = SnapshotHeader.read(map.duplicate());
+        ByteBuffer body = map.position(SnapshotHeader.SIZE).slice();
+        CRC32 crc = new CRC32();
+        crc.update(body.duplicate());
+        if (crc.getValue() != header.bodyCrc) throw new SnapshotException(file + " is damaged (CRC mismatch)");
+
+        SnapshotReader reader = new SnapshotReader(body, header.dictionarySize);
+        try {
+            reader.section(-1, header, db);
+            for (SnapshotTable t : SnapshotTable.values()) reader.section(t.ordinal(), header, db);
+        } catch (BufferUnderflowException | IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new SnapshotException(file + " is damaged: " + e);
+        } catch (SQLIntegrityConstraintViolationException e) {
+            throw new SnapshotException(file + " holds inconsistent rows: " + e.getMessage());
+        }
+        if (body.hasRemaining()) throw new SnapshotException(file + " has " + body.remaining() + " trailing bytes");
+    }
+
+    // table -1 is the dictionary
+    private void section(int table, SnapshotHeader header, InMemoryDatabase db)
+            throws SnapshotException, SQLIntegrityConstraintViolationException {
+        int length = in.getInt();
+        int end = in.position() + length;
+        long rows = 0;
+        if (table < 0) {
+            for (int i = 0; i < dictionary.length; i++) dictionary[i] = string();
+        } else {
+            SnapshotTable t = SnapshotTable.values()[table];
+            while (in.position() < end) {
+                readRow(t, db);
+                rows++;
+            }
+            if (rows != header.rows[table]) {
+                throw new SnapshotException(t.getTable() + ": header says " + header.rows[table] + " rows, found " + rows);
+            }
+        }
+        if (in.position() != end) throw new SnapshotException("Section " + table + " does not end at its length");
+    }
+
+    private void readRow(SnapshotTable table, InMemoryDatabase db) throws SQLIntegrityConstraintViolationException {
+        switch (table) {
+            case STUDENTS:
+                db.load(new Student(varint(), string(), ref(), ref(), ref(), in.getFloat()));
+                break;
+            case TEACHERS:
+                db.load(new Teacher(varint(), string(), ref(), ref(), ref(), in.getFloat()));
+                break;
+            case COURSES:
+                db.load(new Course(varint(), string(), ref(), ref()));
+                break;
+            case LIBRARIES:
+                db.load(new Library(varint(), ref()));
+                break;
+            case BOOKS:
+                db.load(new Book(varint(), string(), ref(), ref(), varint()));
+                break;
+            case ENROLLMENTS:
+                db.loadEnrollment(varint(), varint());
+                break;
+            default:
+                db.loadCourseBook(varint(), varint());
+        }
+    }
+
+    private int varint() {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            byte b = in.get();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) return value;
+        }
+        throw new IllegalArgumentException("varint longer than 5 bytes");
+    }
+
+    private String string() {
+        int length = varint() - 1;
+        if (length < 0) return null;
+        if (length > scratch.length) scratch = new byte[Math.max(length, scratch.length * 2)];
+        in.get(scratch, 0, length);
+        return new String(scratch, 0, length, StandardCharsets.UTF_8);
+    }
+
+    private String ref() {
+        int ref = varint();
+        return ref == 0 ? null : dictionary[ref - 1];
+    }
+}
@@ -0,0 +1,31 @@
+package com.schoolmanagement.snapshot;
+
+// The tables a snapshot holds, in file order: parents before the rows that reference them
+public enum SnapshotTable {
+    STUDENTS("students", "id", "id, roll_number, name, dob, address, cgpa"),
+    TEACHERS("teachers", "id", "id, emp_id, name, dob, address, salary"),
+    COURSES("courses", "course_id", "course_id, course_code, course_name, course_description"),
+    LIBRARIES("libraries", "id", "id, name"),
+    BOOKS("books", "id", "id, book_id, title, author, library_id"),
+    ENROLLMENTS("enrollments", null, "student_id, course_id"),
+    COURSE_BOOKS("course_books", null, "course_id, book_id");
+
+    final String table;
+    // null for link tables, which have no surrogate key
+    final String idColumn;
+    final String columns;
+
+    SnapshotTable(String table, String idColumn, String columns) {
+        this.table = table;
+        this.idColumn = idColumn;
+        this.columns = columns;
+    }
+
+    public String getTable() {
+        return table;
+    }
+
+    String selectSql() {
+        return "SELECT " + columns + " FROM " + table + " ORDER BY " + (idColumn != null ? idColumn : columns);
+    }
+}
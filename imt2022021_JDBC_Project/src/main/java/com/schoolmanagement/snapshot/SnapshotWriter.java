@@ -0,0 +1,228 @@
+package com.schoolmanagement.snapshot;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+// Dumps the school tables into one snapshot file:
+//
+//   header      SnapshotHeader.SIZE bytes, see SnapshotHeader
+//   dictionary  int byte length, then one length-prefixed UTF-8 string per entry
+//   7 sections  int byte length each, rows in SnapshotTable order
+//
+// Ids and lengths are unsigned varints, floats 4 bytes. Strings that repeat across rows (names,
+// dates of birth, addresses, titles, authors, descriptions) are stored once in the dictionary and
+// referenced by index + 1, with 0 for NULL; unique keys such as roll numbers are inlined. All
+// tables are read in one transaction, so on InnoDB the snapshot is a consistent point in time.
+public final class SnapshotWriter {
+
+    private SnapshotWriter() {
+    }
+
+    // Growable byte array with the encodings the format uses
+    static final class Output {
+        private byte[] bytes = new byte[8192];
+        private int length;
+
+        private void ensure(int n) {
+            if (length + n > bytes.length) bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + n));
+        }
+
+        void varint(int value) {
+            ensure(5);
+            while ((value & ~0x7F) != 0) {
+                bytes[length++] = (byte) (value & 0x7F | 0x80);
+                value >>>= 7;
+            }
+            bytes[length++] = (byte) value;
+        }
+
+        void float32(float value) {
+            ensure(4);
+            int bits = Float.floatToRawIntBits(value);
+            bytes[length++] = (byte) (bits >>> 24);
+            bytes[length++] = (byte) (bits >>> 16);
+            bytes[length++] = (byte) (bits >>> 8);
+            bytes[length++] = (byte) bits;
+        }
+
+        // Length + 1 so that 0 can stand for NULL
+        void string(String value) {
+            if (value == null) {
+                varint(0);
+                return;
+            }
+            byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+            varint(utf8.length + 1);
+            ensure(utf8.length);
+            System.arraycopy(utf8, 0, bytes, length, utf8.length);
+            length += utf8.length;
+        }
+
+        int length() {
+            return length;
+        }
+
+        ByteBuffer buffer() {
+            return ByteBuffer.wrap(bytes, 0, length);
+        }
+    }
+
+    private static final class Dictionary {
+        private final Map<String, Integer> index = new HashMap<>();
+        private final Output entries = new Output();
+
+        int ref(String value) {
+            if (value == null) return 0;
+            Integer i = index.get(value);
+            if (i == null) {
+                i = index.size();
+                index.put(value, i);
+                entries.string(value);
+            }
+            return i + 1;
+        }
+    }
+
+    public static SnapshotHeader write(Connection connection, Path file) throws SQLException, IOException {
+        return write(connection, file, false);
+    }
+
+    // checksums: record CHECKSUM TABLE values (MySQL only) so later checks also catch updates in
+    // place; costs two extra full scans of every table, one before and one after the dump
+    public static SnapshotHeader write(Connection connection, Path file, boolean checksums) throws SQLException, IOException {
+        SnapshotHeader header = new SnapshotHeader();
+        header.createdMillis = System.currentTimeMillis();
+        boolean mysql = SnapshotHeader.isMySql(connection);
+        SnapshotTable[] tables = SnapshotTable.values();
+        Dictionary dictionary = new Dictionary();
+        Output[] sections = new Output[tables.length];
+
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try (Statement st = connection.createStatement()) {
+            long[] before = new long[tables.length];
+            if (mysql && checksums) {
+                for (SnapshotTable t : tables) before[t.ordinal()] = SnapshotHeader.tableChecksum(st, t);
+            }
+            // Row by row instead of Connector/J buffering each table whole
+            if (mysql) st.setFetchSize(Integer.MIN_VALUE);
+            for (SnapshotTable t : tables) {
+                try (ResultSet rs = st.executeQuery(t.selectSql())) {
+                    sections[t.ordinal()] = encode(t, rs, dictionary, header);
+                }
+            }
+            if (mysql && checksums) {
+                // CHECKSUM TABLE does not read the transaction's view; only trust values that held still
+                for (SnapshotTable t : tables) {
+                    long after = SnapshotHeader.tableChecksum(st, t);
+                    if (after == before[t.ordinal()]) header.checksums[t.ordinal()] = after;
+                }
+            }
+            connection.commit();
+        } catch (SQLException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+
+        header.dictionarySize = dictionary.index.size();
+        ByteBuffer[] parts = new ByteBuffer[1 + 2 * (tables.length + 1)];
+        int p = 1;
+        CRC32 crc = new CRC32();
+        for (Output section : prepend(dictionary.entries, sections)) {
+            ByteBuffer length = ByteBuffer.allocate(4).putInt(0, section.length());
+            crc.update(length.duplicate());
+            crc.update(section.buffer());
+            parts[p++] = length;
+            parts[p++] = section.buffer();
+        }
+        header.bodyCrc = crc.getValue();
+        ByteBuffer head = ByteBuffer.allocate(SnapshotHeader.SIZE);
+        header.write(head);
+        head.flip();
+        parts[0] = head;
+
+        // Write next to the target and rename, so a reader never maps a half-written file
+        Path dir = file.toAbsolutePath().getParent();
+        Files.createDirectories(dir);
+        Path temp = Files.createTempFile(dir, file.getFileName().toString(), ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            long total = 0;
+            for (ByteBuffer part : parts) total += part.remaining();
+            long written = 0;
+            while (written < total) written += channel.write(parts);
+            channel.force(false);
+        } catch (IOException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return header;
+    }
+
+    private static Output[] prepend(Output first, Output[] rest) {
+        Output[] all = new Output[rest.length + 1];
+        all[0] = first;
+        System.arraycopy(rest, 0, all, 1, rest.length);
+        return all;
+    }
+
+    private static Output encode(SnapshotTable table, ResultSet rs, Dictionary dict, SnapshotHeader header) throws SQLException {
+        Output out = new Output();
+        long rows = 0;
+        int maxId = 0;
+        while (rs.next()) {
+            switch (table) {
+                case STUDENTS:
+                case TEACHERS:
+                    out.varint(rs.getInt(1));
+                    out.string(rs.getString(2));
+                    out.varint(dict.ref(rs.getString(3)));
+                    out.varint(dict.ref(rs.getString(4)));
+                    out.varint(dict.ref(rs.getString(5)));
+                    out.float32(rs.getFloat(6));
+                    break;
+                case COURSES:
+                    out.varint(rs.getInt(1));
+                    out.string(rs.getString(2));
+                    out.varint(dict.ref(rs.getString(3)));
+                    out.varint(dict.ref(rs.getString(4)));
+                    break;
+                case LIBRARIES:
+                    out.varint(rs.getInt(1));
+                    out.varint(dict.ref(rs.getString(2)));
+                    break;
+                case BOOKS:
+                    out.varint(rs.getInt(1));
+                    out.string(rs.getString(2));
+                    out.varint(dict.ref(rs.getString(3)));
+                    out.varint(dict.ref(rs.getString(4)));
+                    out.varint(rs.getInt(5));
+                    break;
+                default:
+                    out.varint(rs.getInt(1));
+                    out.varint(rs.getInt(2));
+            }
+            if (table.idColumn != null) maxId = Math.max(maxId, rs.getInt(1));
+            rows++;
+        }
+        header.rows[table.ordinal()] = rows;
+        header.maxIds[table.ordinal()] = maxId;
+        return out;
+    }
+}
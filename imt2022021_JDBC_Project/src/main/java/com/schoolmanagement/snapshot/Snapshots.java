@@ -0,0 +1,129 @@
+package com.schoolmanagement.snapshot;
+
+import com.schoolmanagement.dao.memory.InMemoryDatabase;
+import com.schoolmanagement.database.DatabaseConfig;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Locale;
+
+// Warm start for the in-memory stores: restore from the snapshot file when it still matches the
+// database, otherwise take a fresh snapshot first. Either way the tables are read over JDBC at
+// most once, and on a clean restart not at all beyond the COUNT/MAX check. With checksums the
+// check also catches updates in place, at the cost of a CHECKSUM TABLE scan of every table.
+public final class Snapshots {
+
+    // What warmStart did: the loaded stores, whether they came from the existing file, why not if
+    // they did not, and how long it took. toString() is a one-line report for the caller to log.
+    public static final class WarmStart {
+        private final InMemoryDatabase database;
+        private final Path file;
+        private final String retakeReason;
+        private final double millis;
+
+        WarmStart(InMemoryDatabase database, Path file, String retakeReason, double millis) {
+            this.database = database;
+            this.file = file;
+            this.retakeReason = retakeReason;
+            this.millis = millis;
+        }
+
+        public InMemoryDatabase getDatabase() {
+            return database;
+        }
+
+        public boolean isRestored() {
+            return retakeReason == null;
+        }
+
+        // Why a new snapshot was taken; null when the existing one was restored
+        public String getRetakeReason() {
+            return retakeReason;
+        }
+
+        public double getMillis() {
+            return millis;
+        }
+
+        @Override
+        public String toString() {
+            if (isRestored()) return String.format(Locale.ROOT, "Restored %s in %.1f ms", file, millis);
+            return String.format(Locale.ROOT, "Took a new snapshot (%s); loaded the database in %.1f ms", retakeReason, millis);
+        }
+    }
+
+    private Snapshots() {
+    }
+
+    public static WarmStart warmStart(Connection connection, Path file) throws SQLException, IOException {
+        return warmStart(connection, file, false);
+    }
+
+    public static WarmStart warmStart(Connection connection, Path file, boolean checksums) throws SQLException, IOException {
+        long start = System.nanoTime();
+        String reason;
+        if (!Files.isRegularFile(file)) {
+            reason = "no snapshot at " + file;
+        } else {
+            try {
+                List<String> diffs = SnapshotReader.readHeader(file).differences(SnapshotHeader.ofDatabase(connection, checksums));
+                if (diffs.isEmpty()) {
+                    InMemoryDatabase db = SnapshotReader.restore(file);
+                    return new WarmStart(db, file, null, (System.nanoTime() - start) / 1e6);
+                }
+                reason = "snapshot is stale (" + String.join("; ", diffs) + ")";
+            } catch (SnapshotException e) {
+                reason = e.getMessage();
+            }
+        }
+        SnapshotWriter.write(connection, file, checksums);
+        InMemoryDatabase db = SnapshotReader.restore(file);
+        return new WarmStart(db, file, reason, (System.nanoTime() - start) / 1e6);
+    }
+
+    // java ... Snapshots write|check|restore <file> [--checksums]
+    public static void main(String[] args) throws SQLException, IOException {
+        if (args.length < 2 || args.length > 3 || (args.length == 3 && !args[2].equals("--checksums"))) {
+            System.out.println("Usage: Snapshots write|check|restore <file> [--checksums]");
+            return;
+        }
+        Path file = Paths.get(args[1]);
+        boolean checksums = args.length == 3;
+        long start = System.nanoTime();
+        switch (args[0]) {
+            case "write":
+                try (Connection connection = DatabaseConfig.load().openConnection()) {
+                    SnapshotHeader header = SnapshotWriter.write(connection, file, checksums);
+                    print(header);
+                    System.out.printf(Locale.ROOT, "Wrote %s: %d bytes in %.1f ms%n", file, Files.size(file),
+                            (System.nanoTime() - start) / 1e6);
+                }
+                break;
+            case "check":
+                try (Connection connection = DatabaseConfig.load().openConnection()) {
+                    List<String> diffs = SnapshotReader.readHeader(file).differences(SnapshotHeader.ofDatabase(connection, checksums));
+                    System.out.println(diffs.isEmpty() ? "Snapshot matches the database" : String.join("\n", diffs));
+                }
+                break;
+            case "restore":
+                SnapshotReader.restore(file);
+                print(SnapshotReader.readHeader(file));
+                System.out.printf(Locale.ROOT, "Restored in %.1f ms%n", (System.nanoTime() - start) / 1e6);
+                break;
+            default:
+                System.out.println("Unknown command: " + args[0]);
+        }
+    }
+
+    private static void print(SnapshotHeader header) {
+        for (SnapshotTable t : SnapshotTable.values()) {
+            System.out.printf(Locale.ROOT, "  %-14s %9d rows%n", t.getTable(), header.getRows(t));
+        }
+        System.out.printf(Locale.ROOT, "  %-14s %9d strings%n", "dictionary", header.getDictionarySize());
+    }
+}
@@ -0,0 +1,118 @@
+package com.schoolmanagement.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Open-addressing hash map keyed by primitive int, so id-keyed lookups avoid Integer boxing
+// and per-entry node objects. Linear probing; grows at 50% load. No removal.
+public class IntObjectMap<V> {
+
+    @FunctionalInterface
+    public interface Entry<V> {
+        void accept(int key, V value);
+    }
+
+    private int[] keys;
+    private Object[] values;
+    private boolean[] used;
+    private int size;
+
+    public IntObjectMap() {
+        this(8);
+    }
+
+    public IntObjectMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(4, expectedSize * 2 - 1)) << 1;
+        keys = new int[capacity];
+        values = new Object[capacity];
+        used = new boolean[capacity];
+    }
+
+    public V put(int key, V value) {
+        if ((size + 1) * 2 > keys.length) resize();
+        int slot = slotOf(key);
+        @SuppressWarnings("unchecked")
+        V previous = (V) values[slot];
+        if (!used[slot]) {
+            used[slot] = true;
+            keys[slot] = key;
+            size++;
+        }
+        values[slot] = value;
+        return previous;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(int key) {
+        int slot = slotOf(key);
+        return used[slot] ? (V) values[slot] : null;
+    }
+
+    public boolean containsKey(int key) {
+        return used[slotOf(key)];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    public void forEach(Entry<V> action) {
+        for (int i = 0; i < keys.length; i++) {
+            if (used[i]) action.accept(keys[i], (V) values[i]);
+        }
+    }
+
+    public List<V> values() {
+        List<V> list = new ArrayList<>(size);
+        forEach((k, v) -> list.add(v));
+        return list;
+    }
+
+    public int[] keys() {
+        int[] out = new int[size];
+        int n = 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (used[i]) out[n++] = keys[i];
+        }
+        return out;
+    }
+
+    // Slot holding key, or the empty slot where it would be inserted
+    private int slotOf(int key) {
+        int mask = keys.length - 1;
+        int slot = mix(key) & mask;
+        while (used[slot] && keys[slot] != key) slot = (slot + 1) & mask;
+        return slot;
+    }
+
+    private static int mix(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void resize() {
+        int[] oldKeys = keys;
+        Object[] oldValues = values;
+        boolean[] oldUsed = used;
+        keys = new int[oldKeys.length * 2];
+        values = new Object[oldKeys.length * 2];
+        used = new boolean[oldKeys.length * 2];
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldUsed[i]) put(oldKeys[i], (V) oldValues[i]);
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("{");
+        forEach((k, v) -> sb.append(sb.length() > 1 ? ", " : "").append(k).append('=').append(v));
+        return sb.append('}').toString();
+    }
+}
@@ -0,0 +1,176 @@
+package com.schoolmanagement.tests;
+
+import com.schoolmanagement.dao.BaseDAO;
+import com.schoolmanagement.dao.BatchLoader;
+import com.schoolmanagement.dao.LibraryDAO;
+import com.schoolmanagement.dao.mapping.EntityMapper;
+import com.schoolmanagement.dao.mapping.LibraryMapper;
+import com.schoolmanagement.models.Library;
+import com.schoolmanagement.util.IntObjectMap;
+import org.junit.jupiter.api.*;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BatchLoaderTest {
+
+    // DAO stub that records every readAll call and only knows positive ids
+    private static class RecordingDAO extends BaseDAO<Library> {
+        final List<int[]> calls = Collections.synchronizedList(new ArrayList<>());
+        volatile CountDownLatch gate;
+        volatile boolean fail;
+
+        RecordingDAO() {
+            super(null);
+        }
+
+        @Override
+        public IntObjectMap<Library> readAll(int... ids) throws SQLException {
+            calls.add(ids);
+            if (gate != null) {
+                try {
+                    gate.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            if (fail) throw new SQLException("boom");
+            IntObjectMap<Library> map = new IntObjectMap<>();
+            for (int id : ids) if (id > 0) map.put(id, new Library(id, "L" + id));
+            return map;
+        }
+
+        @Override
+        public void create(Library obj) { }
+
+        @Override
+        public Library read(int id) { return null; }
+
+        @Override
+        public void delete(int id) { }
+
+        @Override
+        protected String tableName() { return "libraries"; }
+
+        @Override
+        protected String idColumn() { return "id"; }
+
+        @Override
+        protected int idOf(Library entity) { return entity.getId(); }
+
+        @Override
+        protected EntityMapper<Library> mapper() { return LibraryMapper.INSTANCE; }
+
+        @Override
+        protected Library mapResultSetToEntity(ResultSet rs) { return null; }
+
+        @Override
+        public List<Library> mapResultSetToList(ResultSet rs) { return null; }
+    }
+
+    @Test
+    void testReadsInOneWindowShareOneDeduplicatedBatch() throws Exception {
+        RecordingDAO dao = new RecordingDAO();
+        try (BatchLoader<Library> loader = new BatchLoader<>(c -> dao, null, 50, 1000)) {
+            CompletableFuture<Library> a = loader.load(1);
+            CompletableFuture<Library> b = loader.load(2);
+            CompletableFuture<Library> c = loader.load(1);
+            CompletableFuture<Library> missing = loader.load(-3);
+
+            assertEquals("L1", a.get().getName());
+            assertEquals("L2", b.get().getName());
+            assertSame(a, c);
+            assertNull(missing.get());
+            assertEquals(1, dao.calls.size());
+            assertEquals(3, dao.calls.get(0).length);
+            assertEquals(1, loader.getCoalescedCount());
+        }
+    }
+
+    @Test
+    void testHotIdIsFetchedOnceWhileInFlightThenRefetched() throws Exception {
+        RecordingDAO dao = new RecordingDAO();
+        dao.gate = new CountDownLatch(1);
+        try (BatchLoader<Library> loader = new BatchLoader<>(c -> dao, null, 0, 1000)) {
+            CompletableFuture<Library> first = loader.load(9);
+            while (dao.calls.isEmpty()) Thread.onSpinWait();
+            CompletableFuture<Library> second = loader.load(9);
+            dao.gate.countDown();
+
+            assertSame(first, second);
+            assertEquals(9, second.get().getId());
+            assertEquals(9, loader.read(9).getId());
+            assertEquals(2, dao.calls.size());
+        }
+    }
+
+    @Test
+    void testMaxBatchSizeSplitsBatchesAndFailuresPropagate() throws Exception {
+        RecordingDAO dao = new RecordingDAO();
+        try (BatchLoader<Library> loader = new BatchLoader<>(c -> dao, null, 10_000, 2)) {
+            CompletableFuture<Library> a = loader.load(1);
+            CompletableFuture<Library> b = loader.load(2);
+            assertEquals(1, a.get().getId());
+            assertEquals(2, b.get().getId());
+
+            dao.fail = true;
+            loader.load(5);
+            assertThrows(SQLException.class, () -> loader.read(6));
+        }
+    }
+
+    @Test
+    void testLoadAfterCloseFailsWithoutLeavingAnEntry() throws Exception {
+        RecordingDAO dao = new RecordingDAO();
+        BatchLoader<Library> loader = new BatchLoader<>(c -> dao, null, 0, 10);
+        assertEquals(1, loader.read(1).getId());
+        loader.close();
+
+        assertThrows(SQLException.class, () -> loader.read(1));
+        assertTrue(loader.load(2).isCompletedExceptionally());
+        assertEquals(1, dao.calls.size());
+    }
+
+    @Test
+    void testBatchSizeMustBePositive() {
+        RecordingDAO dao = new RecordingDAO();
+        assertThrows(IllegalArgumentException.class, () -> new BatchLoader<>(c -> dao, null, 0, 0));
+    }
+
+    @Test
+    void testReadsThroughItsOwnConnection() throws Exception {
+        TestDatabase db = TestDatabase.embedded("batch_loader");
+        try (Connection caller = db.openConnection()) {
+            try (Statement st = caller.createStatement()) {
+                st.execute("INSERT INTO libraries (id, name) VALUES (1, 'Main'), (2, 'Annex')");
+            }
+            // The caller's uncommitted insert stays invisible to batches on the loader's connection
+            caller.setAutoCommit(false);
+            try (Statement st = caller.createStatement()) {
+                st.execute("INSERT INTO libraries (id, name) VALUES (3, 'Draft')");
+            }
+            Connection own = db.openConnection();
+            try (BatchLoader<Library> loader = new BatchLoader<>(LibraryDAO::new, own, 5, 100)) {
+                CompletableFuture<Library> main = loader.load(1);
+                CompletableFuture<Library> annex = loader.load(2);
+                assertEquals("Main", main.get().getName());
+                assertEquals("Annex", annex.get().getName());
+                assertNull(loader.read(3));
+                assertEquals(2, loader.getBatchCount());
+            }
+            assertTrue(own.isClosed());
+            caller.rollback();
+        } finally {
+            db.close();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.schoolmanagement.tests;
+
+import com.schoolmanagement.dao.StudentDAO;
+import com.schoolmanagement.main.BatchScript;
+import org.junit.jupiter.api.*;
+
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BatchScriptTest {
+
+    private TestDatabase database;
+    private Connection connection;
+
+    @BeforeEach
+    void openEmbedded(TestInfo info) throws SQLException {
+        database = TestDatabase.embedded("batch_" + info.getTestMethod().get().getName());
+        connection = database.openConnection();
+    }
+
+    @AfterEach
+    void restore() throws SQLException {
+        connection.close();
+        database.close();
+    }
+
+    @Test
+    void testScriptRunsInOrderAcrossGroups() throws Exception {
+        StringBuilder script = new StringBuilder("# term start\nadd-course C101 Algorithms \"Intro to algorithms\"\n");
+        for (int i = 1; i <= 12; i++) {
+            script.append("add-student R").append(i).append(" \"Student ").append(i).append("\" 2004-01-01 \"1 Main St\" 3.0\n");
+        }
+        for (int i = 1; i <= 12; i++) script.append("enroll ").append(i).append(" 1\n");
+        script.append("update-cgpa 3 3.9\nupdate-cgpa three 3.9\nfrobnicate 1\nupdate-address R4 \"Hostel \\\"B\\\"\"\n");
+
+        BatchScript.Summary summary = new BatchScript(connection, 5).run(new StringReader(script.toString()));
+        assertNull(summary.getFailure());
+        assertEquals(27, summary.getCommitted());
+        assertEquals(2, summary.getRejected());
+        assertTrue(summary.toString().contains("enroll"));
+
+        StudentDAO students = new StudentDAO(connection);
+        assertEquals(12, students.getAllStudents().size());
+        assertEquals(3.9f, students.getTopper().getCgpa());
+        assertEquals("Hostel \"B\"", students.findByRollNumber("R4").getAddress());
+        assertEquals(1, students.getCoursesForStudent(12).size());
+        assertTrue(connection.getAutoCommit());
+    }
+
+    @Test
+    void testFailingGroupRollsBackAndStops() throws Exception {
+        String script = "add-student R1 A 2004-01-01 x 3.0\n"
+                + "add-student R2 B 2004-01-01 x 3.0\n"
+                + "add-student R3 C 2004-01-01 x 3.0\n"
+                + "add-student R1 Dup 2004-01-01 x 3.0\n"
+                + "add-student R5 E 2004-01-01 x 3.0\n";
+        BatchScript.Summary summary = new BatchScript(connection, 2).run(new StringReader(script));
+
+        assertEquals(2, summary.getCommitted());
+        assertNotNull(summary.getFailure());
+        assertTrue(summary.getFailure().contains("line 3"));
+        try (Statement st = connection.createStatement();
+             ResultSet rs = st.executeQuery("SELECT COUNT(*) FROM students")) {
+            rs.next();
+            assertEquals(2, rs.getInt(1));
+        }
+    }
+
+    @Test
+    void testRolledBackGroupAddsNoAffectedRows() throws Exception {
+        // The course flush succeeds inside the group, then the duplicate roll number fails it
+        String script = "add-student R1 A 2004-01-01 x 3.0\n"
+                + "add-student R2 B 2004-01-01 x 3.0\n"
+                + "add-course C201 Graphs \"Shortest paths\"\n"
+                + "add-student R1 Dup 2004-01-01 x 3.0\n";
+        BatchScript.Summary summary = new BatchScript(connection, 2).run(new StringReader(script));
+
+        assertNotNull(summary.getFailure());
+        assertEquals(2, summary.getCommitted());
+        assertEquals(2, summary.getAffectedRows());
+    }
+}
@@ -1,10 +1,13 @@
 package com.schoolmanagement.tests;
 
 import com.schoolmanagement.dao.BookDAO;
+import com.schoolmanagement.dao.UpsertResult;
 import com.schoolmanagement.models.Book;
+import com.schoolmanagement.util.IntObjectMap;
 import org.junit.jupiter.api.*;
 
 import java.sql.*;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -12,15 +15,13 @@ import static org.junit.jupiter.api.Assertions.*;
 public class BookDAOTest {
 
     private static Connection connection;
+    private static TestDatabase database;
     private static BookDAO bookDAO;
 
     @BeforeAll
     static void setupDatabase() throws SQLException {
-        connection = DriverManager.getConnection(
-            "jdbc:mysql://localhost:3306/school_db?useSSL=false&allowPublicKeyRetrieval=true",
-            "root",
-            "admin"
-        );
+        database = TestDatabase.create(BookDAOTest.class);
+        connection = database.openConnection();
         bookDAO = new BookDAO(connection);
 
         // Ensure library + course rows exist for FK
@@ -33,6 +34,7 @@ public class BookDAOTest {
     @AfterAll
     static void tearDown() throws SQLException {
         if (connection != null) connection.close();
+        if (database != null) database.close();
     }
 
     @BeforeEach
@@ -232,7 +234,54 @@ public class BookDAOTest {
         assertNull(bookDAO.read(-9999));
     }
 
-    // Utility method to fetch row ID from book_id
+    @Test
+    void testUpsertAll_largerThanOneChunk() throws SQLException {
+        List<Book> books = new ArrayList<>();
+        for (int i = 0; i < 600; i++) books.add(new Book(0, "UB" + i, "Title " + i, "Author", 1));
+
+        UpsertResult first = bookDAO.upsertAll(books);
+        assertEquals(600, first.getInserted());
+
+        books.set(0, new Book(0, "UB0", "Renamed", "Author", 1));
+        UpsertResult second = bookDAO.upsertAll(books);
+        assertEquals(600, second.getRows());
+        assertEquals(0, second.getInserted());
+        assertEquals(1, second.getUpdated());
+        assertEquals(599, second.getUnchanged());
+        assertEquals("Renamed", bookDAO.read(fetchIdByBookCode("UB0")).getTitle());
+    }
+
+    @Test
+    void testReadAll_fetchesMixedChunkSizesAndSkipsMissing() throws SQLException {
+        List<Book> books = new ArrayList<>();
+        for (int i = 0; i < 21; i++) books.add(new Book(0, "RA" + i, "Read All " + i, "Author", 1));
+        bookDAO.upsertAll(books);
+
+        int[] ids = new int[23];
+        for (int i = 0; i < 21; i++) ids[i] = fetchIdByBookCode("RA" + i);
+        ids[21] = ids[0];   // duplicate
+        ids[22] = -42;      // missing
+
+        IntObjectMap<Book> found = bookDAO.readAll(ids);
+        assertEquals(21, found.size());
+        assertEquals("Read All 5", found.get(ids[5]).getTitle());
+        assertNull(found.get(-42));
+        assertTrue(bookDAO.readAll().isEmpty());
+    }
+
+    @Test
+    void testReadAll_worksAgainAfterCloseReleasedStatements() throws SQLException {
+        bookDAO.create(new Book(0, "RC1", "Read Close", "Author", 1));
+        int id = fetchIdByBookCode("RC1");
+        try (BookDAO dao = new BookDAO(connection)) {
+            assertEquals("Read Close", dao.readAll(id).get(id).getTitle());
+            dao.close();
+            // The cache is rebuilt on the next call; the connection itself stays usable
+            assertEquals("Read Close", dao.readAll(id).get(id).getTitle());
+        }
+        assertFalse(connection.isClosed());
+    }
+
     private int fetchIdByBookCode(String code) throws SQLException {
         try (PreparedStatement ps = connection.prepareStatement(
             "SELECT id FROM books WHERE book_id = ?"
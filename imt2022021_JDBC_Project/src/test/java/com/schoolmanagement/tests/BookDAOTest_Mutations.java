@@ -12,13 +12,13 @@ import static org.junit.jupiter.api.Assertions.*;
 public class BookDAOTest_Mutations {
 
     private static Connection connection;
+    private static TestDatabase database;
     private static BookDAO dao;
 
     @BeforeAll
     static void setup() throws Exception {
-        connection = DriverManager.getConnection(
-                "jdbc:mysql://localhost:3306/school_db?useSSL=false&allowPublicKeyRetrieval=true",
-                "root", "admin");
+        database = TestDatabase.create(BookDAOTest_Mutations.class);
+        connection = database.openConnection();
 
         dao = new BookDAO(connection);
 
@@ -28,6 +28,12 @@ public class BookDAOTest_Mutations {
         }
     }
 
+    @AfterAll
+    static void tearDown() throws SQLException {
+        if (connection != null) connection.close();
+        if (database != null) database.close();
+    }
+
     @BeforeEach
     void clean() throws Exception {
         try (Statement s = connection.createStatement()) {
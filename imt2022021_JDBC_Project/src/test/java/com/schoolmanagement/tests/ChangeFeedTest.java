@@ -0,0 +1,116 @@
+package com.schoolmanagement.tests;
+
+import com.schoolmanagement.events.ChangeEvent;
+import com.schoolmanagement.events.ChangeFeed;
+import com.schoolmanagement.events.ChangeLog;
+import com.schoolmanagement.events.ChangeType;
+import com.schoolmanagement.events.Subscription;
+import org.junit.jupiter.api.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ChangeFeedTest {
+
+    @Test
+    void testSubscriberSeesEventsInOrderAfterSubscribing() {
+        ChangeFeed feed = new ChangeFeed(16);
+        feed.publish("students", ChangeType.CREATED, "R1", null);
+
+        Subscription sub = feed.subscribe();
+        feed.publish("students", ChangeType.CGPA_UPDATED, "7", 3.9f);
+        feed.publish("enrollments", ChangeType.LINKED, "1:7", null);
+
+        ChangeEvent first = sub.poll();
+        ChangeEvent second = sub.poll();
+        assertEquals(ChangeType.CGPA_UPDATED, first.getType());
+        assertEquals(3.9f, first.getPayload());
+        assertEquals("1:7", second.getKey());
+        assertTrue(first.getSequence() < second.getSequence());
+        assertNull(sub.poll());
+    }
+
+    @Test
+    void testCapacityRoundsUpToPowerOfTwo() {
+        assertEquals(16, new ChangeFeed(10).capacity());
+        assertThrows(IllegalArgumentException.class, () -> new ChangeFeed(0));
+    }
+
+    @Test
+    void testLappedSubscriberSkipsAheadAndCountsMissed() {
+        ChangeFeed feed = new ChangeFeed(4);
+        Subscription sub = feed.subscribe();
+        for (int i = 0; i < 10; i++) feed.publish("books", ChangeType.DELETED, String.valueOf(i), null);
+
+        List<ChangeEvent> events = sub.drain(100);
+        assertEquals(4, events.size());
+        assertEquals("6", events.get(0).getKey());
+        assertEquals(6, sub.getMissed());
+    }
+
+    @Test
+    void testConcurrentProducersDeliverEveryEventOnce() throws Exception {
+        ChangeFeed feed = new ChangeFeed(1 << 16);
+        Subscription sub = feed.subscribe();
+        List<Thread> producers = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            int base = t * 5000;
+            producers.add(new Thread(() -> {
+                for (int i = 0; i < 5000; i++) feed.publish("teachers", ChangeType.SALARY_INCREMENTED, String.valueOf(base + i), null);
+            }));
+        }
+        producers.forEach(Thread::start);
+        for (Thread p : producers) p.join();
+
+        Set<String> keys = new HashSet<>();
+        for (ChangeEvent e : sub.drain(Integer.MAX_VALUE)) keys.add(e.getKey());
+        assertEquals(20000, keys.size());
+        assertEquals(0, sub.getMissed());
+    }
+
+    @Test
+    void testAwaitWakesOnPublish() throws Exception {
+        ChangeFeed feed = new ChangeFeed(16);
+        Subscription sub = feed.subscribe();
+        assertFalse(sub.await(10, TimeUnit.MILLISECONDS));
+
+        Thread producer = new Thread(() -> {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                return;
+            }
+            feed.publish("courses", ChangeType.CREATED, "CS101", null);
+        });
+        long start = System.nanoTime();
+        producer.start();
+        assertTrue(sub.await(10, TimeUnit.SECONDS));
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+        assertEquals("CS101", sub.poll().getKey());
+        producer.join();
+    }
+
+    @Test
+    void testChangeLogAppendsOneLinePerEvent() throws Exception {
+        ChangeFeed feed = new ChangeFeed(64);
+        Path file = Files.createTempFile("changes", ".log");
+        try (ChangeLog log = new ChangeLog(feed, file)) {
+            feed.publish("libraries", ChangeType.CREATED, "Main", "Library [id=0, name=Main]");
+            feed.publish("libraries", ChangeType.DELETED, "3", null);
+            assertEquals(0, log.getMissed());
+        }
+
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(2, lines.size());
+        assertTrue(lines.get(0).contains("\tlibraries\tCREATED\tMain\t"));
+        assertTrue(lines.get(1).endsWith("\tDELETED\t3\t"));
+        Files.deleteIfExists(file);
+    }
+}
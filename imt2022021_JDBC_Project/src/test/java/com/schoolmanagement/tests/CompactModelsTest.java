@@ -0,0 +1,86 @@
+package com.schoolmanagement.tests;
+
+import com.schoolmanagement.dao.BookDAO;
+import com.schoolmanagement.dao.StudentDAO;
+import com.schoolmanagement.models.Course;
+import com.schoolmanagement.models.Student;
+import com.schoolmanagement.models.compact.CompactBook;
+import com.schoolmanagement.models.compact.CompactCourse;
+import com.schoolmanagement.models.compact.CompactPerson;
+import com.schoolmanagement.models.compact.CompactStudent;
+import com.schoolmanagement.models.compact.StringPool;
+import org.junit.jupiter.api.*;
+
+import java.sql.Connection;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CompactModelsTest {
+
+    @Test
+    void testStudentRoundTripAndPooling() {
+        StringPool pool = new StringPool();
+        Student a = new Student(1, "R1", new String("Asha Rao"), "2004-05-06", "12 MG Road, Bengaluru", 3.6f);
+        Student b = new Student(2, "R2", new String("Asha Rao"), "2003-12-31", "7 Church Street, " + new String("Bengaluru"), 3.1f);
+        CompactStudent ca = CompactStudent.of(a, pool);
+        CompactStudent cb = CompactStudent.of(b, pool);
+
+        assertEquals(LocalDate.of(2004, 5, 6).toEpochDay(), ca.dob());
+        assertEquals(LocalDate.of(2004, 5, 6), ca.birthDate());
+        assertEquals("12 MG Road", ca.addressLine());
+        assertSame(ca.city(), cb.city());
+        assertSame(ca.name(), cb.name());
+        assertEquals(2, pool.size());
+
+        Student back = ca.toStudent();
+        assertEquals(a.getRollNumber(), back.getRollNumber());
+        assertEquals(a.getDob(), back.getDob());
+        assertEquals(a.getAddress(), back.getAddress());
+        assertEquals(a.getCgpa(), back.getCgpa());
+        assertEquals(ca, CompactStudent.of(back, pool));
+        assertEquals(3.9f, ca.withCgpa(3.9f).cgpa());
+    }
+
+    @Test
+    void testCourseDescriptionIsNotPooled() {
+        StringPool pool = new StringPool();
+        CompactCourse course = CompactCourse.of(new Course(1, "C1", "Algorithms", "Sorting, searching and graphs"), pool);
+        assertEquals("Sorting, searching and graphs", course.toCourse().getCourseDescription());
+        assertEquals(1, pool.size());
+    }
+
+    @Test
+    void testAddressAndDateEdgeCases() {
+        StringPool pool = new StringPool();
+        assertNull(CompactStudent.of(1, "R1", "X", "2004-01-01", null, 3f, pool).address());
+        assertEquals("Hostel", CompactStudent.of(1, "R1", "X", "2004-01-01", "Hostel", 3f, pool).address());
+        assertEquals("a, b, c", CompactStudent.of(1, "R1", "X", "2004-01-01", "a, b, c", 3f, pool).address());
+        assertEquals(CompactPerson.NO_DATE, CompactStudent.of(1, "R1", "X", "", "a", 3f, pool).dob());
+        assertEquals("", CompactPerson.isoDate(CompactPerson.NO_DATE));
+    }
+
+    @Test
+    void testDaoMapsCompactRows() throws Exception {
+        try (TestDatabase database = TestDatabase.embedded("compact_rows");
+             Connection connection = database.openConnection()) {
+            try (Statement st = connection.createStatement()) {
+                st.execute("INSERT INTO students (roll_number, name, dob, address, cgpa) VALUES "
+                        + "('R1', 'Asha', '2004-05-06', '1 MG Road, Mysuru', 3.5), ('R2', 'Ravi', '2003-01-02', '2 MG Road, Mysuru', 3.0)");
+                st.execute("INSERT INTO libraries (name) VALUES ('Main')");
+                st.execute("INSERT INTO books (book_id, title, author, library_id) VALUES ('B1', 'T1', 'Knuth', 1), ('B2', 'T2', 'Knuth', 1)");
+            }
+            StringPool pool = new StringPool();
+            List<CompactStudent> students = new StudentDAO(connection).getAllCompact(pool);
+            assertEquals(2, students.size());
+            assertEquals("1 MG Road, Mysuru", students.get(0).address());
+            assertSame(students.get(0).city(), students.get(1).city());
+
+            List<CompactBook> books = new BookDAO(connection).getAllCompact(pool);
+            assertSame(books.get(0).author(), books.get(1).author());
+            assertEquals("B2", books.get(1).toBook().getBookId());
+        }
+    }
+}
@@ -1,7 +1,10 @@
 package com.schoolmanagement.tests;
 
 import com.schoolmanagement.dao.CourseDAO;
+import com.schoolmanagement.dao.StudentDAO;
+import com.schoolmanagement.dao.UpsertResult;
 import com.schoolmanagement.models.Course;
+import com.schoolmanagement.models.Student;
 import org.junit.jupiter.api.*;
 
 import java.sql.*;
@@ -12,21 +15,20 @@ import static org.junit.jupiter.api.Assertions.*;
 public class CourseDAOTest {
 
     private static Connection connection;
+    private static TestDatabase database;
     private static CourseDAO courseDAO;
 
     @BeforeAll
     static void setup() throws SQLException {
-        connection = DriverManager.getConnection(
-            "jdbc:mysql://localhost:3306/school_db?useSSL=false&allowPublicKeyRetrieval=true",
-            "root",
-            "admin"
-        );
+        database = TestDatabase.create(CourseDAOTest.class);
+        connection = database.openConnection();
         courseDAO = new CourseDAO(connection);
     }
 
     @AfterAll
     static void tearDown() throws SQLException {
         if (connection != null) connection.close();
+        if (database != null) database.close();
     }
 
     @BeforeEach
@@ -119,6 +121,44 @@ public class CourseDAOTest {
 
 
     // Utility method: fetch course_id from course_code
+    @Test
+    void testUpsert_insertThenUpdate() throws SQLException {
+        UpsertResult inserted = courseDAO.upsert(new Course(0, "CS500", "Compilers", "v1"));
+        assertEquals(1, inserted.getInserted());
+
+        UpsertResult updated = courseDAO.upsert(new Course(0, "CS500", "Compilers", "v2"));
+        assertEquals(1, updated.getUpdated());
+        assertEquals("v2", courseDAO.read(fetchCourseId("CS500")).getCourseDescription());
+    }
+
+    @Test
+    void testStudentsLoadLazilyAndInBatch() throws SQLException {
+        StudentDAO studentDAO = new StudentDAO(connection);
+        courseDAO.create(new Course(0, "CS601", "Networks", "Lazy"));
+        courseDAO.create(new Course(0, "CS602", "Databases", "Lazy"));
+        studentDAO.create(new Student(0, "LZ01", "Lazy One", "2000-01-01", "A", 3.0f));
+        int courseId = fetchCourseId("CS601");
+        int studentId = studentDAO.getIdByRollNumber("LZ01");
+        studentDAO.addStudentToCourse(studentId, courseId);
+
+        Course lazy = courseDAO.read(courseId);
+        assertFalse(lazy.isStudentsLoaded());
+        assertEquals(1, lazy.getStudents().size());
+        assertEquals("Lazy One", lazy.getStudents().get(0).getName());
+        assertTrue(lazy.isStudentsLoaded());
+
+        List<Course> all = courseDAO.getAllCourses();
+        courseDAO.loadStudents(all);
+        for (Course c : all) {
+            assertTrue(c.isStudentsLoaded());
+            assertEquals(c.getCourseId() == courseId ? 1 : 0, c.getStudents().size());
+        }
+
+        try (Statement st = connection.createStatement()) {
+            st.execute("DELETE FROM students WHERE roll_number = 'LZ01'");
+        }
+    }
+
     private int fetchCourseId(String code) throws SQLException {
         try (PreparedStatement ps = connection.prepareStatement(
             "SELECT course_id FROM courses WHERE course_code = ?"
@@ -0,0 +1,77 @@
+package com.schoolmanagement.tests;
+
+import com.schoolmanagement.database.DatabaseConfig;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.parallel.Isolated;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Changes school.db.* system properties, which every other test reads through DatabaseConfig.load(),
+// so it never runs alongside them
+@Isolated
+public class DatabaseConfigTest {
+
+    private static final String[] KEYS = {
+            "school.db.mode", "school.db.embedded.path", "school.db.pool.size", "school.db.useCursorFetch", "school.db.url"
+    };
+    private final Map<String, String> saved = new HashMap<>();
+
+    // These tests describe the MySQL URL, so pin the mode even when the suite runs embedded
+    @BeforeEach
+    void pinMysqlMode() {
+        for (String key : KEYS) saved.put(key, System.getProperty(key));
+        System.setProperty("school.db.mode", "mysql");
+    }
+
+    @AfterEach
+    void restoreOverrides() {
+        for (String key : KEYS) {
+            if (saved.get(key) == null) System.clearProperty(key);
+            else System.setProperty(key, saved.get(key));
+        }
+    }
+
+    @Test
+    void testClasspathFileIsApplied() {
+        DatabaseConfig config = DatabaseConfig.load();
+        assertEquals(2, config.getPoolSize());
+        assertTrue(config.getJdbcUrl().contains("useSSL=false"));
+        assertTrue(config.describe().contains("classpath:school-db.properties"));
+        assertFalse(config.describe().contains("admin"));
+    }
+
+    @Test
+    void testSystemPropertyWins() {
+        System.setProperty("school.db.pool.size", "9");
+        DatabaseConfig config = DatabaseConfig.load();
+        assertEquals(9, config.getPoolSize());
+        assertTrue(config.describe().contains("-Dschool.db.pool.size"));
+    }
+
+    @Test
+    void testDriverPropertiesAppendedWithoutOverridingUrl() {
+        System.setProperty("school.db.url", "jdbc:mysql://db:3306/school_db?rewriteBatchedStatements=false");
+        String url = DatabaseConfig.load().getJdbcUrl();
+        assertTrue(url.startsWith("jdbc:mysql://db:3306/school_db?rewriteBatchedStatements=false&"));
+        assertEquals(1, url.split("rewriteBatchedStatements=", -1).length - 1);
+        assertTrue(url.contains("cachePrepStmts=true"));
+    }
+
+    @Test
+    void testEmbeddedModeUsesLocalEngine() {
+        System.setProperty("school.db.mode", "embedded");
+        System.clearProperty("school.db.embedded.path");
+        DatabaseConfig config = DatabaseConfig.load();
+        assertTrue(config.isEmbedded());
+        assertTrue(config.getJdbcUrl().startsWith("jdbc:h2:file:./data/school_db;MODE=MySQL"));
+    }
+
+    @Test
+    void testConflictingSettingsWarn() {
+        System.setProperty("school.db.useCursorFetch", "true");
+        assertTrue(DatabaseConfig.load().warnings().stream().anyMatch(w -> w.contains("defaultFetchSize")));
+    }
+}
@@ -0,0 +1,101 @@
+package com.schoolmanagement.tests;
+
+import com.schoolmanagement.datagen.CsvDatasetSink;
+import com.schoolmanagement.datagen.DatasetSpec;
+import com.schoolmanagement.datagen.JdbcDatasetSink;
+import com.schoolmanagement.datagen.SyntheticDataGenerator;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DatasetGeneratorTest {
+
+    private static DatasetSpec smallSpec(long seed) {
+        return new DatasetSpec().seed(seed).libraries(3).books(300).courses(50).teachers(40).students(500).batchSize(64);
+    }
+
+    private static long generateCsv(DatasetSpec spec, Path dir) throws Exception {
+        try (CsvDatasetSink sink = new CsvDatasetSink(dir)) {
+            return new SyntheticDataGenerator(spec).generate(sink);
+        }
+    }
+
+    @Test
+    void testSameSeedGivesIdenticalFiles(@TempDir Path tmp) throws Exception {
+        generateCsv(smallSpec(7), tmp.resolve("a"));
+        generateCsv(smallSpec(7), tmp.resolve("b"));
+        generateCsv(smallSpec(8), tmp.resolve("c"));
+        for (String table : new String[] {"students", "books", "enrollments", "course_books"}) {
+            assertEquals(-1, Files.mismatch(tmp.resolve("a/" + table + ".csv"), tmp.resolve("b/" + table + ".csv")), table);
+        }
+        assertNotEquals(-1, Files.mismatch(tmp.resolve("a/enrollments.csv"), tmp.resolve("c/enrollments.csv")));
+        assertTrue(Files.readString(tmp.resolve("a/load.sql")).contains("LOAD DATA LOCAL INFILE 'students.csv'"));
+    }
+
+    @Test
+    void testEnrollmentsAreSkewedAndUnique(@TempDir Path tmp) throws Exception {
+        generateCsv(smallSpec(1), tmp);
+        List<String> rows = Files.readAllLines(tmp.resolve("enrollments.csv"));
+        assertEquals("student_id,course_id", rows.get(0));
+
+        Set<String> seen = new HashSet<>();
+        Map<String, Integer> perCourse = new HashMap<>();
+        for (String row : rows.subList(1, rows.size())) {
+            assertTrue(seen.add(row), "duplicate enrollment " + row);
+            perCourse.merge(row.split(",")[1], 1, Integer::sum);
+        }
+        int max = perCourse.values().stream().max(Integer::compare).orElse(0);
+        double mean = (rows.size() - 1) / (double) perCourse.size();
+        // With a Zipf exponent of 1 the head course is far above the average course
+        assertTrue(max > 4 * mean, "max=" + max + " mean=" + mean);
+    }
+
+    @Test
+    void testSpecWithoutLibrariesIsRejected() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> new SyntheticDataGenerator(smallSpec(1).libraries(0)));
+        assertTrue(e.getMessage().startsWith("libraries"), e.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> new SyntheticDataGenerator(smallSpec(1).coursesPerStudent(5, 2)));
+    }
+
+    @Test
+    void testJdbcSinkLoadsEmbeddedDatabase() throws Exception {
+        try (TestDatabase database = TestDatabase.embedded("datagen_test")) {
+            DatasetSpec spec = smallSpec(3);
+            long rows;
+            try (JdbcDatasetSink sink = new JdbcDatasetSink(database.openConnection(), 64, true)) {
+                rows = new SyntheticDataGenerator(spec).generate(sink);
+            }
+            try (Connection conn = database.openConnection();
+                 Statement st = conn.createStatement()) {
+                assertEquals(500, count(st, "SELECT COUNT(*) FROM students"));
+                assertEquals(0, count(st, "SELECT COUNT(*) FROM books b LEFT JOIN libraries l ON b.library_id = l.id WHERE l.id IS NULL"));
+                long total = 0;
+                for (String table : new String[] {"libraries", "books", "courses", "teachers", "students",
+                        "enrollments", "course_teacher", "course_books"}) {
+                    total += count(st, "SELECT COUNT(*) FROM " + table);
+                }
+                assertEquals(rows, total);
+            }
+        }
+    }
+
+    private static long count(Statement st, String sql) throws Exception {
+        try (ResultSet rs = st.executeQuery(sql)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+}
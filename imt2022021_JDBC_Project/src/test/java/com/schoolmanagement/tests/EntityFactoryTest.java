@@ -0,0 +1,44 @@
+package com.schoolmanagement.tests;
+
+import com.schoolmanagement.factory.EntityFactory;
+import com.schoolmanagement.factory.EntityPool;
+import com.schoolmanagement.models.Book;
+import com.schoolmanagement.models.Library;
+import com.schoolmanagement.models.Student;
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EntityFactoryTest {
+
+    @Test
+    void testTypedAndUntypedCreationAgree() {
+        Student s = EntityFactory.create(Student.class);
+        assertEquals(0, s.getId());
+        assertEquals("", s.getRollNumber());
+        assertTrue(EntityFactory.createEntity("Book") instanceof Book);
+        assertTrue(EntityFactory.createEntity(EntityFactory.EntityType.LIBRARY) instanceof Library);
+        assertEquals(EntityFactory.EntityType.BOOK, EntityFactory.EntityType.of(Book.class));
+        assertThrows(IllegalArgumentException.class, () -> EntityFactory.createEntity("Janitor"));
+        assertThrows(IllegalArgumentException.class, () -> EntityFactory.create(String.class));
+    }
+
+    @Test
+    void testPoolReusesReleasedInstances() {
+        EntityPool<Book> pool = EntityFactory.pool(Book.class, 2);
+        List<Book> batch = new ArrayList<>();
+        for (int i = 0; i < 3; i++) batch.add(pool.acquire());
+        assertEquals(3, pool.getCreatedCount());
+
+        pool.releaseAll(batch);
+        assertEquals(2, pool.getIdleCount());
+        Book reused = pool.acquire();
+        assertTrue(batch.contains(reused));
+        pool.acquire();
+        pool.acquire();
+        assertEquals(4, pool.getCreatedCount());
+    }
+}
@@ -0,0 +1,162 @@
+package com.schoolmanagement.tests;
+
+import com.schoolmanagement.dao.memory.InMemoryDatabase;
+import com.schoolmanagement.http.JsonWriter;
+import com.schoolmanagement.http.SchoolHttpServer;
+import com.schoolmanagement.http.StoreSession;
+import com.schoolmanagement.models.Course;
+import com.schoolmanagement.models.Library;
+import com.schoolmanagement.models.Student;
+import org.junit.jupiter.api.*;
+
+import java.io.ByteArrayOutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HttpServerTest {
+
+    private InMemoryDatabase db;
+    private SchoolHttpServer server;
+    private HttpClient client;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        db = new InMemoryDatabase();
+        server = new SchoolHttpServer(new InetSocketAddress("127.0.0.1", 0), StoreSession.inMemory(db), 4, 1000);
+        server.start();
+        client = HttpClient.newHttpClient();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    private HttpResponse<String> send(String method, String path, String body) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + server.getPort() + path));
+        request.method(method, body == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(body));
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    @Test
+    void testCreateReadAndEnroll() throws Exception {
+        HttpResponse<String> created = send("POST", "/students",
+                "{\"rollNumber\":\"R1\",\"name\":\"Asha \\\"A\\\" Rao\",\"dob\":\"2004-05-06\",\"address\":null,\"cgpa\":3.5}");
+        assertEquals(201, created.statusCode(), created.body());
+        int id = db.studentDAO().findByRollNumber("R1").getId();
+        assertTrue(created.body().contains("\"id\":" + id));
+
+        HttpResponse<String> read = send("GET", "/students/" + id, null);
+        assertEquals(200, read.statusCode());
+        assertTrue(read.body().contains("\"name\":\"Asha \\\"A\\\" Rao\""), read.body());
+
+        db.courseDAO().create(new Course(0, "CS101", "Intro", "Basics"));
+        int courseId = db.courseDAO().findByCourseCode("CS101").getCourseId();
+        assertEquals(204, send("PUT", "/students/" + id + "/courses/" + courseId, null).statusCode());
+        HttpResponse<String> courses = send("GET", "/students/" + id + "/courses", null);
+        assertEquals(200, courses.statusCode());
+        assertTrue(courses.body().startsWith("[{\"courseId\":" + courseId), courses.body());
+
+        HttpResponse<String> cgpa = send("PUT", "/students/" + id + "/cgpa", "{\"cgpa\": 3.9}");
+        assertEquals(200, cgpa.statusCode());
+        assertEquals(3.9f, db.studentDAO().read(id).getCgpa());
+    }
+
+    @Test
+    void testCreateAnswersWithGeneratedIds() throws Exception {
+        db.libraryDAO().create(new Library(0, "Existing"));
+        HttpResponse<String> library = send("POST", "/libraries", "{\"name\":\"Main\"}");
+        assertEquals(201, library.statusCode(), library.body());
+        int libraryId = idOf(library);
+        assertEquals(2, libraryId);
+
+        HttpResponse<String> book = send("POST", "/books",
+                "{\"bookId\":\"B1\",\"title\":\"SICP\",\"author\":\"Abelson\",\"libraryId\":" + libraryId + "}");
+        assertEquals(201, book.statusCode(), book.body());
+        assertEquals("SICP", db.bookDAO().read(idOf(book)).getTitle());
+
+        HttpResponse<String> teacher = send("POST", "/teachers",
+                "{\"empId\":\"E1\",\"name\":\"Meera\",\"dob\":\"1980-01-01\",\"salary\":1000}");
+        assertEquals(201, teacher.statusCode(), teacher.body());
+        assertEquals("E1", db.teacherDAO().read(idOf(teacher)).getEmpId());
+    }
+
+    private static int idOf(HttpResponse<String> response) {
+        Matcher m = Pattern.compile("\"id\":(\\d+)").matcher(response.body());
+        assertTrue(m.find(), response.body());
+        return Integer.parseInt(m.group(1));
+    }
+
+    @Test
+    void testStreamedListMatchesWriter() throws Exception {
+        for (int i = 1; i <= 500; i++) db.studentDAO().create(new Student(0, "R" + i, "Student " + i, "2003-01-01", "Addr", 3f));
+        HttpResponse<String> list = send("GET", "/students", null);
+        assertEquals(200, list.statusCode());
+        assertTrue(list.headers().firstValue("Content-Length").isEmpty(), "list should be chunked");
+
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        JsonWriter json = new JsonWriter(expected);
+        json.beginArray();
+        for (Student s : db.studentDAO().getAllStudents()) {
+            json.beginObject().name("id").value(s.getId()).name("rollNumber").value(s.getRollNumber())
+                    .name("name").value(s.getName()).name("dob").value(s.getDob())
+                    .name("address").value(s.getAddress()).name("cgpa").value(s.getCgpa()).endObject();
+        }
+        json.endArray();
+        json.flush();
+        assertEquals(expected.toString(StandardCharsets.UTF_8), list.body());
+    }
+
+    @Test
+    void testErrorsAndMetrics() throws Exception {
+        assertEquals(404, send("GET", "/students/999", null).statusCode());
+        assertEquals(404, send("GET", "/nope", null).statusCode());
+        assertEquals(405, send("PATCH", "/students", null).statusCode());
+        assertEquals(400, send("GET", "/students/abc", null).statusCode());
+        assertEquals(400, send("POST", "/students", "{\"rollNumber\":").statusCode());
+
+        HttpResponse<String> metrics = send("GET", "/metrics", null);
+        assertEquals(200, metrics.statusCode());
+        assertTrue(metrics.body().contains("\"GET /students/{id}\":{\"count\":2"), metrics.body());
+        assertTrue(metrics.body().contains("\"maxInFlight\":4"), metrics.body());
+    }
+
+    @Test
+    void testBusyServerAnswers503() throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        StoreSession.Factory inner = StoreSession.inMemory(db);
+        StoreSession.Factory slow = () -> {
+            entered.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return inner.open();
+        };
+        try (SchoolHttpServer busy = new SchoolHttpServer(new InetSocketAddress("127.0.0.1", 0), slow, 1, 50)) {
+            busy.start();
+            String base = "http://127.0.0.1:" + busy.getPort();
+            CompletableFuture<HttpResponse<String>> first = client.sendAsync(HttpRequest.newBuilder(URI.create(base + "/students")).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            entered.await();
+            HttpResponse<String> rejected = client.send(HttpRequest.newBuilder(URI.create(base + "/students/1")).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            assertEquals(503, rejected.statusCode());
+            assertEquals("1", rejected.headers().firstValue("Retry-After").orElse(null));
+            release.countDown();
+            assertEquals(200, first.get().statusCode());
+        }
+    }
+}
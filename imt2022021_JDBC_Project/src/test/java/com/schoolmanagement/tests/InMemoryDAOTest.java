@@ -0,0 +1,171 @@
+package com.schoolmanagement.tests;
+
+import com.schoolmanagement.dao.memory.InMemoryBookDAO;
+import com.schoolmanagement.dao.memory.InMemoryCourseDAO;
+import com.schoolmanagement.dao.memory.InMemoryDatabase;
+import com.schoolmanagement.dao.memory.InMemoryLibraryDAO;
+import com.schoolmanagement.dao.memory.InMemoryStudentDAO;
+import com.schoolmanagement.dao.memory.InMemoryTeacherDAO;
+import com.schoolmanagement.models.Book;
+import com.schoolmanagement.models.Course;
+import com.schoolmanagement.models.Library;
+import com.schoolmanagement.models.Student;
+import com.schoolmanagement.models.Teacher;
+import com.schoolmanagement.services.SchoolService;
+import org.junit.jupiter.api.*;
+
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InMemoryDAOTest {
+
+    private InMemoryDatabase db;
+    private InMemoryStudentDAO students;
+    private InMemoryCourseDAO courses;
+    private InMemoryBookDAO books;
+    private InMemoryLibraryDAO libraries;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        db = new InMemoryDatabase();
+        students = db.studentDAO();
+        courses = db.courseDAO();
+        books = db.bookDAO();
+        libraries = db.libraryDAO();
+        libraries.create(new Library(0, "Main Library"));
+        courses.create(new Course(0, "C001", "Algorithms", "Test"));
+    }
+
+    @Test
+    void testCreateReadAndSecondaryIndex() throws SQLException {
+        students.create(new Student(0, "R100", "Asha", "2001-02-03", "Addr", 3.4f));
+        int id = students.getIdByRollNumber("R100");
+        assertEquals(1, id);
+        assertEquals("Asha", students.read(id).getName());
+        assertEquals(id, students.findByRollNumber("R100").getId());
+        assertEquals(-1, students.getIdByRollNumber("nope"));
+        assertNull(students.read(99));
+    }
+
+    @Test
+    void testDuplicateNaturalKeyRejected() throws SQLException {
+        students.create(new Student(0, "R1", "A", "2000-01-01", "x", 3f));
+        assertThrows(SQLIntegrityConstraintViolationException.class,
+                () -> students.create(new Student(0, "R1", "B", "2000-01-01", "y", 2f)));
+        assertEquals(1, students.getAllStudents().size());
+    }
+
+    @Test
+    void testReturnedRowsAreCopies() throws SQLException {
+        students.create(new Student(0, "R1", "A", "2000-01-01", "x", 3f));
+        students.read(1).setCgpa(1.0f);
+        assertEquals(3f, students.read(1).getCgpa());
+
+        students.updateCGPA(1, 3.9f);
+        assertEquals(3.9f, students.read(1).getCgpa());
+        assertEquals(1, students.updateAddress("R1", "New"));
+        assertEquals("New", students.read(1).getAddress());
+    }
+
+    @Test
+    void testEnrollmentLinksAndLazyCourses() throws SQLException {
+        students.create(new Student(0, "R1", "A", "2000-01-01", "x", 3f));
+        students.addStudentToCourse(1, 1);
+        assertThrows(SQLIntegrityConstraintViolationException.class, () -> students.addStudentToCourse(1, 1));
+        assertThrows(SQLIntegrityConstraintViolationException.class, () -> students.addStudentToCourse(1, 42));
+
+        Student s = students.read(1);
+        assertFalse(s.isCoursesLoaded());
+        assertEquals("C001", s.getCourses().get(0).getCourseCode());
+        assertEquals(1, courses.getStudentsForCourse(1).size());
+
+        books.create(new Book(0, "B1", "Title", "Author", 1));
+        books.markBookWithCourse(1, 1);
+        assertEquals("B1", students.getBooksForStudent(1).get(0).getBookId());
+
+        students.removeStudentFromCourse(1, 1);
+        assertTrue(courses.getStudentsForCourse(1).isEmpty());
+    }
+
+    @Test
+    void testDeletesCascade() throws SQLException {
+        students.create(new Student(0, "R1", "A", "2000-01-01", "x", 3f));
+        students.addStudentToCourse(1, 1);
+        books.create(new Book(0, "B1", "Title", "Author", 1));
+        books.markBookWithCourse(1, 1);
+
+        courses.delete(1);
+        assertTrue(students.getCoursesForStudent(1).isEmpty());
+
+        libraries.delete(1);
+        assertNull(books.read(1));
+        assertThrows(SQLIntegrityConstraintViolationException.class,
+                () -> books.create(new Book(0, "B2", "T", "A", 1)));
+
+        students.delete(1);
+        assertEquals(-1, students.getIdByRollNumber("R1"));
+    }
+
+    @Test
+    void testToppersAndSalaries() throws SQLException {
+        students.create(new Student(0, "R1", "A", "2000-01-01", "x", 3.1f));
+        students.create(new Student(0, "R2", "B", "2000-01-01", "x", 3.8f));
+        assertEquals("R2", students.getTopper().getRollNumber());
+
+        InMemoryTeacherDAO teachers = db.teacherDAO();
+        teachers.create(new Teacher(0, "E1", "T1", "1980-01-01", "x", 100f));
+        teachers.create(new Teacher(0, "E2", "T2", "1980-01-01", "x", 200f));
+        teachers.incrementSalary(1, 150f);
+        assertEquals("E1", teachers.getHighestPaidTeacher().getEmpId());
+    }
+
+    @Test
+    void testConcurrentCgpaUpdatesAndEnrollments() throws Exception {
+        for (int i = 0; i < 100; i++) students.create(new Student(0, "R" + i, "S" + i, "2000-01-01", "x", 2f));
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        for (int t = 0; t < 8; t++) {
+            int thread = t;
+            pool.execute(() -> {
+                for (int i = 1; i <= 100; i++) {
+                    students.updateCGPA(i, 3f);
+                    if (i % 8 == thread) {
+                        try {
+                            students.addStudentToCourse(i, 1);
+                        } catch (SQLException e) {
+                            fail(e);
+                        }
+                    }
+                }
+            });
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+        assertEquals(100, courses.getStudentsForCourse(1).size());
+        assertTrue(students.getAllStudents().stream().allMatch(s -> s.getCgpa() == 3f));
+    }
+
+    @Test
+    void testServiceRunsOnInMemoryStores() throws SQLException {
+        SchoolService service = SchoolService.inMemory();
+        service.addLibrary(new Library(0, "Lib"));
+        service.addBook(new Book(0, "B1", "Title", "Author", 1));
+        service.addStudent(new Student(0, "R1", "A", "2000-01-01", "x", 3f));
+        service.updateCGPA(1, 3.5f);
+        service.getTopper();
+        service.getAllBooks();
+    }
+
+    @Test
+    void testGetAllIsOrderedById() throws SQLException {
+        for (int i = 0; i < 50; i++) books.create(new Book(0, "B" + i, "T", "A", 1));
+        List<Book> all = books.getAllBooks();
+        for (int i = 0; i < all.size(); i++) assertEquals(i + 1, all.get(i).getId());
+        assertEquals(50, books.getBooksForLibrary(1).size());
+    }
+}
@@ -0,0 +1,44 @@
+package com.schoolmanagement.tests;
+
+import com.schoolmanagement.util.IntObjectMap;
+import org.junit.jupiter.api.*;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IntObjectMapTest {
+
+    @Test
+    void testPutGetAndOverwrite() {
+        IntObjectMap<String> map = new IntObjectMap<>();
+        assertNull(map.put(7, "a"));
+        assertEquals("a", map.put(7, "b"));
+        assertEquals("b", map.get(7));
+        assertEquals(1, map.size());
+        assertNull(map.get(8));
+        assertFalse(map.containsKey(8));
+    }
+
+    @Test
+    void testGrowsAndKeepsAllEntries() {
+        IntObjectMap<Integer> map = new IntObjectMap<>(2);
+        for (int i = -500; i < 500; i++) map.put(i * 31, i);
+
+        assertEquals(1000, map.size());
+        for (int i = -500; i < 500; i++) assertEquals(i, map.get(i * 31));
+        int[] keys = map.keys();
+        Arrays.sort(keys);
+        assertEquals(-500 * 31, keys[0]);
+        assertEquals(1000, map.values().size());
+    }
+
+    @Test
+    void testZeroKeyIsNotConfusedWithEmptySlot() {
+        IntObjectMap<String> map = new IntObjectMap<>();
+        assertFalse(map.containsKey(0));
+        map.put(0, "zero");
+        assertTrue(map.containsKey(0));
+        assertEquals("zero", map.get(0));
+    }
+}
@@ -0,0 +1,78 @@
+package com.schoolmanagement.tests;
+
+import com.schoolmanagement.dao.StudentDAO;
+import com.schoolmanagement.http.JsonWriter;
+import com.schoolmanagement.http.ModelJson;
+import com.schoolmanagement.http.RowJson;
+import com.schoolmanagement.models.Student;
+import org.junit.jupiter.api.*;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JsonWriterTest {
+
+    private static String render(ByteBuffer buffer, String... strings) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        JsonWriter json = new JsonWriter(out, buffer);
+        json.beginArray();
+        for (String s : strings) json.value(s);
+        json.value(Long.MIN_VALUE).value(-42).value(0).value(3.8f).value(2.0).nullValue().value(true);
+        json.beginObject().name(JsonWriter.key("kéy")).value(1).name("b").beginArray().endArray().endObject();
+        json.endArray();
+        json.flush();
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void testEncodingAndEscapes() throws Exception {
+        String text = render(ByteBuffer.allocate(1024), "plain", "q\"b\\", "tab\tnl\n\u0001", "é€😀", "lone\ud83d");
+        assertEquals("[\"plain\",\"q\\\"b\\\\\",\"tab\\tnl\\n\\u0001\",\"é€😀\",\"lone?\","
+                + "-9223372036854775808,-42,0,3.8,2,null,true,{\"kéy\":1,\"b\":[]}]", text);
+    }
+
+    @Test
+    void testSmallReusedBufferGivesSameBytes() throws Exception {
+        StringBuilder longText = new StringBuilder();
+        for (int i = 0; i < 500; i++) longText.append("€").append(i).append('"');
+        String[] values = {longText.toString(), "😀😀😀", "x"};
+
+        String expected = render(ByteBuffer.allocate(64 * 1024), values);
+        ByteBuffer small = ByteBuffer.allocate(64);
+        assertEquals(expected, render(small, values));
+        assertEquals(expected, render(small, values));
+        assertEquals(expected, render(ByteBuffer.allocateDirect(100), values));
+    }
+
+    @Test
+    void testRowsMatchModelJson() throws Exception {
+        try (TestDatabase database = TestDatabase.embedded("json_rows");
+             Connection connection = database.openConnection()) {
+            StudentDAO dao = new StudentDAO(connection);
+            dao.create(new Student(0, "R1", "Asha \"A\" Rao", "2004-05-06", "München", 3.8f));
+            dao.create(new Student(0, "R2", "Ravi", "2003-01-02", null, 3f));
+
+            ByteArrayOutputStream fromModels = new ByteArrayOutputStream();
+            JsonWriter json = new JsonWriter(fromModels);
+            json.beginArray();
+            for (Student s : dao.getAllStudents()) ModelJson.student(json, s);
+            json.endArray();
+            json.flush();
+
+            ByteArrayOutputStream fromRows = new ByteArrayOutputStream();
+            try (Statement st = connection.createStatement();
+                 ResultSet rs = st.executeQuery("SELECT id, roll_number, name, dob, address, cgpa FROM students ORDER BY id")) {
+                json.reset(fromRows);
+                assertEquals(2, RowJson.writeAll(json, rs));
+                json.flush();
+            }
+            assertEquals(fromModels.toString(StandardCharsets.UTF_8), fromRows.toString(StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.schoolmanagement.tests;
+
+import com.schoolmanagement.database.SqlScriptRunner;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.api.parallel.Isolated;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Smoke test for the legacy src/imt2022021_school.java CLI, which sits outside the Maven source
+// roots: compiles it, then drives one menu session against a fresh in-memory H2 database that the
+// CLI seeds from sql/schema.sql, alter.sql and insert.sql. Swaps System.in/out, so it runs alone.
+@Isolated
+public class LegacySchoolCliTest {
+
+    private static final String SOURCE = "src/imt2022021_school.java";
+    private static final String URL_KEY = "school.legacy.db.url";
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+    @Test
+    void testMenuSessionAgainstEmbeddedDatabase(@TempDir Path classes) throws Exception {
+        JavaCompiler javac = ToolProvider.getSystemJavaCompiler();
+        assertNotNull(javac, "needs a JDK");
+        String classpath = Paths.get(SqlScriptRunner.class.getProtectionDomain().getCodeSource().getLocation().toURI()).toString();
+        ByteArrayOutputStream diagnostics = new ByteArrayOutputStream();
+        int status = javac.run(null, diagnostics, diagnostics, "-d", classes.toString(), "-cp", classpath, SOURCE);
+        assertEquals(0, status, diagnostics.toString(StandardCharsets.UTF_8));
+
+        // The MySQL-only driver properties the CLI passes are ignored rather than rejected
+        String url = "jdbc:h2:mem:legacy_cli_" + SEQUENCE.incrementAndGet()
+                + ";MODE=MySQL;DB_CLOSE_DELAY=-1;IGNORE_UNKNOWN_SETTINGS=TRUE";
+        String session = String.join("\n",
+                "11", "2023000001",
+                "1", "2024000001", "Asha", "501", "2024", "Science", "asha@example.com", "3.9",
+                "23", "2023000001",
+                "25") + "\n";
+
+        String saved = System.getProperty(URL_KEY);
+        InputStream in = System.in;
+        PrintStream out = System.out;
+        ByteArrayOutputStream transcript = new ByteArrayOutputStream();
+        try (URLClassLoader loader = new URLClassLoader(new URL[] { classes.toUri().toURL() }, getClass().getClassLoader())) {
+            System.setProperty(URL_KEY, url);
+            System.setIn(new ByteArrayInputStream(session.getBytes(StandardCharsets.UTF_8)));
+            System.setOut(new PrintStream(transcript, true, StandardCharsets.UTF_8));
+            Method main = loader.loadClass("imt2022021_school").getMethod("main", String[].class);
+            main.invoke(null, (Object) new String[0]);
+        } finally {
+            System.setIn(in);
+            System.setOut(out);
+            if (saved == null) System.clearProperty(URL_KEY);
+            else System.setProperty(URL_KEY, saved);
+        }
+
+        String text = transcript.toString(StandardCharsets.UTF_8);
+        assertTrue(text.contains("Name: John Doe"), text);
+        assertTrue(text.contains("Student Admitted Successfully"), text);
+        assertTrue(text.contains("The Great Gatsby"), text);
+        assertTrue(text.contains("End of Code"), text);
+
+        try (Connection connection = DriverManager.getConnection(url, "root", "admin");
+             Statement st = connection.createStatement()) {
+            try (ResultSet rs = st.executeQuery("SELECT name, cgpa FROM Student WHERE admno = '2024000001'")) {
+                assertTrue(rs.next());
+                assertEquals("Asha", rs.getString(1));
+                assertEquals(3.9f, rs.getFloat(2), 0.001);
+            }
+            st.execute("SHUTDOWN");
+        }
+    }
+}
@@ -12,6 +12,7 @@ import static org.junit.jupiter.api.Assertions.*;
 public class LibraryDAOTest {
 
     private static Connection connection;
+    private static TestDatabase database;
     private static LibraryDAO libraryDAO;
     
     // Assumed unique ID for setup/teardown consistency
@@ -22,11 +23,8 @@ public class LibraryDAOTest {
     @BeforeAll
     static void setupDatabase() throws SQLException {
         // NOTE: Replace with your actual database connection details if necessary
-        connection = DriverManager.getConnection(
-            "jdbc:mysql://localhost:3306/school_db?useSSL=false&allowPublicKeyRetrieval=true",
-            "root",
-            "admin"
-        );
+        database = TestDatabase.create(LibraryDAOTest.class);
+        connection = database.openConnection();
         libraryDAO = new LibraryDAO(connection);
         
         // Ensure a known library ID exists if foreign keys are involved later
@@ -43,6 +41,7 @@ public class LibraryDAOTest {
              st.execute("DELETE FROM libraries WHERE id = " + SETUP_LIBRARY_ID);
         }
         if (connection != null) connection.close();
+        if (database != null) database.close();
     }
 
     @BeforeEach
@@ -81,6 +80,7 @@ public class LibraryDAOTest {
         // Fetch ID to verify insertion
         int generatedId = fetchIdByName(TEST_NAME);
         assertTrue(generatedId > 0, "Library should be inserted.");
+        assertEquals(generatedId, l1.getId(), "create should set the generated id");
 
         // 2. READ & mapResultSetToEntity (Covers L25-L31, L43-L47 and all related mutants)
         Library readLibrary = libraryDAO.read(generatedId);
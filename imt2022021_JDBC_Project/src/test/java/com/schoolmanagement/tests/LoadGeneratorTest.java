@@ -0,0 +1,74 @@
+package com.schoolmanagement.tests;
+
+import com.schoolmanagement.dao.StudentStore;
+import com.schoolmanagement.dao.memory.InMemoryDatabase;
+import com.schoolmanagement.loadtest.LatencyHistogram;
+import com.schoolmanagement.loadtest.LoadGenerator;
+import com.schoolmanagement.loadtest.LoadReport;
+import com.schoolmanagement.loadtest.LoadSpec;
+import com.schoolmanagement.loadtest.Operation;
+import com.schoolmanagement.models.Course;
+import com.schoolmanagement.models.Student;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.parallel.Isolated;
+
+import java.lang.reflect.Proxy;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Asserts on wall-clock latencies, which other test classes running alongside would inflate
+@Isolated
+public class LoadGeneratorTest {
+
+    @Test
+    void testHistogramPercentiles() {
+        LatencyHistogram h = new LatencyHistogram();
+        for (int i = 1; i <= 10_000; i++) h.record(i * 1_000L);
+        assertEquals(10_000, h.getCount());
+        assertEquals(5_000_000, h.percentile(50), 5_000_000 * 0.005);
+        assertEquals(9_900_000, h.percentile(99), 9_900_000 * 0.005);
+        assertEquals(10_000_000, h.percentile(100));
+        assertEquals(10_000_000, h.getMax());
+    }
+
+    @Test
+    void testMixedRunAgainstInMemoryStores() throws Exception {
+        InMemoryDatabase db = new InMemoryDatabase();
+        for (int i = 1; i <= 20; i++) db.courseDAO().create(new Course(0, "C" + i, "Course " + i, ""));
+        for (int i = 1; i <= 200; i++) db.studentDAO().create(new Student(0, "R" + i, "S" + i, "2003-01-01", "", 3f));
+
+        LoadSpec spec = new LoadSpec().mix("read=70,enroll=20,cgpa=10").rate(2_000).warmup(100).duration(500)
+                .clients(4).population(200, 20);
+        LoadReport report = new LoadGenerator(spec).run(client -> db.studentDAO());
+
+        assertEquals(1_000, report.totalCount(), 50);
+        long reads = report.latency(Operation.STUDENT_BY_ID).getCount();
+        assertTrue(reads > report.latency(Operation.ENROLL).getCount());
+        assertTrue(report.latency(Operation.ENROLL).getCount() > report.latency(Operation.UPDATE_CGPA).getCount());
+        assertEquals(0, report.latency(Operation.STUDENT_BOOKS).getCount());
+        assertEquals(0, report.errors(Operation.ENROLL));
+        assertTrue(report.toString().contains("STUDENT_BY_ID"));
+    }
+
+    @Test
+    void testStallsAreChargedToQueuedRequests() throws Exception {
+        // Every read takes 20 ms but requests arrive every 5 ms: a closed loop would report 20 ms,
+        // the open loop must report the growing queue behind the single client
+        StudentStore slow = (StudentStore) Proxy.newProxyInstance(StudentStore.class.getClassLoader(),
+                new Class<?>[] {StudentStore.class}, (proxy, method, args) -> {
+                    Thread.sleep(20);
+                    return null;
+                });
+        LoadSpec spec = new LoadSpec().mix("read=1").rate(200).warmup(0).duration(300).clients(1);
+        LoadReport report = new LoadGenerator(spec).run(client -> slow);
+
+        long service = report.serviceTime(Operation.STUDENT_BY_ID).percentile(99);
+        long latency = report.latency(Operation.STUDENT_BY_ID).percentile(99);
+        assertTrue(service < 40_000_000L, "service p99 " + service);
+        assertTrue(latency > 3 * service, "latency p99 " + latency + " vs service p99 " + service);
+
+        // Offered 200 ops/s, served at most 50: the queue drains long after the window closes
+        assertTrue(report.elapsedSeconds() > 0.6, "elapsed " + report.elapsedSeconds());
+        assertTrue(report.throughput() < 100, "throughput " + report.throughput());
+    }
+}
@@ -0,0 +1,92 @@
+package com.schoolmanagement.tests;
+
+import com.schoolmanagement.dao.CourseDAO;
+import com.schoolmanagement.dao.StudentDAO;
+import com.schoolmanagement.dao.mapping.BookMapper;
+import com.schoolmanagement.dao.mapping.RowMapper;
+import com.schoolmanagement.dao.mapping.StudentMapper;
+import com.schoolmanagement.models.Course;
+import com.schoolmanagement.models.Student;
+import org.junit.jupiter.api.*;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MapperTest {
+
+    private TestDatabase database;
+    private Connection connection;
+
+    @BeforeEach
+    void openEmbedded(TestInfo info) throws SQLException {
+        database = TestDatabase.embedded("mapper_" + info.getTestMethod().get().getName());
+        connection = database.openConnection();
+        try (Statement st = connection.createStatement()) {
+            st.execute("INSERT INTO students (roll_number, name, dob, address, cgpa) VALUES "
+                    + "('R1', 'Asha', '2004-05-06', 'Mysuru', 3.5), ('R2', 'Ravi', '2003-01-02', NULL, 3.0)");
+            st.execute("INSERT INTO courses (course_code, course_name, course_description) VALUES ('CS101', 'Intro', 'Basics')");
+            st.execute("INSERT INTO enrollments (student_id, course_id) VALUES (1, 1), (2, 1)");
+        }
+    }
+
+    @AfterEach
+    void restore() throws SQLException {
+        connection.close();
+        database.close();
+    }
+
+    @Test
+    void testSelectListFollowsColumnOrder() {
+        assertEquals("s.id, s.roll_number, s.name, s.dob, s.address, s.cgpa", StudentMapper.INSTANCE.selectList("s"));
+        assertEquals("id, book_id, title, author, library_id", BookMapper.INSTANCE.selectList(null));
+    }
+
+    @Test
+    void testBindsByLabelInAnyOrderAndCase() throws SQLException {
+        try (Statement st = connection.createStatement();
+             ResultSet rs = st.executeQuery("SELECT CGPA, address, 'x' AS extra, NAME, dob, roll_number, id FROM students ORDER BY id")) {
+            List<Student> students = new StudentDAO(connection).mapResultSetToList(rs);
+            assertEquals(2, students.size());
+            Student asha = students.get(0);
+            assertEquals(1, asha.getId());
+            assertEquals("R1", asha.getRollNumber());
+            assertEquals("Asha", asha.getName());
+            assertEquals("Mysuru", asha.getAddress());
+            assertEquals(3.5f, asha.getCgpa());
+            assertNull(students.get(1).getAddress());
+            // attach() still runs: the lazy course loader is set
+            assertEquals(1, asha.getCourses().size());
+        }
+    }
+
+    @Test
+    void testMissingColumnIsReported() throws SQLException {
+        try (Statement st = connection.createStatement();
+             ResultSet rs = st.executeQuery("SELECT id, name FROM students")) {
+            SQLException e = assertThrows(SQLException.class, () -> StudentMapper.INSTANCE.bind(rs.getMetaData()));
+            assertTrue(e.getMessage().contains("roll_number"), e.getMessage());
+        }
+    }
+
+    @Test
+    void testPositionalBindingAfterJoinKey() throws SQLException {
+        RowMapper<Student> rows = StudentMapper.INSTANCE.bindAt(2);
+        try (Statement st = connection.createStatement();
+             ResultSet rs = st.executeQuery("SELECT e.course_id, " + StudentMapper.INSTANCE.selectList("s")
+                     + " FROM enrollments e JOIN students s ON s.id = e.student_id ORDER BY s.id")) {
+            assertTrue(rs.next());
+            assertEquals(1, rs.getInt(1));
+            assertEquals("R1", rows.map(rs).getRollNumber());
+        }
+
+        CourseDAO courseDAO = new CourseDAO(connection);
+        List<Course> courses = courseDAO.getAllCourses();
+        courseDAO.loadStudents(courses);
+        assertEquals(2, courses.get(0).getStudents().size());
+    }
+}
@@ -0,0 +1,94 @@
+package com.schoolmanagement.tests;
+
+import com.schoolmanagement.database.MigrationRunner;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MigrationRunnerTest {
+
+    private TestDatabase database;
+    private Connection connection;
+
+    @BeforeEach
+    void openEmbedded(TestInfo info) throws SQLException {
+        database = TestDatabase.embedded("migrations_" + info.getTestMethod().get().getName());
+        connection = database.openConnection();
+    }
+
+    @AfterEach
+    void restore() throws SQLException {
+        connection.close();
+        database.close();
+    }
+
+    @Test
+    void testShippedMigrationsApplyOnceAndCreateIndexes() throws SQLException {
+        MigrationRunner runner = new MigrationRunner(connection, Paths.get("sql/migrations"), true);
+        List<MigrationRunner.Migration> applied = runner.migrate();
+        assertEquals(2, applied.size());
+        assertEquals(1, applied.get(0).getVersion());
+        assertTrue(runner.migrate().isEmpty());
+        assertEquals(2, runner.applied().size());
+
+        assertTrue(hasIndex("students", "idx_students_cgpa"));
+        assertTrue(hasIndex("enrollments", "idx_enrollments_course_student"));
+        assertTrue(hasIndex("course_books", "idx_course_books_book_course"));
+    }
+
+    @Test
+    void testExistingIndexIsSkipped(@TempDir Path dir) throws Exception {
+        try (Statement st = connection.createStatement()) {
+            st.execute("CREATE INDEX idx_teachers_salary ON teachers (salary)");
+        }
+        Files.writeString(dir.resolve("V1__salary_index.sql"), "CREATE INDEX idx_teachers_salary ON teachers (salary);\n");
+        assertEquals(1, new MigrationRunner(connection, dir, false).migrate().size());
+    }
+
+    @Test
+    void testEditedMigrationIsRejected(@TempDir Path dir) throws Exception {
+        Files.writeString(dir.resolve("V1__seed.sql"), "INSERT INTO libraries (name) VALUES ('Main');\n");
+        MigrationRunner runner = new MigrationRunner(connection, dir, false);
+        runner.migrate();
+
+        Files.writeString(dir.resolve("V1__seed.sql"), "INSERT INTO libraries (name) VALUES ('Annex');\n");
+        SQLException e = assertThrows(SQLException.class, runner::migrate);
+        assertTrue(e.getMessage().contains("changed after it was applied"));
+    }
+
+    @Test
+    void testFailedMigrationRollsBackAndIsNotRecorded(@TempDir Path dir) throws Exception {
+        Files.writeString(dir.resolve("V1__seed.sql"), "INSERT INTO libraries (name) VALUES ('Main');\n");
+        Files.writeString(dir.resolve("V2__broken.sql"),
+                "-- second statement fails\nINSERT INTO libraries (name) VALUES ('Annex');\nINSERT INTO no_such_table VALUES (1);\n");
+        MigrationRunner runner = new MigrationRunner(connection, dir, false);
+        assertThrows(SQLException.class, runner::migrate);
+
+        assertEquals(List.of(1), List.copyOf(runner.applied().keySet()));
+        try (Statement st = connection.createStatement();
+             ResultSet rs = st.executeQuery("SELECT COUNT(*) FROM libraries")) {
+            rs.next();
+            assertEquals(1, rs.getInt(1));
+        }
+        assertTrue(connection.getAutoCommit());
+    }
+
+    private boolean hasIndex(String table, String index) throws SQLException {
+        try (ResultSet rs = connection.getMetaData().getIndexInfo(null, null, table, false, false)) {
+            while (rs.next()) {
+                if (index.equalsIgnoreCase(rs.getString("INDEX_NAME"))) return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,108 @@
+package com.schoolmanagement.tests;
+
+import com.schoolmanagement.database.ConnectionPool;
+import com.schoolmanagement.http.SchoolHttpServer;
+import com.schoolmanagement.http.StoreSession;
+import org.junit.jupiter.api.*;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// The server as it runs in production: JDBC stores over a ConnectionPool, here on an embedded database
+public class PooledHttpServerTest {
+
+    private TestDatabase db;
+    private ConnectionPool pool;
+    private SchoolHttpServer server;
+    private HttpClient client;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        db = TestDatabase.embedded("pooled_http");
+        pool = new ConnectionPool(db.config().with("pool.size", "2"));
+        server = new SchoolHttpServer(new InetSocketAddress("127.0.0.1", 0), StoreSession.pooled(pool), pool.getSize(), 1000);
+        server.start();
+        client = HttpClient.newHttpClient();
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        server.close();
+        pool.close();
+        db.close();
+    }
+
+    private HttpResponse<String> send(String method, String path, String body) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + server.getPort() + path));
+        request.method(method, body == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(body));
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static int intField(HttpResponse<String> response, String name) {
+        Matcher m = Pattern.compile("\"" + name + "\":(\\d+)").matcher(response.body());
+        assertTrue(m.find(), response.body());
+        return Integer.parseInt(m.group(1));
+    }
+
+    @Test
+    void testCreateEnrollAndReadBack() throws Exception {
+        HttpResponse<String> student = send("POST", "/students",
+                "{\"rollNumber\":\"R1\",\"name\":\"Asha\",\"dob\":\"2004-05-06\",\"address\":\"Main St\",\"cgpa\":3.5}");
+        assertEquals(201, student.statusCode(), student.body());
+        int id = intField(student, "id");
+        assertTrue(id > 0);
+
+        HttpResponse<String> course = send("POST", "/courses",
+                "{\"courseCode\":\"CS101\",\"courseName\":\"Intro\",\"courseDescription\":\"Basics\"}");
+        assertEquals(201, course.statusCode(), course.body());
+        int courseId = intField(course, "courseId");
+        assertTrue(courseId > 0);
+
+        assertEquals(204, send("PUT", "/students/" + id + "/courses/" + courseId, null).statusCode());
+        HttpResponse<String> roster = send("GET", "/courses/" + courseId + "/students", null);
+        assertEquals(200, roster.statusCode());
+        assertTrue(roster.body().contains("\"rollNumber\":\"R1\""), roster.body());
+
+        // Same roll number again: a constraint violation, answered without losing the connection
+        HttpResponse<String> duplicate = send("POST", "/students",
+                "{\"rollNumber\":\"R1\",\"name\":\"Other\",\"dob\":\"2004-05-06\",\"cgpa\":3.0}");
+        assertEquals(409, duplicate.statusCode(), duplicate.body());
+        assertEquals(2, pool.getOpenCount());
+    }
+
+    @Test
+    void testExportStreamsTableRows() throws Exception {
+        for (int i = 1; i <= 3; i++) {
+            assertEquals(201, send("POST", "/libraries", "{\"name\":\"Library " + i + "\"}").statusCode());
+        }
+        HttpResponse<String> export = send("GET", "/export/libraries", null);
+        assertEquals(200, export.statusCode(), export.body());
+        assertTrue(export.headers().firstValue("Content-Length").isEmpty(), "export should be chunked");
+        assertEquals("[{\"id\":1,\"name\":\"Library 1\"},{\"id\":2,\"name\":\"Library 2\"},{\"id\":3,\"name\":\"Library 3\"}]",
+                export.body());
+
+        assertEquals(404, send("GET", "/export/replica_status", null).statusCode());
+    }
+
+    @Test
+    void testBrokenConnectionIsReplacedAfterFailure() throws Exception {
+        Connection broken = pool.borrow();
+        broken.close();
+        pool.release(broken, true);
+        assertEquals(2, pool.getIdleCount());
+        assertEquals(2, pool.getOpenCount());
+
+        // Every idle connection works again
+        assertEquals(200, send("GET", "/libraries", null).statusCode());
+        assertEquals(200, send("GET", "/libraries", null).statusCode());
+    }
+}
@@ -0,0 +1,214 @@
+package com.schoolmanagement.tests;
+
+import com.schoolmanagement.dao.StudentDAO;
+import com.schoolmanagement.database.ReplicaRouter;
+import com.schoolmanagement.models.Student;
+import org.junit.jupiter.api.*;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Routes between three embedded databases: one primary and two "replicas" whose lag and load
+// come from a replica_status row, read through the router's probe connections. Read connections
+// are opened by the router per reader thread, so tests tell them apart by database URL
+public class ReplicaRouterTest {
+
+    private static TestDatabase primaryDb;
+    private static TestDatabase replicaDb1;
+    private static TestDatabase replicaDb2;
+
+    private Connection primary;
+    private Connection probe1;
+    private Connection probe2;
+    private final List<Connection> probed = new ArrayList<>();
+
+    // Lag and load straight from the replica_status table
+    private final ReplicaRouter.Probe statusTable = new ReplicaRouter.Probe() {
+        @Override
+        public long lagSeconds(Connection connection) throws SQLException {
+            probed.add(connection);
+            return status(connection, "lag_seconds");
+        }
+
+        @Override
+        public int threadsRunning(Connection connection) throws SQLException {
+            return (int) status(connection, "threads_running");
+        }
+    };
+
+    @BeforeAll
+    static void setupAll() {
+        primaryDb = TestDatabase.embedded("router_primary");
+        replicaDb1 = TestDatabase.embedded("router_replica1");
+        replicaDb2 = TestDatabase.embedded("router_replica2");
+    }
+
+    @AfterAll
+    static void tearAll() throws SQLException {
+        if (primaryDb != null) primaryDb.close();
+        if (replicaDb1 != null) replicaDb1.close();
+        if (replicaDb2 != null) replicaDb2.close();
+    }
+
+    @BeforeEach
+    void openConnections() throws SQLException {
+        primary = primaryDb.openConnection();
+        probe1 = replicaDb1.openConnection();
+        probe2 = replicaDb2.openConnection();
+        for (Connection c : List.of(probe1, probe2)) {
+            try (Statement st = c.createStatement()) {
+                st.execute("CREATE TABLE IF NOT EXISTS replica_status (lag_seconds BIGINT, threads_running INT)");
+                st.execute("DELETE FROM replica_status");
+                st.execute("INSERT INTO replica_status VALUES (0, 1)");
+            }
+        }
+        try (Statement st = primary.createStatement()) {
+            st.execute("DELETE FROM students");
+        }
+    }
+
+    @AfterEach
+    void closeConnections() throws SQLException {
+        if (primary != null) primary.close();
+        // probe1/probe2 are closed by the router, or here when a test made none
+        for (Connection c : List.of(probe1, probe2)) {
+            if (!c.isClosed()) c.close();
+        }
+    }
+
+    private ReplicaRouter router(ReplicaRouter.Balancing balancing, long readYourWritesMillis) {
+        // Long probe interval: the tests resample explicitly with refresh()
+        return new ReplicaRouter(primary, List.of("replica1", "replica2"),
+                List.of(replicaDb1::openConnection, replicaDb2::openConnection),
+                List.of(probe1, probe2), statusTable, balancing, 5, readYourWritesMillis, 60_000);
+    }
+
+    // "replica1", "replica2" or "primary", from the database the connection points at
+    private static String target(Connection connection) throws SQLException {
+        String url = connection.getMetaData().getURL();
+        if (url.contains("router_replica1")) return "replica1";
+        if (url.contains("router_replica2")) return "replica2";
+        return "primary";
+    }
+
+    private static long status(Connection connection, String column) throws SQLException {
+        try (Statement st = connection.createStatement();
+             ResultSet rs = st.executeQuery("SELECT " + column + " FROM replica_status")) {
+            return rs.next() ? rs.getLong(1) : 0;
+        }
+    }
+
+    private static void setStatus(Connection probe, long lagSeconds, int threadsRunning) throws SQLException {
+        try (PreparedStatement ps = probe.prepareStatement(
+                "UPDATE replica_status SET lag_seconds = ?, threads_running = ?")) {
+            ps.setLong(1, lagSeconds);
+            ps.setInt(2, threadsRunning);
+            ps.executeUpdate();
+        }
+    }
+
+    @Test
+    void testRoundRobin_alternatesBetweenReplicas() throws SQLException {
+        try (ReplicaRouter router = router(ReplicaRouter.Balancing.ROUND_ROBIN, 0)) {
+            assertEquals("replica1", target(router.forRead()));
+            assertEquals("replica2", target(router.forRead()));
+            assertEquals("replica1", target(router.forRead()));
+            assertSame(primary, router.forWrite());
+        }
+    }
+
+    @Test
+    void testReaders_eachGetTheirOwnConnection() throws Exception {
+        setStatus(probe2, 30, 1);
+        List<Connection> seen = new ArrayList<>();
+        try (ReplicaRouter router = router(ReplicaRouter.Balancing.ROUND_ROBIN, 0)) {
+            Connection mine = router.forRead();
+            assertSame(mine, router.forRead());
+
+            AtomicReference<Connection> theirs = new AtomicReference<>();
+            Thread other = new Thread(() -> theirs.set(router.forRead()));
+            other.start();
+            other.join();
+            assertNotSame(mine, theirs.get());
+            assertEquals("replica1", target(theirs.get()));
+            assertEquals(2, router.getReplicas().get(0).getReadConnectionCount());
+            seen.add(mine);
+            seen.add(theirs.get());
+        }
+        for (Connection c : seen) assertTrue(c.isClosed());
+    }
+
+    @Test
+    void testProbe_usesItsOwnConnections() throws SQLException {
+        try (ReplicaRouter router = router(ReplicaRouter.Balancing.ROUND_ROBIN, 0)) {
+            router.refresh();
+            assertFalse(probed.isEmpty());
+            for (Connection c : probed) {
+                assertTrue(c == probe1 || c == probe2);
+            }
+        }
+    }
+
+    @Test
+    void testLeastLoaded_picksReplicaWithFewestRunningThreads() throws SQLException {
+        setStatus(probe1, 0, 7);
+        setStatus(probe2, 0, 3);
+        try (ReplicaRouter router = router(ReplicaRouter.Balancing.LEAST_LOADED, 0)) {
+            assertEquals("replica2", target(router.forRead()));
+            assertEquals("replica2", target(router.forRead()));
+            assertEquals(3, router.getReplicas().get(1).getThreadsRunning());
+        }
+    }
+
+    @Test
+    void testLaggingReplica_isEvictedUntilItCatchesUp() throws SQLException {
+        try (ReplicaRouter router = router(ReplicaRouter.Balancing.ROUND_ROBIN, 0)) {
+            setStatus(probe1, 30, 1);
+            router.refresh();
+            assertEquals(30, router.getReplicas().get(0).getLagSeconds());
+            for (int i = 0; i < 4; i++) assertEquals("replica2", target(router.forRead()));
+
+            // Replication stopped on the other one too: reads fall back to the primary
+            setStatus(probe2, -1, 1);
+            router.refresh();
+            assertFalse(router.getReplicas().get(1).isHealthy());
+            assertSame(primary, router.forRead());
+
+            setStatus(probe1, 2, 1);
+            router.refresh();
+            assertEquals("replica1", target(router.forRead()));
+        }
+    }
+
+    @Test
+    void testReadYourWrites_keepsWritingThreadOnPrimary() throws Exception {
+        try (ReplicaRouter router = router(ReplicaRouter.Balancing.ROUND_ROBIN, 60_000)) {
+            StudentDAO dao = new StudentDAO(primary);
+            dao.setReplicaRouter(router);
+            dao.create(new Student(0, "R900", "Routed", "2000-01-01", "Addr", 3.0f));
+
+            // The writing thread reads its own row from the primary...
+            assertNotNull(dao.findByRollNumber("R900"));
+
+            // ...while another thread is sent to a replica, which has not seen it
+            AtomicReference<Student> seen = new AtomicReference<>();
+            AtomicReference<Connection> used = new AtomicReference<>();
+            Thread other = new Thread(() -> {
+                try {
+                    used.set(router.forRead());
+                    seen.set(dao.findByRollNumber("R900"));
+                } catch (SQLException e) {
+                    throw new RuntimeException(e);
+                }
+            });
+            other.start();
+            other.join();
+            assertNotSame(primary, used.get());
+            assertNull(seen.get());
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.schoolmanagement.tests;
+
+import com.schoolmanagement.dao.ShardedStore;
+import com.schoolmanagement.database.ShardRouter;
+import com.schoolmanagement.models.Course;
+import com.schoolmanagement.models.Student;
+import org.junit.jupiter.api.*;
+
+import java.sql.*;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// ShardedStore over two embedded databases, BLR on shard 0 and DEL on shard 1. H2 has no
+// session auto_increment_increment/offset, so each shard's identity columns are given the same
+// layout directly: shard k hands out k + 1, k + 3, k + 5, ...
+public class ShardedStoreTest {
+
+    private static final String[] SHARDED_TABLES = { "students", "teachers", "libraries", "books" };
+
+    private TestDatabase db0;
+    private TestDatabase db1;
+    private ShardedStore store;
+
+    @BeforeEach
+    void setup() throws SQLException {
+        db0 = TestDatabase.embedded("shard0");
+        db1 = TestDatabase.embedded("shard1");
+        Connection shard0 = db0.openConnection();
+        Connection shard1 = db1.openConnection();
+        layOutIds(shard0, 0, 2);
+        layOutIds(shard1, 1, 2);
+        store = new ShardedStore(new ShardRouter(List.of(shard0, shard1), Map.of("BLR", 0, "DEL", 1)));
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        if (store != null) store.close();
+        db0.close();
+        db1.close();
+    }
+
+    private static void layOutIds(Connection shard, int index, int shardCount) throws SQLException {
+        try (Statement st = shard.createStatement()) {
+            for (String table : SHARDED_TABLES) {
+                st.execute("ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + (index + 1));
+                st.execute("ALTER TABLE " + table + " ALTER COLUMN id SET INCREMENT BY " + shardCount);
+            }
+        }
+    }
+
+    private static int count(TestDatabase db, String query, Object... params) throws SQLException {
+        try (Connection c = db.openConnection(); PreparedStatement ps = c.prepareStatement(query)) {
+            for (int i = 0; i < params.length; i++) ps.setObject(i + 1, params[i]);
+            try (ResultSet rs = ps.executeQuery()) {
+                rs.next();
+                return rs.getInt(1);
+            }
+        }
+    }
+
+    private static Student student(String rollNumber, float cgpa) {
+        return new Student(0, rollNumber, "Student " + rollNumber, "2001-01-01", "Campus Road", cgpa);
+    }
+
+    @Test
+    void testStudentsLandOnCampusShardAndRouteBackById() throws SQLException {
+        Student blr = student("BLR-2021-001", 3.1f);
+        Student del = student("DEL-2021-001", 3.4f);
+        Student blr2 = student("BLR-2021-002", 3.2f);
+        store.addStudent(blr);
+        store.addStudent(del);
+        store.addStudent(blr2);
+
+        // Ids generated on shard k map back to shard k
+        ShardRouter router = store.getRouter();
+        assertEquals(0, router.shardForId(blr.getId()));
+        assertEquals(0, router.shardForId(blr2.getId()));
+        assertEquals(1, router.shardForId(del.getId()));
+
+        assertEquals(1, count(db0, "SELECT COUNT(*) FROM students WHERE id = ?", blr.getId()));
+        assertEquals(0, count(db1, "SELECT COUNT(*) FROM students WHERE id = ?", blr.getId()));
+        assertEquals(1, count(db1, "SELECT COUNT(*) FROM students WHERE id = ?", del.getId()));
+
+        assertEquals("BLR-2021-001", store.getStudent(blr.getId()).getRollNumber());
+        assertEquals("DEL-2021-001", store.getStudent(del.getId()).getRollNumber());
+        assertEquals(List.of(blr.getId(), del.getId(), blr2.getId()),
+                store.getAllStudents().stream().map(Student::getId).toList());
+    }
+
+    @Test
+    void testMisplacedIdIsRejectedAndRemoved() throws SQLException {
+        // Shard 1 left with a default identity would generate ids that route to shard 0
+        try (Connection c = db1.openConnection(); Statement st = c.createStatement()) {
+            st.execute("ALTER TABLE students ALTER COLUMN id RESTART WITH 5");
+        }
+        SQLException e = assertThrows(SQLException.class, () -> store.addStudent(student("DEL-2021-009", 3.0f)));
+        assertTrue(e.getMessage().contains("routes to shard 0"), e.getMessage());
+        assertEquals(0, count(db1, "SELECT COUNT(*) FROM students"));
+    }
+
+    @Test
+    void testCourseIsReplicatedUnderSameId() throws SQLException {
+        Course course = store.addCourse(new Course(0, "CS101", "Programming", "Intro"));
+        assertTrue(course.getCourseId() > 0);
+        for (TestDatabase db : List.of(db0, db1)) {
+            assertEquals(1, count(db, "SELECT COUNT(*) FROM courses WHERE course_id = ? AND course_code = 'CS101'",
+                    course.getCourseId()));
+        }
+
+        store.deleteCourse(course.getCourseId());
+        assertEquals(0, count(db0, "SELECT COUNT(*) FROM courses"));
+        assertEquals(0, count(db1, "SELECT COUNT(*) FROM courses"));
+    }
+
+    @Test
+    void testFailedReplicationRemovesCourseFromHome() throws SQLException {
+        try (Connection c = db1.openConnection(); Statement st = c.createStatement()) {
+            st.execute("ALTER TABLE courses RENAME TO courses_offline");
+        }
+        SQLException e = assertThrows(SQLException.class,
+                () -> store.addCourse(new Course(0, "CS102", "Data Structures", "Lists")));
+        assertTrue(e.getMessage().contains("shards [1]"), e.getMessage());
+        assertTrue(e.getMessage().contains("removed it again"), e.getMessage());
+        assertEquals(0, count(db0, "SELECT COUNT(*) FROM courses"));
+    }
+
+    @Test
+    void testRosterIsGatheredFromEveryShard() throws SQLException {
+        Course course = store.addCourse(new Course(0, "CS103", "Databases", "SQL"));
+        Student blr = student("BLR-2022-001", 3.0f);
+        Student del = student("DEL-2022-001", 3.5f);
+        Student other = student("BLR-2022-002", 2.5f);
+        store.addStudent(blr);
+        store.addStudent(del);
+        store.addStudent(other);
+        store.addStudentToCourse(blr.getId(), course.getCourseId());
+        store.addStudentToCourse(del.getId(), course.getCourseId());
+
+        List<Student> roster = store.getStudentsForCourse(course.getCourseId());
+        assertEquals(List.of(blr.getId(), del.getId()), roster.stream().map(Student::getId).toList());
+    }
+
+    @Test
+    void testTopperIsBestAcrossShards() throws SQLException {
+        store.addStudent(student("BLR-2023-001", 3.6f));
+        store.addStudent(student("BLR-2023-002", 3.2f));
+        store.addStudent(student("DEL-2023-001", 3.9f));
+        store.addStudent(student("DEL-2023-002", 2.8f));
+
+        assertEquals("DEL-2023-001", store.getTopper().getRollNumber());
+    }
+}
@@ -0,0 +1,64 @@
+package com.schoolmanagement.tests;
+
+import com.schoolmanagement.dao.ShardedDAO;
+import com.schoolmanagement.database.FanOutExecutor;
+import com.schoolmanagement.database.ShardRouter;
+import org.junit.jupiter.api.*;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ShardingTest {
+
+    private final ShardRouter router = new ShardRouter(Arrays.asList(new Connection[3]), Map.of("blr", 2, "DEL", 0));
+
+    @Test
+    void testCampusPrefix() {
+        assertEquals("BLR", ShardRouter.campusOf("blr-2021-001"));
+        assertEquals("IMT", ShardRouter.campusOf("IMT2022021"));
+        assertEquals("", ShardRouter.campusOf("2022021"));
+    }
+
+    @Test
+    void testCampusRouting() {
+        assertEquals(2, router.shardForCampusKey("BLR-17"));
+        assertEquals(0, router.shardForCampusKey("DEL2020"));
+        // Unpinned campuses hash, but every code of one campus lands together
+        assertEquals(router.shardForCampusKey("IMT2022021"), router.shardForCampusKey("IMT-1"));
+    }
+
+    @Test
+    void testIdLayoutMatchesOffsets() {
+        // Shard i hands out i + 1, i + 1 + N, i + 1 + 2N, ...
+        assertEquals(0, router.shardForId(1));
+        assertEquals(1, router.shardForId(2));
+        assertEquals(2, router.shardForId(3));
+        assertEquals(0, router.shardForId(4));
+    }
+
+    @Test
+    void testMergeSorted() {
+        List<Integer> merged = ShardedDAO.mergeSorted(
+                List.of(List.of(1, 4, 9), List.of(), List.of(2, 3, 10), List.of(5)), Comparator.naturalOrder());
+        assertEquals(List.of(1, 2, 3, 4, 5, 9, 10), merged);
+    }
+
+    @Test
+    void testFanOutKeepsShardOrderAndPropagatesFailure() throws SQLException {
+        try (FanOutExecutor executor = new FanOutExecutor(3)) {
+            assertEquals(List.of(10, 20, 30), executor.fanOut(List.of(1, 2, 3), shard -> shard * 10));
+
+            SQLException e = assertThrows(SQLException.class, () -> executor.fanOut(List.of(1, 2, 3), shard -> {
+                if (shard == 2) throw new SQLException("shard 2 down");
+                return shard;
+            }));
+            assertEquals("shard 2 down", e.getMessage());
+        }
+    }
+}
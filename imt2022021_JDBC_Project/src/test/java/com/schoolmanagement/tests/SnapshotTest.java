@@ -0,0 +1,118 @@
+package com.schoolmanagement.tests;
+
+import com.schoolmanagement.dao.memory.InMemoryDatabase;
+import com.schoolmanagement.models.Book;
+import com.schoolmanagement.models.Course;
+import com.schoolmanagement.models.Student;
+import com.schoolmanagement.snapshot.SnapshotException;
+import com.schoolmanagement.snapshot.SnapshotHeader;
+import com.schoolmanagement.snapshot.SnapshotReader;
+import com.schoolmanagement.snapshot.SnapshotTable;
+import com.schoolmanagement.snapshot.SnapshotWriter;
+import com.schoolmanagement.snapshot.Snapshots;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SnapshotTest {
+
+    private TestDatabase database;
+    private Connection connection;
+
+    @BeforeEach
+    void openEmbedded(TestInfo info) throws SQLException {
+        database = TestDatabase.embedded("snapshot_" + info.getTestMethod().get().getName());
+        connection = database.openConnection();
+        try (Statement st = connection.createStatement()) {
+            for (int i = 1; i <= 50; i++) {
+                st.execute("INSERT INTO students (roll_number, name, dob, address, cgpa) VALUES ('R" + i + "', 'Student "
+                        + i + "', '2003-01-0" + (i % 9 + 1) + "', " + (i % 5 == 0 ? "NULL" : "'Street " + i % 3 + "'")
+                        + ", " + (2 + i % 20 / 10.0) + ")");
+            }
+            st.execute("INSERT INTO teachers (emp_id, name, dob, address, salary) VALUES ('E1', 'Meera', '1980-02-03', 'Street 1', 85000.5)");
+            st.execute("INSERT INTO courses (course_code, course_name, course_description) VALUES ('CS101', 'Intro', NULL), ('CS102', 'Data', 'Trees')");
+            st.execute("INSERT INTO libraries (name) VALUES ('Main'), ('Annex')");
+            st.execute("INSERT INTO books (book_id, title, author, library_id) VALUES ('B1', 'Algorithms', 'Knuth', 1), ('B2', 'Ünïcode', 'Knuth', 2)");
+            st.execute("INSERT INTO enrollments (student_id, course_id) VALUES (1, 1), (2, 1), (2, 2)");
+            st.execute("INSERT INTO course_books (course_id, book_id) VALUES (1, 1), (2, 2)");
+        }
+    }
+
+    @AfterEach
+    void restore() throws SQLException {
+        connection.close();
+        database.close();
+    }
+
+    @Test
+    void testRoundTripIntoMemoryStores(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("school.snapshot");
+        SnapshotHeader header = SnapshotWriter.write(connection, file);
+        assertEquals(50, header.getRows(SnapshotTable.STUDENTS));
+        assertEquals(3, header.getRows(SnapshotTable.ENROLLMENTS));
+        assertTrue(header.differences(SnapshotHeader.ofDatabase(connection)).isEmpty());
+
+        InMemoryDatabase db = SnapshotReader.restore(file);
+        List<Student> students = db.studentDAO().getAllStudents();
+        assertEquals(50, students.size());
+        Student s5 = db.studentDAO().findByRollNumber("R5");
+        assertEquals("Student 5", s5.getName());
+        assertNull(s5.getAddress());
+        assertEquals("Street 1", db.studentDAO().read(1).getAddress());
+        assertEquals(85000.5f, db.teacherDAO().getAllTeachers().get(0).getSalary());
+        assertNull(db.courseDAO().findByCourseCode("CS101").getCourseDescription());
+        assertEquals("Ünïcode", db.bookDAO().read(2).getTitle());
+        assertEquals(2, db.studentDAO().getCoursesForStudent(2).size());
+        assertEquals(List.of("B2"), db.bookDAO().getBooksForCourse(2).stream().map(Book::getBookId).toList());
+
+        // 50 names, 10 dates, 3 addresses and 9 other strings: "Knuth", "Street 1" and repeated dates are stored once
+        assertEquals(72, header.getDictionarySize());
+
+        // New rows continue after the restored ids
+        db.courseDAO().create(new Course(0, "CS103", "More", ""));
+        assertEquals(3, db.courseDAO().findByCourseCode("CS103").getCourseId());
+    }
+
+    @Test
+    void testStaleSnapshotIsRetaken(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("school.snapshot");
+        SnapshotWriter.write(connection, file);
+        try (Statement st = connection.createStatement()) {
+            st.execute("INSERT INTO students (roll_number, name, dob, address, cgpa) VALUES ('R51', 'New', '2004-01-01', NULL, 3.0)");
+        }
+        List<String> diffs = SnapshotReader.readHeader(file).differences(SnapshotHeader.ofDatabase(connection));
+        assertEquals(1, diffs.size(), diffs.toString());
+        assertTrue(diffs.get(0).startsWith("students"));
+
+        Snapshots.WarmStart warm = Snapshots.warmStart(connection, file);
+        assertFalse(warm.isRestored());
+        assertTrue(warm.getRetakeReason().startsWith("snapshot is stale (students"), warm.getRetakeReason());
+        InMemoryDatabase db = warm.getDatabase();
+        assertNotNull(db.studentDAO().findByRollNumber("R51"));
+        assertEquals(51, SnapshotReader.readHeader(file).getRows(SnapshotTable.STUDENTS));
+        assertTrue(Snapshots.warmStart(connection, file).isRestored());
+    }
+
+    @Test
+    void testDamagedFileIsRejected(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("school.snapshot");
+        SnapshotWriter.write(connection, file);
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length - 3] ^= 0x55;
+        Files.write(file, bytes);
+        assertThrows(SnapshotException.class, () -> SnapshotReader.restore(file));
+
+        Files.write(file, new byte[]{1, 2, 3});
+        assertThrows(SnapshotException.class, () -> SnapshotReader.readHeader(file));
+        // warm start falls back to a fresh snapshot
+        assertEquals(50, Snapshots.warmStart(connection, file).getDatabase().studentDAO().getAllStudents().size());
+    }
+}
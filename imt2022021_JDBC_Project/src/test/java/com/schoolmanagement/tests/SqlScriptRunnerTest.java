@@ -0,0 +1,94 @@
+package com.schoolmanagement.tests;
+
+import com.schoolmanagement.database.SqlScriptReader;
+import com.schoolmanagement.database.SqlScriptRunner;
+import org.junit.jupiter.api.*;
+
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SqlScriptRunnerTest {
+
+    @Test
+    void testQuotesAndCommentsDoNotSplit() {
+        List<String> statements = SqlScriptReader.split(String.join("\n",
+                "-- header comment; not a statement",
+                "INSERT INTO t VALUES ('a;b', \"c;d\", 'it''s', 'back\\'slash;');  # trailing; comment",
+                "/* block; comment */ UPDATE t SET x = 1;",
+                "SELECT `odd;name` FROM t; SELECT 2",
+                "--not-a-comment"));
+        assertEquals(4, statements.size());
+        assertEquals("INSERT INTO t VALUES ('a;b', \"c;d\", 'it''s', 'back\\'slash;')", statements.get(0));
+        assertEquals("UPDATE t SET x = 1", statements.get(1));
+        assertEquals("SELECT `odd;name` FROM t", statements.get(2));
+        assertEquals("SELECT 2\n--not-a-comment", statements.get(3));
+    }
+
+    @Test
+    void testDelimiterDirectiveAndLineNumbers() throws Exception {
+        String script = String.join("\n",
+                "CREATE TABLE t (x INT);",
+                "",
+                "DELIMITER //",
+                "CREATE PROCEDURE p() BEGIN",
+                "  INSERT INTO t VALUES (1);",
+                "END //",
+                "DELIMITER ;",
+                "/*!40101 SET NAMES utf8 */;");
+        try (SqlScriptReader reader = new SqlScriptReader(new StringReader(script))) {
+            assertEquals("CREATE TABLE t (x INT)", reader.next());
+            assertEquals(1, reader.getStatementLine());
+            assertEquals("CREATE PROCEDURE p() BEGIN\n  INSERT INTO t VALUES (1);\nEND", reader.next());
+            assertEquals(4, reader.getStatementLine());
+            assertEquals("/*!40101 SET NAMES utf8 */", reader.next());
+            assertNull(reader.next());
+        }
+    }
+
+    @Test
+    void testLegacySeedFileParses() throws Exception {
+        String script = Files.readString(Paths.get("sql/insert.sql"));
+        List<String> statements = SqlScriptReader.split(script);
+        assertFalse(statements.isEmpty());
+        assertTrue(statements.stream().allMatch(s -> s.startsWith("INSERT")));
+        // Old reader joined lines with no separator; rows must keep their line breaks
+        assertTrue(statements.get(0).contains("VALUES\n"));
+    }
+
+    @Test
+    void testRunnerBatchesInsertsAndRollsBackOnFailure() throws Exception {
+        try (TestDatabase database = TestDatabase.embedded("script_runner_test");
+             Connection conn = database.openConnection()) {
+            StringBuilder script = new StringBuilder("CREATE TABLE seed (id INT PRIMARY KEY, note VARCHAR(20));\n");
+            for (int i = 1; i <= 25; i++) script.append("INSERT INTO seed VALUES (").append(i).append(", 'n;").append(i).append("');\n");
+            SqlScriptRunner.Report report = new SqlScriptRunner(conn).batchSize(10).run(new StringReader(script.toString()), "seed.sql");
+            assertEquals(26, report.getStatements());
+            assertEquals(4, report.getExecutions());
+            assertEquals(10, report.getTimings().get(1).getStatements());
+            assertEquals(2, report.getTimings().get(1).getLine());
+            assertEquals(25, count(conn));
+
+            String failing = "INSERT INTO seed VALUES (100, 'a');\nINSERT INTO seed VALUES (1, 'duplicate');\n";
+            SQLException e = assertThrows(SQLException.class,
+                    () -> new SqlScriptRunner(conn).run(new StringReader(failing), "bad.sql"));
+            assertTrue(e.getMessage().startsWith("bad.sql:1:"));
+            assertEquals(25, count(conn));
+            assertTrue(conn.getAutoCommit());
+        }
+    }
+
+    private static int count(Connection conn) throws SQLException {
+        try (Statement st = conn.createStatement(); ResultSet rs = st.executeQuery("SELECT COUNT(*) FROM seed")) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+}
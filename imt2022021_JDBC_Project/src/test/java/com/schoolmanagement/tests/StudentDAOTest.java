@@ -1,11 +1,17 @@
 package com.schoolmanagement.tests;
 
 import com.schoolmanagement.dao.StudentDAO;
+import com.schoolmanagement.dao.UpsertResult;
+import com.schoolmanagement.dao.WriteBehindBuffer;
+import com.schoolmanagement.events.ChangeEvent;
+import com.schoolmanagement.events.ChangeFeed;
+import com.schoolmanagement.events.Subscription;
 import com.schoolmanagement.models.Book;
 import com.schoolmanagement.models.Student;
 import org.junit.jupiter.api.*;
 
 import java.sql.*;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -13,15 +19,13 @@ import static org.junit.jupiter.api.Assertions.*;
 public class StudentDAOTest {
 
     private static Connection connection;
+    private static TestDatabase database;
     private static StudentDAO studentDAO;
 
     @BeforeAll
     static void setupAll() throws SQLException {
-        connection = DriverManager.getConnection(
-                "jdbc:mysql://localhost:3306/school_db?useSSL=false&allowPublicKeyRetrieval=true",
-                "root",
-                "admin"
-        );
+        database = TestDatabase.create(StudentDAOTest.class);
+        connection = database.openConnection();
         studentDAO = new StudentDAO(connection);
 
         // Ensure a course & library exists
@@ -34,6 +38,7 @@ public class StudentDAOTest {
     @AfterAll
     static void tearAll() throws SQLException {
         if (connection != null) connection.close();
+        if (database != null) database.close();
     }
 
     @BeforeEach
@@ -142,6 +147,181 @@ public class StudentDAOTest {
         assertFalse(isEnrolled(id, 1));
     }
 
+    @Test
+    void testFindByRollNumber_returnsStudentOrNull() throws SQLException {
+        studentDAO.create(new Student(0, "R410", "Finder", "2001-04-04", "Addr", 3.3f));
+
+        Student found = studentDAO.findByRollNumber("R410");
+        assertNotNull(found);
+        assertEquals("Finder", found.getName());
+        assertEquals(getStudentIdByRoll("R410"), found.getId());
+
+        assertNull(studentDAO.findByRollNumber("NO_SUCH_ROLL"));
+    }
+
+    @Test
+    void testGetIdByRollNumber_notCachedFromListReads() throws SQLException {
+        studentDAO.create(new Student(0, "R412", "Listed", "2001-05-05", "Addr", 3.4f));
+        assertEquals(1, studentDAO.getAllStudents().size());
+
+        // Removed behind the DAO's back: a roll number seen only in a list read must not be cached
+        try (Statement st = connection.createStatement()) {
+            st.execute("DELETE FROM students WHERE roll_number = 'R412'");
+        }
+        assertEquals(-1, studentDAO.getIdByRollNumber("R412"));
+    }
+
+    @Test
+    void testGetIdByRollNumber_cachedAndInvalidatedOnDelete() throws SQLException {
+        studentDAO.create(new Student(0, "R411", "Cached", "2001-05-05", "Addr", 3.4f));
+
+        int id = studentDAO.getIdByRollNumber("R411");
+        assertEquals(getStudentIdByRoll("R411"), id);
+        assertEquals(id, studentDAO.getIdByRollNumber("R411"));
+
+        studentDAO.delete(id);
+        assertEquals(-1, studentDAO.getIdByRollNumber("R411"));
+    }
+
+    @Test
+    void testFindByNamePrefix_matchesPrefixOnly() throws SQLException {
+        studentDAO.create(new Student(0, "R412", "Anna", "2001-06-06", "A", 3.0f));
+        studentDAO.create(new Student(0, "R413", "Annabel", "2001-06-07", "B", 3.1f));
+        studentDAO.create(new Student(0, "R414", "Hanna", "2001-06-08", "C", 3.2f));
+        studentDAO.create(new Student(0, "R415", "An_dy", "2001-06-09", "D", 3.3f));
+
+        List<Student> anna = studentDAO.findByNamePrefix("Anna");
+        assertEquals(2, anna.size());
+        assertEquals("Anna", anna.get(0).getName());
+        assertEquals("Annabel", anna.get(1).getName());
+
+        // '_' must not behave as a single-character wildcard
+        List<Student> underscore = studentDAO.findByNamePrefix("An_");
+        assertEquals(1, underscore.size());
+        assertEquals("An_dy", underscore.get(0).getName());
+    }
+
+    @Test
+    void testUpsertAll_insertsNewAndUpdatesExisting() throws SQLException {
+        studentDAO.create(new Student(0, "R420", "Old", "2000-01-01", "OldAddr", 2.5f));
+
+        UpsertResult result = studentDAO.upsertAll(List.of(
+                new Student(0, "R420", "Old", "2000-01-01", "NewAddr", 3.5f),
+                new Student(0, "R421", "Fresh", "2000-02-02", "Addr", 3.0f)));
+
+        assertEquals(2, result.getRows());
+        assertEquals(1, result.getInserted());
+        assertEquals(1, result.getUpdated());
+        assertEquals("NewAddr", studentDAO.findByRollNumber("R420").getAddress());
+        assertNotNull(studentDAO.findByRollNumber("R421"));
+    }
+
+    @Test
+    void testUpsertAll_publishesOnlyInsertedAndChangedRows() throws SQLException {
+        StudentDAO published = new StudentDAO(connection);
+        ChangeFeed feed = new ChangeFeed(64);
+        published.setChangeFeed(feed);
+        published.create(new Student(0, "R422", "Same", "2000-01-01", "Addr", 3.0f));
+        published.create(new Student(0, "R423", "Old", "2000-01-01", "Addr", 3.0f));
+        Subscription sub = feed.subscribe();
+
+        UpsertResult result = published.upsertAll(List.of(
+                new Student(0, "R422", "Same", "2000-01-01", "Addr", 3.0f),
+                new Student(0, "R423", "Old", "2000-01-01", "Addr", 3.4f),
+                new Student(0, "R424", "New", "2000-01-01", "Addr", 2.9f)));
+
+        assertEquals(1, result.getInserted());
+        assertEquals(1, result.getUpdated());
+        assertEquals(1, result.getUnchanged());
+        List<String> keys = new ArrayList<>();
+        for (ChangeEvent e : sub.drain(10)) keys.add(e.getKey());
+        assertEquals(List.of("R423", "R424"), keys);
+    }
+
+    @Test
+    void testUpsertAll_bulkLoadThenResync() throws SQLException {
+        List<Student> students = new ArrayList<>();
+        for (int i = 0; i < 1200; i++) students.add(new Student(0, "B" + i, "Bulk " + i, "2001-01-01", "Addr", 3.0f));
+
+        // All new: after the first chunk the rest go out as plain inserts
+        UpsertResult loaded = studentDAO.upsertAll(students);
+        assertEquals(1200, loaded.getInserted());
+        assertEquals(1200, studentDAO.getAllStudents().size());
+
+        students.set(700, new Student(0, "B700", "Bulk 700", "2001-01-01", "Moved", 3.0f));
+        students.add(new Student(0, "B1200", "Bulk 1200", "2001-01-01", "Addr", 3.0f));
+        UpsertResult resync = studentDAO.upsertAll(students);
+        assertEquals(1, resync.getInserted());
+        assertEquals(1, resync.getUpdated());
+        assertEquals(1199, resync.getUnchanged());
+        assertEquals("Moved", studentDAO.findByRollNumber("B700").getAddress());
+    }
+
+    @Test
+    void testUpsertAll_matchesKeysLikeTheServerCollation() throws SQLException {
+        // MySQL's default collations compare roll numbers case-insensitively; H2 does not
+        Assumptions.assumeTrue(connection.getMetaData().getDatabaseProductName().equals("MySQL"));
+        studentDAO.create(new Student(0, "R425", "Cased", "2000-01-01", "Addr", 3.0f));
+
+        UpsertResult result = studentDAO.upsertAll(List.of(new Student(0, "r425", "Cased", "2000-01-01", "Addr", 3.0f)));
+        assertEquals(1, result.getUnchanged());
+    }
+
+    @Test
+    void testWriteBehind_coalescesCgpaAndFlushesOnRead() throws SQLException {
+        StudentDAO buffered = new StudentDAO(connection);
+        studentDAO.create(new Student(0, "R430", "Typist", "2000-01-01", "Addr", 2.0f));
+        int id = getStudentIdByRoll("R430");
+
+        try (WriteBehindBuffer buffer = buffered.enableWriteBehind(database.openConnection(), 1000, 60_000)) {
+            for (int i = 1; i <= 5; i++) buffered.updateCGPA(id, 2.0f + i / 10f);
+            buffered.updateCGPA(id, 3.75f);
+            assertEquals(1, buffer.getPendingCount());
+
+            assertEquals(3.75f, buffered.read(id).getCgpa(), 0.0001);
+            assertEquals(0, buffer.getPendingCount());
+            assertEquals(1, buffer.getFlushedRows());
+            assertEquals(6.0, buffer.getCoalescingRatio(), 0.0001);
+        }
+    }
+
+    @Test
+    void testWriteBehind_timerFlushesLoneUpdate() throws Exception {
+        StudentDAO buffered = new StudentDAO(connection);
+        studentDAO.create(new Student(0, "R432", "Typist", "2000-01-01", "Addr", 2.0f));
+        int id = getStudentIdByRoll("R432");
+
+        try (WriteBehindBuffer buffer = buffered.enableWriteBehind(database.openConnection(), 1000, 50)) {
+            buffered.updateCGPA(id, 3.3f);
+            // Nothing reads or submits again: only the timer can write it
+            long deadline = System.currentTimeMillis() + 5_000;
+            while (buffer.getFlushedRows() == 0 && System.currentTimeMillis() < deadline) Thread.sleep(10);
+            assertEquals(1, buffer.getFlushedRows());
+            try (PreparedStatement ps = connection.prepareStatement("SELECT cgpa FROM students WHERE id = ?")) {
+                ps.setInt(1, id);
+                try (ResultSet rs = ps.executeQuery()) {
+                    assertTrue(rs.next());
+                    assertEquals(3.3f, rs.getFloat(1), 0.0001);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testWriteBehind_reenablingFlushesPreviousBuffer() throws SQLException {
+        StudentDAO buffered = new StudentDAO(connection);
+        studentDAO.create(new Student(0, "R431", "Typist", "2000-01-01", "Addr", 2.0f));
+        int id = getStudentIdByRoll("R431");
+
+        WriteBehindBuffer first = buffered.enableWriteBehind(database.openConnection(), 1000, 60_000);
+        buffered.updateCGPA(id, 3.1f);
+        try (WriteBehindBuffer second = buffered.enableWriteBehind(database.openConnection(), 1000, 60_000)) {
+            assertEquals(0, first.getPendingCount());
+            assertEquals(3.1f, studentDAO.read(id).getCgpa(), 0.0001);
+            assertEquals(0, second.getPendingCount());
+        }
+    }
+
     @Test
     void testDeleteNonExistingStudent_doesNotThrow() {
         assertDoesNotThrow(() -> studentDAO.delete(999999));
@@ -13,13 +13,13 @@ import static org.junit.jupiter.api.Assertions.*;
 public class StudentDAOTest_Mutations {
 
     private static Connection connection;
+    private static TestDatabase database;
     private static StudentDAO dao;
 
     @BeforeAll
     static void setup() throws Exception {
-        connection = DriverManager.getConnection(
-                "jdbc:mysql://localhost:3306/school_db?useSSL=false&allowPublicKeyRetrieval=true",
-                "root", "admin");
+        database = TestDatabase.create(StudentDAOTest_Mutations.class);
+        connection = database.openConnection();
 
         dao = new StudentDAO(connection);
 
@@ -29,6 +29,12 @@ public class StudentDAOTest_Mutations {
         }
     }
 
+    @AfterAll
+    static void tearDown() throws SQLException {
+        if (connection != null) connection.close();
+        if (database != null) database.close();
+    }
+
     @BeforeEach
     void clean() throws Exception {
         try (Statement s = connection.createStatement()) {
@@ -1,6 +1,8 @@
 package com.schoolmanagement.tests;
 
 import com.schoolmanagement.dao.TeacherDAO;
+import com.schoolmanagement.dao.UpsertResult;
+import com.schoolmanagement.dao.WriteBehindBuffer;
 import com.schoolmanagement.models.Teacher;
 import org.junit.jupiter.api.*;
 
@@ -12,21 +14,20 @@ import static org.junit.jupiter.api.Assertions.*;
 public class TeacherDAOTest {
 
     private static Connection connection;
+    private static TestDatabase database;
     private static TeacherDAO teacherDAO;
 
     @BeforeAll
     static void setupAll() throws SQLException {
-        connection = DriverManager.getConnection(
-                "jdbc:mysql://localhost:3306/school_db?useSSL=false&allowPublicKeyRetrieval=true",
-                "root",
-                "admin"
-        );
+        database = TestDatabase.create(TeacherDAOTest.class);
+        connection = database.openConnection();
         teacherDAO = new TeacherDAO(connection);
     }
 
     @AfterAll
     static void tearAll() throws SQLException {
         if (connection != null) connection.close();
+        if (database != null) database.close();
     }
 
     @BeforeEach
@@ -36,6 +37,33 @@ public class TeacherDAOTest {
         }
     }
 
+    @Test
+    void testUpsert_updatesByEmpIdWithoutNewRow() throws SQLException {
+        teacherDAO.create(new Teacher(0, "E500", "Upsert", "1980-01-01", "A", 1000f));
+        int id = getTeacherIdByEmpId("E500");
+
+        UpsertResult result = teacherDAO.upsert(new Teacher(0, "E500", "Upsert", "1980-01-01", "B", 2000f));
+
+        assertEquals(1, result.getUpdated());
+        assertEquals(id, getTeacherIdByEmpId("E500"));
+        assertEquals(2000f, teacherDAO.read(id).getSalary(), 0.001);
+    }
+
+    @Test
+    void testWriteBehind_sumsIncrementsIntoOneRow() throws SQLException {
+        TeacherDAO buffered = new TeacherDAO(connection);
+        teacherDAO.create(new Teacher(0, "E510", "Buffered", "1980-01-01", "A", 1000f));
+        int id = getTeacherIdByEmpId("E510");
+
+        try (WriteBehindBuffer buffer = buffered.enableWriteBehind(database.openConnection(), 1000, 60_000)) {
+            buffered.incrementSalary(id, 100f);
+            buffered.incrementSalary(id, 250f);
+            buffer.flush();
+            assertEquals(1, buffer.getFlushedRows());
+        }
+        assertEquals(1350f, teacherDAO.read(id).getSalary(), 0.001);
+    }
+
     // Utility to fetch auto-generated teacher ID using emp_id
     private int getTeacherIdByEmpId(String empId) throws SQLException {
         try (PreparedStatement ps = connection.prepareStatement(
@@ -11,17 +11,23 @@ import static org.junit.jupiter.api.Assertions.*;
 public class TeacherDAOTest_Mutations {
 
     private static Connection connection;
+    private static TestDatabase database;
     private static TeacherDAO dao;
 
     @BeforeAll
     static void setup() throws Exception {
-        connection = DriverManager.getConnection(
-                "jdbc:mysql://localhost:3306/school_db?useSSL=false&allowPublicKeyRetrieval=true",
-                "root", "admin");
+        database = TestDatabase.create(TeacherDAOTest_Mutations.class);
+        connection = database.openConnection();
 
         dao = new TeacherDAO(connection);
     }
 
+    @AfterAll
+    static void tearDown() throws SQLException {
+        if (connection != null) connection.close();
+        if (database != null) database.close();
+    }
+
     @BeforeEach
     void clean() throws Exception {
         try (Statement st = connection.createStatement()) {
@@ -0,0 +1,95 @@
+package com.schoolmanagement.tests;
+
+import com.schoolmanagement.database.DatabaseConfig;
+import com.schoolmanagement.database.EmbeddedDatabase;
+
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// A database of its own for one test class (or method), so test classes can run in parallel
+// without deleting each other's rows, and without touching the school.db.* system properties.
+// Embedded mode gets a fresh in-memory H2 database; MySQL mode gets a scratch schema on the
+// configured server, named after the class and this JVM's pid so concurrent PIT minions don't
+// collide, created from sql/schem.sql and dropped by close().
+final class TestDatabase implements AutoCloseable {
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+    private final DatabaseConfig config;
+    // MySQL scratch schema and the config of the database it was created from; null when embedded
+    private final String schema;
+    private final DatabaseConfig server;
+
+    private TestDatabase(DatabaseConfig config, String schema, DatabaseConfig server) {
+        this.config = config;
+        this.schema = schema;
+        this.server = server;
+    }
+
+    // Follows school.db.mode: H2 in embedded mode, a scratch schema on MySQL otherwise
+    static TestDatabase create(Class<?> testClass) throws SQLException {
+        DatabaseConfig base = DatabaseConfig.load();
+        String name = identifier(testClass.getSimpleName());
+        if (base.isEmbedded()) return inMemory(base, name);
+
+        String schema = "school_test_" + ProcessHandle.current().pid() + "_" + name;
+        if (schema.length() > 64) schema = schema.substring(0, 64);
+        try (Connection connection = base.openConnection(); Statement st = connection.createStatement()) {
+            st.execute("DROP DATABASE IF EXISTS " + schema);
+            st.execute("CREATE DATABASE " + schema);
+        }
+        TestDatabase db = new TestDatabase(base.with("url", withDatabase(base.getBaseUrl(), schema)), schema, base);
+        try (Connection connection = db.openConnection()) {
+            EmbeddedDatabase.createTables(connection, Paths.get(base.get("embedded.schema")));
+        }
+        return db;
+    }
+
+    // Always H2, for tests that exercise embedded-mode behaviour whatever school.db.mode says
+    static TestDatabase embedded(String name) {
+        return inMemory(DatabaseConfig.load().with("mode", "embedded"), identifier(name));
+    }
+
+    private static TestDatabase inMemory(DatabaseConfig base, String name) {
+        // The sequence keeps names unique when a class is run again in the same JVM
+        return new TestDatabase(base.with("embedded.path", "mem:" + name + "_" + SEQUENCE.incrementAndGet()), null, null);
+    }
+
+    private static String identifier(String name) {
+        return name.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9_]", "_");
+    }
+
+    // jdbc:mysql://host:3306/school_db?x=y -> jdbc:mysql://host:3306/<database>?x=y
+    static String withDatabase(String url, String database) {
+        int end = url.indexOf('?');
+        if (end < 0) end = url.length();
+        int slash = url.indexOf('/', url.indexOf("//") + 2);
+        if (slash < 0 || slash > end) slash = end;
+        return url.substring(0, slash) + "/" + database + url.substring(end);
+    }
+
+    DatabaseConfig config() {
+        return config;
+    }
+
+    Connection openConnection() throws SQLException {
+        return config.openConnection();
+    }
+
+    @Override
+    public void close() throws SQLException {
+        if (schema != null) {
+            try (Connection connection = server.openConnection(); Statement st = connection.createStatement()) {
+                st.execute("DROP DATABASE IF EXISTS " + schema);
+            }
+        } else {
+            // Drops the in-memory database; connections the test left open are closed with it
+            try (Connection connection = openConnection(); Statement st = connection.createStatement()) {
+                st.execute("SHUTDOWN");
+            }
+        }
+    }
+}